@@ -1,6 +1,5 @@
 package com.programmingplatform;
 
-import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
@@ -19,7 +18,6 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableAsync
 @EnableScheduling
 @EnableTransactionManagement
-@MapperScan("com.programmingplatform.mapper")
 public class OnlineProgrammingPlatformApplication {
 
     public static void main(String[] args) {
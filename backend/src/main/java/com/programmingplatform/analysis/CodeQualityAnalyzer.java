@@ -0,0 +1,317 @@
+package com.programmingplatform.analysis;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 代码质量分析器（无状态，可并发使用）
+ * 基于词法单元计算圈复杂度、代码行数、Halstead 体积和可维护性指数，并执行风格、安全和性能规则检查
+ */
+public class CodeQualityAnalyzer {
+
+    private static final Pattern UPPER_CAMEL = Pattern.compile("^[A-Z][A-Za-z0-9]*$");
+
+    private static final Pattern PYTHON_FUNCTION = Pattern.compile("^_{0,2}[a-z][a-z0-9_]*$");
+
+    private static final Set<String> JAVA_DECISIONS = Set.of("if", "for", "while", "case", "catch", "&&", "||", "?");
+
+    private static final Set<String> PYTHON_DECISIONS = Set.of("if", "elif", "for", "while", "except", "and", "or");
+
+    private static final Set<String> JAVA_TYPE_DECLARATIONS = Set.of("class", "interface", "enum", "record");
+
+    private static final int NESTED_LOOP_LIMIT = 3;
+
+    public QualityReport analyze(String source, SourceLanguage language) {
+        SourceTokenizer.TokenizedSource tokenized = SourceTokenizer.tokenize(source, language);
+        List<SourceToken> tokens = tokenized.tokens();
+
+        QualityReport report = new QualityReport();
+        report.setLanguage(language);
+        report.setPhysicalLines(tokenized.physicalLines());
+        report.setCodeLines(tokenized.codeLineCount());
+        report.setCommentLines(tokenized.commentLineCount());
+        for (SourceToken token : tokens) {
+            report.getNormalizedTokens().add(token.normalized());
+        }
+
+        countDecisions(tokens, language, report);
+        computeHalstead(tokens, report);
+        checkLines(tokenized.lines(), language, report);
+        if (language == SourceLanguage.JAVA) {
+            analyzeJavaStructure(tokens, report);
+            checkJavaRules(tokens, report);
+        } else {
+            analyzePythonStructure(tokens, report);
+            checkPythonRules(tokens, report);
+        }
+
+        // 经典可维护性指数，归一化到 0-100
+        int loc = Math.max(report.getCodeLines(), 1);
+        double volume = Math.max(report.getHalsteadVolume(), 1);
+        double mi = (171 - 5.2 * Math.log(volume) - 0.23 * report.getCyclomaticComplexity() - 16.2 * Math.log(loc))
+                * 100 / 171;
+        report.setMaintainabilityIndex(Math.max(0, Math.min(100, mi)));
+        return report;
+    }
+
+    private void countDecisions(List<SourceToken> tokens, SourceLanguage language, QualityReport report) {
+        Set<String> decisions = language == SourceLanguage.JAVA ? JAVA_DECISIONS : PYTHON_DECISIONS;
+        int complexity = 1;
+        for (int i = 0; i < tokens.size(); i++) {
+            SourceToken token = tokens.get(i);
+            if (token.type() == SourceToken.Type.STRING || !decisions.contains(token.text())
+                    || token.is("?") && isWildcard(tokens, i)) {
+                continue;
+            }
+            complexity++;
+            report.getDecisionPoints().merge(token.text(), 1, Integer::sum);
+        }
+        report.setCyclomaticComplexity(complexity);
+    }
+
+    /**
+     * Halstead 体积：关键字和运算符计为操作符，标识符和字面量计为操作数
+     */
+    private void computeHalstead(List<SourceToken> tokens, QualityReport report) {
+        Set<String> distinctOperators = new HashSet<>();
+        Set<String> distinctOperands = new HashSet<>();
+        for (SourceToken token : tokens) {
+            if (token.type() == SourceToken.Type.KEYWORD || token.type() == SourceToken.Type.OPERATOR) {
+                distinctOperators.add(token.text());
+            } else {
+                distinctOperands.add(token.text());
+            }
+        }
+        int vocabulary = distinctOperators.size() + distinctOperands.size();
+        report.setHalsteadVolume(vocabulary < 2 ? 0 : tokens.size() * (Math.log(vocabulary) / Math.log(2)));
+    }
+
+    private void checkLines(String[] lines, SourceLanguage language, QualityReport report) {
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            int lineNo = i + 1;
+            if (line.length() > language.getMaxLineLength()) {
+                report.addIssue("STYLE", "LINE_TOO_LONG", lineNo,
+                        "行长度 " + line.length() + " 超过 " + language.getMaxLineLength());
+            }
+            if (!line.isEmpty() && Character.isWhitespace(line.charAt(line.length() - 1))) {
+                report.addIssue("STYLE", "TRAILING_WHITESPACE", lineNo, "行尾存在空白字符");
+            }
+            if (language == SourceLanguage.PYTHON && line.startsWith("\t")) {
+                report.addIssue("STYLE", "TAB_INDENT", lineNo, "使用制表符缩进，建议使用 4 个空格");
+            }
+        }
+    }
+
+    /**
+     * Java 结构分析：花括号嵌套深度和循环嵌套深度
+     */
+    private void analyzeJavaStructure(List<SourceToken> tokens, QualityReport report) {
+        Deque<Boolean> blocks = new ArrayDeque<>();
+        boolean pendingLoop = false;
+        int parenDepth = 0;
+        int loopDepth = 0;
+        int maxDepth = 0;
+        int maxLoopDepth = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            SourceToken token = tokens.get(i);
+            if (token.type() == SourceToken.Type.KEYWORD
+                    && (token.is("for") || token.is("while") || token.is("do"))) {
+                pendingLoop = true;
+            } else if (token.is("(")) {
+                parenDepth++;
+            } else if (token.is(")")) {
+                parenDepth = Math.max(0, parenDepth - 1);
+            } else if (token.is(";") && parenDepth == 0) {
+                // do-while 尾部或无花括号循环体
+                pendingLoop = false;
+            } else if (token.is("{")) {
+                blocks.push(pendingLoop);
+                if (pendingLoop) {
+                    loopDepth++;
+                    if (loopDepth == NESTED_LOOP_LIMIT) {
+                        report.addIssue("PERFORMANCE", "DEEPLY_NESTED_LOOP", token.line(),
+                                "循环嵌套达到 " + NESTED_LOOP_LIMIT + " 层");
+                    }
+                    maxLoopDepth = Math.max(maxLoopDepth, loopDepth);
+                }
+                pendingLoop = false;
+                maxDepth = Math.max(maxDepth, blocks.size());
+            } else if (token.is("}") && !blocks.isEmpty()) {
+                if (blocks.pop()) {
+                    loopDepth--;
+                }
+            } else if (token.is("+=") && loopDepth > 0 && i + 1 < tokens.size()
+                    && tokens.get(i + 1).type() == SourceToken.Type.STRING) {
+                report.addIssue("PERFORMANCE", "STRING_CONCAT_IN_LOOP", token.line(),
+                        "循环内使用 += 拼接字符串，建议使用 StringBuilder");
+            }
+        }
+        report.setMaxNestingDepth(maxDepth);
+        report.setMaxLoopDepth(maxLoopDepth);
+    }
+
+    /**
+     * Python 结构分析：按每行首个词法单元的缩进计算块嵌套和循环嵌套深度（括号内的续行不参与）
+     */
+    private void analyzePythonStructure(List<SourceToken> tokens, QualityReport report) {
+        Deque<Integer> indents = new ArrayDeque<>();
+        Deque<Integer> loops = new ArrayDeque<>();
+        indents.push(0);
+        int bracketDepth = 0;
+        int lastLine = 0;
+        int maxDepth = 0;
+        int maxLoopDepth = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            SourceToken token = tokens.get(i);
+            if (token.line() != lastLine && bracketDepth == 0) {
+                lastLine = token.line();
+                int indent = token.column();
+                while (indent < indents.peek()) {
+                    indents.pop();
+                }
+                if (indent > indents.peek()) {
+                    indents.push(indent);
+                }
+                while (!loops.isEmpty() && loops.peek() >= indent) {
+                    loops.pop();
+                }
+                maxDepth = Math.max(maxDepth, indents.size() - 1);
+                if (token.is("for") || token.is("while")
+                        || token.is("async") && i + 1 < tokens.size() && tokens.get(i + 1).is("for")) {
+                    loops.push(indent);
+                    if (loops.size() == NESTED_LOOP_LIMIT) {
+                        report.addIssue("PERFORMANCE", "DEEPLY_NESTED_LOOP", token.line(),
+                                "循环嵌套达到 " + NESTED_LOOP_LIMIT + " 层");
+                    }
+                    maxLoopDepth = Math.max(maxLoopDepth, loops.size());
+                }
+            }
+            if (token.is("(") || token.is("[") || token.is("{")) {
+                bracketDepth++;
+            } else if (token.is(")") || token.is("]") || token.is("}")) {
+                bracketDepth = Math.max(0, bracketDepth - 1);
+            } else if (token.is("+=") && !loops.isEmpty() && i + 1 < tokens.size()
+                    && tokens.get(i + 1).type() == SourceToken.Type.STRING) {
+                report.addIssue("PERFORMANCE", "STRING_CONCAT_IN_LOOP", token.line(),
+                        "循环内使用 += 拼接字符串，建议收集到列表后 ''.join()");
+            }
+        }
+        report.setMaxNestingDepth(maxDepth);
+        report.setMaxLoopDepth(maxLoopDepth);
+    }
+
+    private void checkJavaRules(List<SourceToken> tokens, QualityReport report) {
+        for (int i = 0; i < tokens.size(); i++) {
+            SourceToken token = tokens.get(i);
+            SourceToken next = i + 1 < tokens.size() ? tokens.get(i + 1) : null;
+
+            if (token.type() == SourceToken.Type.KEYWORD && JAVA_TYPE_DECLARATIONS.contains(token.text())
+                    && next != null && next.type() == SourceToken.Type.IDENTIFIER
+                    && !UPPER_CAMEL.matcher(next.text()).matches()) {
+                report.addIssue("STYLE", "TYPE_NAMING", next.line(), "类型名 " + next.text() + " 应使用大驼峰命名");
+            }
+            if (token.is("if") || token.is("for") || token.is("while")) {
+                int close = matchingParen(tokens, i + 1);
+                if (close > 0 && close + 1 < tokens.size() && !tokens.get(close + 1).is("{")
+                        && !tokens.get(close + 1).is(";")) {
+                    report.addIssue("STYLE", "MISSING_BRACES", token.line(), token.text() + " 语句体缺少花括号");
+                }
+            }
+            if (token.is("else") && next != null && !next.is("{") && !next.is("if")) {
+                report.addIssue("STYLE", "MISSING_BRACES", token.line(), "else 语句体缺少花括号");
+            }
+
+            if (isCall(tokens, i, "Runtime", "getRuntime") || token.is("ProcessBuilder")) {
+                report.addIssue("SECURITY", "PROCESS_EXECUTION", token.line(), "启动外部进程");
+            } else if (isCall(tokens, i, "System", "exit")) {
+                report.addIssue("SECURITY", "SYSTEM_EXIT", token.line(), "调用 System.exit 终止虚拟机");
+            } else if (isCall(tokens, i, "Class", "forName") || token.is("setAccessible")) {
+                report.addIssue("SECURITY", "REFLECTION", token.line(), "使用反射绕过访问控制");
+            } else if (token.is("ObjectInputStream")) {
+                report.addIssue("SECURITY", "UNSAFE_DESERIALIZATION", token.line(), "使用 Java 原生反序列化");
+            } else if (token.is("Unsafe")) {
+                report.addIssue("SECURITY", "UNSAFE_MEMORY", token.line(), "使用 sun.misc.Unsafe");
+            }
+        }
+    }
+
+    private void checkPythonRules(List<SourceToken> tokens, QualityReport report) {
+        for (int i = 0; i < tokens.size(); i++) {
+            SourceToken token = tokens.get(i);
+            SourceToken next = i + 1 < tokens.size() ? tokens.get(i + 1) : null;
+
+            if (token.is("class") && next != null && next.type() == SourceToken.Type.IDENTIFIER
+                    && !UPPER_CAMEL.matcher(next.text()).matches()) {
+                report.addIssue("STYLE", "TYPE_NAMING", next.line(), "类名 " + next.text() + " 应使用大驼峰命名");
+            }
+            if (token.is("def") && next != null && next.type() == SourceToken.Type.IDENTIFIER
+                    && !PYTHON_FUNCTION.matcher(next.text()).matches()) {
+                report.addIssue("STYLE", "FUNCTION_NAMING", next.line(), "函数名 " + next.text() + " 应使用蛇形命名");
+            }
+            if ((token.is("==") || token.is("!=")) && next != null && next.is("None")) {
+                report.addIssue("STYLE", "COMPARISON_TO_NONE", token.line(), "与 None 比较应使用 is / is not");
+            }
+            if (token.is(";")) {
+                report.addIssue("STYLE", "SEMICOLON", token.line(), "不需要的分号");
+            }
+
+            if ((token.is("eval") || token.is("exec") || token.is("__import__")) && next != null && next.is("(")
+                    && (i == 0 || !tokens.get(i - 1).is("."))) {
+                report.addIssue("SECURITY", "DYNAMIC_EXECUTION", token.line(), "调用 " + token.text() + " 动态执行代码");
+            } else if (isCall(tokens, i, "os", "system") || isCall(tokens, i, "os", "popen")) {
+                report.addIssue("SECURITY", "PROCESS_EXECUTION", token.line(), "通过 shell 启动外部进程");
+            } else if (token.is("shell") && next != null && next.is("=") && i + 2 < tokens.size()
+                    && tokens.get(i + 2).is("True")) {
+                report.addIssue("SECURITY", "SHELL_TRUE", token.line(), "subprocess 使用 shell=True");
+            } else if (isCall(tokens, i, "pickle", "loads") || isCall(tokens, i, "pickle", "load")
+                    || isCall(tokens, i, "marshal", "loads")) {
+                report.addIssue("SECURITY", "UNSAFE_DESERIALIZATION", token.line(), "反序列化不可信数据");
+            }
+
+            if (token.is(".") && i + 3 < tokens.size() && tokens.get(i + 1).is("insert")
+                    && tokens.get(i + 2).is("(") && tokens.get(i + 3).is("0")) {
+                report.addIssue("PERFORMANCE", "LIST_INSERT_FRONT", token.line(),
+                        "list.insert(0, x) 为线性时间，建议使用 collections.deque");
+            }
+        }
+    }
+
+    /**
+     * 判断从 i 开始是否为 owner.member 形式
+     */
+    private boolean isCall(List<SourceToken> tokens, int i, String owner, String member) {
+        return i + 2 < tokens.size() && tokens.get(i).is(owner) && tokens.get(i + 1).is(".")
+                && tokens.get(i + 2).is(member);
+    }
+
+    /**
+     * 泛型通配符 <?>、<? extends T> 中的问号不是条件运算符
+     */
+    private boolean isWildcard(List<SourceToken> tokens, int i) {
+        if (i + 1 >= tokens.size()) {
+            return false;
+        }
+        SourceToken next = tokens.get(i + 1);
+        return next.is(">") || next.is(",") || next.is("extends") || next.is("super");
+    }
+
+    private int matchingParen(List<SourceToken> tokens, int open) {
+        if (open >= tokens.size() || !tokens.get(open).is("(")) {
+            return -1;
+        }
+        int depth = 0;
+        for (int i = open; i < tokens.size(); i++) {
+            if (tokens.get(i).is("(")) {
+                depth++;
+            } else if (tokens.get(i).is(")") && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,54 @@
+package com.programmingplatform.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MinHash 签名的 LSH 分段
+ * 签名切分为 bands 段、每段 rows 个值，任一段完全相同的两个提交成为候选对，
+ * 相似度为 s 的两个提交成为候选的概率为 1 - (1 - s^rows)^bands
+ */
+public class LshBanding {
+
+    private final int bands;
+
+    private final int rows;
+
+    public LshBanding(int bands, int rows) {
+        this.bands = bands;
+        this.rows = rows;
+    }
+
+    /**
+     * 计算每一段的桶值，列表下标即段号
+     */
+    public List<Long> buckets(int[] signature) {
+        if (signature.length < bands * rows) {
+            throw new IllegalArgumentException("签名长度不足 " + bands * rows);
+        }
+        List<Long> buckets = new ArrayList<>(bands);
+        for (int band = 0; band < bands; band++) {
+            long hash = 0xCBF29CE484222325L;
+            for (int i = band * rows; i < (band + 1) * rows; i++) {
+                hash = (hash ^ signature[i]) * 0x100000001B3L;
+            }
+            buckets.add(hash);
+        }
+        return buckets;
+    }
+
+    /**
+     * 候选概率为 50% 时的近似相似度阈值 (1/bands)^(1/rows)，低于该值的相似提交召回率明显下降
+     */
+    public double threshold() {
+        return Math.pow(1.0 / bands, 1.0 / rows);
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+}
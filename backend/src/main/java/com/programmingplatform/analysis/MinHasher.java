@@ -0,0 +1,80 @@
+package com.programmingplatform.analysis;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MinHash 签名计算
+ * 对归一化词法单元的 k-shingle 取多个哈希函数下的最小值，签名相同位置相等的比例近似 Jaccard 相似度
+ */
+public class MinHasher {
+
+    private final int numHashes;
+
+    private final int shingleSize;
+
+    private final long[] seeds;
+
+    public MinHasher(int numHashes, int shingleSize) {
+        this.numHashes = numHashes;
+        this.shingleSize = shingleSize;
+        this.seeds = new long[numHashes];
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < numHashes; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            seeds[i] = seed;
+        }
+    }
+
+    /**
+     * 计算签名，词法单元少于一个 shingle 时整体作为一个 shingle
+     */
+    public int[] signature(List<String> tokens) {
+        int[] signature = new int[numHashes];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, tokens.size() - shingleSize + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingleHash = 0xCBF29CE484222325L;
+            for (int i = start; i < Math.min(start + shingleSize, tokens.size()); i++) {
+                shingleHash = (shingleHash ^ tokens.get(i).hashCode()) * 0x100000001B3L;
+            }
+            for (int h = 0; h < numHashes; h++) {
+                int value = (int) (mix(shingleHash ^ seeds[h]) >>> 33);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * 估算两个签名对应集合的 Jaccard 相似度
+     */
+    public static double similarity(int[] a, int[] b) {
+        int length = Math.min(a.length, b.length);
+        if (length == 0) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / length;
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    /**
+     * SplitMix64 混淆函数
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
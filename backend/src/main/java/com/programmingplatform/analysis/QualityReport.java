@@ -0,0 +1,167 @@
+package com.programmingplatform.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 单个提交的代码质量分析结果
+ */
+public class QualityReport {
+
+    // 分析明细中最多保留的问题条数
+    static final int MAX_ISSUES = 50;
+
+    private SourceLanguage language;
+    private int physicalLines;
+    private int codeLines;
+    private int commentLines;
+    private int cyclomaticComplexity;
+    private Map<String, Integer> decisionPoints = new TreeMap<>();
+    private int maxNestingDepth;
+    private int maxLoopDepth;
+    private double halsteadVolume;
+    private double maintainabilityIndex;
+    private int securityIssues;
+    private int performanceIssues;
+    private int styleIssues;
+    private List<Issue> issues = new ArrayList<>();
+    private List<String> normalizedTokens = new ArrayList<>();
+
+    /**
+     * 规则检查发现的问题
+     */
+    public record Issue(String category, String rule, int line, String message) {
+    }
+
+    void addIssue(String category, String rule, int line, String message) {
+        switch (category) {
+            case "SECURITY" -> securityIssues++;
+            case "PERFORMANCE" -> performanceIssues++;
+            default -> styleIssues++;
+        }
+        if (issues.size() < MAX_ISSUES) {
+            issues.add(new Issue(category, rule, line, message));
+        }
+    }
+
+    /**
+     * 综合评级：以可维护性指数为主，存在安全问题时最高为 C
+     */
+    public String grade() {
+        String grade;
+        if (maintainabilityIndex >= 85) {
+            grade = "A";
+        } else if (maintainabilityIndex >= 65) {
+            grade = "B";
+        } else if (maintainabilityIndex >= 50) {
+            grade = "C";
+        } else if (maintainabilityIndex >= 30) {
+            grade = "D";
+        } else {
+            grade = "F";
+        }
+        if (securityIssues > 0 && grade.compareTo("C") < 0) {
+            grade = "C";
+        }
+        return grade;
+    }
+
+    // Getters and Setters
+    public SourceLanguage getLanguage() {
+        return language;
+    }
+
+    void setLanguage(SourceLanguage language) {
+        this.language = language;
+    }
+
+    public int getPhysicalLines() {
+        return physicalLines;
+    }
+
+    void setPhysicalLines(int physicalLines) {
+        this.physicalLines = physicalLines;
+    }
+
+    public int getCodeLines() {
+        return codeLines;
+    }
+
+    void setCodeLines(int codeLines) {
+        this.codeLines = codeLines;
+    }
+
+    public int getCommentLines() {
+        return commentLines;
+    }
+
+    void setCommentLines(int commentLines) {
+        this.commentLines = commentLines;
+    }
+
+    public int getCyclomaticComplexity() {
+        return cyclomaticComplexity;
+    }
+
+    void setCyclomaticComplexity(int cyclomaticComplexity) {
+        this.cyclomaticComplexity = cyclomaticComplexity;
+    }
+
+    public Map<String, Integer> getDecisionPoints() {
+        return decisionPoints;
+    }
+
+    public int getMaxNestingDepth() {
+        return maxNestingDepth;
+    }
+
+    void setMaxNestingDepth(int maxNestingDepth) {
+        this.maxNestingDepth = maxNestingDepth;
+    }
+
+    public int getMaxLoopDepth() {
+        return maxLoopDepth;
+    }
+
+    void setMaxLoopDepth(int maxLoopDepth) {
+        this.maxLoopDepth = maxLoopDepth;
+    }
+
+    public double getHalsteadVolume() {
+        return halsteadVolume;
+    }
+
+    void setHalsteadVolume(double halsteadVolume) {
+        this.halsteadVolume = halsteadVolume;
+    }
+
+    public double getMaintainabilityIndex() {
+        return maintainabilityIndex;
+    }
+
+    void setMaintainabilityIndex(double maintainabilityIndex) {
+        this.maintainabilityIndex = maintainabilityIndex;
+    }
+
+    public int getSecurityIssues() {
+        return securityIssues;
+    }
+
+    public int getPerformanceIssues() {
+        return performanceIssues;
+    }
+
+    public int getStyleIssues() {
+        return styleIssues;
+    }
+
+    public List<Issue> getIssues() {
+        return issues;
+    }
+
+    public List<String> getNormalizedTokens() {
+        return normalizedTokens;
+    }
+}
@@ -0,0 +1,54 @@
+package com.programmingplatform.analysis;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 代码质量分析支持的源码语言
+ */
+public enum SourceLanguage {
+
+    JAVA(120, Set.of("abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const",
+            "continue", "default", "do", "double", "else", "enum", "extends", "final", "finally", "float", "for",
+            "goto", "if", "implements", "import", "instanceof", "int", "interface", "long", "native", "new",
+            "package", "private", "protected", "public", "return", "short", "static", "strictfp", "super", "switch",
+            "synchronized", "this", "throw", "throws", "transient", "try", "void", "volatile", "while", "var",
+            "record", "yield", "true", "false", "null")),
+
+    PYTHON(79, Set.of("False", "None", "True", "and", "as", "assert", "async", "await", "break", "class",
+            "continue", "def", "del", "elif", "else", "except", "finally", "for", "from", "global", "if", "import",
+            "in", "is", "lambda", "nonlocal", "not", "or", "pass", "raise", "return", "try", "while", "with",
+            "yield"));
+
+    // 风格检查的最大行宽（Java 按常见规范 120，Python 按 PEP 8 的 79）
+    private final int maxLineLength;
+
+    private final Set<String> keywords;
+
+    SourceLanguage(int maxLineLength, Set<String> keywords) {
+        this.maxLineLength = maxLineLength;
+        this.keywords = keywords;
+    }
+
+    /**
+     * 按提交记录中的语言名解析，不支持的语言返回 null
+     */
+    public static SourceLanguage fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "java" -> JAVA;
+            case "python", "python3", "py" -> PYTHON;
+            default -> null;
+        };
+    }
+
+    public int getMaxLineLength() {
+        return maxLineLength;
+    }
+
+    public boolean isKeyword(String word) {
+        return keywords.contains(word);
+    }
+}
@@ -0,0 +1,27 @@
+package com.programmingplatform.analysis;
+
+/**
+ * 源码词法单元
+ */
+public record SourceToken(Type type, String text, int line, int column) {
+
+    public enum Type {
+        KEYWORD, IDENTIFIER, NUMBER, STRING, OPERATOR
+    }
+
+    public boolean is(String value) {
+        return text.equals(value);
+    }
+
+    /**
+     * 用于相似度比较的归一化形式，标识符和字面量替换为占位符，重命名变量不影响结果
+     */
+    public String normalized() {
+        return switch (type) {
+            case IDENTIFIER -> "$id";
+            case NUMBER -> "$num";
+            case STRING -> "$str";
+            default -> text;
+        };
+    }
+}
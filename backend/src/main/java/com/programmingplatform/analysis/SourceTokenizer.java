@@ -0,0 +1,192 @@
+package com.programmingplatform.analysis;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Java / Python 轻量词法分析器
+ * 只做分词并去除注释，不构建语法树；足以支撑圈复杂度、Halstead 度量和规则检查
+ * 无法识别的字符按单字符运算符处理，保证任意输入都能完成分析
+ */
+public final class SourceTokenizer {
+
+    private static final String[] JAVA_OPERATORS = {">>>=", "<<=", ">>=", ">>>", "...", "->", "::", "++", "--",
+            "&&", "||", "==", "!=", "<=", ">=", "+=", "-=", "*=", "/=", "%=", "&=", "|=", "^=", "<<", ">>"};
+
+    private static final String[] PYTHON_OPERATORS = {"**=", "//=", ">>=", "<<=", "**", "//", "==", "!=", "<=",
+            ">=", "+=", "-=", "*=", "/=", "%=", "&=", "|=", "^=", "->", ":=", "<<", ">>"};
+
+    private SourceTokenizer() {
+    }
+
+    public static TokenizedSource tokenize(String source, SourceLanguage language) {
+        String text = source.replace("\r\n", "\n").replace('\r', '\n');
+        String[] lines = text.split("\n", -1);
+        List<SourceToken> tokens = new ArrayList<>();
+        BitSet codeLines = new BitSet();
+        BitSet commentLines = new BitSet();
+        String[] operators = language == SourceLanguage.JAVA ? JAVA_OPERATORS : PYTHON_OPERATORS;
+
+        int pos = 0;
+        int line = 1;
+        int lineStart = 0;
+        int length = text.length();
+        while (pos < length) {
+            char c = text.charAt(pos);
+            if (c == '\n') {
+                line++;
+                pos++;
+                lineStart = pos;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pos++;
+                continue;
+            }
+
+            int start = pos;
+            int startLine = line;
+            int column = pos - lineStart;
+
+            // 注释
+            if (language == SourceLanguage.JAVA && text.startsWith("//", pos)
+                    || language == SourceLanguage.PYTHON && c == '#') {
+                while (pos < length && text.charAt(pos) != '\n') {
+                    pos++;
+                }
+                commentLines.set(startLine);
+                continue;
+            }
+            if (language == SourceLanguage.JAVA && text.startsWith("/*", pos)) {
+                int end = text.indexOf("*/", pos + 2);
+                end = end < 0 ? length : end + 2;
+                for (int i = pos; i < end; i++) {
+                    if (text.charAt(i) == '\n') {
+                        commentLines.set(line);
+                        line++;
+                        lineStart = i + 1;
+                    }
+                }
+                commentLines.set(line);
+                pos = end;
+                continue;
+            }
+
+            // 字符串
+            int stringEnd = scanString(text, pos, language);
+            if (stringEnd > pos) {
+                for (int i = pos; i < stringEnd; i++) {
+                    if (text.charAt(i) == '\n') {
+                        codeLines.set(line);
+                        line++;
+                        lineStart = i + 1;
+                    }
+                }
+                codeLines.set(line);
+                tokens.add(new SourceToken(SourceToken.Type.STRING, text.substring(start, stringEnd), startLine, column));
+                pos = stringEnd;
+                continue;
+            }
+
+            codeLines.set(line);
+            if (Character.isJavaIdentifierStart(c)) {
+                while (pos < length && Character.isJavaIdentifierPart(text.charAt(pos))) {
+                    pos++;
+                }
+                String word = text.substring(start, pos);
+                SourceToken.Type type = language.isKeyword(word) ? SourceToken.Type.KEYWORD : SourceToken.Type.IDENTIFIER;
+                tokens.add(new SourceToken(type, word, startLine, column));
+            } else if (Character.isDigit(c) || c == '.' && pos + 1 < length && Character.isDigit(text.charAt(pos + 1))) {
+                while (pos < length && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '.'
+                        || text.charAt(pos) == '_')) {
+                    pos++;
+                }
+                tokens.add(new SourceToken(SourceToken.Type.NUMBER, text.substring(start, pos), startLine, column));
+            } else {
+                String operator = String.valueOf(c);
+                for (String candidate : operators) {
+                    if (text.startsWith(candidate, pos)) {
+                        operator = candidate;
+                        break;
+                    }
+                }
+                pos += operator.length();
+                tokens.add(new SourceToken(SourceToken.Type.OPERATOR, operator, startLine, column));
+            }
+        }
+        return new TokenizedSource(language, lines, tokens, codeLines, commentLines);
+    }
+
+    /**
+     * 从 pos 开始识别字符串字面量，返回结束位置；不是字符串时返回 pos
+     */
+    private static int scanString(String text, int pos, SourceLanguage language) {
+        int length = text.length();
+        int quotePos = pos;
+        if (language == SourceLanguage.PYTHON) {
+            // 字符串前缀 r / b / f / u 及其组合
+            while (quotePos < length && quotePos - pos < 2 && "rRbBfFuU".indexOf(text.charAt(quotePos)) >= 0) {
+                quotePos++;
+            }
+        }
+        if (quotePos >= length) {
+            return pos;
+        }
+        char quote = text.charAt(quotePos);
+        if (quote != '"' && quote != '\'') {
+            return pos;
+        }
+        if (language == SourceLanguage.JAVA && quotePos != pos) {
+            return pos;
+        }
+
+        String triple = String.valueOf(quote).repeat(3);
+        boolean tripleQuoted = text.startsWith(triple, quotePos)
+                && (language == SourceLanguage.PYTHON || quote == '"');
+        if (tripleQuoted) {
+            int end = text.indexOf(triple, quotePos + 3);
+            return end < 0 ? length : end + 3;
+        }
+
+        int i = quotePos + 1;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else if (c == '\n') {
+                // 未闭合的字符串止于行尾
+                return i;
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 分词结果及行信息
+     */
+    public record TokenizedSource(SourceLanguage language, String[] lines, List<SourceToken> tokens,
+                                  BitSet codeLines, BitSet commentLines) {
+
+        public int physicalLines() {
+            return lines.length;
+        }
+
+        public int codeLineCount() {
+            return codeLines.cardinality();
+        }
+
+        /**
+         * 只包含注释、不含代码的行数
+         */
+        public int commentLineCount() {
+            BitSet onlyComments = (BitSet) commentLines.clone();
+            onlyComments.andNot(codeLines);
+            return onlyComments.cardinality();
+        }
+    }
+}
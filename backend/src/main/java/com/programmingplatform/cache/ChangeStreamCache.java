@@ -0,0 +1,44 @@
+package com.programmingplatform.cache;
+
+/**
+ * 依赖 MongoDB 变更流失效的进程内 LRU 缓存
+ * 只在变更流工作时读写缓存；读取数据库前先取 generation()，写入时若期间发生过失效则放弃，
+ * 避免失效事件先于旧数据写入缓存而导致长期读到旧数据
+ */
+public class ChangeStreamCache<K, V> {
+
+    private final LruCache<K, V> entries;
+
+    private final MongoChangeStreamListener listener;
+
+    private long generation;
+
+    public ChangeStreamCache(int maxEntries, MongoChangeStreamListener listener) {
+        this.entries = new LruCache<>(maxEntries);
+        this.listener = listener;
+    }
+
+    public V get(K key) {
+        return listener.isActive() ? entries.get(key) : null;
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void put(K key, V value, long expectedGeneration) {
+        if (listener.isActive() && generation == expectedGeneration) {
+            entries.put(key, value);
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+}
@@ -0,0 +1,50 @@
+package com.programmingplatform.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 进程内 LRU 缓存
+ * 超过容量时淘汰最久未访问的条目，所有操作线程安全
+ */
+public class LruCache<K, V> {
+
+    private final LinkedHashMap<K, V> entries;
+
+    public LruCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * 移除所有满足条件的键
+     */
+    public synchronized void removeIf(Predicate<K> predicate) {
+        entries.keySet().removeIf(predicate);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,266 @@
+package com.programmingplatform.cache;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import com.programmingplatform.event.MongoDocumentChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoDB 变更流监听器
+ * 每个节点独立监听内容集合的变更并发布 {@link MongoDocumentChangedEvent}，由各本地缓存自行失效；
+ * 恢复令牌按节点定期存入 change_stream_checkpoints，重启后从断点继续。
+ * 变更流需要副本集，独立部署的 MongoDB 上监听器不启用，isActive() 为 false，各缓存退回按 TTL 过期
+ */
+@Component
+public class MongoChangeStreamListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoChangeStreamListener.class);
+
+    private static final String CHECKPOINT_COLLECTION = "change_stream_checkpoints";
+
+    // ChangeStreamHistoryLost / ChangeStreamFatalError：断点已超出 oplog 范围，只能从当前位置重新开始
+    private static final Set<Integer> HISTORY_LOST_CODES = Set.of(280, 286);
+
+    // 当前部署不是副本集，不支持 $changeStream
+    private static final int NOT_REPLICA_SET_CODE = 40573;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.change-streams.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.change-streams.collections:lesson_content,code_templates,exercises,user_notes}")
+    private List<String> collections;
+
+    @Value("${app.change-streams.instance-id:${HOSTNAME:}}")
+    private String instanceId;
+
+    @Value("${app.change-streams.checkpoint-interval-ms:5000}")
+    private long checkpointIntervalMs;
+
+    @Value("${app.change-streams.retry-delay-ms:5000}")
+    private long retryDelayMs;
+
+    private volatile boolean running;
+
+    private volatile boolean active;
+
+    private Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (instanceId == null || instanceId.isBlank()) {
+            instanceId = localHostName();
+        }
+        running = true;
+        worker = new Thread(this::watchLoop, "mongo-change-stream");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * 变更流是否正在工作；为 false 时依赖变更事件失效的缓存不应长期持有数据
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    private void watchLoop() {
+        while (running) {
+            try {
+                watch();
+            } catch (MongoCommandException ex) {
+                if (ex.getErrorCode() == NOT_REPLICA_SET_CODE) {
+                    logger.warn("MongoDB 不是副本集，变更流监听未启用，本地内容缓存按 TTL 过期");
+                    deactivate();
+                    return;
+                }
+                handleFailure(ex);
+            } catch (MongoException ex) {
+                handleFailure(ex);
+            }
+        }
+        active = false;
+    }
+
+    private void watch() {
+        BsonDocument resumeToken = loadCheckpoint();
+        List<Bson> pipeline = List.of(
+                Aggregates.match(Filters.in("ns.coll", collections)),
+                // 派生字段和大字段不参与失效判断，不随事件传输
+                Aggregates.project(Projections.exclude("fullDocument.rendered", "fullDocument.solutionCode",
+                        "fullDocument.testCases", "fullDocument.pendingOps")));
+        var stream = mongoTemplate.getDb().watch(pipeline)
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            stream = stream.startAfter(resumeToken);
+        }
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            if (!active) {
+                active = true;
+                logger.info("变更流监听已启动，集合 {}，{}", collections, resumeToken == null ? "从当前位置开始" : "从断点恢复");
+                if (resumeToken == null) {
+                    // 无法确认此前是否错过变更，已有的本地缓存全部作废
+                    eventPublisher.publishEvent(MongoDocumentChangedEvent.reset(null));
+                }
+            }
+
+            long lastCheckpoint = System.currentTimeMillis();
+            while (running) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null) {
+                    dispatch(change);
+                }
+                long now = System.currentTimeMillis();
+                if (now - lastCheckpoint >= checkpointIntervalMs && cursor.getResumeToken() != null) {
+                    saveCheckpoint(cursor.getResumeToken());
+                    lastCheckpoint = now;
+                }
+            }
+            if (cursor.getResumeToken() != null) {
+                saveCheckpoint(cursor.getResumeToken());
+            }
+        }
+    }
+
+    private void dispatch(ChangeStreamDocument<Document> change) {
+        String collection = change.getNamespace() == null ? null : change.getNamespace().getCollectionName();
+        String operation = change.getOperationTypeString();
+        MongoDocumentChangedEvent event;
+        if (change.getDocumentKey() == null) {
+            // drop / rename / invalidate 等集合级事件
+            event = MongoDocumentChangedEvent.reset(collection);
+        } else {
+            event = new MongoDocumentChangedEvent(collection, operation, idString(change.getDocumentKey().get("_id")),
+                    change.getFullDocument(), changedFields(change.getUpdateDescription()));
+        }
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException ex) {
+            logger.warn("处理 {} 集合变更事件失败: {}", collection, ex.getMessage());
+        }
+    }
+
+    private void handleFailure(MongoException ex) {
+        boolean historyLost = HISTORY_LOST_CODES.contains(ex.getCode());
+        logger.warn("变更流中断{}: {}", historyLost ? "且断点已失效" : "", ex.getMessage());
+        deactivate();
+        if (historyLost) {
+            mongoTemplate.getCollection(CHECKPOINT_COLLECTION).deleteOne(Filters.eq("_id", instanceId));
+        }
+        try {
+            Thread.sleep(retryDelayMs);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * 停止依赖变更事件的缓存：中断期间的变更无法得知，清空后回退到 TTL 模式
+     */
+    private void deactivate() {
+        active = false;
+        eventPublisher.publishEvent(MongoDocumentChangedEvent.reset(null));
+    }
+
+    private BsonDocument loadCheckpoint() {
+        Document checkpoint = mongoTemplate.getCollection(CHECKPOINT_COLLECTION)
+                .find(Filters.eq("_id", instanceId)).first();
+        if (checkpoint == null || checkpoint.getString("resumeToken") == null) {
+            return null;
+        }
+        return new BsonDocument("_data", new BsonString(checkpoint.getString("resumeToken")));
+    }
+
+    private void saveCheckpoint(BsonDocument resumeToken) {
+        BsonValue data = resumeToken.get("_data");
+        if (data == null || !data.isString()) {
+            return;
+        }
+        MongoCollection<Document> checkpoints = mongoTemplate.getCollection(CHECKPOINT_COLLECTION);
+        checkpoints.replaceOne(Filters.eq("_id", instanceId),
+                new Document("_id", instanceId)
+                        .append("resumeToken", data.asString().getValue())
+                        .append("updatedAt", new Date()),
+                new ReplaceOptions().upsert(true));
+    }
+
+    private static Set<String> changedFields(UpdateDescription description) {
+        if (description == null) {
+            return null;
+        }
+        Set<String> fields = new HashSet<>();
+        if (description.getUpdatedFields() != null) {
+            fields.addAll(description.getUpdatedFields().keySet());
+        }
+        if (description.getRemovedFields() != null) {
+            fields.addAll(description.getRemovedFields());
+        }
+        return fields;
+    }
+
+    private static String idString(BsonValue id) {
+        if (id instanceof BsonObjectId objectId) {
+            return objectId.getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "unknown";
+        }
+    }
+}
@@ -1,49 +1,115 @@
 package com.programmingplatform.config;
 
+import com.programmingplatform.mapper.IntArrayTypeHandler;
+import com.programmingplatform.mapper.UuidTypeHandler;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 多数据源配置类
  * 配置 MySQL 主数据库和 PostgreSQL 辅助数据库
+ * MySQL 可选配置只读副本，只读事务路由到副本
  */
 @Configuration
+@EnableConfigurationProperties({ReplicaDataSourceProperties.class, PartitionProperties.class})
 public class DatabaseConfig {
 
+    /**
+     * 主数据源连接属性 (url / username / password / driver-class-name)
+     */
+    @Primary
+    @Bean(name = "primaryDataSourceProperties")
+    @ConfigurationProperties(prefix = "spring.datasource.primary")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
     /**
      * 主数据源配置 (MySQL)
+     * 连接池参数绑定 spring.datasource.primary.hikari
      */
     @Primary
     @Bean(name = "primaryDataSource")
-    @ConfigurationProperties(prefix = "spring.datasource.primary")
-    public DataSource primaryDataSource() {
-        return DataSourceBuilder.create()
+    @ConfigurationProperties(prefix = "spring.datasource.primary.hikari")
+    public HikariDataSource primaryDataSource(
+            @Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
                 .type(HikariDataSource.class)
                 .build();
+        applyMySqlStatementTuning(dataSource);
+        return dataSource;
+    }
+
+    /**
+     * 主库读写分离路由数据源
+     * 未启用副本时所有请求都路由到主数据源
+     */
+    @Bean(name = "readWriteRoutingDataSource")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                                 ReplicaDataSourceProperties replicaProperties,
+                                                                 MeterRegistry meterRegistry) {
+        List<ReadWriteRoutingDataSource.ReplicaNode> replicas = new ArrayList<>();
+        if (replicaProperties.isEnabled()) {
+            for (ReplicaDataSourceProperties.Node node : replicaProperties.getNodes()) {
+                replicas.add(new ReadWriteRoutingDataSource.ReplicaNode(node.getName(),
+                        createReplicaDataSource(node, replicaProperties, meterRegistry)));
+            }
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, replicaProperties.getMaxLagSeconds(), meterRegistry);
+    }
+
+    /**
+     * 主库 MyBatis 与事务管理器使用的数据源
+     * 延迟获取物理连接，使路由发生在只读事务标记设置之后
+     */
+    @Bean(name = "primaryRoutingDataSource")
+    public DataSource primaryRoutingDataSource(
+            @Qualifier("readWriteRoutingDataSource") ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * 辅助数据源连接属性
+     */
+    @Bean(name = "secondaryDataSourceProperties")
+    @ConfigurationProperties(prefix = "spring.datasource.secondary")
+    public DataSourceProperties secondaryDataSourceProperties() {
+        return new DataSourceProperties();
     }
 
     /**
      * 辅助数据源配置 (PostgreSQL)
+     * 连接池参数绑定 spring.datasource.secondary.hikari
      */
     @Bean(name = "secondaryDataSource")
-    @ConfigurationProperties(prefix = "spring.datasource.secondary")
-    public DataSource secondaryDataSource() {
-        return DataSourceBuilder.create()
+    @ConfigurationProperties(prefix = "spring.datasource.secondary.hikari")
+    public HikariDataSource secondaryDataSource(
+            @Qualifier("secondaryDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
                 .type(HikariDataSource.class)
                 .build();
+        applyPostgresStatementTuning(dataSource);
+        return dataSource;
     }
 
     /**
@@ -51,7 +117,7 @@ public class DatabaseConfig {
      */
     @Primary
     @Bean(name = "primarySqlSessionFactory")
-    public SqlSessionFactory primarySqlSessionFactory(@Qualifier("primaryDataSource") DataSource dataSource) 
+    public SqlSessionFactory primarySqlSessionFactory(@Qualifier("primaryRoutingDataSource") DataSource dataSource) 
             throws Exception {
         SqlSessionFactoryBean sessionFactory = new SqlSessionFactoryBean();
         sessionFactory.setDataSource(dataSource);
@@ -66,6 +132,7 @@ public class DatabaseConfig {
         configuration.setCacheEnabled(true);
         configuration.setLazyLoadingEnabled(true);
         configuration.setAggressiveLazyLoading(false);
+        configuration.setDefaultExecutorType(ExecutorType.REUSE);
         sessionFactory.setConfiguration(configuration);
         
         return sessionFactory.getObject();
@@ -83,6 +150,7 @@ public class DatabaseConfig {
             new PathMatchingResourcePatternResolver().getResources("classpath:mapper/secondary/*.xml")
         );
         sessionFactory.setTypeAliasesPackage("com.programmingplatform.entity.analytics");
+        sessionFactory.setTypeHandlers(new UuidTypeHandler(), new IntArrayTypeHandler());
         
         // MyBatis 配置
         org.apache.ibatis.session.Configuration configuration = new org.apache.ibatis.session.Configuration();
@@ -90,6 +158,7 @@ public class DatabaseConfig {
         configuration.setCacheEnabled(true);
         configuration.setLazyLoadingEnabled(true);
         configuration.setAggressiveLazyLoading(false);
+        configuration.setDefaultExecutorType(ExecutorType.REUSE);
         sessionFactory.setConfiguration(configuration);
         
         return sessionFactory.getObject();
@@ -100,7 +169,7 @@ public class DatabaseConfig {
      */
     @Primary
     @Bean(name = "primaryTransactionManager")
-    public PlatformTransactionManager primaryTransactionManager(@Qualifier("primaryDataSource") DataSource dataSource) {
+    public PlatformTransactionManager primaryTransactionManager(@Qualifier("primaryRoutingDataSource") DataSource dataSource) {
         return new DataSourceTransactionManager(dataSource);
     }
 
@@ -112,6 +181,58 @@ public class DatabaseConfig {
         return new DataSourceTransactionManager(dataSource);
     }
 
+    /**
+     * 创建只读副本连接池，并单独注册连接池指标
+     */
+    private HikariDataSource createReplicaDataSource(ReplicaDataSourceProperties.Node node,
+                                                     ReplicaDataSourceProperties replicaProperties,
+                                                     MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("ReplicaHikariPool-" + node.getName());
+        dataSource.setDriverClassName(node.getDriverClassName());
+        dataSource.setJdbcUrl(node.getUrl());
+        dataSource.setUsername(node.getUsername());
+        dataSource.setPassword(node.getPassword());
+        dataSource.setMaximumPoolSize(node.getMaximumPoolSize());
+        dataSource.setMinimumIdle(node.getMinimumIdle());
+        dataSource.setConnectionTimeout(replicaProperties.getConnectionTimeout() != null
+                ? replicaProperties.getConnectionTimeout() : node.getConnectionTimeout());
+        dataSource.setIdleTimeout(node.getIdleTimeout());
+        dataSource.setMaxLifetime(node.getMaxLifetime());
+        dataSource.setReadOnly(true);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        applyMySqlStatementTuning(dataSource);
+        return dataSource;
+    }
+
+    /**
+     * MySQL 驱动语句级调优
+     * 开启服务端预编译语句缓存，并把 JDBC 批处理改写为多行 INSERT
+     */
+    private void applyMySqlStatementTuning(HikariDataSource dataSource) {
+        dataSource.addDataSourceProperty("cachePrepStmts", "true");
+        dataSource.addDataSourceProperty("prepStmtCacheSize", "250");
+        dataSource.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        dataSource.addDataSourceProperty("useServerPrepStmts", "true");
+        dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+        dataSource.addDataSourceProperty("cacheResultSetMetadata", "true");
+        dataSource.addDataSourceProperty("cacheServerConfiguration", "true");
+        dataSource.addDataSourceProperty("useLocalSessionState", "true");
+        dataSource.addDataSourceProperty("elideSetAutoCommits", "true");
+        dataSource.addDataSourceProperty("maintainTimeStats", "false");
+    }
+
+    /**
+     * PostgreSQL 驱动语句级调优
+     * 批量 INSERT 改写为多值语句，并扩大驱动侧预编译语句缓存
+     */
+    private void applyPostgresStatementTuning(HikariDataSource dataSource) {
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        dataSource.addDataSourceProperty("prepareThreshold", "3");
+        dataSource.addDataSourceProperty("preparedStatementCacheQueries", "512");
+        dataSource.addDataSourceProperty("preparedStatementCacheSizeMiB", "8");
+    }
+
     /**
      * 主数据源 Mapper 扫描配置
      */
@@ -0,0 +1,46 @@
+package com.programmingplatform.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.programmingplatform.metrics.PostgresMeterRegistry;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.util.NamedThreadFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * 系统性能指标持久化配置
+ * 启用后注册 PostgresMeterRegistry，Spring Boot 会将其加入全局组合注册表，与 Prometheus 拉取端点并存
+ */
+@Configuration
+@EnableConfigurationProperties(MetricsExportProperties.class)
+public class MetricsExportConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.metrics.postgres", name = "enabled", havingValue = "true")
+    public PostgresMeterRegistry postgresMeterRegistry(MetricsExportProperties properties,
+                                                       @Qualifier("secondaryDataSource") DataSource dataSource,
+                                                       ObjectMapper objectMapper) {
+        PostgresMeterRegistry registry = new PostgresMeterRegistry(properties, dataSource, objectMapper,
+                resolveInstanceId(properties), Clock.SYSTEM);
+        registry.start(new NamedThreadFactory("postgres-metrics-publisher"));
+        return registry;
+    }
+
+    private String resolveInstanceId(MetricsExportProperties properties) {
+        if (properties.getInstanceId() != null && !properties.getInstanceId().isBlank()) {
+            return properties.getInstanceId();
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "unknown";
+        }
+    }
+}
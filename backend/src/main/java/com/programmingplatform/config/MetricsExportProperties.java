@@ -0,0 +1,82 @@
+package com.programmingplatform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 系统性能指标写入 PostgreSQL 的配置
+ * 对应 app.metrics.postgres 前缀
+ */
+@ConfigurationProperties(prefix = "app.metrics.postgres")
+public class MetricsExportProperties {
+
+    // 是否启用指标写入
+    private boolean enabled = false;
+
+    // 聚合步长，每个步长每个指标写入一行
+    private Duration step = Duration.ofMinutes(1);
+
+    // 单次 COPY 的最大行数
+    private int batchSize = 5000;
+
+    // 写入 service_name 列的服务名
+    private String serviceName = "backend";
+
+    // 写入 instance_id 列的实例标识，为空时取主机名
+    private String instanceId;
+
+    // 只写入名称以这些前缀开头的指标，为空表示全部写入
+    private List<String> includePrefixes = new ArrayList<>();
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getStep() {
+        return step;
+    }
+
+    public void setStep(Duration step) {
+        this.step = step;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public List<String> getIncludePrefixes() {
+        return includePrefixes;
+    }
+
+    public void setIncludePrefixes(List<String> includePrefixes) {
+        this.includePrefixes = includePrefixes;
+    }
+}
@@ -0,0 +1,29 @@
+package com.programmingplatform.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoDB 客户端超时配置
+ * 驱动默认不限制读超时和连接池等待时间，MongoDB 卡住时请求线程会一直阻塞；
+ * 这里给连接、读取和取连接分别设置上限，超时计入熔断器的失败统计
+ */
+@Configuration
+public class MongoClientConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoTimeoutCustomizer(
+            @Value("${app.mongodb.connect-timeout-ms:5000}") int connectTimeoutMs,
+            @Value("${app.mongodb.read-timeout-ms:10000}") int readTimeoutMs,
+            @Value("${app.mongodb.pool-max-wait-ms:2000}") long poolMaxWaitMs) {
+        return builder -> builder
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                        .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS))
+                .applyToConnectionPoolSettings(pool -> pool.maxWaitTime(poolMaxWaitMs, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,108 @@
+package com.programmingplatform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PostgreSQL 时间分区维护配置
+ * 对应 app.partitioning 前缀
+ */
+@ConfigurationProperties(prefix = "app.partitioning")
+public class PartitionProperties {
+
+    // 是否启用分区自动维护
+    private boolean enabled = true;
+
+    // 提前创建的未来分区个数
+    private int premake = 3;
+
+    private List<ManagedTable> tables = new ArrayList<>();
+
+    // 分区粒度
+    public enum Interval {
+        DAILY(1), WEEKLY(7), MONTHLY(31);
+
+        // 单个分区覆盖的最大天数
+        private final int maxDays;
+
+        Interval(int maxDays) {
+            this.maxDays = maxDays;
+        }
+
+        public int getMaxDays() {
+            return maxDays;
+        }
+    }
+
+    // 受管分区表配置
+    public static class ManagedTable {
+        private String name;
+        private Interval interval = Interval.MONTHLY;
+        // 数据保留天数，分区上界早于该时间的分区整体删除；0 表示永久保留
+        private int retentionDays = 0;
+
+        // Getters and Setters
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Interval getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Interval interval) {
+            this.interval = interval;
+        }
+
+        public int getRetentionDays() {
+            return retentionDays;
+        }
+
+        public void setRetentionDays(int retentionDays) {
+            this.retentionDays = retentionDays;
+        }
+    }
+
+    /**
+     * 按表名查找受管分区表，未配置时返回 null
+     */
+    public ManagedTable findTable(String name) {
+        for (ManagedTable table : tables) {
+            if (name.equals(table.getName())) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPremake() {
+        return premake;
+    }
+
+    public void setPremake(int premake) {
+        this.premake = premake;
+    }
+
+    public List<ManagedTable> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<ManagedTable> tables) {
+        this.tables = tables;
+    }
+}
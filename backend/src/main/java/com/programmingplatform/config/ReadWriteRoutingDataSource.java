@@ -0,0 +1,195 @@
+package com.programmingplatform.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 主库读写分离路由数据源
+ * 只读事务轮询路由到健康副本，写操作和非事务访问始终走主库
+ * 必须包装在 LazyConnectionDataSourceProxy 中使用，保证取连接时事务的只读标记已经生效
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    static final String PRIMARY_KEY = "primary";
+
+    private final List<ReplicaNode> replicas;
+
+    private final long maxLagSeconds;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Counter> routeCounters = new ConcurrentHashMap<>();
+
+    private final Counter fallbackCounter;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<ReplicaNode> replicas, long maxLagSeconds,
+                                      MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLagSeconds;
+        this.meterRegistry = meterRegistry;
+        this.fallbackCounter = Counter.builder("datasource.routing.fallback")
+                .description("只读请求因副本不可用回退到主库的次数")
+                .register(meterRegistry);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY_KEY, primary);
+        for (ReplicaNode replica : replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+            Gauge.builder("datasource.replica.lag", replica, ReplicaNode::getLagSeconds)
+                    .tag("replica", replica.getName())
+                    .baseUnit("seconds")
+                    .description("副本复制延迟，-1 表示不可用")
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = PRIMARY_KEY;
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReplicaNode replica = selectHealthyReplica();
+            if (replica != null) {
+                target = replica.getName();
+            } else if (!replicas.isEmpty()) {
+                fallbackCounter.increment();
+            }
+        }
+        routeCounters.computeIfAbsent(target, key -> Counter.builder("datasource.routing.requests")
+                .description("按目标数据源统计的连接路由次数")
+                .tag("target", key)
+                .register(meterRegistry)).increment();
+        return target;
+    }
+
+    /**
+     * 检测所有副本的复制延迟并更新健康状态
+     */
+    public void refreshReplicaHealth() {
+        for (ReplicaNode replica : replicas) {
+            long lag = probeLag(replica);
+            replica.setLagSeconds(lag);
+            boolean healthy = lag >= 0 && lag <= maxLagSeconds;
+            if (healthy != replica.isHealthy()) {
+                logger.warn("副本 {} 状态变更为 {}，当前延迟 {} 秒", replica.getName(), healthy ? "可用" : "不可用", lag);
+            }
+            replica.setHealthy(healthy);
+        }
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    @Override
+    public void destroy() {
+        for (ReplicaNode replica : replicas) {
+            replica.getDataSource().close();
+        }
+    }
+
+    private ReplicaNode selectHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            ReplicaNode candidate = replicas.get((start + i) % size);
+            if (candidate.isHealthy()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 查询副本复制延迟（秒），不可用返回 -1
+     * 未配置复制的独立实例（如本地测试用的第二个 MySQL）视为零延迟
+     */
+    private long probeLag(ReplicaNode replica) {
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                return readLag(rs, "Seconds_Behind_Source");
+            } catch (SQLSyntaxErrorException ex) {
+                // MySQL 8.0.22 之前的版本
+                try (ResultSet rs = statement.executeQuery("SHOW SLAVE STATUS")) {
+                    return readLag(rs, "Seconds_Behind_Master");
+                }
+            }
+        } catch (SQLException ex) {
+            logger.warn("副本 {} 延迟检测失败: {}", replica.getName(), ex.getMessage());
+            return -1;
+        }
+    }
+
+    private long readLag(ResultSet rs, String column) throws SQLException {
+        if (!rs.next()) {
+            return 0;
+        }
+        long lag = rs.getLong(column);
+        // 复制线程停止时该列为 NULL
+        return rs.wasNull() ? -1 : lag;
+    }
+
+    /**
+     * 副本节点及其运行状态
+     */
+    public static class ReplicaNode {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile long lagSeconds = 0;
+
+        public ReplicaNode(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public HikariDataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public void setHealthy(boolean healthy) {
+            this.healthy = healthy;
+        }
+
+        public long getLagSeconds() {
+            return lagSeconds;
+        }
+
+        public void setLagSeconds(long lagSeconds) {
+            this.lagSeconds = lagSeconds;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.programmingplatform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MySQL 只读副本配置
+ * 对应 spring.datasource.replica 前缀
+ */
+@ConfigurationProperties(prefix = "spring.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    // 是否启用读写分离
+    private boolean enabled = false;
+
+    // 复制延迟超过该值（秒）的副本不再接收读请求
+    private long maxLagSeconds = 5;
+
+    // 副本延迟检测间隔（毫秒）
+    private long lagCheckIntervalMs = 5000;
+
+    // 统一覆盖各副本节点的获取连接超时（毫秒），未设置时使用节点自身配置
+    private Long connectionTimeout;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    // 单个副本节点配置
+    public static class Node {
+        private String name;
+        private String driverClassName = "com.mysql.cj.jdbc.Driver";
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 20;
+        private int minimumIdle = 5;
+        private long connectionTimeout = 20000;
+        private long idleTimeout = 300000;
+        private long maxLifetime = 1200000;
+
+        // Getters and Setters
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public int getMinimumIdle() {
+            return minimumIdle;
+        }
+
+        public void setMinimumIdle(int minimumIdle) {
+            this.minimumIdle = minimumIdle;
+        }
+
+        public long getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(long connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+
+        public long getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public void setIdleTimeout(long idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+
+        public long getMaxLifetime() {
+            return maxLifetime;
+        }
+
+        public void setMaxLifetime(long maxLifetime) {
+            this.maxLifetime = maxLifetime;
+        }
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxLagSeconds() {
+        return maxLagSeconds;
+    }
+
+    public void setMaxLagSeconds(long maxLagSeconds) {
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public long getLagCheckIntervalMs() {
+        return lagCheckIntervalMs;
+    }
+
+    public void setLagCheckIntervalMs(long lagCheckIntervalMs) {
+        this.lagCheckIntervalMs = lagCheckIntervalMs;
+    }
+
+    public Long getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(Long connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<Node> nodes) {
+        this.nodes = nodes;
+    }
+}
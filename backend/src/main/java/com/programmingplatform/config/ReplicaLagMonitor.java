@@ -0,0 +1,61 @@
+package com.programmingplatform.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 副本复制延迟定时检测
+ * 延迟超限或不可达的副本会被摘除，只读请求回退到主库，恢复后自动重新加入。
+ * 检测在独立线程上调度，副本卡住时不占用共享的定时任务线程，其他定时任务也不会推迟摘除副本
+ */
+@Component
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Value("${spring.datasource.replica.lag-check-interval-ms:5000}")
+    private long lagCheckIntervalMs;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (!routingDataSource.hasReplicas() || lagCheckIntervalMs <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkReplicaLag, 0, lagCheckIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public void checkReplicaLag() {
+        try {
+            routingDataSource.refreshReplicaHealth();
+        } catch (RuntimeException ex) {
+            // 异常会取消后续调度，记录后等待下一轮
+            logger.warn("副本延迟检测失败: {}", ex.getMessage());
+        }
+    }
+}
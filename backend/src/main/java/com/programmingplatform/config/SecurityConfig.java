@@ -4,6 +4,7 @@ import com.programmingplatform.security.JwtAuthenticationEntryPoint;
 import com.programmingplatform.security.JwtAuthenticationFilter;
 import com.programmingplatform.security.JwtTokenProvider;
 import com.programmingplatform.service.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -117,6 +118,9 @@ public class SecurityConfig {
             
             // 配置授权规则
             .authorizeHttpRequests(auth -> auth
+                // 异步结果回写：原始请求已完成鉴权，JWT 过滤器不会在异步分派中重新执行
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // 公开接口
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/public/**").permitAll()
@@ -147,7 +151,13 @@ public class SecurityConfig {
                 
                 // 代码执行 - 需要认证
                 .requestMatchers("/code/execute/**").authenticated()
+                .requestMatchers(HttpMethod.GET, "/code/submissions/*/similar").hasAnyRole("INSTRUCTOR", "ADMIN")
+                // 判题结果回写 - 判题服务以管理员账号调用
+                .requestMatchers(HttpMethod.POST, "/code/submissions/*/result").hasRole("ADMIN")
                 .requestMatchers("/code/submissions/**").authenticated()
+
+                // 练习题测试用例 - 仅讲师和管理员可修改
+                .requestMatchers(HttpMethod.PUT, "/exercises/*/test-cases").hasAnyRole("INSTRUCTOR", "ADMIN")
                 
                 // 管理员接口
                 .requestMatchers("/admin/**").hasRole("ADMIN")
@@ -0,0 +1,55 @@
+package com.programmingplatform.controller;
+
+import com.programmingplatform.dto.request.SubmissionExportRequest;
+import com.programmingplatform.dto.response.ApiResponse;
+import com.programmingplatform.dto.response.ExportJobResponse;
+import com.programmingplatform.service.SubmissionExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 数据导出管理控制器
+ * 提交历史按日期和语言分区导出为 Arrow IPC 文件，供离线分析使用
+ */
+@RestController
+@RequestMapping("/admin/exports")
+@Tag(name = "数据导出", description = "提交历史离线导出相关接口（管理员）")
+public class AdminExportController {
+
+    @Autowired
+    private SubmissionExportService submissionExportService;
+
+    /**
+     * 创建导出任务
+     */
+    @PostMapping
+    @Operation(summary = "创建导出任务", description = "按日期范围导出提交记录和执行结果，任务在后台执行")
+    public ResponseEntity<ApiResponse<ExportJobResponse>> createExport(@Valid @RequestBody SubmissionExportRequest request) {
+        ExportJobResponse job = submissionExportService.submit(request);
+        return ResponseEntity.accepted().body(ApiResponse.success("导出任务已创建", job));
+    }
+
+    /**
+     * 查询导出任务状态
+     */
+    @GetMapping("/{jobId}")
+    @Operation(summary = "查询导出任务", description = "查询导出任务的状态和进度")
+    public ResponseEntity<ApiResponse<ExportJobResponse>> getExport(@PathVariable String jobId) {
+        return ResponseEntity.ok(ApiResponse.success(submissionExportService.getJob(jobId)));
+    }
+
+    /**
+     * 查询全部导出任务
+     */
+    @GetMapping
+    @Operation(summary = "导出任务列表", description = "查询本实例上的全部导出任务")
+    public ResponseEntity<ApiResponse<List<ExportJobResponse>>> listExports() {
+        return ResponseEntity.ok(ApiResponse.success(submissionExportService.listJobs()));
+    }
+}
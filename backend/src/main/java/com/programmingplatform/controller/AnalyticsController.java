@@ -0,0 +1,88 @@
+package com.programmingplatform.controller;
+
+import com.programmingplatform.dto.request.AnalyticsEventRequest;
+import com.programmingplatform.dto.response.ApiResponse;
+import com.programmingplatform.ingest.IpLiteral;
+import com.programmingplatform.security.UserPrincipal;
+import com.programmingplatform.service.AnalyticsIngestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 学习行为分析控制器
+ * 接收前端埋点上报的学习行为事件
+ */
+@RestController
+@RequestMapping("/analytics")
+@Tag(name = "学习行为分析", description = "学习行为事件上报相关接口")
+public class AnalyticsController {
+
+    private static final int MAX_BROWSER_LENGTH = 100;
+
+    @Autowired
+    private AnalyticsIngestionService analyticsIngestionService;
+
+    // 可信反向代理的地址或 CIDR 网段，只有来自这些地址的请求才采信 X-Forwarded-For
+    @Value("${app.analytics.trusted-proxies:}")
+    private String[] trustedProxies;
+
+    /**
+     * 批量上报学习行为事件
+     */
+    @PostMapping("/events")
+    @Operation(summary = "上报学习行为事件", description = "批量上报学习行为事件，服务端攒批后异步写入，高峰期低价值事件可能被采样")
+    public ResponseEntity<ApiResponse<Integer>> reportEvents(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                             @Valid @RequestBody AnalyticsEventRequest request,
+                                                             HttpServletRequest httpRequest) {
+        int accepted = analyticsIngestionService.ingest(currentUser.getId(), request.getEvents(),
+                resolveBrowser(httpRequest), resolveClientIp(httpRequest));
+        return ResponseEntity.accepted().body(ApiResponse.success("事件已接收", accepted));
+    }
+
+    private String resolveBrowser(HttpServletRequest request) {
+        String userAgent = request.getHeader("User-Agent");
+        if (userAgent == null || userAgent.length() <= MAX_BROWSER_LENGTH) {
+            return userAgent;
+        }
+        return userAgent.substring(0, MAX_BROWSER_LENGTH);
+    }
+
+    /**
+     * 直连地址不是可信代理时忽略 X-Forwarded-For；否则从右向左跳过可信代理，取第一个不可信的地址
+     */
+    private String resolveClientIp(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null || forwarded.isBlank() || !isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
+        }
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!isTrustedProxy(hop)) {
+                return hop;
+            }
+        }
+        return hops[0].trim();
+    }
+
+    private boolean isTrustedProxy(String address) {
+        byte[] bytes = IpLiteral.parse(address);
+        if (bytes == null) {
+            return false;
+        }
+        for (String proxy : trustedProxies) {
+            if (IpLiteral.matches(proxy.trim(), bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
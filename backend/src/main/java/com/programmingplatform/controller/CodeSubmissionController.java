@@ -0,0 +1,94 @@
+package com.programmingplatform.controller;
+
+import com.programmingplatform.dto.request.CodeSubmitRequest;
+import com.programmingplatform.dto.request.SubmissionResultRequest;
+import com.programmingplatform.dto.response.ApiResponse;
+import com.programmingplatform.dto.response.SubmissionDetailResponse;
+import com.programmingplatform.dto.response.SubmissionHistoryResponse;
+import com.programmingplatform.dto.response.SubmissionSummaryResponse;
+import com.programmingplatform.resilience.DataStore;
+import com.programmingplatform.resilience.StoreGuard;
+import com.programmingplatform.security.UserPrincipal;
+import com.programmingplatform.service.CodeSubmissionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 代码提交控制器
+ * 提供代码提交、判题结果回写，以及当前用户的提交历史和提交详情
+ */
+@RestController
+@RequestMapping("/code/submissions")
+@Tag(name = "代码提交", description = "代码提交历史相关接口")
+public class CodeSubmissionController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private CodeSubmissionService codeSubmissionService;
+
+    @Autowired
+    private StoreGuard storeGuard;
+
+    /**
+     * 提交代码，创建待判题的提交记录
+     */
+    @PostMapping
+    @Operation(summary = "提交代码", description = "创建待执行的提交，返回的 id 和 submissionTime 用于查询详情和回写结果")
+    public ResponseEntity<ApiResponse<SubmissionSummaryResponse>> submit(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Valid @RequestBody CodeSubmitRequest request) {
+        SubmissionSummaryResponse submission = storeGuard.call(DataStore.POSTGRES,
+                () -> codeSubmissionService.submit(currentUser.getId(), request));
+        return ResponseEntity.ok(ApiResponse.success("提交成功", submission));
+    }
+
+    /**
+     * 判题服务回写执行结果
+     */
+    @PostMapping("/{submissionId}/result")
+    @Operation(summary = "回写执行结果", description = "仅供判题服务调用，每个提交只接受一次终态结果")
+    public ResponseEntity<ApiResponse<Void>> recordResult(
+            @PathVariable UUID submissionId,
+            @Valid @RequestBody SubmissionResultRequest request) {
+        storeGuard.run(DataStore.POSTGRES, () -> codeSubmissionService.recordResult(submissionId, request));
+        return ResponseEntity.ok(ApiResponse.success("结果已记录"));
+    }
+
+    /**
+     * 查询我的提交历史
+     */
+    @GetMapping
+    @Operation(summary = "我的提交历史", description = "按提交时间倒序返回提交摘要，使用上一页返回的 nextCursor 翻页")
+    public ResponseEntity<ApiResponse<SubmissionHistoryResponse>> getMySubmissions(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam(required = false) Long lessonId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        SubmissionHistoryResponse history = storeGuard.call(DataStore.POSTGRES, () -> codeSubmissionService.getHistory(
+                currentUser.getId(), lessonId, cursor, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)));
+        return ResponseEntity.ok(ApiResponse.success(history));
+    }
+
+    /**
+     * 查询提交详情
+     */
+    @GetMapping("/{submissionId}")
+    @Operation(summary = "提交详情", description = "返回提交的代码、输出和错误信息，submissionTime 取自历史列表")
+    public ResponseEntity<ApiResponse<SubmissionDetailResponse>> getSubmission(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable UUID submissionId,
+            @RequestParam Instant submissionTime) {
+        SubmissionDetailResponse detail = storeGuard.call(DataStore.POSTGRES,
+                () -> codeSubmissionService.getDetail(currentUser.getId(), submissionId, submissionTime));
+        return ResponseEntity.ok(ApiResponse.success(detail));
+    }
+}
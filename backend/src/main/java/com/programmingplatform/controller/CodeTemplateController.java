@@ -0,0 +1,64 @@
+package com.programmingplatform.controller;
+
+import com.programmingplatform.dto.request.TemplateRenderRequest;
+import com.programmingplatform.dto.response.ApiResponse;
+import com.programmingplatform.dto.response.CodeTemplateResponse;
+import com.programmingplatform.dto.response.RenderedTemplateResponse;
+import com.programmingplatform.security.UserPrincipal;
+import com.programmingplatform.service.CodeTemplateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 代码模板控制器
+ * 公开模板无需登录即可查询，渲染模板需要认证
+ */
+@RestController
+@RequestMapping("/code/templates")
+@Tag(name = "代码模板", description = "代码模板查询与渲染相关接口")
+public class CodeTemplateController {
+
+    @Autowired
+    private CodeTemplateService codeTemplateService;
+
+    /**
+     * 查询公开模板
+     */
+    @GetMapping("/public")
+    @Operation(summary = "公开模板列表", description = "查询公开代码模板，可按语言过滤")
+    public ResponseEntity<ApiResponse<List<CodeTemplateResponse>>> getPublicTemplates(
+            @RequestParam(required = false) String language) {
+        return ResponseEntity.ok(ApiResponse.success(codeTemplateService.getPublicTemplates(language)));
+    }
+
+    /**
+     * 查询公开模板详情
+     */
+    @GetMapping("/public/{templateId}")
+    @Operation(summary = "公开模板详情", description = "查询公开代码模板及其占位符说明")
+    public ResponseEntity<ApiResponse<CodeTemplateResponse>> getPublicTemplate(@PathVariable String templateId) {
+        return ResponseEntity.ok(ApiResponse.success(codeTemplateService.getPublicTemplate(templateId)));
+    }
+
+    /**
+     * 渲染模板
+     */
+    @PostMapping("/{templateId}/render")
+    @Operation(summary = "渲染模板", description = "用给定的占位符取值渲染模板，未提供的占位符使用默认值")
+    public ResponseEntity<ApiResponse<RenderedTemplateResponse>> renderTemplate(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable String templateId,
+            @Valid @RequestBody TemplateRenderRequest request) {
+        RenderedTemplateResponse rendered = codeTemplateService.render(templateId, currentUser.getId(),
+                request.getValues() == null ? Map.of() : request.getValues());
+        return ResponseEntity.ok(ApiResponse.success(rendered));
+    }
+}
@@ -0,0 +1,40 @@
+package com.programmingplatform.controller;
+
+import com.programmingplatform.dto.response.ApiResponse;
+import com.programmingplatform.dto.response.CourseOutlineResponse;
+import com.programmingplatform.security.UserPrincipal;
+import com.programmingplatform.service.CourseAccessService;
+import com.programmingplatform.service.CourseOutlineService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 课程控制器
+ */
+@RestController
+@RequestMapping("/courses")
+@Tag(name = "课程管理", description = "课程相关接口")
+public class CourseController {
+
+    @Autowired
+    private CourseOutlineService courseOutlineService;
+
+    @Autowired
+    private CourseAccessService courseAccessService;
+
+    /**
+     * 获取课程大纲
+     */
+    @GetMapping("/{courseId}/outline")
+    @Operation(summary = "课程大纲", description = "获取课程章节和课时结构，并附带当前用户的学习进度")
+    public ResponseEntity<ApiResponse<CourseOutlineResponse>> getOutline(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                                         @PathVariable Long courseId) {
+        courseAccessService.requireCourseVisible(currentUser, courseId);
+        CourseOutlineResponse outline = courseOutlineService.getOutline(courseId, currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success(outline));
+    }
+}
@@ -0,0 +1,50 @@
+package com.programmingplatform.controller;
+
+import com.programmingplatform.dto.request.TestCaseUploadRequest;
+import com.programmingplatform.dto.response.ApiResponse;
+import com.programmingplatform.dto.response.ExerciseResponse;
+import com.programmingplatform.dto.response.TestCaseSetResponse;
+import com.programmingplatform.security.UserPrincipal;
+import com.programmingplatform.service.ExerciseService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 练习题控制器
+ * 学生端只能看到公开测试用例，测试用例上传仅限讲师和管理员
+ */
+@RestController
+@RequestMapping("/exercises")
+@Tag(name = "练习题", description = "练习题查询与测试用例管理相关接口")
+public class ExerciseController {
+
+    @Autowired
+    private ExerciseService exerciseService;
+
+    /**
+     * 查询练习题
+     */
+    @GetMapping("/{exerciseId}")
+    @Operation(summary = "练习题详情", description = "查询练习题及其公开测试用例，不包含隐藏用例和参考答案")
+    public ResponseEntity<ApiResponse<ExerciseResponse>> getExercise(@PathVariable String exerciseId) {
+        return ResponseEntity.ok(ApiResponse.success(exerciseService.getExercise(exerciseId)));
+    }
+
+    /**
+     * 替换测试用例
+     */
+    @PutMapping("/{exerciseId}/test-cases")
+    @Operation(summary = "替换测试用例", description = "整组替换练习题的测试用例，用例数据存入 GridFS")
+    public ResponseEntity<ApiResponse<TestCaseSetResponse>> replaceTestCases(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable String exerciseId,
+            @Valid @RequestBody TestCaseUploadRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("测试用例已更新",
+                exerciseService.replaceTestCases(currentUser, exerciseId, request)));
+    }
+}
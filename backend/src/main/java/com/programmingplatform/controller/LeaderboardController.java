@@ -0,0 +1,60 @@
+package com.programmingplatform.controller;
+
+import com.programmingplatform.dto.response.ApiResponse;
+import com.programmingplatform.dto.response.LeaderboardResponse;
+import com.programmingplatform.resilience.DataStore;
+import com.programmingplatform.resilience.StoreGuard;
+import com.programmingplatform.security.UserPrincipal;
+import com.programmingplatform.service.LeaderboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 排行榜控制器
+ * 按得分、执行耗时、提交时间排名，同时返回当前用户的名次
+ */
+@RestController
+@RequestMapping("/leaderboards")
+@Tag(name = "排行榜", description = "课时和课程排行榜相关接口")
+public class LeaderboardController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private StoreGuard storeGuard;
+
+    /**
+     * 查询课时排行榜
+     */
+    @GetMapping("/lessons/{lessonId}")
+    @Operation(summary = "课时排行榜", description = "按最佳提交的得分、执行耗时、提交时间排名")
+    public ResponseEntity<ApiResponse<LeaderboardResponse>> getLessonLeaderboard(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable Long lessonId,
+            @RequestParam(defaultValue = "10") int limit) {
+        LeaderboardResponse leaderboard = storeGuard.call(DataStore.REDIS, () -> leaderboardService.getLessonLeaderboard(
+                lessonId, currentUser.getId(), Math.min(Math.max(limit, 1), MAX_LIMIT)));
+        return ResponseEntity.ok(ApiResponse.success(leaderboard));
+    }
+
+    /**
+     * 查询课程排行榜
+     */
+    @GetMapping("/courses/{courseId}")
+    @Operation(summary = "课程排行榜", description = "按各课时最佳得分之和排名，同分时先达到者在前")
+    public ResponseEntity<ApiResponse<LeaderboardResponse>> getCourseLeaderboard(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable Long courseId,
+            @RequestParam(defaultValue = "10") int limit) {
+        LeaderboardResponse leaderboard = storeGuard.call(DataStore.REDIS, () -> leaderboardService.getCourseLeaderboard(
+                courseId, currentUser.getId(), Math.min(Math.max(limit, 1), MAX_LIMIT)));
+        return ResponseEntity.ok(ApiResponse.success(leaderboard));
+    }
+}
@@ -0,0 +1,88 @@
+package com.programmingplatform.controller;
+
+import com.programmingplatform.dto.response.ApiResponse;
+import com.programmingplatform.dto.response.LessonPageResponse;
+import com.programmingplatform.exception.ResourceNotFoundException;
+import com.programmingplatform.mapper.primary.CourseAccessMapper;
+import com.programmingplatform.security.UserPrincipal;
+import com.programmingplatform.service.CourseAccessService;
+import com.programmingplatform.service.LessonContentService;
+import com.programmingplatform.service.LessonPageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 课时内容控制器
+ * 渲染后的 HTML 直接作为响应体返回（不包装 ApiResponse），保证同一 ETag 对应的响应字节完全一致；
+ * 课时页面接口以异步方式返回，查询期间不占用请求线程
+ */
+@RestController
+@RequestMapping("/lessons")
+@Tag(name = "课时内容", description = "课时内容相关接口")
+public class LessonContentController {
+
+    @Autowired
+    private LessonContentService lessonContentService;
+
+    @Autowired
+    private LessonPageService lessonPageService;
+
+    @Autowired
+    private CourseAccessService courseAccessService;
+
+    @Value("${app.lesson-content.cache-max-age-seconds:60}")
+    private long cacheMaxAgeSeconds;
+
+    /**
+     * 获取渲染后的课时内容，先校验课时所属课程对当前用户可见，再做条件请求判断
+     */
+    @GetMapping(value = "/{lessonId}/content/rendered", produces = MediaType.TEXT_HTML_VALUE)
+    @Operation(summary = "课时内容 HTML", description = "返回服务端渲染并净化的课时 HTML，支持 If-None-Match 条件请求")
+    public ResponseEntity<String> getRenderedContent(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                     @PathVariable Long lessonId, WebRequest webRequest) {
+        CourseAccessMapper.LessonRef lesson = courseAccessService.findLesson(lessonId);
+        if (lesson == null) {
+            throw new ResourceNotFoundException("课时不存在: " + lessonId);
+        }
+        courseAccessService.requireCourseVisible(currentUser, lesson.getCourseId());
+
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(cacheMaxAgeSeconds))
+                .cachePrivate()
+                .mustRevalidate();
+
+        String currentEtag = lessonContentService.findCurrentEtag(lessonId);
+        if (currentEtag != null && webRequest.checkNotModified(currentEtag)) {
+            return ResponseEntity.status(304).cacheControl(cacheControl).eTag(currentEtag).build();
+        }
+
+        LessonContentService.RenderedLesson rendered = lessonContentService.getRendered(lessonId);
+        return ResponseEntity.ok()
+                .eTag(rendered.etag())
+                .cacheControl(cacheControl)
+                .header("X-Content-Version", String.valueOf(rendered.version()))
+                .body(rendered.html());
+    }
+
+    /**
+     * 获取课时页面
+     */
+    @GetMapping("/{lessonId}/page")
+    @Operation(summary = "课时页面", description = "并发查询课时内容、练习题和当前用户的笔记并一次返回")
+    public CompletableFuture<ResponseEntity<ApiResponse<LessonPageResponse>>> getLessonPage(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable Long lessonId) {
+        return lessonPageService.loadPage(currentUser, lessonId)
+                .thenApply(page -> ResponseEntity.ok(ApiResponse.success(page)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.programmingplatform.controller;
+
+import com.programmingplatform.dto.request.NoteCreateRequest;
+import com.programmingplatform.dto.request.NoteDeltaRequest;
+import com.programmingplatform.dto.response.ApiResponse;
+import com.programmingplatform.dto.response.NoteResponse;
+import com.programmingplatform.dto.response.NoteSyncResponse;
+import com.programmingplatform.security.UserPrincipal;
+import com.programmingplatform.service.NoteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 笔记控制器
+ * 编辑器自动保存通过增量同步接口提交，只有创建笔记时上传完整内容
+ */
+@RestController
+@RequestMapping("/notes")
+@Tag(name = "学习笔记", description = "学习笔记查询与增量同步相关接口")
+public class NoteController {
+
+    @Autowired
+    private NoteService noteService;
+
+    /**
+     * 创建笔记
+     */
+    @PostMapping
+    @Operation(summary = "创建笔记", description = "创建笔记并返回初始版本号")
+    public ResponseEntity<ApiResponse<NoteResponse>> createNote(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Valid @RequestBody NoteCreateRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("笔记已创建", noteService.create(currentUser.getId(), request)));
+    }
+
+    /**
+     * 查询笔记
+     */
+    @GetMapping("/{noteId}")
+    @Operation(summary = "笔记详情", description = "返回笔记完整内容和当前版本号")
+    public ResponseEntity<ApiResponse<NoteResponse>> getNote(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable String noteId) {
+        return ResponseEntity.ok(ApiResponse.success(noteService.getNote(currentUser.getId(), noteId)));
+    }
+
+    /**
+     * 增量同步笔记内容
+     */
+    @PatchMapping("/{noteId}/content")
+    @Operation(summary = "增量同步笔记", description = "基于 baseVersion 提交保留/插入/删除操作，版本落后时返回 409")
+    public ResponseEntity<ApiResponse<NoteSyncResponse>> syncContent(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable String noteId,
+            @Valid @RequestBody NoteDeltaRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(noteService.applyDelta(currentUser.getId(), noteId, request)));
+    }
+}
@@ -0,0 +1,37 @@
+package com.programmingplatform.controller;
+
+import com.programmingplatform.dto.request.ProgressHeartbeatRequest;
+import com.programmingplatform.dto.response.ApiResponse;
+import com.programmingplatform.security.UserPrincipal;
+import com.programmingplatform.service.ProgressIngestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 学习进度控制器
+ * 接收视频播放器和代码编辑器的进度心跳
+ */
+@RestController
+@RequestMapping("/progress")
+@Tag(name = "学习进度", description = "学习进度上报相关接口")
+public class ProgressController {
+
+    @Autowired
+    private ProgressIngestionService progressIngestionService;
+
+    /**
+     * 批量上报学习进度心跳
+     */
+    @PostMapping("/heartbeats")
+    @Operation(summary = "上报进度心跳", description = "批量上报学习进度心跳，服务端合并后异步写入")
+    public ResponseEntity<ApiResponse<Integer>> reportHeartbeats(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                                 @Valid @RequestBody ProgressHeartbeatRequest request) {
+        int accepted = progressIngestionService.ingest(currentUser.getId(), request.getHeartbeats());
+        return ResponseEntity.accepted().body(ApiResponse.success("进度已接收", accepted));
+    }
+}
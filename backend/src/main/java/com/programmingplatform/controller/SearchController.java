@@ -0,0 +1,44 @@
+package com.programmingplatform.controller;
+
+import com.programmingplatform.dto.response.ApiResponse;
+import com.programmingplatform.dto.response.SearchResponse;
+import com.programmingplatform.exception.BadRequestException;
+import com.programmingplatform.security.UserPrincipal;
+import com.programmingplatform.service.SearchIndexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 全文检索控制器
+ */
+@RestController
+@RequestMapping("/search")
+@Tag(name = "全文检索", description = "课程、课时、练习题、代码模板和笔记的统一检索接口")
+public class SearchController {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    /**
+     * 统一检索
+     */
+    @GetMapping
+    @Operation(summary = "统一检索", description = "支持前缀和拼写容错匹配，个人笔记和私有模板只对本人可见")
+    public ResponseEntity<ApiResponse<SearchResponse>> search(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank() || q.length() > 200) {
+            throw new BadRequestException("检索词长度应为1到200个字符");
+        }
+        return ResponseEntity.ok(ApiResponse.success(
+                searchIndexService.search(q, types, currentUser.getId(), limit)));
+    }
+}
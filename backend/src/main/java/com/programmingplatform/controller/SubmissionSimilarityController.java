@@ -0,0 +1,43 @@
+package com.programmingplatform.controller;
+
+import com.programmingplatform.dto.response.ApiResponse;
+import com.programmingplatform.dto.response.SimilarSubmissionResponse;
+import com.programmingplatform.security.UserPrincipal;
+import com.programmingplatform.service.SubmissionSimilarityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 提交相似度控制器
+ * 供讲师检查同课时的近重复提交
+ */
+@RestController
+@RequestMapping("/code/submissions")
+@Tag(name = "提交相似度", description = "近重复提交检测相关接口（讲师）")
+public class SubmissionSimilarityController {
+
+    @Autowired
+    private SubmissionSimilarityService submissionSimilarityService;
+
+    /**
+     * 查询相似提交
+     */
+    @GetMapping("/{submissionId}/similar")
+    @Operation(summary = "查询相似提交", description = "查询同课时中其他学生与该提交相似度不低于阈值的提交")
+    public ResponseEntity<ApiResponse<List<SimilarSubmissionResponse>>> getSimilarSubmissions(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable UUID submissionId,
+            @RequestParam(defaultValue = "0.8") double threshold,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<SimilarSubmissionResponse> similar = submissionSimilarityService.findSimilar(currentUser,
+                submissionId, threshold, Math.min(Math.max(limit, 1), 100));
+        return ResponseEntity.ok(ApiResponse.success(similar));
+    }
+}
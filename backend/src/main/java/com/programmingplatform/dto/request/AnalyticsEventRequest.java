@@ -0,0 +1,133 @@
+package com.programmingplatform.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 学习行为事件批量上报请求 DTO
+ */
+public class AnalyticsEventRequest {
+
+    @NotEmpty(message = "事件列表不能为空")
+    @Size(max = 500, message = "单次最多上报500条事件")
+    @Valid
+    private List<Event> events;
+
+    // 构造函数
+    public AnalyticsEventRequest() {}
+
+    public AnalyticsEventRequest(List<Event> events) {
+        this.events = events;
+    }
+
+    // 单条事件内部类
+    public static class Event {
+
+        @Size(max = 100, message = "会话ID长度不能超过100个字符")
+        private String sessionId;
+
+        private Long courseId;
+
+        private Long lessonId;
+
+        @NotBlank(message = "行为类型不能为空")
+        @Pattern(regexp = "VIEW|SUBMIT|COMPLETE|PAUSE|RESUME|SKIP", message = "行为类型不合法")
+        private String actionType;
+
+        private Map<String, Object> actionDetails;
+
+        // 客户端记录的发生时间，为空时取服务端接收时间
+        private Instant occurredAt;
+
+        @Min(value = 0, message = "持续时长不能为负数")
+        private Integer durationSeconds;
+
+        @Pattern(regexp = "DESKTOP|MOBILE|TABLET", message = "设备类型不合法")
+        private String deviceType;
+
+        // 构造函数
+        public Event() {}
+
+        // Getters and Setters
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        public void setSessionId(String sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        public Long getCourseId() {
+            return courseId;
+        }
+
+        public void setCourseId(Long courseId) {
+            this.courseId = courseId;
+        }
+
+        public Long getLessonId() {
+            return lessonId;
+        }
+
+        public void setLessonId(Long lessonId) {
+            this.lessonId = lessonId;
+        }
+
+        public String getActionType() {
+            return actionType;
+        }
+
+        public void setActionType(String actionType) {
+            this.actionType = actionType;
+        }
+
+        public Map<String, Object> getActionDetails() {
+            return actionDetails;
+        }
+
+        public void setActionDetails(Map<String, Object> actionDetails) {
+            this.actionDetails = actionDetails;
+        }
+
+        public Instant getOccurredAt() {
+            return occurredAt;
+        }
+
+        public void setOccurredAt(Instant occurredAt) {
+            this.occurredAt = occurredAt;
+        }
+
+        public Integer getDurationSeconds() {
+            return durationSeconds;
+        }
+
+        public void setDurationSeconds(Integer durationSeconds) {
+            this.durationSeconds = durationSeconds;
+        }
+
+        public String getDeviceType() {
+            return deviceType;
+        }
+
+        public void setDeviceType(String deviceType) {
+            this.deviceType = deviceType;
+        }
+    }
+
+    // Getters and Setters
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<Event> events) {
+        this.events = events;
+    }
+}
@@ -0,0 +1,61 @@
+package com.programmingplatform.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * 代码提交请求 DTO
+ */
+public class CodeSubmitRequest {
+
+    @NotNull(message = "课程ID不能为空")
+    private Long courseId;
+
+    @NotNull(message = "课时ID不能为空")
+    private Long lessonId;
+
+    @NotBlank(message = "编程语言不能为空")
+    @Size(max = 50, message = "编程语言不能超过50个字符")
+    private String language;
+
+    @NotBlank(message = "代码不能为空")
+    @Size(max = 100000, message = "代码不能超过100000个字符")
+    private String codeContent;
+
+    // 构造函数
+    public CodeSubmitRequest() {}
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public String getCodeContent() {
+        return codeContent;
+    }
+
+    public void setCodeContent(String codeContent) {
+        this.codeContent = codeContent;
+    }
+}
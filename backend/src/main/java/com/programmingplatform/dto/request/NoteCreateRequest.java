@@ -0,0 +1,84 @@
+package com.programmingplatform.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 创建笔记请求 DTO
+ */
+public class NoteCreateRequest {
+
+    private Long courseId;
+
+    private Long lessonId;
+
+    @NotBlank(message = "笔记类型不能为空")
+    @Pattern(regexp = "text|code|bookmark|question", message = "笔记类型无效")
+    private String noteType;
+
+    @Size(max = 200, message = "标题不能超过200个字符")
+    private String title;
+
+    @NotNull(message = "笔记内容不能为空")
+    private String content;
+
+    @Size(max = 20, message = "标签不能超过20个")
+    private List<String> tags = new ArrayList<>();
+
+    // 构造函数
+    public NoteCreateRequest() {}
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public String getNoteType() {
+        return noteType;
+    }
+
+    public void setNoteType(String noteType) {
+        this.noteType = noteType;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,85 @@
+package com.programmingplatform.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 笔记增量同步请求 DTO
+ * ops 为基于 baseVersion 内容的保留 / 插入 / 删除序列，位置以 UTF-16 码元计，末尾未覆盖的文本保持不变
+ */
+public class NoteDeltaRequest {
+
+    @NotNull(message = "基准版本不能为空")
+    @PositiveOrZero(message = "基准版本无效")
+    private Long baseVersion;
+
+    @NotEmpty(message = "增量操作不能为空")
+    @Size(max = 1000, message = "单次同步的操作不能超过1000个")
+    @Valid
+    private List<DeltaOp> ops = new ArrayList<>();
+
+    // 构造函数
+    public NoteDeltaRequest() {}
+
+    // 增量操作内部类，retain、insert、delete 三者只能指定一个
+    public static class DeltaOp {
+        @PositiveOrZero(message = "retain 不能为负数")
+        private Integer retain;
+
+        private String insert;
+
+        @PositiveOrZero(message = "delete 不能为负数")
+        private Integer delete;
+
+        // 构造函数
+        public DeltaOp() {}
+
+        // Getters and Setters
+        public Integer getRetain() {
+            return retain;
+        }
+
+        public void setRetain(Integer retain) {
+            this.retain = retain;
+        }
+
+        public String getInsert() {
+            return insert;
+        }
+
+        public void setInsert(String insert) {
+            this.insert = insert;
+        }
+
+        public Integer getDelete() {
+            return delete;
+        }
+
+        public void setDelete(Integer delete) {
+            this.delete = delete;
+        }
+    }
+
+    // Getters and Setters
+    public Long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public void setBaseVersion(Long baseVersion) {
+        this.baseVersion = baseVersion;
+    }
+
+    public List<DeltaOp> getOps() {
+        return ops;
+    }
+
+    public void setOps(List<DeltaOp> ops) {
+        this.ops = ops;
+    }
+}
@@ -0,0 +1,115 @@
+package com.programmingplatform.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 学习进度心跳批量上报请求 DTO
+ */
+public class ProgressHeartbeatRequest {
+
+    @NotEmpty(message = "心跳列表不能为空")
+    @Size(max = 200, message = "单次最多上报200条心跳")
+    @Valid
+    private List<Heartbeat> heartbeats;
+
+    // 构造函数
+    public ProgressHeartbeatRequest() {}
+
+    public ProgressHeartbeatRequest(List<Heartbeat> heartbeats) {
+        this.heartbeats = heartbeats;
+    }
+
+    // 单条心跳内部类
+    public static class Heartbeat {
+
+        @NotNull(message = "课时ID不能为空")
+        private Long lessonId;
+
+        @NotNull(message = "课程ID不能为空")
+        private Long courseId;
+
+        // 距上次心跳新增的学习时长（分钟）
+        @Min(value = 0, message = "学习时长不能为负数")
+        @Max(value = 60, message = "单条心跳的学习时长不能超过60分钟")
+        private Integer timeSpentMinutes = 0;
+
+        // 视频播放位置或编辑器光标位置
+        @Min(value = 0, message = "位置不能为负数")
+        private Integer lastPosition;
+
+        // 距上次心跳新增的尝试次数
+        @Min(value = 0, message = "尝试次数不能为负数")
+        @Max(value = 100, message = "单条心跳的尝试次数不能超过100次")
+        private Integer attempts = 0;
+
+        private Boolean completed = false;
+
+        // 构造函数
+        public Heartbeat() {}
+
+        // Getters and Setters
+        public Long getLessonId() {
+            return lessonId;
+        }
+
+        public void setLessonId(Long lessonId) {
+            this.lessonId = lessonId;
+        }
+
+        public Long getCourseId() {
+            return courseId;
+        }
+
+        public void setCourseId(Long courseId) {
+            this.courseId = courseId;
+        }
+
+        public Integer getTimeSpentMinutes() {
+            return timeSpentMinutes;
+        }
+
+        public void setTimeSpentMinutes(Integer timeSpentMinutes) {
+            this.timeSpentMinutes = timeSpentMinutes;
+        }
+
+        public Integer getLastPosition() {
+            return lastPosition;
+        }
+
+        public void setLastPosition(Integer lastPosition) {
+            this.lastPosition = lastPosition;
+        }
+
+        public Integer getAttempts() {
+            return attempts;
+        }
+
+        public void setAttempts(Integer attempts) {
+            this.attempts = attempts;
+        }
+
+        public Boolean getCompleted() {
+            return completed;
+        }
+
+        public void setCompleted(Boolean completed) {
+            this.completed = completed;
+        }
+    }
+
+    // Getters and Setters
+    public List<Heartbeat> getHeartbeats() {
+        return heartbeats;
+    }
+
+    public void setHeartbeats(List<Heartbeat> heartbeats) {
+        this.heartbeats = heartbeats;
+    }
+}
@@ -0,0 +1,48 @@
+package com.programmingplatform.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * 提交历史导出请求 DTO
+ * 日期按 UTC 计算，包含起止两端
+ */
+public class SubmissionExportRequest {
+
+    @NotNull(message = "开始日期不能为空")
+    private LocalDate fromDate;
+
+    @NotNull(message = "结束日期不能为空")
+    private LocalDate toDate;
+
+    private Boolean includeExecutionResults = true;
+
+    // 构造函数
+    public SubmissionExportRequest() {}
+
+    // Getters and Setters
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public void setFromDate(LocalDate fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    public void setToDate(LocalDate toDate) {
+        this.toDate = toDate;
+    }
+
+    public Boolean getIncludeExecutionResults() {
+        return includeExecutionResults;
+    }
+
+    public void setIncludeExecutionResults(Boolean includeExecutionResults) {
+        this.includeExecutionResults = includeExecutionResults;
+    }
+}
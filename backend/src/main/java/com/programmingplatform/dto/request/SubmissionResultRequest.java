@@ -0,0 +1,124 @@
+package com.programmingplatform.dto.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * 执行结果回写请求 DTO
+ * 由判题服务在执行完成后调用，submissionTime 取自创建提交时的返回值
+ */
+public class SubmissionResultRequest {
+
+    @NotNull(message = "提交时间不能为空")
+    private Instant submissionTime;
+
+    @NotBlank(message = "执行状态不能为空")
+    @Pattern(regexp = "SUCCESS|ERROR|TIMEOUT", message = "执行状态必须为 SUCCESS、ERROR 或 TIMEOUT")
+    private String executionStatus;
+
+    @Min(value = 0, message = "执行耗时不能为负数")
+    private Integer executionTimeMs;
+
+    @Min(value = 0, message = "内存占用不能为负数")
+    private Integer memoryUsageKb;
+
+    @Size(max = 1000000, message = "输出不能超过1000000个字符")
+    private String output;
+
+    @Size(max = 100000, message = "错误信息不能超过100000个字符")
+    private String errorMessage;
+
+    @Min(value = 0, message = "通过用例数不能为负数")
+    private Integer testCasesPassed = 0;
+
+    @Min(value = 0, message = "用例总数不能为负数")
+    private Integer testCasesTotal = 0;
+
+    @DecimalMin(value = "0", message = "得分不能为负数")
+    @DecimalMax(value = "100", message = "得分不能超过100")
+    private BigDecimal score;
+
+    // 构造函数
+    public SubmissionResultRequest() {}
+
+    // Getters and Setters
+    public Instant getSubmissionTime() {
+        return submissionTime;
+    }
+
+    public void setSubmissionTime(Instant submissionTime) {
+        this.submissionTime = submissionTime;
+    }
+
+    public String getExecutionStatus() {
+        return executionStatus;
+    }
+
+    public void setExecutionStatus(String executionStatus) {
+        this.executionStatus = executionStatus;
+    }
+
+    public Integer getExecutionTimeMs() {
+        return executionTimeMs;
+    }
+
+    public void setExecutionTimeMs(Integer executionTimeMs) {
+        this.executionTimeMs = executionTimeMs;
+    }
+
+    public Integer getMemoryUsageKb() {
+        return memoryUsageKb;
+    }
+
+    public void setMemoryUsageKb(Integer memoryUsageKb) {
+        this.memoryUsageKb = memoryUsageKb;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    public void setOutput(String output) {
+        this.output = output;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Integer getTestCasesPassed() {
+        return testCasesPassed;
+    }
+
+    public void setTestCasesPassed(Integer testCasesPassed) {
+        this.testCasesPassed = testCasesPassed;
+    }
+
+    public Integer getTestCasesTotal() {
+        return testCasesTotal;
+    }
+
+    public void setTestCasesTotal(Integer testCasesTotal) {
+        this.testCasesTotal = testCasesTotal;
+    }
+
+    public BigDecimal getScore() {
+        return score;
+    }
+
+    public void setScore(BigDecimal score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,28 @@
+package com.programmingplatform.dto.request;
+
+import jakarta.validation.constraints.Size;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 代码模板渲染请求 DTO
+ * values 为占位符取值，未提供的占位符使用模板定义的默认值
+ */
+public class TemplateRenderRequest {
+
+    @Size(max = 50, message = "占位符取值不能超过50个")
+    private Map<String, String> values = new HashMap<>();
+
+    // 构造函数
+    public TemplateRenderRequest() {}
+
+    // Getters and Setters
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    public void setValues(Map<String, String> values) {
+        this.values = values;
+    }
+}
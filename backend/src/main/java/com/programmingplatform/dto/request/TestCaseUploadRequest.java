@@ -0,0 +1,83 @@
+package com.programmingplatform.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 练习题测试用例上传请求 DTO
+ * 整组替换练习题的测试用例，用例数据以二进制包形式存入 GridFS
+ */
+public class TestCaseUploadRequest {
+
+    @NotEmpty(message = "测试用例不能为空")
+    @Size(max = 1000, message = "测试用例不能超过1000个")
+    @Valid
+    private List<TestCaseItem> testCases = new ArrayList<>();
+
+    // 构造函数
+    public TestCaseUploadRequest() {}
+
+    // 测试用例内部类
+    public static class TestCaseItem {
+        @NotNull(message = "输入不能为空")
+        private String input;
+
+        @NotNull(message = "期望输出不能为空")
+        private String expectedOutput;
+
+        private Boolean isHidden = false;
+
+        @Size(max = 500, message = "用例说明不能超过500个字符")
+        private String description;
+
+        // 构造函数
+        public TestCaseItem() {}
+
+        // Getters and Setters
+        public String getInput() {
+            return input;
+        }
+
+        public void setInput(String input) {
+            this.input = input;
+        }
+
+        public String getExpectedOutput() {
+            return expectedOutput;
+        }
+
+        public void setExpectedOutput(String expectedOutput) {
+            this.expectedOutput = expectedOutput;
+        }
+
+        public Boolean getIsHidden() {
+            return isHidden;
+        }
+
+        public void setIsHidden(Boolean isHidden) {
+            this.isHidden = isHidden;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+    }
+
+    // Getters and Setters
+    public List<TestCaseItem> getTestCases() {
+        return testCases;
+    }
+
+    public void setTestCases(List<TestCaseItem> testCases) {
+        this.testCases = testCases;
+    }
+}
@@ -0,0 +1,140 @@
+package com.programmingplatform.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 代码模板响应 DTO
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CodeTemplateResponse {
+
+    private String id;
+    private String language;
+    private String templateType;
+    private String name;
+    private String description;
+    private String code;
+    private List<PlaceholderItem> placeholders = new ArrayList<>();
+    private List<String> tags = new ArrayList<>();
+    private String difficulty;
+
+    // 构造函数
+    public CodeTemplateResponse() {}
+
+    // 占位符描述内部类
+    public static class PlaceholderItem {
+        private String name;
+        private String description;
+        private String defaultValue;
+
+        // 构造函数
+        public PlaceholderItem() {}
+
+        public PlaceholderItem(String name, String description, String defaultValue) {
+            this.name = name;
+            this.description = description;
+            this.defaultValue = defaultValue;
+        }
+
+        // Getters and Setters
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public String getDefaultValue() {
+            return defaultValue;
+        }
+
+        public void setDefaultValue(String defaultValue) {
+            this.defaultValue = defaultValue;
+        }
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public String getTemplateType() {
+        return templateType;
+    }
+
+    public void setTemplateType(String templateType) {
+        this.templateType = templateType;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public List<PlaceholderItem> getPlaceholders() {
+        return placeholders;
+    }
+
+    public void setPlaceholders(List<PlaceholderItem> placeholders) {
+        this.placeholders = placeholders;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+}
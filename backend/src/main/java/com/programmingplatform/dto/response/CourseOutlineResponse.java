@@ -0,0 +1,299 @@
+package com.programmingplatform.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 课程大纲响应 DTO
+ * 章节和课时结构可跨用户缓存，学习进度在读取时按用户合并
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CourseOutlineResponse {
+
+    private Long courseId;
+    private String title;
+    private String language;
+    private String level;
+    private String version;
+    private Integer totalLessons;
+    private Integer completedLessons;
+    private List<ChapterNode> chapters = new ArrayList<>();
+
+    // 构造函数
+    public CourseOutlineResponse() {}
+
+    // 章节节点内部类
+    public static class ChapterNode {
+        private Long id;
+        private String title;
+        private Integer sortOrder;
+        private List<LessonNode> lessons = new ArrayList<>();
+
+        // 构造函数
+        public ChapterNode() {}
+
+        public ChapterNode(Long id, String title, Integer sortOrder) {
+            this.id = id;
+            this.title = title;
+            this.sortOrder = sortOrder;
+        }
+
+        // Getters and Setters
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public Integer getSortOrder() {
+            return sortOrder;
+        }
+
+        public void setSortOrder(Integer sortOrder) {
+            this.sortOrder = sortOrder;
+        }
+
+        public List<LessonNode> getLessons() {
+            return lessons;
+        }
+
+        public void setLessons(List<LessonNode> lessons) {
+            this.lessons = lessons;
+        }
+    }
+
+    // 课时节点内部类
+    public static class LessonNode {
+        private Long id;
+        private String title;
+        private String lessonType;
+        private Integer durationMinutes;
+        private Integer sortOrder;
+        private Boolean isFree;
+        private String difficulty;
+        private LessonProgress progress;
+
+        // 构造函数
+        public LessonNode() {}
+
+        /**
+         * 复制课时结构，不复制进度
+         */
+        public LessonNode copyStructure() {
+            LessonNode copy = new LessonNode();
+            copy.id = id;
+            copy.title = title;
+            copy.lessonType = lessonType;
+            copy.durationMinutes = durationMinutes;
+            copy.sortOrder = sortOrder;
+            copy.isFree = isFree;
+            copy.difficulty = difficulty;
+            return copy;
+        }
+
+        // Getters and Setters
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getLessonType() {
+            return lessonType;
+        }
+
+        public void setLessonType(String lessonType) {
+            this.lessonType = lessonType;
+        }
+
+        public Integer getDurationMinutes() {
+            return durationMinutes;
+        }
+
+        public void setDurationMinutes(Integer durationMinutes) {
+            this.durationMinutes = durationMinutes;
+        }
+
+        public Integer getSortOrder() {
+            return sortOrder;
+        }
+
+        public void setSortOrder(Integer sortOrder) {
+            this.sortOrder = sortOrder;
+        }
+
+        public Boolean getIsFree() {
+            return isFree;
+        }
+
+        public void setIsFree(Boolean isFree) {
+            this.isFree = isFree;
+        }
+
+        public String getDifficulty() {
+            return difficulty;
+        }
+
+        public void setDifficulty(String difficulty) {
+            this.difficulty = difficulty;
+        }
+
+        public LessonProgress getProgress() {
+            return progress;
+        }
+
+        public void setProgress(LessonProgress progress) {
+            this.progress = progress;
+        }
+    }
+
+    // 课时学习进度内部类
+    public static class LessonProgress {
+        private Boolean completed;
+        private Integer timeSpentMinutes;
+        private Integer lastPosition;
+        private Integer attemptsCount;
+        private BigDecimal bestScore;
+
+        // 构造函数
+        public LessonProgress() {}
+
+        public LessonProgress(Boolean completed, Integer timeSpentMinutes, Integer lastPosition,
+                              Integer attemptsCount, BigDecimal bestScore) {
+            this.completed = completed;
+            this.timeSpentMinutes = timeSpentMinutes;
+            this.lastPosition = lastPosition;
+            this.attemptsCount = attemptsCount;
+            this.bestScore = bestScore;
+        }
+
+        // Getters and Setters
+        public Boolean getCompleted() {
+            return completed;
+        }
+
+        public void setCompleted(Boolean completed) {
+            this.completed = completed;
+        }
+
+        public Integer getTimeSpentMinutes() {
+            return timeSpentMinutes;
+        }
+
+        public void setTimeSpentMinutes(Integer timeSpentMinutes) {
+            this.timeSpentMinutes = timeSpentMinutes;
+        }
+
+        public Integer getLastPosition() {
+            return lastPosition;
+        }
+
+        public void setLastPosition(Integer lastPosition) {
+            this.lastPosition = lastPosition;
+        }
+
+        public Integer getAttemptsCount() {
+            return attemptsCount;
+        }
+
+        public void setAttemptsCount(Integer attemptsCount) {
+            this.attemptsCount = attemptsCount;
+        }
+
+        public BigDecimal getBestScore() {
+            return bestScore;
+        }
+
+        public void setBestScore(BigDecimal bestScore) {
+            this.bestScore = bestScore;
+        }
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public void setLevel(String level) {
+        this.level = level;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public Integer getTotalLessons() {
+        return totalLessons;
+    }
+
+    public void setTotalLessons(Integer totalLessons) {
+        this.totalLessons = totalLessons;
+    }
+
+    public Integer getCompletedLessons() {
+        return completedLessons;
+    }
+
+    public void setCompletedLessons(Integer completedLessons) {
+        this.completedLessons = completedLessons;
+    }
+
+    public List<ChapterNode> getChapters() {
+        return chapters;
+    }
+
+    public void setChapters(List<ChapterNode> chapters) {
+        this.chapters = chapters;
+    }
+}
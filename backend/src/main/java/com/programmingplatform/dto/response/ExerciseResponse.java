@@ -0,0 +1,189 @@
+package com.programmingplatform.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 学生端练习题响应 DTO
+ * 只包含公开测试用例，隐藏用例、参考答案和用例数据包信息不会返回
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExerciseResponse {
+
+    private String id;
+    private Long lessonId;
+    private String title;
+    private String description;
+    private String language;
+    private String difficulty;
+    private String starterCode;
+    private List<String> hints;
+    private Integer timeLimit;
+    private Integer memoryLimit;
+    private List<String> tags;
+    private Integer totalTestCases;
+    private List<TestCaseItem> testCases = new ArrayList<>();
+
+    // 构造函数
+    public ExerciseResponse() {}
+
+    // 公开测试用例内部类，数据较大的用例只返回说明和大小
+    public static class TestCaseItem {
+        private String description;
+        private String input;
+        private String expectedOutput;
+        private Integer inputSize;
+        private Integer expectedOutputSize;
+
+        // 构造函数
+        public TestCaseItem() {}
+
+        // Getters and Setters
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public String getInput() {
+            return input;
+        }
+
+        public void setInput(String input) {
+            this.input = input;
+        }
+
+        public String getExpectedOutput() {
+            return expectedOutput;
+        }
+
+        public void setExpectedOutput(String expectedOutput) {
+            this.expectedOutput = expectedOutput;
+        }
+
+        public Integer getInputSize() {
+            return inputSize;
+        }
+
+        public void setInputSize(Integer inputSize) {
+            this.inputSize = inputSize;
+        }
+
+        public Integer getExpectedOutputSize() {
+            return expectedOutputSize;
+        }
+
+        public void setExpectedOutputSize(Integer expectedOutputSize) {
+            this.expectedOutputSize = expectedOutputSize;
+        }
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public String getStarterCode() {
+        return starterCode;
+    }
+
+    public void setStarterCode(String starterCode) {
+        this.starterCode = starterCode;
+    }
+
+    public List<String> getHints() {
+        return hints;
+    }
+
+    public void setHints(List<String> hints) {
+        this.hints = hints;
+    }
+
+    public Integer getTimeLimit() {
+        return timeLimit;
+    }
+
+    public void setTimeLimit(Integer timeLimit) {
+        this.timeLimit = timeLimit;
+    }
+
+    public Integer getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    public void setMemoryLimit(Integer memoryLimit) {
+        this.memoryLimit = memoryLimit;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Integer getTotalTestCases() {
+        return totalTestCases;
+    }
+
+    public void setTotalTestCases(Integer totalTestCases) {
+        this.totalTestCases = totalTestCases;
+    }
+
+    public List<TestCaseItem> getTestCases() {
+        return testCases;
+    }
+
+    public void setTestCases(List<TestCaseItem> testCases) {
+        this.testCases = testCases;
+    }
+}
@@ -0,0 +1,117 @@
+package com.programmingplatform.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * 提交历史导出任务响应 DTO
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExportJobResponse {
+
+    private String jobId;
+    private String status;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private String outputDir;
+    private Long submissionRows;
+    private Long executionResultRows;
+    private Integer fileCount;
+    private Instant createdAt;
+    private Instant finishedAt;
+    private String errorMessage;
+
+    // 构造函数
+    public ExportJobResponse() {}
+
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public void setFromDate(LocalDate fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    public void setToDate(LocalDate toDate) {
+        this.toDate = toDate;
+    }
+
+    public String getOutputDir() {
+        return outputDir;
+    }
+
+    public void setOutputDir(String outputDir) {
+        this.outputDir = outputDir;
+    }
+
+    public Long getSubmissionRows() {
+        return submissionRows;
+    }
+
+    public void setSubmissionRows(Long submissionRows) {
+        this.submissionRows = submissionRows;
+    }
+
+    public Long getExecutionResultRows() {
+        return executionResultRows;
+    }
+
+    public void setExecutionResultRows(Long executionResultRows) {
+        this.executionResultRows = executionResultRows;
+    }
+
+    public Integer getFileCount() {
+        return fileCount;
+    }
+
+    public void setFileCount(Integer fileCount) {
+        this.fileCount = fileCount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
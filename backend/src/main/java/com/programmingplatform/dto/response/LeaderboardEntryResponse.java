@@ -0,0 +1,88 @@
+package com.programmingplatform.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * 排行榜条目响应 DTO
+ * 课程榜只有总分，执行耗时、内存和提交信息仅课时榜提供
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LeaderboardEntryResponse {
+
+    private Long rank;
+    private Long userId;
+    private BigDecimal score;
+    private Integer executionTimeMs;
+    private Integer memoryUsageKb;
+    private String submissionId;
+    private Instant submissionTime;
+
+    // 构造函数
+    public LeaderboardEntryResponse() {}
+
+    public LeaderboardEntryResponse(Long rank, Long userId, BigDecimal score) {
+        this.rank = rank;
+        this.userId = userId;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public Long getRank() {
+        return rank;
+    }
+
+    public void setRank(Long rank) {
+        this.rank = rank;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public BigDecimal getScore() {
+        return score;
+    }
+
+    public void setScore(BigDecimal score) {
+        this.score = score;
+    }
+
+    public Integer getExecutionTimeMs() {
+        return executionTimeMs;
+    }
+
+    public void setExecutionTimeMs(Integer executionTimeMs) {
+        this.executionTimeMs = executionTimeMs;
+    }
+
+    public Integer getMemoryUsageKb() {
+        return memoryUsageKb;
+    }
+
+    public void setMemoryUsageKb(Integer memoryUsageKb) {
+        this.memoryUsageKb = memoryUsageKb;
+    }
+
+    public String getSubmissionId() {
+        return submissionId;
+    }
+
+    public void setSubmissionId(String submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    public Instant getSubmissionTime() {
+        return submissionTime;
+    }
+
+    public void setSubmissionTime(Instant submissionTime) {
+        this.submissionTime = submissionTime;
+    }
+}
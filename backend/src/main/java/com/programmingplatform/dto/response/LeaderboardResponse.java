@@ -0,0 +1,69 @@
+package com.programmingplatform.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 排行榜响应 DTO
+ * entries 为前 N 名，me 为当前用户的排名（未上榜时为空）
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LeaderboardResponse {
+
+    private String scope;
+    private Long targetId;
+    private Long participants;
+    private List<LeaderboardEntryResponse> entries = new ArrayList<>();
+    private LeaderboardEntryResponse me;
+
+    // 构造函数
+    public LeaderboardResponse() {}
+
+    public LeaderboardResponse(String scope, Long targetId) {
+        this.scope = scope;
+        this.targetId = targetId;
+    }
+
+    // Getters and Setters
+    public String getScope() {
+        return scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(Long targetId) {
+        this.targetId = targetId;
+    }
+
+    public Long getParticipants() {
+        return participants;
+    }
+
+    public void setParticipants(Long participants) {
+        this.participants = participants;
+    }
+
+    public List<LeaderboardEntryResponse> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<LeaderboardEntryResponse> entries) {
+        this.entries = entries;
+    }
+
+    public LeaderboardEntryResponse getMe() {
+        return me;
+    }
+
+    public void setMe(LeaderboardEntryResponse me) {
+        this.me = me;
+    }
+}
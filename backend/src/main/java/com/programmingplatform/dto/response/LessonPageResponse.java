@@ -0,0 +1,70 @@
+package com.programmingplatform.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 课时页面聚合响应 DTO
+ * 课时内容、练习题和当前用户笔记一次返回；非 Markdown 课时的 html 为空
+ */
+public class LessonPageResponse {
+
+    private Long lessonId;
+    private Integer contentVersion;
+    private String contentEtag;
+    private String html;
+    private List<ExerciseResponse> exercises = new ArrayList<>();
+    private List<NoteResponse> notes = new ArrayList<>();
+
+    // 构造函数
+    public LessonPageResponse() {}
+
+    // Getters and Setters
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public Integer getContentVersion() {
+        return contentVersion;
+    }
+
+    public void setContentVersion(Integer contentVersion) {
+        this.contentVersion = contentVersion;
+    }
+
+    public String getContentEtag() {
+        return contentEtag;
+    }
+
+    public void setContentEtag(String contentEtag) {
+        this.contentEtag = contentEtag;
+    }
+
+    public String getHtml() {
+        return html;
+    }
+
+    public void setHtml(String html) {
+        this.html = html;
+    }
+
+    public List<ExerciseResponse> getExercises() {
+        return exercises;
+    }
+
+    public void setExercises(List<ExerciseResponse> exercises) {
+        this.exercises = exercises;
+    }
+
+    public List<NoteResponse> getNotes() {
+        return notes;
+    }
+
+    public void setNotes(List<NoteResponse> notes) {
+        this.notes = notes;
+    }
+}
@@ -0,0 +1,45 @@
+package com.programmingplatform.dto.response;
+
+/**
+ * 笔记增量同步结果响应 DTO
+ */
+public class NoteSyncResponse {
+
+    private String id;
+    private Long version;
+    private Integer length;
+
+    // 构造函数
+    public NoteSyncResponse() {}
+
+    public NoteSyncResponse(String id, Long version, Integer length) {
+        this.id = id;
+        this.version = version;
+        this.length = length;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Integer getLength() {
+        return length;
+    }
+
+    public void setLength(Integer length) {
+        this.length = length;
+    }
+}
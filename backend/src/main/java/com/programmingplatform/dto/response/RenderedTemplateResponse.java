@@ -0,0 +1,45 @@
+package com.programmingplatform.dto.response;
+
+/**
+ * 代码模板渲染结果响应 DTO
+ */
+public class RenderedTemplateResponse {
+
+    private String templateId;
+    private String language;
+    private String code;
+
+    // 构造函数
+    public RenderedTemplateResponse() {}
+
+    public RenderedTemplateResponse(String templateId, String language, String code) {
+        this.templateId = templateId;
+        this.language = language;
+        this.code = code;
+    }
+
+    // Getters and Setters
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    public void setTemplateId(String templateId) {
+        this.templateId = templateId;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+}
@@ -0,0 +1,142 @@
+package com.programmingplatform.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 全文检索响应 DTO
+ */
+public class SearchResponse {
+
+    private String query;
+    private Long tookMs;
+    private List<HitItem> hits = new ArrayList<>();
+
+    // 构造函数
+    public SearchResponse() {}
+
+    public SearchResponse(String query, Long tookMs) {
+        this.query = query;
+        this.tookMs = tookMs;
+    }
+
+    // 命中结果内部类
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class HitItem {
+        private String type;
+        private String id;
+        private String title;
+        private String snippet;
+        private String language;
+        private Long courseId;
+        private Long lessonId;
+        private Float score;
+
+        // 构造函数
+        public HitItem() {}
+
+        public HitItem(String type, String id, String title, String snippet, String language,
+                       Long courseId, Long lessonId, Float score) {
+            this.type = type;
+            this.id = id;
+            this.title = title;
+            this.snippet = snippet;
+            this.language = language;
+            this.courseId = courseId;
+            this.lessonId = lessonId;
+            this.score = score;
+        }
+
+        // Getters and Setters
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getSnippet() {
+            return snippet;
+        }
+
+        public void setSnippet(String snippet) {
+            this.snippet = snippet;
+        }
+
+        public String getLanguage() {
+            return language;
+        }
+
+        public void setLanguage(String language) {
+            this.language = language;
+        }
+
+        public Long getCourseId() {
+            return courseId;
+        }
+
+        public void setCourseId(Long courseId) {
+            this.courseId = courseId;
+        }
+
+        public Long getLessonId() {
+            return lessonId;
+        }
+
+        public void setLessonId(Long lessonId) {
+            this.lessonId = lessonId;
+        }
+
+        public Float getScore() {
+            return score;
+        }
+
+        public void setScore(Float score) {
+            this.score = score;
+        }
+    }
+
+    // Getters and Setters
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public Long getTookMs() {
+        return tookMs;
+    }
+
+    public void setTookMs(Long tookMs) {
+        this.tookMs = tookMs;
+    }
+
+    public List<HitItem> getHits() {
+        return hits;
+    }
+
+    public void setHits(List<HitItem> hits) {
+        this.hits = hits;
+    }
+}
@@ -0,0 +1,59 @@
+package com.programmingplatform.dto.response;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 相似提交响应 DTO
+ * similarity 为 MinHash 估算的词法 shingle Jaccard 相似度
+ */
+public class SimilarSubmissionResponse {
+
+    private UUID submissionId;
+    private Long userId;
+    private Double similarity;
+    private Instant createdAt;
+
+    // 构造函数
+    public SimilarSubmissionResponse() {}
+
+    public SimilarSubmissionResponse(UUID submissionId, Long userId, Double similarity, Instant createdAt) {
+        this.submissionId = submissionId;
+        this.userId = userId;
+        this.similarity = similarity;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public UUID getSubmissionId() {
+        return submissionId;
+    }
+
+    public void setSubmissionId(UUID submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Double getSimilarity() {
+        return similarity;
+    }
+
+    public void setSimilarity(Double similarity) {
+        this.similarity = similarity;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,40 @@
+package com.programmingplatform.dto.response;
+
+/**
+ * 提交详情响应 DTO
+ * 在摘要基础上附带代码、输出和错误信息
+ */
+public class SubmissionDetailResponse extends SubmissionSummaryResponse {
+
+    private String codeContent;
+    private String output;
+    private String errorMessage;
+
+    // 构造函数
+    public SubmissionDetailResponse() {}
+
+    // Getters and Setters
+    public String getCodeContent() {
+        return codeContent;
+    }
+
+    public void setCodeContent(String codeContent) {
+        this.codeContent = codeContent;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    public void setOutput(String output) {
+        this.output = output;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
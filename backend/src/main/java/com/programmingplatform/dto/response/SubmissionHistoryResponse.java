@@ -0,0 +1,49 @@
+package com.programmingplatform.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 提交历史分页响应 DTO
+ * nextCursor 为下一页的不透明游标，没有更多数据时为 null
+ */
+public class SubmissionHistoryResponse {
+
+    private List<SubmissionSummaryResponse> items = new ArrayList<>();
+    private String nextCursor;
+    private Boolean hasMore;
+
+    // 构造函数
+    public SubmissionHistoryResponse() {}
+
+    public SubmissionHistoryResponse(List<SubmissionSummaryResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    // Getters and Setters
+    public List<SubmissionSummaryResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<SubmissionSummaryResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
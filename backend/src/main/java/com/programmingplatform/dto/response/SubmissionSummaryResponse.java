@@ -0,0 +1,110 @@
+package com.programmingplatform.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 提交摘要响应 DTO
+ * 不含代码和输出，列表查询只读取覆盖索引中的列
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SubmissionSummaryResponse {
+
+    private UUID id;
+    private Long lessonId;
+    private Long courseId;
+    private String language;
+    private Instant submissionTime;
+    private String executionStatus;
+    private Integer executionTimeMs;
+    private Integer testCasesPassed;
+    private Integer testCasesTotal;
+    private BigDecimal score;
+
+    // 构造函数
+    public SubmissionSummaryResponse() {}
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public Instant getSubmissionTime() {
+        return submissionTime;
+    }
+
+    public void setSubmissionTime(Instant submissionTime) {
+        this.submissionTime = submissionTime;
+    }
+
+    public String getExecutionStatus() {
+        return executionStatus;
+    }
+
+    public void setExecutionStatus(String executionStatus) {
+        this.executionStatus = executionStatus;
+    }
+
+    public Integer getExecutionTimeMs() {
+        return executionTimeMs;
+    }
+
+    public void setExecutionTimeMs(Integer executionTimeMs) {
+        this.executionTimeMs = executionTimeMs;
+    }
+
+    public Integer getTestCasesPassed() {
+        return testCasesPassed;
+    }
+
+    public void setTestCasesPassed(Integer testCasesPassed) {
+        this.testCasesPassed = testCasesPassed;
+    }
+
+    public Integer getTestCasesTotal() {
+        return testCasesTotal;
+    }
+
+    public void setTestCasesTotal(Integer testCasesTotal) {
+        this.testCasesTotal = testCasesTotal;
+    }
+
+    public BigDecimal getScore() {
+        return score;
+    }
+
+    public void setScore(BigDecimal score) {
+        this.score = score;
+    }
+}
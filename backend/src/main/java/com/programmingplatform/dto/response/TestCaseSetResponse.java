@@ -0,0 +1,66 @@
+package com.programmingplatform.dto.response;
+
+/**
+ * 测试用例上传结果响应 DTO
+ */
+public class TestCaseSetResponse {
+
+    private String exerciseId;
+    private String sha256;
+    private Integer caseCount;
+    private Integer hiddenCount;
+    private Long totalBytes;
+
+    // 构造函数
+    public TestCaseSetResponse() {}
+
+    public TestCaseSetResponse(String exerciseId, String sha256, Integer caseCount, Integer hiddenCount,
+                               Long totalBytes) {
+        this.exerciseId = exerciseId;
+        this.sha256 = sha256;
+        this.caseCount = caseCount;
+        this.hiddenCount = hiddenCount;
+        this.totalBytes = totalBytes;
+    }
+
+    // Getters and Setters
+    public String getExerciseId() {
+        return exerciseId;
+    }
+
+    public void setExerciseId(String exerciseId) {
+        this.exerciseId = exerciseId;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public Integer getCaseCount() {
+        return caseCount;
+    }
+
+    public void setCaseCount(Integer caseCount) {
+        this.caseCount = caseCount;
+    }
+
+    public Integer getHiddenCount() {
+        return hiddenCount;
+    }
+
+    public void setHiddenCount(Integer hiddenCount) {
+        this.hiddenCount = hiddenCount;
+    }
+
+    public Long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(Long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+}
@@ -0,0 +1,84 @@
+package com.programmingplatform.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 事务发件箱事件实体类
+ * payload 为 JSON 文本，由对应的 {@link com.programmingplatform.outbox.OutboxConsumer} 解析
+ */
+public class OutboxEvent {
+
+    public static final String LESSON_COMPLETED = "LESSON_COMPLETED";
+
+    public static final String COURSE_COMPLETED = "COURSE_COMPLETED";
+
+    private Long id;
+
+    private String eventType;
+
+    private String aggregateId;
+
+    private String payload;
+
+    private Integer attempts = 0;
+
+    private LocalDateTime createdAt;
+
+    // 构造函数
+    public OutboxEvent() {}
+
+    public OutboxEvent(String eventType, String aggregateId, String payload) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(String aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,153 @@
+package com.programmingplatform.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 用户学习进度实体类
+ */
+public class UserProgress {
+
+    private Long id;
+
+    private Long userId;
+
+    private Long lessonId;
+
+    private Long courseId;
+
+    private Boolean isCompleted = false;
+
+    private LocalDateTime completionDate;
+
+    private Integer timeSpentMinutes = 0;
+
+    private Integer lastPosition = 0;
+
+    private Integer attemptsCount = 0;
+
+    private BigDecimal bestScore = BigDecimal.ZERO;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    // 构造函数
+    public UserProgress() {}
+
+    public UserProgress(Long userId, Long lessonId, Long courseId) {
+        this.userId = userId;
+        this.lessonId = lessonId;
+        this.courseId = courseId;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Boolean getIsCompleted() {
+        return isCompleted;
+    }
+
+    public void setIsCompleted(Boolean isCompleted) {
+        this.isCompleted = isCompleted;
+    }
+
+    public LocalDateTime getCompletionDate() {
+        return completionDate;
+    }
+
+    public void setCompletionDate(LocalDateTime completionDate) {
+        this.completionDate = completionDate;
+    }
+
+    public Integer getTimeSpentMinutes() {
+        return timeSpentMinutes;
+    }
+
+    public void setTimeSpentMinutes(Integer timeSpentMinutes) {
+        this.timeSpentMinutes = timeSpentMinutes;
+    }
+
+    public Integer getLastPosition() {
+        return lastPosition;
+    }
+
+    public void setLastPosition(Integer lastPosition) {
+        this.lastPosition = lastPosition;
+    }
+
+    public Integer getAttemptsCount() {
+        return attemptsCount;
+    }
+
+    public void setAttemptsCount(Integer attemptsCount) {
+        this.attemptsCount = attemptsCount;
+    }
+
+    public BigDecimal getBestScore() {
+        return bestScore;
+    }
+
+    public void setBestScore(BigDecimal bestScore) {
+        this.bestScore = bestScore;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "UserProgress{" +
+                "userId=" + userId +
+                ", lessonId=" + lessonId +
+                ", courseId=" + courseId +
+                ", isCompleted=" + isCompleted +
+                ", timeSpentMinutes=" + timeSpentMinutes +
+                ", lastPosition=" + lastPosition +
+                ", attemptsCount=" + attemptsCount +
+                '}';
+    }
+}
@@ -0,0 +1,116 @@
+package com.programmingplatform.entity.analytics;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 代码质量分析结果实体类
+ * 对应 PostgreSQL code_quality_analysis 分区表
+ */
+public class CodeQualityAnalysis {
+
+    private UUID submissionId;
+    private Integer complexityScore;
+    private BigDecimal maintainabilityIndex;
+    private Integer linesOfCode;
+    private BigDecimal codeDuplicationPercentage;
+    private Integer securityIssuesCount;
+    private Integer performanceIssuesCount;
+    private Integer styleIssuesCount;
+    private String overallGrade;
+    private String analysisDetails;
+    private Instant createdAt;
+
+    // 构造函数
+    public CodeQualityAnalysis() {}
+
+    // Getters and Setters
+    public UUID getSubmissionId() {
+        return submissionId;
+    }
+
+    public void setSubmissionId(UUID submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    public Integer getComplexityScore() {
+        return complexityScore;
+    }
+
+    public void setComplexityScore(Integer complexityScore) {
+        this.complexityScore = complexityScore;
+    }
+
+    public BigDecimal getMaintainabilityIndex() {
+        return maintainabilityIndex;
+    }
+
+    public void setMaintainabilityIndex(BigDecimal maintainabilityIndex) {
+        this.maintainabilityIndex = maintainabilityIndex;
+    }
+
+    public Integer getLinesOfCode() {
+        return linesOfCode;
+    }
+
+    public void setLinesOfCode(Integer linesOfCode) {
+        this.linesOfCode = linesOfCode;
+    }
+
+    public BigDecimal getCodeDuplicationPercentage() {
+        return codeDuplicationPercentage;
+    }
+
+    public void setCodeDuplicationPercentage(BigDecimal codeDuplicationPercentage) {
+        this.codeDuplicationPercentage = codeDuplicationPercentage;
+    }
+
+    public Integer getSecurityIssuesCount() {
+        return securityIssuesCount;
+    }
+
+    public void setSecurityIssuesCount(Integer securityIssuesCount) {
+        this.securityIssuesCount = securityIssuesCount;
+    }
+
+    public Integer getPerformanceIssuesCount() {
+        return performanceIssuesCount;
+    }
+
+    public void setPerformanceIssuesCount(Integer performanceIssuesCount) {
+        this.performanceIssuesCount = performanceIssuesCount;
+    }
+
+    public Integer getStyleIssuesCount() {
+        return styleIssuesCount;
+    }
+
+    public void setStyleIssuesCount(Integer styleIssuesCount) {
+        this.styleIssuesCount = styleIssuesCount;
+    }
+
+    public String getOverallGrade() {
+        return overallGrade;
+    }
+
+    public void setOverallGrade(String overallGrade) {
+        this.overallGrade = overallGrade;
+    }
+
+    public String getAnalysisDetails() {
+        return analysisDetails;
+    }
+
+    public void setAnalysisDetails(String analysisDetails) {
+        this.analysisDetails = analysisDetails;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,187 @@
+package com.programmingplatform.entity.analytics;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 代码提交实体类
+ * 对应 PostgreSQL code_submissions 分区表，主键为 (id, submission_time)
+ */
+public class CodeSubmission {
+
+    private UUID id;
+    private Long userId;
+    private Long lessonId;
+    private Long courseId;
+    private String language;
+    private String codeContent;
+    private byte[] codeHash;
+    private Instant submissionTime;
+    private String executionStatus;
+    private Integer executionTimeMs;
+    private Integer memoryUsageKb;
+    private String output;
+    private String errorMessage;
+    private byte[] outputHash;
+    private byte[] errorHash;
+    private Integer testCasesPassed;
+    private Integer testCasesTotal;
+    private BigDecimal score;
+
+    // 构造函数
+    public CodeSubmission() {}
+
+    /**
+     * 是否已执行结束（成功、出错或超时）
+     */
+    public boolean isFinished() {
+        return "SUCCESS".equals(executionStatus) || "ERROR".equals(executionStatus)
+                || "TIMEOUT".equals(executionStatus);
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public String getCodeContent() {
+        return codeContent;
+    }
+
+    public void setCodeContent(String codeContent) {
+        this.codeContent = codeContent;
+    }
+
+    public Instant getSubmissionTime() {
+        return submissionTime;
+    }
+
+    public void setSubmissionTime(Instant submissionTime) {
+        this.submissionTime = submissionTime;
+    }
+
+    public String getExecutionStatus() {
+        return executionStatus;
+    }
+
+    public void setExecutionStatus(String executionStatus) {
+        this.executionStatus = executionStatus;
+    }
+
+    public Integer getExecutionTimeMs() {
+        return executionTimeMs;
+    }
+
+    public void setExecutionTimeMs(Integer executionTimeMs) {
+        this.executionTimeMs = executionTimeMs;
+    }
+
+    public Integer getMemoryUsageKb() {
+        return memoryUsageKb;
+    }
+
+    public void setMemoryUsageKb(Integer memoryUsageKb) {
+        this.memoryUsageKb = memoryUsageKb;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    public void setOutput(String output) {
+        this.output = output;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Integer getTestCasesPassed() {
+        return testCasesPassed;
+    }
+
+    public void setTestCasesPassed(Integer testCasesPassed) {
+        this.testCasesPassed = testCasesPassed;
+    }
+
+    public Integer getTestCasesTotal() {
+        return testCasesTotal;
+    }
+
+    public void setTestCasesTotal(Integer testCasesTotal) {
+        this.testCasesTotal = testCasesTotal;
+    }
+
+    public BigDecimal getScore() {
+        return score;
+    }
+
+    public void setScore(BigDecimal score) {
+        this.score = score;
+    }
+
+    public byte[] getCodeHash() {
+        return codeHash;
+    }
+
+    public void setCodeHash(byte[] codeHash) {
+        this.codeHash = codeHash;
+    }
+
+    public byte[] getOutputHash() {
+        return outputHash;
+    }
+
+    public void setOutputHash(byte[] outputHash) {
+        this.outputHash = outputHash;
+    }
+
+    public byte[] getErrorHash() {
+        return errorHash;
+    }
+
+    public void setErrorHash(byte[] errorHash) {
+        this.errorHash = errorHash;
+    }
+}
@@ -0,0 +1,60 @@
+package com.programmingplatform.entity.analytics;
+
+import java.time.Instant;
+
+/**
+ * 压缩字典实体类
+ * 对应 PostgreSQL compression_dictionaries 表，每个课时一份 zstd 字典
+ */
+public class CompressionDictionary {
+
+    private Integer id;
+    private Long lessonId;
+    private byte[] dictionary;
+    private Integer sampleCount;
+    private Instant createdAt;
+
+    // 构造函数
+    public CompressionDictionary() {}
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public byte[] getDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(byte[] dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public Integer getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(Integer sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
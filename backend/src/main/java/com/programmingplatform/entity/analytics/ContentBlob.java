@@ -0,0 +1,69 @@
+package com.programmingplatform.entity.analytics;
+
+import java.time.Instant;
+
+/**
+ * 内容块实体类
+ * 对应 PostgreSQL content_blobs 表，按原文 SHA-256 寻址
+ */
+public class ContentBlob {
+
+    private byte[] hash;
+    private Short codec;
+    private Integer dictionaryId;
+    private Integer rawLength;
+    private byte[] data;
+    private Instant createdAt;
+
+    // 构造函数
+    public ContentBlob() {}
+
+    // Getters and Setters
+    public byte[] getHash() {
+        return hash;
+    }
+
+    public void setHash(byte[] hash) {
+        this.hash = hash;
+    }
+
+    public Short getCodec() {
+        return codec;
+    }
+
+    public void setCodec(Short codec) {
+        this.codec = codec;
+    }
+
+    public Integer getDictionaryId() {
+        return dictionaryId;
+    }
+
+    public void setDictionaryId(Integer dictionaryId) {
+        this.dictionaryId = dictionaryId;
+    }
+
+    public Integer getRawLength() {
+        return rawLength;
+    }
+
+    public void setRawLength(Integer rawLength) {
+        this.rawLength = rawLength;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,133 @@
+package com.programmingplatform.entity.analytics;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 执行结果导出行
+ * execution_results 明细附带所属提交的语言，用于按语言分区导出
+ */
+public class ExecutionResultExportRow {
+
+    private UUID id;
+    private UUID submissionId;
+    private String language;
+    private String testCaseId;
+    private String testCaseName;
+    private String inputData;
+    private String expectedOutput;
+    private String actualOutput;
+    private Integer executionTimeMs;
+    private Integer memoryUsageKb;
+    private Boolean isPassed;
+    private String errorMessage;
+    private Instant createdAt;
+
+    // 构造函数
+    public ExecutionResultExportRow() {}
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getSubmissionId() {
+        return submissionId;
+    }
+
+    public void setSubmissionId(UUID submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public String getTestCaseId() {
+        return testCaseId;
+    }
+
+    public void setTestCaseId(String testCaseId) {
+        this.testCaseId = testCaseId;
+    }
+
+    public String getTestCaseName() {
+        return testCaseName;
+    }
+
+    public void setTestCaseName(String testCaseName) {
+        this.testCaseName = testCaseName;
+    }
+
+    public String getInputData() {
+        return inputData;
+    }
+
+    public void setInputData(String inputData) {
+        this.inputData = inputData;
+    }
+
+    public String getExpectedOutput() {
+        return expectedOutput;
+    }
+
+    public void setExpectedOutput(String expectedOutput) {
+        this.expectedOutput = expectedOutput;
+    }
+
+    public String getActualOutput() {
+        return actualOutput;
+    }
+
+    public void setActualOutput(String actualOutput) {
+        this.actualOutput = actualOutput;
+    }
+
+    public Integer getExecutionTimeMs() {
+        return executionTimeMs;
+    }
+
+    public void setExecutionTimeMs(Integer executionTimeMs) {
+        this.executionTimeMs = executionTimeMs;
+    }
+
+    public Integer getMemoryUsageKb() {
+        return memoryUsageKb;
+    }
+
+    public void setMemoryUsageKb(Integer memoryUsageKb) {
+        this.memoryUsageKb = memoryUsageKb;
+    }
+
+    public Boolean getIsPassed() {
+        return isPassed;
+    }
+
+    public void setIsPassed(Boolean isPassed) {
+        this.isPassed = isPassed;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,114 @@
+package com.programmingplatform.entity.analytics;
+
+import java.time.Instant;
+
+/**
+ * 学习行为事件实体类
+ * 对应 PostgreSQL learning_behavior_analytics 表，由分析事件管道批量 COPY 写入
+ */
+public class LearningBehaviorEvent {
+
+    private Long userId;
+    private String sessionId;
+    private Long courseId;
+    private Long lessonId;
+    private String actionType;
+    private String actionDetails;
+    private Instant timestamp;
+    private Integer durationSeconds;
+    private String deviceType;
+    private String browser;
+    private String ipAddress;
+
+    // 构造函数
+    public LearningBehaviorEvent() {}
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public String getActionType() {
+        return actionType;
+    }
+
+    public void setActionType(String actionType) {
+        this.actionType = actionType;
+    }
+
+    public String getActionDetails() {
+        return actionDetails;
+    }
+
+    public void setActionDetails(String actionDetails) {
+        this.actionDetails = actionDetails;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public Integer getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(Integer durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public String getDeviceType() {
+        return deviceType;
+    }
+
+    public void setDeviceType(String deviceType) {
+        this.deviceType = deviceType;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public void setBrowser(String browser) {
+        this.browser = browser;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+    }
+}
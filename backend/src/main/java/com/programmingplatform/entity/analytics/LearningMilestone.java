@@ -0,0 +1,73 @@
+package com.programmingplatform.entity.analytics;
+
+import java.time.Instant;
+
+/**
+ * 学习里程碑
+ * 课时或课程首次完成时经 MySQL 事务发件箱投递，写入 learning_milestones；
+ * 课时里程碑的 targetId 为课时 ID，课程里程碑为课程 ID
+ */
+public class LearningMilestone {
+
+    private Long userId;
+
+    private String milestoneType;
+
+    private Long targetId;
+
+    private Long courseId;
+
+    private Instant occurredAt;
+
+    // 构造函数
+    public LearningMilestone() {}
+
+    public LearningMilestone(Long userId, String milestoneType, Long targetId, Long courseId, Instant occurredAt) {
+        this.userId = userId;
+        this.milestoneType = milestoneType;
+        this.targetId = targetId;
+        this.courseId = courseId;
+        this.occurredAt = occurredAt;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getMilestoneType() {
+        return milestoneType;
+    }
+
+    public void setMilestoneType(String milestoneType) {
+        this.milestoneType = milestoneType;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(Long targetId) {
+        this.targetId = targetId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,40 @@
+package com.programmingplatform.entity.analytics;
+
+/**
+ * 提交导出行
+ * 以哈希引用的代码、输出和错误信息在同一查询中关联 content_blobs 读出，导出时不再逐行按哈希查询
+ */
+public class SubmissionExportRow extends CodeSubmission {
+
+    private ContentBlob codeBlob;
+    private ContentBlob outputBlob;
+    private ContentBlob errorBlob;
+
+    // 构造函数
+    public SubmissionExportRow() {}
+
+    // Getters and Setters
+    public ContentBlob getCodeBlob() {
+        return codeBlob;
+    }
+
+    public void setCodeBlob(ContentBlob codeBlob) {
+        this.codeBlob = codeBlob;
+    }
+
+    public ContentBlob getOutputBlob() {
+        return outputBlob;
+    }
+
+    public void setOutputBlob(ContentBlob outputBlob) {
+        this.outputBlob = outputBlob;
+    }
+
+    public ContentBlob getErrorBlob() {
+        return errorBlob;
+    }
+
+    public void setErrorBlob(ContentBlob errorBlob) {
+        this.errorBlob = errorBlob;
+    }
+}
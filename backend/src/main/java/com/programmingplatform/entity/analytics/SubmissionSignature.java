@@ -0,0 +1,68 @@
+package com.programmingplatform.entity.analytics;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 提交 MinHash 签名实体类
+ * 对应 PostgreSQL submission_signatures 表，用于同课时近重复提交检测
+ */
+public class SubmissionSignature {
+
+    private UUID submissionId;
+    private Long lessonId;
+    private Long userId;
+    private int[] signature;
+    private Instant createdAt;
+
+    // 构造函数
+    public SubmissionSignature() {}
+
+    public SubmissionSignature(UUID submissionId, Long lessonId, Long userId, int[] signature) {
+        this.submissionId = submissionId;
+        this.lessonId = lessonId;
+        this.userId = userId;
+        this.signature = signature;
+    }
+
+    // Getters and Setters
+    public UUID getSubmissionId() {
+        return submissionId;
+    }
+
+    public void setSubmissionId(UUID submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public int[] getSignature() {
+        return signature;
+    }
+
+    public void setSignature(int[] signature) {
+        this.signature = signature;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
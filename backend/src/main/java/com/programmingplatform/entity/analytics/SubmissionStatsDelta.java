@@ -0,0 +1,176 @@
+package com.programmingplatform.entity.analytics;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * 提交统计增量
+ * 按 (用户, 语言) 或 (日期, 语言) 在内存中累加，定时合并写入 user_language_stats / daily_language_stats
+ */
+public class SubmissionStatsDelta {
+
+    private Long userId;
+    private LocalDate activityDate;
+    private String language;
+    private long totalSubmissions;
+    private long successCount;
+    private long executionTimeSum;
+    private long executionTimeCount;
+    private long memoryUsageSum;
+    private long memoryUsageCount;
+    private BigDecimal scoreSum = BigDecimal.ZERO;
+    private long scoreCount;
+    private Instant lastSubmissionAt;
+
+    // 构造函数
+    public SubmissionStatsDelta() {}
+
+    public SubmissionStatsDelta(Long userId, LocalDate activityDate, String language) {
+        this.userId = userId;
+        this.activityDate = activityDate;
+        this.language = language;
+    }
+
+    /**
+     * 累加一次已完成的提交
+     */
+    public SubmissionStatsDelta add(CodeSubmission submission) {
+        totalSubmissions++;
+        if ("SUCCESS".equals(submission.getExecutionStatus())) {
+            successCount++;
+        }
+        if (submission.getExecutionTimeMs() != null) {
+            executionTimeSum += submission.getExecutionTimeMs();
+            executionTimeCount++;
+        }
+        if (submission.getMemoryUsageKb() != null) {
+            memoryUsageSum += submission.getMemoryUsageKb();
+            memoryUsageCount++;
+        }
+        if (submission.getScore() != null) {
+            scoreSum = scoreSum.add(submission.getScore());
+            scoreCount++;
+        }
+        if (lastSubmissionAt == null || submission.getSubmissionTime().isAfter(lastSubmissionAt)) {
+            lastSubmissionAt = submission.getSubmissionTime();
+        }
+        return this;
+    }
+
+    /**
+     * 合并另一个同键增量，用于写入失败后重新入队
+     */
+    public SubmissionStatsDelta combine(SubmissionStatsDelta other) {
+        totalSubmissions += other.totalSubmissions;
+        successCount += other.successCount;
+        executionTimeSum += other.executionTimeSum;
+        executionTimeCount += other.executionTimeCount;
+        memoryUsageSum += other.memoryUsageSum;
+        memoryUsageCount += other.memoryUsageCount;
+        scoreSum = scoreSum.add(other.scoreSum);
+        scoreCount += other.scoreCount;
+        if (lastSubmissionAt == null
+                || (other.lastSubmissionAt != null && other.lastSubmissionAt.isAfter(lastSubmissionAt))) {
+            lastSubmissionAt = other.lastSubmissionAt;
+        }
+        return this;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getActivityDate() {
+        return activityDate;
+    }
+
+    public void setActivityDate(LocalDate activityDate) {
+        this.activityDate = activityDate;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public long getTotalSubmissions() {
+        return totalSubmissions;
+    }
+
+    public void setTotalSubmissions(long totalSubmissions) {
+        this.totalSubmissions = totalSubmissions;
+    }
+
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(long successCount) {
+        this.successCount = successCount;
+    }
+
+    public long getExecutionTimeSum() {
+        return executionTimeSum;
+    }
+
+    public void setExecutionTimeSum(long executionTimeSum) {
+        this.executionTimeSum = executionTimeSum;
+    }
+
+    public long getExecutionTimeCount() {
+        return executionTimeCount;
+    }
+
+    public void setExecutionTimeCount(long executionTimeCount) {
+        this.executionTimeCount = executionTimeCount;
+    }
+
+    public long getMemoryUsageSum() {
+        return memoryUsageSum;
+    }
+
+    public void setMemoryUsageSum(long memoryUsageSum) {
+        this.memoryUsageSum = memoryUsageSum;
+    }
+
+    public long getMemoryUsageCount() {
+        return memoryUsageCount;
+    }
+
+    public void setMemoryUsageCount(long memoryUsageCount) {
+        this.memoryUsageCount = memoryUsageCount;
+    }
+
+    public BigDecimal getScoreSum() {
+        return scoreSum;
+    }
+
+    public void setScoreSum(BigDecimal scoreSum) {
+        this.scoreSum = scoreSum;
+    }
+
+    public long getScoreCount() {
+        return scoreCount;
+    }
+
+    public void setScoreCount(long scoreCount) {
+        this.scoreCount = scoreCount;
+    }
+
+    public Instant getLastSubmissionAt() {
+        return lastSubmissionAt;
+    }
+
+    public void setLastSubmissionAt(Instant lastSubmissionAt) {
+        this.lastSubmissionAt = lastSubmissionAt;
+    }
+}
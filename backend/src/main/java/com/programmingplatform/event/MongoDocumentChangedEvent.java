@@ -0,0 +1,82 @@
+package com.programmingplatform.event;
+
+import org.bson.Document;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * MongoDB 文档变更事件
+ * 由变更流监听器在每个节点上发布，供本地缓存和检索索引失效或刷新；
+ * operationType 为 reset 时表示该集合（collection 为 null 时表示全部集合）可能错过了变更，订阅方应整体清空
+ */
+public class MongoDocumentChangedEvent {
+
+    public static final String RESET = "reset";
+
+    private final String collection;
+
+    private final String operationType;
+
+    private final String documentId;
+
+    private final Document fullDocument;
+
+    private final Set<String> updatedFields;
+
+    public MongoDocumentChangedEvent(String collection, String operationType, String documentId,
+                                     Document fullDocument, Set<String> updatedFields) {
+        this.collection = collection;
+        this.operationType = operationType;
+        this.documentId = documentId;
+        this.fullDocument = fullDocument;
+        this.updatedFields = updatedFields;
+    }
+
+    public static MongoDocumentChangedEvent reset(String collection) {
+        return new MongoDocumentChangedEvent(collection, RESET, null, null, null);
+    }
+
+    /**
+     * 是否为针对给定集合的整体重置
+     */
+    public boolean isResetOf(String name) {
+        return RESET.equals(operationType) && (collection == null || collection.equals(name));
+    }
+
+    public boolean isDelete() {
+        return "delete".equals(operationType);
+    }
+
+    /**
+     * 是否为只修改了给定字段（含其子字段）的更新，如服务自身写回的派生字段
+     */
+    public boolean onlyUpdates(String... fields) {
+        return updatedFields != null && !updatedFields.isEmpty()
+                && updatedFields.stream().allMatch(updated -> Arrays.stream(fields)
+                .anyMatch(field -> updated.equals(field) || updated.startsWith(field + ".")));
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public String getOperationType() {
+        return operationType;
+    }
+
+    public String getDocumentId() {
+        return documentId;
+    }
+
+    /**
+     * 变更后的完整文档（insert/replace/update 时按需查询得到，delete 或文档已被删除时为 null）
+     */
+    public Document getFullDocument() {
+        return fullDocument;
+    }
+
+    public Set<String> getUpdatedFields() {
+        return updatedFields;
+    }
+}
@@ -0,0 +1,20 @@
+package com.programmingplatform.event;
+
+import com.programmingplatform.entity.analytics.CodeSubmission;
+
+/**
+ * 代码提交执行完成事件
+ * 在提交结果写入后发布，供统计汇总等下游处理订阅
+ */
+public class SubmissionCompletedEvent {
+
+    private final CodeSubmission submission;
+
+    public SubmissionCompletedEvent(CodeSubmission submission) {
+        this.submission = submission;
+    }
+
+    public CodeSubmission getSubmission() {
+        return submission;
+    }
+}
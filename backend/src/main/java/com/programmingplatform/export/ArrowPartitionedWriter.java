@@ -0,0 +1,152 @@
+package com.programmingplatform.export;
+
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按分区写出 ZSTD 压缩的 Arrow IPC 文件
+ * 同一时刻只打开一个分区文件，行按批次写出后复用向量缓冲区，内存占用只取决于批次大小；
+ * 批次行数或向量缓冲区占用任一达到上限即写出，大文本行不会把整批行数的缓冲区撑到分配器上限
+ * 调用方需按分区顺序提供数据，分区重复出现时会写入新的 part 文件
+ */
+public class ArrowPartitionedWriter<T> implements Closeable {
+
+    private final Path baseDir;
+
+    private final List<ExportColumn<T>> columns;
+
+    private final VectorSchemaRoot root;
+
+    private final int batchRows;
+
+    private final long maxBatchBytes;
+
+    private final BufferAllocator allocator;
+
+    private final Map<String, Integer> partCounters = new HashMap<>();
+
+    private final List<Path> files = new ArrayList<>();
+
+    private String currentPartition;
+
+    private FileChannel channel;
+
+    private ArrowFileWriter writer;
+
+    private int rowsInBatch;
+
+    private long totalRows;
+
+    /**
+     * @param maxBatchBytes 本写出器向量缓冲区的占用上限，使用独立的子分配器统计
+     */
+    public ArrowPartitionedWriter(BufferAllocator allocator, Path baseDir, List<ExportColumn<T>> columns,
+                                  int batchRows, long maxBatchBytes) {
+        this.baseDir = baseDir;
+        this.columns = columns;
+        this.batchRows = batchRows;
+        this.maxBatchBytes = maxBatchBytes;
+        this.allocator = allocator.newChildAllocator(baseDir.getFileName().toString(), 0, allocator.getLimit());
+        this.root = VectorSchemaRoot.create(
+                new Schema(columns.stream().map(ExportColumn::getField).toList()), this.allocator);
+    }
+
+    /**
+     * 写入一行，partitionPath 为相对目录，如 date=2024-01-01/language=java
+     */
+    public void write(String partitionPath, T row) throws IOException {
+        if (!partitionPath.equals(currentPartition)) {
+            closeCurrent();
+            open(partitionPath);
+        }
+        List<FieldVector> vectors = root.getFieldVectors();
+        for (int i = 0; i < columns.size(); i++) {
+            columns.get(i).write(vectors.get(i), rowsInBatch, row);
+        }
+        rowsInBatch++;
+        totalRows++;
+        if (rowsInBatch >= batchRows || allocator.getAllocatedMemory() >= maxBatchBytes) {
+            flushBatch();
+            if (allocator.getAllocatedMemory() >= maxBatchBytes) {
+                // reset 只清空数据不释放容量，被大行撑大的缓冲区在这里归还分配器
+                root.clear();
+            }
+        }
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public List<Path> getFiles() {
+        return files;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            closeCurrent();
+        } finally {
+            root.close();
+            allocator.close();
+        }
+    }
+
+    private void open(String partitionPath) throws IOException {
+        int part = partCounters.merge(partitionPath, 1, Integer::sum) - 1;
+        Path dir = Files.createDirectories(baseDir.resolve(partitionPath));
+        Path file = dir.resolve(String.format("part-%05d.arrow", part));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        writer = new ArrowFileWriter(root, null, channel, null, IpcOption.DEFAULT,
+                CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.ZSTD);
+        writer.start();
+        currentPartition = partitionPath;
+        files.add(file);
+    }
+
+    private void flushBatch() throws IOException {
+        if (rowsInBatch == 0) {
+            return;
+        }
+        root.setRowCount(rowsInBatch);
+        writer.writeBatch();
+        for (FieldVector vector : root.getFieldVectors()) {
+            vector.reset();
+        }
+        rowsInBatch = 0;
+    }
+
+    private void closeCurrent() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        try {
+            flushBatch();
+            writer.end();
+        } finally {
+            writer.close();
+            channel.close();
+            writer = null;
+            channel = null;
+            currentPartition = null;
+        }
+    }
+}
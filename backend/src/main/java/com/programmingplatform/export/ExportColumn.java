@@ -0,0 +1,129 @@
+package com.programmingplatform.export;
+
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 列式导出的列定义
+ * 描述 Arrow 字段类型以及如何从一行数据取值写入对应向量
+ */
+public final class ExportColumn<T> {
+
+    private final Field field;
+
+    private final CellWriter<T> writer;
+
+    private ExportColumn(String name, ArrowType type, CellWriter<T> writer) {
+        this.field = new Field(name, FieldType.nullable(type), null);
+        this.writer = writer;
+    }
+
+    public static <T> ExportColumn<T> int64(String name, Function<T, Long> getter) {
+        return new ExportColumn<>(name, new ArrowType.Int(64, true), (vector, index, row) -> {
+            Long value = getter.apply(row);
+            if (value == null) {
+                ((BigIntVector) vector).setNull(index);
+            } else {
+                ((BigIntVector) vector).setSafe(index, value);
+            }
+        });
+    }
+
+    public static <T> ExportColumn<T> int32(String name, Function<T, Integer> getter) {
+        return new ExportColumn<>(name, new ArrowType.Int(32, true), (vector, index, row) -> {
+            Integer value = getter.apply(row);
+            if (value == null) {
+                ((IntVector) vector).setNull(index);
+            } else {
+                ((IntVector) vector).setSafe(index, value);
+            }
+        });
+    }
+
+    public static <T> ExportColumn<T> float64(String name, Function<T, BigDecimal> getter) {
+        return new ExportColumn<>(name, new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE),
+                (vector, index, row) -> {
+                    BigDecimal value = getter.apply(row);
+                    if (value == null) {
+                        ((Float8Vector) vector).setNull(index);
+                    } else {
+                        ((Float8Vector) vector).setSafe(index, value.doubleValue());
+                    }
+                });
+    }
+
+    public static <T> ExportColumn<T> bool(String name, Function<T, Boolean> getter) {
+        return new ExportColumn<>(name, ArrowType.Bool.INSTANCE, (vector, index, row) -> {
+            Boolean value = getter.apply(row);
+            if (value == null) {
+                ((BitVector) vector).setNull(index);
+            } else {
+                ((BitVector) vector).setSafe(index, value ? 1 : 0);
+            }
+        });
+    }
+
+    public static <T> ExportColumn<T> utf8(String name, Function<T, String> getter) {
+        return new ExportColumn<>(name, ArrowType.Utf8.INSTANCE, (vector, index, row) -> {
+            String value = getter.apply(row);
+            if (value == null) {
+                ((VarCharVector) vector).setNull(index);
+            } else {
+                ((VarCharVector) vector).setSafe(index, value.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+    }
+
+    public static <T> ExportColumn<T> uuid(String name, Function<T, UUID> getter) {
+        return utf8(name, row -> {
+            UUID value = getter.apply(row);
+            return value == null ? null : value.toString();
+        });
+    }
+
+    /**
+     * UTC 微秒精度时间戳，与 PostgreSQL timestamptz 一致
+     */
+    public static <T> ExportColumn<T> timestamp(String name, Function<T, Instant> getter) {
+        return new ExportColumn<>(name, new ArrowType.Timestamp(TimeUnit.MICROSECOND, "UTC"),
+                (vector, index, row) -> {
+                    Instant value = getter.apply(row);
+                    if (value == null) {
+                        ((TimeStampMicroTZVector) vector).setNull(index);
+                    } else {
+                        ((TimeStampMicroTZVector) vector).setSafe(index,
+                                ChronoUnit.MICROS.between(Instant.EPOCH, value));
+                    }
+                });
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    void write(FieldVector vector, int index, T row) {
+        writer.write(vector, index, row);
+    }
+
+    @FunctionalInterface
+    private interface CellWriter<T> {
+        void write(FieldVector vector, int index, T row);
+    }
+}
@@ -0,0 +1,183 @@
+package com.programmingplatform.ingest;
+
+/**
+ * IP 地址字面量解析
+ * 只接受 IPv4 点分十进制和 IPv6 冒号十六进制格式，从不做主机名解析，无法解析时返回 null
+ */
+public final class IpLiteral {
+
+    private static final int IPV6_GROUPS = 8;
+
+    private IpLiteral() {
+    }
+
+    /**
+     * 解析为 4 字节 IPv4 或 16 字节 IPv6 地址，IPv4 映射的 IPv6 地址按 IPv4 返回
+     */
+    public static byte[] parse(String address) {
+        if (address == null || address.isEmpty()) {
+            return null;
+        }
+        if (address.indexOf(':') < 0) {
+            byte[] bytes = new byte[4];
+            return parseIpv4(address, bytes, 0) ? bytes : null;
+        }
+        byte[] bytes = parseIpv6(address);
+        if (bytes != null && isIpv4Mapped(bytes)) {
+            byte[] ipv4 = new byte[4];
+            System.arraycopy(bytes, 12, ipv4, 0, 4);
+            return ipv4;
+        }
+        return bytes;
+    }
+
+    /**
+     * 判断地址是否落在 CIDR 网段内，网段不带前缀长度时按单个地址匹配
+     */
+    public static boolean matches(String cidr, byte[] address) {
+        int slash = cidr.indexOf('/');
+        byte[] network = parse(slash < 0 ? cidr : cidr.substring(0, slash));
+        if (network == null || address == null || network.length != address.length) {
+            return false;
+        }
+        int prefix = network.length * 8;
+        if (slash >= 0) {
+            try {
+                prefix = Integer.parseInt(cidr.substring(slash + 1));
+            } catch (NumberFormatException ex) {
+                return false;
+            }
+            if (prefix < 0 || prefix > network.length * 8) {
+                return false;
+            }
+        }
+        for (int i = 0; i < network.length && prefix > 0; i++, prefix -= 8) {
+            int mask = prefix >= 8 ? 0xFF : (0xFF << (8 - prefix)) & 0xFF;
+            if ((network[i] & mask) != (address[i] & mask)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean parseIpv4(String address, byte[] out, int offset) {
+        int part = 0;
+        int digits = 0;
+        int value = 0;
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (c == '.') {
+                if (digits == 0 || part == 3) {
+                    return false;
+                }
+                out[offset + part++] = (byte) value;
+                digits = 0;
+                value = 0;
+            } else if (c >= '0' && c <= '9' && digits < 3) {
+                value = value * 10 + (c - '0');
+                digits++;
+                if (value > 255) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        if (digits == 0 || part != 3) {
+            return false;
+        }
+        out[offset + part] = (byte) value;
+        return true;
+    }
+
+    private static byte[] parseIpv6(String address) {
+        int compressed = address.indexOf("::");
+        if (compressed >= 0 && address.indexOf("::", compressed + 1) >= 0) {
+            return null;
+        }
+        byte[] head = new byte[16];
+        byte[] tail = new byte[16];
+        int headGroups;
+        int tailGroups = 0;
+        if (compressed < 0) {
+            headGroups = parseGroups(address, head, true);
+            if (headGroups != IPV6_GROUPS) {
+                return null;
+            }
+            return head;
+        }
+        headGroups = parseGroups(address.substring(0, compressed), head, false);
+        if (headGroups >= 0) {
+            tailGroups = parseGroups(address.substring(compressed + 2), tail, true);
+        }
+        // "::" 至少代表一个全零分组
+        if (headGroups < 0 || tailGroups < 0 || headGroups + tailGroups > IPV6_GROUPS - 1) {
+            return null;
+        }
+        byte[] bytes = new byte[16];
+        System.arraycopy(head, 0, bytes, 0, headGroups * 2);
+        System.arraycopy(tail, 0, bytes, 16 - tailGroups * 2, tailGroups * 2);
+        return bytes;
+    }
+
+    /**
+     * 解析以冒号分隔的分组，返回分组数，格式错误返回 -1；末尾可以是点分 IPv4，计为两个分组
+     */
+    private static int parseGroups(String part, byte[] out, boolean allowIpv4Tail) {
+        if (part.isEmpty()) {
+            return 0;
+        }
+        int groups = 0;
+        int start = 0;
+        while (true) {
+            int end = part.indexOf(':', start);
+            String group = end < 0 ? part.substring(start) : part.substring(start, end);
+            if (end < 0 && allowIpv4Tail && group.indexOf('.') >= 0) {
+                if (groups > IPV6_GROUPS - 2 || !parseIpv4(group, out, groups * 2)) {
+                    return -1;
+                }
+                return groups + 2;
+            }
+            if (groups == IPV6_GROUPS || group.isEmpty() || group.length() > 4) {
+                return -1;
+            }
+            int value = 0;
+            for (int i = 0; i < group.length(); i++) {
+                int digit = hexDigit(group.charAt(i));
+                if (digit < 0) {
+                    return -1;
+                }
+                value = (value << 4) | digit;
+            }
+            out[groups * 2] = (byte) (value >>> 8);
+            out[groups * 2 + 1] = (byte) value;
+            groups++;
+            if (end < 0) {
+                return groups;
+            }
+            start = end + 1;
+        }
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static boolean isIpv4Mapped(byte[] bytes) {
+        for (int i = 0; i < 10; i++) {
+            if (bytes[i] != 0) {
+                return false;
+            }
+        }
+        return bytes[10] == (byte) 0xFF && bytes[11] == (byte) 0xFF;
+    }
+}
@@ -0,0 +1,89 @@
+package com.programmingplatform.leaderboard;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+
+/**
+ * 排行榜复合分值编码
+ * Redis 有序集合分值为 double，53 位以内的整数可精确表示，按位拼接多个排序条件后只需一次 ZADD/ZREVRANK：
+ * <ul>
+ *   <li>课时榜：得分（百分之一分，14 位）| 反转的执行耗时（毫秒，16 位）| 反转的提交分钟数（23 位）</li>
+ *   <li>课程榜：各课时最佳得分之和（百分之一分，30 位）| 反转的达到该总分的分钟数（23 位）</li>
+ * </ul>
+ * 分值越大排名越靠前，同一分钟内的并列按成员字典序排列。
+ * 53 位已全部用于以上条件，内存占用不参与排序，只随条目详情展示；
+ * 如需按内存区分并列，须压缩耗时或时间位并更换榜单键前缀，旧编码的分值不能与新编码混合比较
+ */
+public final class CompositeScore {
+
+    // 提交时间的计算起点 2024-01-01T00:00:00Z，23 位分钟数可覆盖约 15 年
+    private static final long EPOCH_SECONDS = 1704067200L;
+
+    static final int TIME_BITS = 23;
+
+    static final int EXECUTION_BITS = 16;
+
+    static final long TIME_MAX = (1L << TIME_BITS) - 1;
+
+    static final long EXECUTION_MAX = (1L << EXECUTION_BITS) - 1;
+
+    static final long SCORE_MAX = 10000;
+
+    /**
+     * 课时榜中得分所在位的除数 2^39
+     */
+    public static final long LESSON_SCORE_UNIT = 1L << (EXECUTION_BITS + TIME_BITS);
+
+    /**
+     * 课程榜中总分所在位的除数 2^23
+     */
+    public static final long COURSE_SCORE_UNIT = 1L << TIME_BITS;
+
+    private CompositeScore() {
+    }
+
+    /**
+     * 得分换算为百分之一分，限定在 0 ~ 100 分
+     */
+    public static long scoreHundredths(BigDecimal score) {
+        if (score == null) {
+            return 0;
+        }
+        long hundredths = score.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+        return Math.max(0, Math.min(SCORE_MAX, hundredths));
+    }
+
+    public static BigDecimal fromHundredths(long hundredths) {
+        return BigDecimal.valueOf(hundredths, 2);
+    }
+
+    /**
+     * 反转的分钟数，越早越大
+     */
+    public static long invertedMinutes(Instant time) {
+        long minutes = (time.getEpochSecond() - EPOCH_SECONDS) / 60;
+        return TIME_MAX - Math.max(0, Math.min(TIME_MAX, minutes));
+    }
+
+    public static long lessonScore(BigDecimal score, Integer executionTimeMs, Instant submissionTime) {
+        long execution = executionTimeMs == null ? EXECUTION_MAX : Math.max(0, Math.min(EXECUTION_MAX, executionTimeMs));
+        return scoreHundredths(score) * LESSON_SCORE_UNIT
+                + (EXECUTION_MAX - execution) * COURSE_SCORE_UNIT
+                + invertedMinutes(submissionTime);
+    }
+
+    /**
+     * 从课时榜分值中取出得分（百分之一分）
+     */
+    public static long lessonHundredths(double composite) {
+        return (long) composite / LESSON_SCORE_UNIT;
+    }
+
+    /**
+     * 从课程榜分值中取出总分（百分之一分）
+     */
+    public static long courseHundredths(double composite) {
+        return (long) composite / COURSE_SCORE_UNIT;
+    }
+}
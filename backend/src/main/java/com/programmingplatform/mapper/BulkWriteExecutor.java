@@ -0,0 +1,93 @@
+package com.programmingplatform.mapper;
+
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * 批量写入执行器
+ * 使用 BATCH 执行器的独立 SqlSession 执行大量写语句，如发件箱事件写入
+ * 若调用方已处于同一数据源的 Spring 事务中，会复用事务连接并由外层事务提交
+ */
+@Component
+public class BulkWriteExecutor {
+
+    private final SqlSessionFactory primarySqlSessionFactory;
+
+    private final SqlSessionFactory secondarySqlSessionFactory;
+
+    @Value("${app.bulk-write.flush-size:1000}")
+    private int flushSize;
+
+    @Autowired
+    public BulkWriteExecutor(@Qualifier("primarySqlSessionFactory") SqlSessionFactory primarySqlSessionFactory,
+                             @Qualifier("secondarySqlSessionFactory") SqlSessionFactory secondarySqlSessionFactory) {
+        this.primarySqlSessionFactory = primarySqlSessionFactory;
+        this.secondarySqlSessionFactory = secondarySqlSessionFactory;
+    }
+
+    /**
+     * 在主库 (MySQL) 上批量执行写语句
+     *
+     * @param mapperType 主库 Mapper 接口
+     * @param rows       待写入的数据
+     * @param statement  对单行数据调用的 Mapper 方法
+     * @return 影响的行数
+     */
+    public <M, T> int writePrimary(Class<M> mapperType, Collection<T> rows, BiConsumer<M, T> statement) {
+        return execute(primarySqlSessionFactory, mapperType, rows, statement);
+    }
+
+    /**
+     * 在辅助库 (PostgreSQL) 上批量执行写语句
+     */
+    public <M, T> int writeSecondary(Class<M> mapperType, Collection<T> rows, BiConsumer<M, T> statement) {
+        return execute(secondarySqlSessionFactory, mapperType, rows, statement);
+    }
+
+    private <M, T> int execute(SqlSessionFactory sqlSessionFactory, Class<M> mapperType,
+                               Collection<T> rows, BiConsumer<M, T> statement) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        int affected = 0;
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            M mapper = session.getMapper(mapperType);
+            int queued = 0;
+            for (T row : rows) {
+                statement.accept(mapper, row);
+                if (++queued % flushSize == 0) {
+                    affected += countAffected(session.flushStatements());
+                }
+            }
+            affected += countAffected(session.flushStatements());
+            session.commit();
+        }
+        return affected;
+    }
+
+    /**
+     * 汇总批处理影响行数
+     * rewriteBatchedStatements 改写后驱动可能返回 SUCCESS_NO_INFO，此时按每条语句一行计
+     */
+    private int countAffected(List<BatchResult> results) {
+        int affected = 0;
+        for (BatchResult result : results) {
+            for (int count : result.getUpdateCounts()) {
+                affected += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
+        }
+        return affected;
+    }
+}
@@ -0,0 +1,60 @@
+package com.programmingplatform.mapper;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.sql.Array;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * PostgreSQL integer[] 列类型处理器
+ * 内置 ArrayTypeHandler 只支持对象数组，签名等数据直接使用 int[] 避免装箱
+ */
+@MappedTypes(int[].class)
+public class IntArrayTypeHandler extends BaseTypeHandler<int[]> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, int[] parameter, JdbcType jdbcType)
+            throws SQLException {
+        Integer[] boxed = new Integer[parameter.length];
+        for (int j = 0; j < parameter.length; j++) {
+            boxed[j] = parameter[j];
+        }
+        ps.setArray(i, ps.getConnection().createArrayOf("integer", boxed));
+    }
+
+    @Override
+    public int[] getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return toIntArray(rs.getArray(columnName));
+    }
+
+    @Override
+    public int[] getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return toIntArray(rs.getArray(columnIndex));
+    }
+
+    @Override
+    public int[] getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return toIntArray(cs.getArray(columnIndex));
+    }
+
+    private int[] toIntArray(Array array) throws SQLException {
+        if (array == null) {
+            return null;
+        }
+        try {
+            Integer[] boxed = (Integer[]) array.getArray();
+            int[] values = new int[boxed.length];
+            for (int i = 0; i < boxed.length; i++) {
+                values[i] = boxed[i];
+            }
+            return values;
+        } finally {
+            array.free();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.programmingplatform.mapper.primary;
+
+import org.apache.ibatis.annotations.*;
+
+/**
+ * 课程归属与发布状态查询接口
+ * 供写入前校验课时与课程的对应关系、讲师操作前校验课程归属
+ */
+@Mapper
+public interface CourseAccessMapper {
+
+    /**
+     * 查询课时所属课程、讲师和发布状态，课时、章节、课程均已发布才视为已发布；课时不存在时返回 null
+     */
+    @Select("SELECT l.id AS lesson_id, l.course_id, c.instructor_id, " +
+            "(l.is_published AND ch.is_published AND c.is_published) AS published " +
+            "FROM lessons l JOIN chapters ch ON ch.id = l.chapter_id JOIN courses c ON c.id = l.course_id " +
+            "WHERE l.id = #{lessonId}")
+    LessonRef findLesson(@Param("lessonId") Long lessonId);
+
+    /**
+     * 查询课程讲师和发布状态，课程不存在时返回 null
+     */
+    @Select("SELECT id AS course_id, instructor_id, is_published AS published FROM courses WHERE id = #{courseId}")
+    CourseRef findCourse(@Param("courseId") Long courseId);
+
+    /**
+     * 课时归属行
+     */
+    class LessonRef {
+        private Long lessonId;
+        private Long courseId;
+        private Long instructorId;
+        private Boolean published;
+
+        // Getters and Setters
+        public Long getLessonId() { return lessonId; }
+        public void setLessonId(Long lessonId) { this.lessonId = lessonId; }
+
+        public Long getCourseId() { return courseId; }
+        public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+        public Long getInstructorId() { return instructorId; }
+        public void setInstructorId(Long instructorId) { this.instructorId = instructorId; }
+
+        public Boolean getPublished() { return published; }
+        public void setPublished(Boolean published) { this.published = published; }
+    }
+
+    /**
+     * 课程归属行
+     */
+    class CourseRef {
+        private Long courseId;
+        private Long instructorId;
+        private Boolean published;
+
+        // Getters and Setters
+        public Long getCourseId() { return courseId; }
+        public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+        public Long getInstructorId() { return instructorId; }
+        public void setInstructorId(Long instructorId) { this.instructorId = instructorId; }
+
+        public Boolean getPublished() { return published; }
+        public void setPublished(Boolean published) { this.published = published; }
+    }
+}
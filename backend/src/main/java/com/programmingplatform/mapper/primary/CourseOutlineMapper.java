@@ -0,0 +1,105 @@
+package com.programmingplatform.mapper.primary;
+
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * 课程大纲数据访问层接口
+ * 一次查询取回 课程 → 章节 → 课时 整棵树，避免逐级懒加载产生 N+1 查询
+ */
+@Mapper
+public interface CourseOutlineMapper {
+
+    /**
+     * 查询课程大纲版本号
+     * 由课程、章节、课时的最后更新时间和数量组成，任一层级增删改都会改变版本号；课程不存在时返回 null
+     */
+    @Select("SELECT CONCAT_WS(':', UNIX_TIMESTAMP(c.updated_at), " +
+            "ch.chapter_count, UNIX_TIMESTAMP(ch.max_updated_at), " +
+            "l.lesson_count, UNIX_TIMESTAMP(l.max_updated_at)) " +
+            "FROM courses c " +
+            "CROSS JOIN (SELECT COUNT(*) AS chapter_count, MAX(updated_at) AS max_updated_at " +
+            "FROM chapters WHERE course_id = #{courseId}) ch " +
+            "CROSS JOIN (SELECT COUNT(*) AS lesson_count, MAX(updated_at) AS max_updated_at " +
+            "FROM lessons WHERE course_id = #{courseId}) l " +
+            "WHERE c.id = #{courseId}")
+    String findOutlineVersion(@Param("courseId") Long courseId);
+
+    /**
+     * 以扁平行的形式查询已发布的章节和课时，按排序字段有序返回
+     */
+    @Select("SELECT c.id AS course_id, c.title AS course_title, c.language, c.level, " +
+            "ch.id AS chapter_id, ch.title AS chapter_title, ch.sort_order AS chapter_sort_order, " +
+            "l.id AS lesson_id, l.title AS lesson_title, l.lesson_type, l.duration_minutes, " +
+            "l.sort_order AS lesson_sort_order, l.is_free, l.difficulty " +
+            "FROM courses c " +
+            "LEFT JOIN chapters ch ON ch.course_id = c.id AND ch.is_published = TRUE " +
+            "LEFT JOIN lessons l ON l.chapter_id = ch.id AND l.is_published = TRUE " +
+            "WHERE c.id = #{courseId} " +
+            "ORDER BY ch.sort_order, ch.id, l.sort_order, l.id")
+    List<OutlineRow> findOutlineRows(@Param("courseId") Long courseId);
+
+    /**
+     * 课程大纲扁平行
+     */
+    class OutlineRow {
+        private Long courseId;
+        private String courseTitle;
+        private String language;
+        private String level;
+        private Long chapterId;
+        private String chapterTitle;
+        private Integer chapterSortOrder;
+        private Long lessonId;
+        private String lessonTitle;
+        private String lessonType;
+        private Integer durationMinutes;
+        private Integer lessonSortOrder;
+        private Boolean isFree;
+        private String difficulty;
+
+        // Getters and Setters
+        public Long getCourseId() { return courseId; }
+        public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+        public String getCourseTitle() { return courseTitle; }
+        public void setCourseTitle(String courseTitle) { this.courseTitle = courseTitle; }
+
+        public String getLanguage() { return language; }
+        public void setLanguage(String language) { this.language = language; }
+
+        public String getLevel() { return level; }
+        public void setLevel(String level) { this.level = level; }
+
+        public Long getChapterId() { return chapterId; }
+        public void setChapterId(Long chapterId) { this.chapterId = chapterId; }
+
+        public String getChapterTitle() { return chapterTitle; }
+        public void setChapterTitle(String chapterTitle) { this.chapterTitle = chapterTitle; }
+
+        public Integer getChapterSortOrder() { return chapterSortOrder; }
+        public void setChapterSortOrder(Integer chapterSortOrder) { this.chapterSortOrder = chapterSortOrder; }
+
+        public Long getLessonId() { return lessonId; }
+        public void setLessonId(Long lessonId) { this.lessonId = lessonId; }
+
+        public String getLessonTitle() { return lessonTitle; }
+        public void setLessonTitle(String lessonTitle) { this.lessonTitle = lessonTitle; }
+
+        public String getLessonType() { return lessonType; }
+        public void setLessonType(String lessonType) { this.lessonType = lessonType; }
+
+        public Integer getDurationMinutes() { return durationMinutes; }
+        public void setDurationMinutes(Integer durationMinutes) { this.durationMinutes = durationMinutes; }
+
+        public Integer getLessonSortOrder() { return lessonSortOrder; }
+        public void setLessonSortOrder(Integer lessonSortOrder) { this.lessonSortOrder = lessonSortOrder; }
+
+        public Boolean getIsFree() { return isFree; }
+        public void setIsFree(Boolean isFree) { this.isFree = isFree; }
+
+        public String getDifficulty() { return difficulty; }
+        public void setDifficulty(String difficulty) { this.difficulty = difficulty; }
+    }
+}
@@ -0,0 +1,74 @@
+package com.programmingplatform.mapper.primary;
+
+import com.programmingplatform.entity.OutboxEvent;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * 事务发件箱数据访问层接口
+ */
+@Mapper
+public interface OutboxMapper {
+
+    /**
+     * 写入单个事件，经 {@link com.programmingplatform.mapper.BulkWriteExecutor} 以 JDBC 批处理执行，
+     * 驱动的 rewriteBatchedStatements 将其改写为多行 INSERT；必须在业务数据所在的事务中调用
+     */
+    @Insert("INSERT INTO outbox_events (event_type, aggregate_id, payload) " +
+            "VALUES (#{eventType}, #{aggregateId}, #{payload})")
+    @Options(useGeneratedKeys = false)
+    int insert(OutboxEvent event);
+
+    /**
+     * 锁定一批已到投递时间的待投递事件，需随后调用 lease 并提交事务
+     * SKIP LOCKED 跳过其他节点正在领取的行，多个节点的中继各自领取不同的批次
+     */
+    @Select("SELECT id, event_type, aggregate_id, payload, attempts, created_at FROM outbox_events " +
+            "WHERE status = 'PENDING' AND available_at <= NOW(3) " +
+            "ORDER BY available_at, id LIMIT #{limit} FOR UPDATE SKIP LOCKED")
+    List<OutboxEvent> claimBatch(@Param("limit") int limit);
+
+    /**
+     * 把已领取事件的投递时间推迟一个租约期，租约内其他节点不会再领取；节点中途退出时租约到期后重新投递
+     */
+    @Update("<script>" +
+            "UPDATE outbox_events SET available_at = NOW(3) + INTERVAL #{leaseMs} * 1000 MICROSECOND " +
+            "WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int lease(@Param("ids") List<Long> ids, @Param("leaseMs") long leaseMs);
+
+    @Delete("<script>" +
+            "DELETE FROM outbox_events WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * 推迟投递失败的事件，延迟按已失败次数指数增长并以 maxDelayMs 为上限
+     * available_at 先于 attempts 赋值，使用的是本次失败前的次数；指数截断到 20，避免失败次数很大时 POW 溢出
+     */
+    @Update("<script>" +
+            "UPDATE outbox_events SET " +
+            "available_at = NOW(3) + INTERVAL FLOOR(LEAST(#{baseDelayMs} * POW(2, LEAST(attempts, 20)), #{maxDelayMs}) * 1000) MICROSECOND, " +
+            "attempts = attempts + 1, " +
+            "last_error = LEFT(#{error}, 500) " +
+            "WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int reschedule(@Param("ids") List<Long> ids,
+                   @Param("baseDelayMs") long baseDelayMs,
+                   @Param("maxDelayMs") long maxDelayMs,
+                   @Param("error") String error);
+
+    /**
+     * 搁置无法投递的事件，搁置后不再被领取
+     */
+    @Update("<script>" +
+            "UPDATE outbox_events SET status = 'PARKED', attempts = attempts + 1, last_error = LEFT(#{error}, 500) " +
+            "WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int park(@Param("ids") List<Long> ids, @Param("error") String error);
+}
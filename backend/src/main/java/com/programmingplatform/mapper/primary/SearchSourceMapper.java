@@ -0,0 +1,104 @@
+package com.programmingplatform.mapper.primary;
+
+import org.apache.ibatis.annotations.*;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 全文检索数据源查询接口
+ * 按 updated_at 增量读取课程和课时，供进程内检索索引同步
+ */
+@Mapper
+public interface SearchSourceMapper {
+
+    /**
+     * 查询自给定时间以来变更的课程（含未发布课程，用于从索引中移除）
+     */
+    @Select("SELECT id, title, COALESCE(description, short_description) AS description, language, " +
+            "is_published AS published FROM courses WHERE updated_at >= #{since}")
+    List<CourseRow> findCoursesUpdatedSince(@Param("since") Date since);
+
+    /**
+     * 查询自给定时间以来课时本身或所属章节、课程发生变更的课时 ID
+     */
+    @Select("SELECT l.id FROM lessons l WHERE l.updated_at >= #{since} " +
+            "UNION SELECT l.id FROM chapters ch JOIN lessons l ON l.chapter_id = ch.id WHERE ch.updated_at >= #{since} " +
+            "UNION SELECT l.id FROM courses c JOIN lessons l ON l.course_id = c.id WHERE c.updated_at >= #{since}")
+    List<Long> findLessonIdsUpdatedSince(@Param("since") Date since);
+
+    /**
+     * 按 ID 查询课时及所属课程信息，课时、章节与课程均已发布才视为可检索
+     */
+    @Select("<script>" +
+            "SELECT l.id, l.course_id, l.title, l.description, c.title AS course_title, c.language, " +
+            "(l.is_published AND ch.is_published AND c.is_published) AS published " +
+            "FROM lessons l JOIN chapters ch ON ch.id = l.chapter_id JOIN courses c ON c.id = l.course_id " +
+            "WHERE l.id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<LessonRow> findLessonsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 课程检索源行
+     */
+    class CourseRow {
+        private Long id;
+        private String title;
+        private String description;
+        private String language;
+        private Boolean published;
+
+        // Getters and Setters
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+
+        public String getLanguage() { return language; }
+        public void setLanguage(String language) { this.language = language; }
+
+        public Boolean getPublished() { return published; }
+        public void setPublished(Boolean published) { this.published = published; }
+    }
+
+    /**
+     * 课时检索源行
+     */
+    class LessonRow {
+        private Long id;
+        private Long courseId;
+        private String title;
+        private String description;
+        private String courseTitle;
+        private String language;
+        private Boolean published;
+
+        // Getters and Setters
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public Long getCourseId() { return courseId; }
+        public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+
+        public String getCourseTitle() { return courseTitle; }
+        public void setCourseTitle(String courseTitle) { this.courseTitle = courseTitle; }
+
+        public String getLanguage() { return language; }
+        public void setLanguage(String language) { this.language = language; }
+
+        public Boolean getPublished() { return published; }
+        public void setPublished(Boolean published) { this.published = published; }
+    }
+}
@@ -1,6 +1,8 @@
 package com.programmingplatform.mapper.primary;
 
 import com.programmingplatform.entity.User;
+import com.programmingplatform.entity.UserAuthProjection;
+import com.programmingplatform.entity.UserListRow;
 import org.apache.ibatis.annotations.*;
 
 import java.time.LocalDateTime;
@@ -13,23 +15,70 @@ import java.util.List;
 public interface UserMapper {
 
     /**
-     * 根据ID查找用户
+     * 用户实体常用列，不含 bio 大字段
      */
-    @Select("SELECT * FROM users WHERE id = #{id}")
+    String USER_COLUMNS = "id, username, email, password_hash, full_name, avatar_url, role, is_active, " +
+            "email_verified, created_at, updated_at, last_login_at";
+
+    /**
+     * 认证投影列
+     */
+    String AUTH_COLUMNS = "id, username, email, password_hash, full_name, role, is_active, email_verified";
+
+    /**
+     * 列表行投影列
+     */
+    String LIST_ROW_COLUMNS = "id, username, email, full_name, avatar_url, role, is_active, email_verified, " +
+            "created_at, last_login_at";
+
+    /**
+     * 根据ID查找用户（不含 bio）
+     */
+    @Select("SELECT " + USER_COLUMNS + " FROM users WHERE id = #{id}")
     User findById(Long id);
 
     /**
-     * 根据用户名查找用户
+     * 根据用户名查找用户（不含 bio）
      */
-    @Select("SELECT * FROM users WHERE username = #{username}")
+    @Select("SELECT " + USER_COLUMNS + " FROM users WHERE username = #{username}")
     User findByUsername(String username);
 
     /**
-     * 根据邮箱查找用户
+     * 根据邮箱查找用户（不含 bio）
      */
-    @Select("SELECT * FROM users WHERE email = #{email}")
+    @Select("SELECT " + USER_COLUMNS + " FROM users WHERE email = #{email}")
     User findByEmail(String email);
 
+    /**
+     * 根据ID查询认证投影
+     */
+    @Select("SELECT " + AUTH_COLUMNS + " FROM users WHERE id = #{id}")
+    @Results(id = "userAuthResultMap", value = {
+        @Result(property = "id", column = "id", id = true),
+        @Result(property = "username", column = "username"),
+        @Result(property = "email", column = "email"),
+        @Result(property = "passwordHash", column = "password_hash"),
+        @Result(property = "fullName", column = "full_name"),
+        @Result(property = "role", column = "role"),
+        @Result(property = "isActive", column = "is_active"),
+        @Result(property = "emailVerified", column = "email_verified")
+    })
+    UserAuthProjection findAuthById(Long id);
+
+    /**
+     * 根据用户名查询认证投影
+     */
+    @Select("SELECT " + AUTH_COLUMNS + " FROM users WHERE username = #{username}")
+    @ResultMap("userAuthResultMap")
+    UserAuthProjection findAuthByUsername(String username);
+
+    /**
+     * 根据邮箱查询认证投影
+     */
+    @Select("SELECT " + AUTH_COLUMNS + " FROM users WHERE email = #{email}")
+    @ResultMap("userAuthResultMap")
+    UserAuthProjection findAuthByEmail(String email);
+
     /**
      * 检查用户名是否存在
      */
@@ -51,14 +100,13 @@ public interface UserMapper {
     int insert(User user);
 
     /**
-     * 更新用户信息
+     * 更新用户信息（不含 bio，查询方法不加载 bio，先查后存时不会把它清空）
      */
     @Update("UPDATE users SET " +
             "username = #{username}, " +
             "email = #{email}, " +
             "full_name = #{fullName}, " +
             "avatar_url = #{avatarUrl}, " +
-            "bio = #{bio}, " +
             "updated_at = #{updatedAt} " +
             "WHERE id = #{id}")
     int update(User user);
@@ -97,7 +145,7 @@ public interface UserMapper {
      * 分页查询用户列表
      */
     @Select("<script>" +
-            "SELECT * FROM users " +
+            "SELECT " + LIST_ROW_COLUMNS + " FROM users " +
             "<where>" +
             "<if test='role != null'>AND role = #{role}</if>" +
             "<if test='isActive != null'>AND is_active = #{isActive}</if>" +
@@ -108,11 +156,23 @@ public interface UserMapper {
             "ORDER BY created_at DESC " +
             "LIMIT #{offset}, #{limit}" +
             "</script>")
-    List<User> findByPage(@Param("role") User.UserRole role, 
-                         @Param("isActive") Boolean isActive, 
-                         @Param("keyword") String keyword,
-                         @Param("offset") int offset, 
-                         @Param("limit") int limit);
+    @Results(id = "userListRowResultMap", value = {
+        @Result(property = "id", column = "id", id = true),
+        @Result(property = "username", column = "username"),
+        @Result(property = "email", column = "email"),
+        @Result(property = "fullName", column = "full_name"),
+        @Result(property = "avatarUrl", column = "avatar_url"),
+        @Result(property = "role", column = "role"),
+        @Result(property = "isActive", column = "is_active"),
+        @Result(property = "emailVerified", column = "email_verified"),
+        @Result(property = "createdAt", column = "created_at"),
+        @Result(property = "lastLoginAt", column = "last_login_at")
+    })
+    List<UserListRow> findByPage(@Param("role") User.UserRole role, 
+                                 @Param("isActive") Boolean isActive, 
+                                 @Param("keyword") String keyword,
+                                 @Param("offset") int offset, 
+                                 @Param("limit") int limit);
 
     /**
      * 统计用户总数
@@ -0,0 +1,96 @@
+package com.programmingplatform.mapper.primary;
+
+import com.programmingplatform.entity.UserProgress;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * 用户学习进度数据访问层接口
+ */
+@Mapper
+public interface UserProgressMapper {
+
+    /**
+     * 查询用户在某课程下的全部课时进度
+     */
+    @Select("SELECT lesson_id, course_id, is_completed, completion_date, time_spent_minutes, last_position, " +
+            "attempts_count, best_score FROM user_progress WHERE user_id = #{userId} AND course_id = #{courseId}")
+    List<UserProgress> findByUserAndCourse(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    /**
+     * 多行批量写入进度增量
+     * 命中 uk_user_lesson 时累加学习时长和尝试次数，完成状态只会从未完成变为已完成
+     */
+    @Insert("<script>" +
+            "INSERT INTO user_progress (user_id, lesson_id, course_id, is_completed, completion_date, " +
+            "time_spent_minutes, last_position, attempts_count) VALUES " +
+            "<foreach collection='items' item='p' separator=','>" +
+            "(#{p.userId}, #{p.lessonId}, #{p.courseId}, #{p.isCompleted}, #{p.completionDate}, " +
+            "#{p.timeSpentMinutes}, #{p.lastPosition}, #{p.attemptsCount})" +
+            "</foreach> " +
+            "AS n ON DUPLICATE KEY UPDATE " +
+            "time_spent_minutes = user_progress.time_spent_minutes + n.time_spent_minutes, " +
+            "last_position = COALESCE(n.last_position, user_progress.last_position), " +
+            "attempts_count = user_progress.attempts_count + n.attempts_count, " +
+            "completion_date = IF(user_progress.is_completed, user_progress.completion_date, n.completion_date), " +
+            "is_completed = user_progress.is_completed OR n.is_completed" +
+            "</script>")
+    int batchUpsert(@Param("items") List<UserProgress> items);
+
+    /**
+     * 仅针对本批次有课时完成的 (用户, 课程) 重新计算课程进度百分比
+     */
+    @Update("<script>" +
+            "UPDATE user_courses uc " +
+            "JOIN courses c ON c.id = uc.course_id " +
+            "JOIN (" +
+            "SELECT user_id, course_id, COUNT(*) AS completed_count FROM user_progress " +
+            "WHERE is_completed = TRUE AND (user_id, course_id) IN " +
+            "<foreach collection='items' item='p' open='(' separator=',' close=')'>(#{p.userId}, #{p.courseId})</foreach> " +
+            "GROUP BY user_id, course_id" +
+            ") up ON up.user_id = uc.user_id AND up.course_id = uc.course_id " +
+            "SET uc.progress_percentage = LEAST(100, up.completed_count * 100 / c.total_lessons), " +
+            "uc.completion_date = COALESCE(uc.completion_date, " +
+            "IF(up.completed_count &gt;= c.total_lessons, NOW(), NULL)), " +
+            "uc.is_completed = uc.is_completed OR up.completed_count &gt;= c.total_lessons, " +
+            "uc.last_accessed_at = NOW() " +
+            "WHERE c.total_lessons &gt; 0" +
+            "</script>")
+    int refreshCourseProgress(@Param("items") List<UserProgress> items);
+
+    /**
+     * 查询本批次中已经完成的 (用户, 课时)，用于判断哪些课时是首次完成
+     */
+    @Select("<script>" +
+            "SELECT user_id, lesson_id AS target_id FROM user_progress " +
+            "WHERE is_completed = TRUE AND (user_id, lesson_id) IN " +
+            "<foreach collection='items' item='p' open='(' separator=',' close=')'>(#{p.userId}, #{p.lessonId})</foreach>" +
+            "</script>")
+    List<CompletionRow> findCompletedLessons(@Param("items") List<UserProgress> items);
+
+    /**
+     * 查询本批次涉及的 (用户, 课程) 中已经完成的课程，刷新课程进度前后各查询一次得到新完成的课程
+     */
+    @Select("<script>" +
+            "SELECT user_id, course_id AS target_id FROM user_courses " +
+            "WHERE is_completed = TRUE AND (user_id, course_id) IN " +
+            "<foreach collection='items' item='p' open='(' separator=',' close=')'>(#{p.userId}, #{p.courseId})</foreach>" +
+            "</script>")
+    List<CompletionRow> findCompletedCourses(@Param("items") List<UserProgress> items);
+
+    /**
+     * 完成状态查询行，targetId 为课时或课程 ID
+     */
+    class CompletionRow {
+        private Long userId;
+        private Long targetId;
+
+        // Getters and Setters
+        public Long getUserId() { return userId; }
+        public void setUserId(Long userId) { this.userId = userId; }
+
+        public Long getTargetId() { return targetId; }
+        public void setTargetId(Long targetId) { this.targetId = targetId; }
+    }
+}
@@ -0,0 +1,28 @@
+package com.programmingplatform.mapper.secondary;
+
+import com.programmingplatform.entity.analytics.CodeQualityAnalysis;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * 代码质量分析结果数据访问层接口
+ */
+@Mapper
+public interface CodeQualityAnalysisMapper {
+
+    /**
+     * 多行批量写入分析结果
+     */
+    @Insert("<script>" +
+            "INSERT INTO code_quality_analysis (submission_id, complexity_score, maintainability_index, " +
+            "lines_of_code, code_duplication_percentage, security_issues_count, performance_issues_count, " +
+            "style_issues_count, overall_grade, analysis_details, created_at) VALUES " +
+            "<foreach collection='items' item='a' separator=','>" +
+            "(#{a.submissionId}, #{a.complexityScore}, #{a.maintainabilityIndex}, #{a.linesOfCode}, " +
+            "#{a.codeDuplicationPercentage}, #{a.securityIssuesCount}, #{a.performanceIssuesCount}, " +
+            "#{a.styleIssuesCount}, #{a.overallGrade}, CAST(#{a.analysisDetails} AS JSONB), #{a.createdAt})" +
+            "</foreach>" +
+            "</script>")
+    int batchInsert(@Param("items") List<CodeQualityAnalysis> items);
+}
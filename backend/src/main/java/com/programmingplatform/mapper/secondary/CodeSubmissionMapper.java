@@ -0,0 +1,66 @@
+package com.programmingplatform.mapper.secondary;
+
+import com.programmingplatform.entity.analytics.CodeSubmission;
+import org.apache.ibatis.annotations.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 代码提交数据访问层接口
+ */
+@Mapper
+public interface CodeSubmissionMapper {
+
+    String SUBMISSION_COLUMNS = "id, user_id, lesson_id, course_id, language, code_content, code_hash, " +
+            "submission_time, execution_status, execution_time_ms, memory_usage_kb, output, error_message, " +
+            "output_hash, error_hash, test_cases_passed, test_cases_total, score";
+
+    /**
+     * 插入新提交，id 与 submission_time 由调用方生成，代码只保存 content_blobs 中的哈希
+     */
+    @Insert("INSERT INTO code_submissions (id, user_id, lesson_id, course_id, language, code_hash, " +
+            "submission_time, execution_status) VALUES (#{id}, #{userId}, #{lessonId}, #{courseId}, #{language}, " +
+            "#{codeHash}, #{submissionTime}, 'PENDING')")
+    int insert(CodeSubmission submission);
+
+    /**
+     * 按主键查询，带上 submission_time 以便只扫描一个分区
+     */
+    @Select("SELECT " + SUBMISSION_COLUMNS + " FROM code_submissions " +
+            "WHERE id = #{id} AND submission_time = #{submissionTime}")
+    CodeSubmission findById(@Param("id") UUID id, @Param("submissionTime") Instant submissionTime);
+
+    /**
+     * 按 (submission_time, id) 倒序键集分页查询用户提交摘要
+     * 只读取覆盖索引中的列；submission_time 上界单独列出，以便裁剪游标之后的分区
+     */
+    @Select("<script>" +
+            "SELECT id, lesson_id, course_id, language, submission_time, execution_status, execution_time_ms, " +
+            "test_cases_passed, test_cases_total, score FROM code_submissions " +
+            "WHERE user_id = #{userId} " +
+            "<if test='lessonId != null'>AND lesson_id = #{lessonId} </if>" +
+            "<if test='beforeTime != null'>" +
+            "AND submission_time &lt;= #{beforeTime} AND (submission_time, id) &lt; (#{beforeTime}, #{beforeId}) " +
+            "</if>" +
+            "ORDER BY submission_time DESC, id DESC LIMIT #{limit}" +
+            "</script>")
+    List<CodeSubmission> findHistory(@Param("userId") Long userId, @Param("lessonId") Long lessonId,
+                                     @Param("beforeTime") Instant beforeTime, @Param("beforeId") UUID beforeId,
+                                     @Param("limit") int limit);
+
+    /**
+     * 写入执行结果并返回完整记录，输出和错误信息只保存哈希
+     * 只有 PENDING / RUNNING 状态的提交会被更新，重复回调返回 null，保证每个提交只计入统计一次
+     */
+    @Select("UPDATE code_submissions SET execution_status = #{executionStatus}, " +
+            "execution_time_ms = #{executionTimeMs}, memory_usage_kb = #{memoryUsageKb}, output_hash = #{outputHash}, " +
+            "error_hash = #{errorHash}, test_cases_passed = #{testCasesPassed}, " +
+            "test_cases_total = #{testCasesTotal}, score = #{score} " +
+            "WHERE id = #{id} AND submission_time = #{submissionTime} " +
+            "AND execution_status IN ('PENDING', 'RUNNING') " +
+            "RETURNING " + SUBMISSION_COLUMNS)
+    @Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+    CodeSubmission complete(CodeSubmission result);
+}
@@ -0,0 +1,68 @@
+package com.programmingplatform.mapper.secondary;
+
+import com.programmingplatform.entity.analytics.CompressionDictionary;
+import com.programmingplatform.entity.analytics.ContentBlob;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 内容块与压缩字典数据访问层接口
+ */
+@Mapper
+public interface ContentBlobMapper {
+
+    /**
+     * 写入内容块
+     * 内容已存在时只把 last_seen_at 推进到当天，每个内容块每天最多更新一次
+     */
+    @Insert("INSERT INTO content_blobs (hash, codec, dictionary_id, raw_length, data) " +
+            "VALUES (#{hash}, #{codec}, #{dictionaryId}, #{rawLength}, #{data}) " +
+            "ON CONFLICT (hash) DO UPDATE SET last_seen_at = CURRENT_DATE " +
+            "WHERE content_blobs.last_seen_at < CURRENT_DATE")
+    int upsert(ContentBlob blob);
+
+    @Select("SELECT hash, codec, dictionary_id, raw_length, data, created_at FROM content_blobs WHERE hash = #{hash}")
+    ContentBlob findByHash(@Param("hash") byte[] hash);
+
+    /**
+     * 删除一批长期未被引用的内容块，返回删除行数
+     */
+    @Delete("DELETE FROM content_blobs WHERE hash IN (" +
+            "SELECT hash FROM content_blobs WHERE last_seen_at < #{before} LIMIT #{limit})")
+    int deleteUnseenBefore(@Param("before") LocalDate before, @Param("limit") int limit);
+
+    @Select("SELECT id, lesson_id, dictionary, sample_count, created_at FROM compression_dictionaries " +
+            "WHERE lesson_id = #{lessonId}")
+    CompressionDictionary findDictionaryByLessonId(@Param("lessonId") Long lessonId);
+
+    @Select("SELECT id, lesson_id, dictionary, sample_count, created_at FROM compression_dictionaries " +
+            "WHERE id = #{id}")
+    CompressionDictionary findDictionaryById(@Param("id") Integer id);
+
+    @Insert("INSERT INTO compression_dictionaries (lesson_id, dictionary, sample_count) " +
+            "VALUES (#{lessonId}, #{dictionary}, #{sampleCount}) ON CONFLICT (lesson_id) DO NOTHING")
+    int insertDictionary(CompressionDictionary dictionary);
+
+    /**
+     * 查询近期不同代码数达到阈值且还没有字典的课时
+     */
+    @Select("SELECT cs.lesson_id FROM code_submissions cs " +
+            "WHERE cs.submission_time >= #{since} AND cs.code_hash IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM compression_dictionaries d WHERE d.lesson_id = cs.lesson_id) " +
+            "GROUP BY cs.lesson_id HAVING COUNT(DISTINCT cs.code_hash) >= #{minSamples} " +
+            "ORDER BY COUNT(DISTINCT cs.code_hash) DESC LIMIT #{limit}")
+    List<Long> findLessonsWithoutDictionary(@Param("since") LocalDate since, @Param("minSamples") int minSamples,
+                                            @Param("limit") int limit);
+
+    /**
+     * 取课时近期提交的代码内容块作为字典训练样本
+     */
+    @Select("SELECT b.hash, b.codec, b.dictionary_id, b.raw_length, b.data, b.created_at FROM content_blobs b " +
+            "WHERE b.hash IN (SELECT DISTINCT cs.code_hash FROM code_submissions cs " +
+            "WHERE cs.lesson_id = #{lessonId} AND cs.submission_time >= #{since} AND cs.code_hash IS NOT NULL " +
+            "LIMIT #{limit})")
+    List<ContentBlob> findCodeSamples(@Param("lessonId") Long lessonId, @Param("since") LocalDate since,
+                                      @Param("limit") int limit);
+}
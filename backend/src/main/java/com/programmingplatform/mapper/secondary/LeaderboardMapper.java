@@ -0,0 +1,27 @@
+package com.programmingplatform.mapper.secondary;
+
+import com.programmingplatform.entity.analytics.CodeSubmission;
+import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.time.Instant;
+
+/**
+ * 排行榜重建数据访问层接口
+ */
+@Mapper
+public interface LeaderboardMapper {
+
+    /**
+     * 流式读取时间范围内每个 (课时, 用户) 的最佳提交，排序规则与排行榜一致
+     * 必须在事务内调用，PgJDBC 才会按 fetchSize 分批拉取
+     */
+    @Select("SELECT DISTINCT ON (lesson_id, user_id) id, user_id, lesson_id, course_id, submission_time, " +
+            "execution_status, execution_time_ms, memory_usage_kb, score FROM code_submissions " +
+            "WHERE submission_time >= #{since} AND score IS NOT NULL " +
+            "AND execution_status IN ('SUCCESS', 'ERROR', 'TIMEOUT') " +
+            "ORDER BY lesson_id, user_id, score DESC, execution_time_ms ASC NULLS LAST, submission_time ASC")
+    @Options(fetchSize = 2000, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<CodeSubmission> streamBestSubmissions(@Param("since") Instant since);
+}
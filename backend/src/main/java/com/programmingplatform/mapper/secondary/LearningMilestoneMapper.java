@@ -0,0 +1,25 @@
+package com.programmingplatform.mapper.secondary;
+
+import com.programmingplatform.entity.analytics.LearningMilestone;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * 学习里程碑数据访问层接口
+ */
+@Mapper
+public interface LearningMilestoneMapper {
+
+    /**
+     * 多行写入里程碑，已存在的 (用户, 类型, 目标) 保持首次记录不变，重复投递不产生影响
+     */
+    @Insert("<script>" +
+            "INSERT INTO learning_milestones (user_id, milestone_type, target_id, course_id, occurred_at) VALUES " +
+            "<foreach collection='items' item='m' separator=','>" +
+            "(#{m.userId}, #{m.milestoneType}, #{m.targetId}, #{m.courseId}, #{m.occurredAt})" +
+            "</foreach> " +
+            "ON CONFLICT (user_id, milestone_type, target_id) DO NOTHING" +
+            "</script>")
+    int insertIgnoreExisting(@Param("items") List<LearningMilestone> items);
+}
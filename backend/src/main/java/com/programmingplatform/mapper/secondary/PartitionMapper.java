@@ -0,0 +1,38 @@
+package com.programmingplatform.mapper.secondary;
+
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * PostgreSQL 分区维护数据访问层接口
+ * 表名通过 ${} 拼接，调用方必须保证表名已经过校验
+ */
+@Mapper
+public interface PartitionMapper {
+
+    /**
+     * 查询分区表当前挂载的全部分区名
+     */
+    @Select("SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = #{parentTable}")
+    List<String> findPartitionNames(@Param("parentTable") String parentTable);
+
+    /**
+     * 创建范围分区，边界为 UTC 时间
+     */
+    @Update("CREATE TABLE IF NOT EXISTS ${partitionName} PARTITION OF ${parentTable} " +
+            "FOR VALUES FROM ('${fromInclusive} 00:00:00+00') TO ('${toExclusive} 00:00:00+00')")
+    void createPartition(@Param("parentTable") String parentTable,
+                         @Param("partitionName") String partitionName,
+                         @Param("fromInclusive") String fromInclusive,
+                         @Param("toExclusive") String toExclusive);
+
+    /**
+     * 删除整个分区，代替逐行 DELETE
+     */
+    @Update("DROP TABLE IF EXISTS ${partitionName}")
+    void dropPartition(@Param("partitionName") String partitionName);
+}
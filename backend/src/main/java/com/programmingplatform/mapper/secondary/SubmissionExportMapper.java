@@ -0,0 +1,71 @@
+package com.programmingplatform.mapper.secondary;
+
+import com.programmingplatform.entity.analytics.ExecutionResultExportRow;
+import com.programmingplatform.entity.analytics.SubmissionExportRow;
+import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 提交历史导出数据访问层接口
+ * 使用游标逐行读取，必须在事务内调用（PgJDBC 只在关闭自动提交时按 fetchSize 分批拉取）
+ */
+@Mapper
+public interface SubmissionExportMapper {
+
+    /**
+     * 流式读取时间范围内的提交，按语言排序以便每个分区文件只打开一次
+     * 代码、输出和错误信息的内容块在同一查询中关联读出，由调用方解码
+     */
+    @Select("SELECT cs.id, cs.user_id, cs.lesson_id, cs.course_id, cs.language, cs.code_content, cs.code_hash, " +
+            "cs.submission_time, cs.execution_status, cs.execution_time_ms, cs.memory_usage_kb, cs.output, " +
+            "cs.error_message, cs.output_hash, cs.error_hash, cs.test_cases_passed, cs.test_cases_total, cs.score, " +
+            "cb.codec AS code_codec, cb.dictionary_id AS code_dictionary_id, " +
+            "cb.raw_length AS code_raw_length, cb.data AS code_data, " +
+            "ob.codec AS output_codec, ob.dictionary_id AS output_dictionary_id, " +
+            "ob.raw_length AS output_raw_length, ob.data AS output_data, " +
+            "eb.codec AS error_codec, eb.dictionary_id AS error_dictionary_id, " +
+            "eb.raw_length AS error_raw_length, eb.data AS error_data " +
+            "FROM code_submissions cs " +
+            "LEFT JOIN content_blobs cb ON cs.code_content IS NULL AND cb.hash = cs.code_hash " +
+            "LEFT JOIN content_blobs ob ON cs.output IS NULL AND ob.hash = cs.output_hash " +
+            "LEFT JOIN content_blobs eb ON cs.error_message IS NULL AND eb.hash = cs.error_hash " +
+            "WHERE cs.submission_time >= #{from} AND cs.submission_time < #{to} " +
+            "ORDER BY cs.language, cs.submission_time")
+    @Results(id = "submissionExportRow", value = {
+            @Result(property = "codeBlob.codec", column = "code_codec"),
+            @Result(property = "codeBlob.dictionaryId", column = "code_dictionary_id"),
+            @Result(property = "codeBlob.rawLength", column = "code_raw_length"),
+            @Result(property = "codeBlob.data", column = "code_data"),
+            @Result(property = "outputBlob.codec", column = "output_codec"),
+            @Result(property = "outputBlob.dictionaryId", column = "output_dictionary_id"),
+            @Result(property = "outputBlob.rawLength", column = "output_raw_length"),
+            @Result(property = "outputBlob.data", column = "output_data"),
+            @Result(property = "errorBlob.codec", column = "error_codec"),
+            @Result(property = "errorBlob.dictionaryId", column = "error_dictionary_id"),
+            @Result(property = "errorBlob.rawLength", column = "error_raw_length"),
+            @Result(property = "errorBlob.data", column = "error_data")
+    })
+    @Options(fetchSize = 2000, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<SubmissionExportRow> streamSubmissions(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+
+    /**
+     * 流式读取时间范围内的执行结果及其提交语言
+     * 执行结果在提交之后写入，提交时间条件从 submittedFrom 开始以限定扫描的提交分区；
+     * 提交早于 submittedFrom 的执行结果不会导出，调用方按判题的最长延迟设置该下界
+     */
+    @Select("SELECT er.id, er.submission_id, cs.language, er.test_case_id, er.test_case_name, er.input_data, " +
+            "er.expected_output, er.actual_output, er.execution_time_ms, er.memory_usage_kb, er.is_passed, " +
+            "er.error_message, er.created_at " +
+            "FROM execution_results er " +
+            "JOIN code_submissions cs ON cs.id = er.submission_id " +
+            "AND cs.submission_time >= #{submittedFrom} AND cs.submission_time < #{to} " +
+            "WHERE er.created_at >= #{from} AND er.created_at < #{to} " +
+            "ORDER BY cs.language, er.created_at")
+    @Options(fetchSize = 2000, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<ExecutionResultExportRow> streamExecutionResults(@Param("from") OffsetDateTime from,
+                                                            @Param("to") OffsetDateTime to,
+                                                            @Param("submittedFrom") OffsetDateTime submittedFrom);
+}
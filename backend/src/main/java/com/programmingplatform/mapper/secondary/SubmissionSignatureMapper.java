@@ -0,0 +1,71 @@
+package com.programmingplatform.mapper.secondary;
+
+import com.programmingplatform.entity.analytics.SubmissionSignature;
+import org.apache.ibatis.annotations.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 提交签名与 LSH 分桶数据访问层接口
+ */
+@Mapper
+public interface SubmissionSignatureMapper {
+
+    /**
+     * 写入提交签名，重复分析同一提交时忽略
+     */
+    @Insert("INSERT INTO submission_signatures (submission_id, lesson_id, user_id, signature) " +
+            "VALUES (#{submissionId}, #{lessonId}, #{userId}, #{signature}) " +
+            "ON CONFLICT (submission_id) DO NOTHING")
+    int insert(SubmissionSignature signature);
+
+    /**
+     * 写入提交在各段的桶值，列表下标为段号
+     */
+    @Insert("<script>" +
+            "INSERT INTO submission_lsh_buckets (lesson_id, band, bucket, submission_id) VALUES " +
+            "<foreach collection='buckets' item='bucket' index='band' separator=','>" +
+            "(#{lessonId}, #{band}, #{bucket}, #{submissionId})" +
+            "</foreach> " +
+            "ON CONFLICT DO NOTHING" +
+            "</script>")
+    int insertBuckets(@Param("lessonId") Long lessonId, @Param("submissionId") UUID submissionId,
+                      @Param("buckets") List<Long> buckets);
+
+    @Select("SELECT submission_id, lesson_id, user_id, signature, created_at FROM submission_signatures " +
+            "WHERE submission_id = #{submissionId}")
+    SubmissionSignature findBySubmissionId(@Param("submissionId") UUID submissionId);
+
+    /**
+     * 查询同课时中至少有一段桶值相同的候选提交
+     * 每段都是主键上的等值查找，扫描量只与命中桶的大小有关，与课时提交总数无关
+     */
+    @Select("<script>" +
+            "SELECT s.submission_id, s.lesson_id, s.user_id, s.signature, s.created_at " +
+            "FROM submission_signatures s WHERE s.submission_id IN (" +
+            "SELECT b.submission_id FROM submission_lsh_buckets b " +
+            "WHERE b.lesson_id = #{lessonId} AND (b.band, b.bucket) IN (" +
+            "<foreach collection='buckets' item='bucket' index='band' separator=','>" +
+            "(#{band}, #{bucket})" +
+            "</foreach>" +
+            ") AND b.submission_id &lt;&gt; #{excludeSubmissionId} " +
+            "GROUP BY b.submission_id ORDER BY COUNT(*) DESC LIMIT #{limit})" +
+            "</script>")
+    List<SubmissionSignature> findCandidates(@Param("lessonId") Long lessonId,
+                                             @Param("buckets") List<Long> buckets,
+                                             @Param("excludeSubmissionId") UUID excludeSubmissionId,
+                                             @Param("limit") int limit);
+
+    /**
+     * 删除一批早于指定时间建立的签名及其分桶，返回删除的签名数
+     * 分桶与签名在同一语句中删除，不会留下指向已删除签名的分桶
+     */
+    @Delete("WITH expired AS (" +
+            "SELECT submission_id FROM submission_signatures WHERE created_at < #{before} LIMIT #{limit}), " +
+            "purged_buckets AS (" +
+            "DELETE FROM submission_lsh_buckets b USING expired e WHERE b.submission_id = e.submission_id) " +
+            "DELETE FROM submission_signatures s USING expired e WHERE s.submission_id = e.submission_id")
+    int deleteCreatedBefore(@Param("before") Instant before, @Param("limit") int limit);
+}
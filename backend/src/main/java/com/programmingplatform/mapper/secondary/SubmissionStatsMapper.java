@@ -0,0 +1,141 @@
+package com.programmingplatform.mapper.secondary;
+
+import com.programmingplatform.entity.analytics.SubmissionStatsDelta;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 提交统计汇总表数据访问层接口
+ * 增量以多行 upsert 累加，同一批次内的键必须唯一
+ */
+@Mapper
+public interface SubmissionStatsMapper {
+
+    /**
+     * 累加 (用户, 语言) 统计增量
+     */
+    @Insert("<script>" +
+            "INSERT INTO user_language_stats AS s (user_id, language, total_submissions, success_count, " +
+            "execution_time_sum, execution_time_count, memory_usage_sum, memory_usage_count, score_sum, score_count, " +
+            "last_submission_at, updated_at) VALUES " +
+            "<foreach collection='items' item='d' separator=','>" +
+            "(#{d.userId}, #{d.language}, #{d.totalSubmissions}, #{d.successCount}, #{d.executionTimeSum}, " +
+            "#{d.executionTimeCount}, #{d.memoryUsageSum}, #{d.memoryUsageCount}, #{d.scoreSum}, #{d.scoreCount}, " +
+            "#{d.lastSubmissionAt}, NOW())" +
+            "</foreach> " +
+            "ON CONFLICT (user_id, language) DO UPDATE SET " +
+            "total_submissions = s.total_submissions + EXCLUDED.total_submissions, " +
+            "success_count = s.success_count + EXCLUDED.success_count, " +
+            "execution_time_sum = s.execution_time_sum + EXCLUDED.execution_time_sum, " +
+            "execution_time_count = s.execution_time_count + EXCLUDED.execution_time_count, " +
+            "memory_usage_sum = s.memory_usage_sum + EXCLUDED.memory_usage_sum, " +
+            "memory_usage_count = s.memory_usage_count + EXCLUDED.memory_usage_count, " +
+            "score_sum = s.score_sum + EXCLUDED.score_sum, " +
+            "score_count = s.score_count + EXCLUDED.score_count, " +
+            "last_submission_at = GREATEST(s.last_submission_at, EXCLUDED.last_submission_at), " +
+            "updated_at = NOW()" +
+            "</script>")
+    int upsertUserStats(@Param("items") List<SubmissionStatsDelta> items);
+
+    /**
+     * 累加 (日期, 语言) 统计增量，活跃用户数由 addDailyUsers 单独维护
+     */
+    @Insert("<script>" +
+            "INSERT INTO daily_language_stats AS s (activity_date, language, total_submissions, success_count, " +
+            "execution_time_sum, execution_time_count, updated_at) VALUES " +
+            "<foreach collection='items' item='d' separator=','>" +
+            "(#{d.activityDate}, #{d.language}, #{d.totalSubmissions}, #{d.successCount}, #{d.executionTimeSum}, " +
+            "#{d.executionTimeCount}, NOW())" +
+            "</foreach> " +
+            "ON CONFLICT (activity_date, language) DO UPDATE SET " +
+            "total_submissions = s.total_submissions + EXCLUDED.total_submissions, " +
+            "success_count = s.success_count + EXCLUDED.success_count, " +
+            "execution_time_sum = s.execution_time_sum + EXCLUDED.execution_time_sum, " +
+            "execution_time_count = s.execution_time_count + EXCLUDED.execution_time_count, " +
+            "updated_at = NOW()" +
+            "</script>")
+    int upsertDailyStats(@Param("items") List<SubmissionStatsDelta> items);
+
+    /**
+     * 登记当日活跃用户，只有首次出现的用户会增加 active_users
+     * 必须在 upsertDailyStats 之后于同一事务内执行
+     */
+    @Update("<script>" +
+            "WITH inserted AS (" +
+            "INSERT INTO daily_language_users (activity_date, language, user_id) VALUES " +
+            "<foreach collection='items' item='d' separator=','>" +
+            "(#{d.activityDate}, #{d.language}, #{d.userId})" +
+            "</foreach> " +
+            "ON CONFLICT DO NOTHING RETURNING activity_date, language" +
+            "), counts AS (" +
+            "SELECT activity_date, language, COUNT(*) AS new_users FROM inserted GROUP BY activity_date, language" +
+            ") " +
+            "UPDATE daily_language_stats s SET active_users = s.active_users + c.new_users " +
+            "FROM counts c WHERE s.activity_date = c.activity_date AND s.language = c.language" +
+            "</script>")
+    int addDailyUsers(@Param("items") List<SubmissionStatsDelta> items);
+
+    /**
+     * 用明细数据重算指定时间范围内各日的统计，修正进程异常退出时丢失的内存增量
+     * 按 submission_time 范围过滤，只扫描涉及的分区
+     */
+    @Insert("INSERT INTO daily_language_stats AS s (activity_date, language, total_submissions, success_count, " +
+            "execution_time_sum, execution_time_count, active_users, updated_at) " +
+            "SELECT (submission_time AT TIME ZONE 'UTC')::DATE, language, COUNT(*), " +
+            "COUNT(*) FILTER (WHERE execution_status = 'SUCCESS'), COALESCE(SUM(execution_time_ms), 0), " +
+            "COUNT(execution_time_ms), COUNT(DISTINCT user_id), NOW() " +
+            "FROM code_submissions " +
+            "WHERE submission_time >= #{from} AND submission_time < #{to} " +
+            "AND execution_status IN ('SUCCESS', 'ERROR', 'TIMEOUT') " +
+            "GROUP BY 1, 2 " +
+            "ON CONFLICT (activity_date, language) DO UPDATE SET " +
+            "total_submissions = EXCLUDED.total_submissions, " +
+            "success_count = EXCLUDED.success_count, " +
+            "execution_time_sum = EXCLUDED.execution_time_sum, " +
+            "execution_time_count = EXCLUDED.execution_time_count, " +
+            "active_users = EXCLUDED.active_users, " +
+            "updated_at = NOW()")
+    int reconcileDailyStats(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+
+    /**
+     * 补齐指定时间范围内有提交的 (用户, 语言) 统计，修正进程异常退出或增量被丢弃时少计的部分
+     * 明细只保留到分区保留期，按截至 to 的明细重算后逐列取较大值，只补少计、不会多计；
+     * 今天已写出过增量的行跳过，这些增量不在重算范围内，取较大值会丢掉它们
+     */
+    @Insert("INSERT INTO user_language_stats AS s (user_id, language, total_submissions, success_count, " +
+            "execution_time_sum, execution_time_count, memory_usage_sum, memory_usage_count, score_sum, score_count, " +
+            "last_submission_at, updated_at) " +
+            "SELECT user_id, language, COUNT(*), COUNT(*) FILTER (WHERE execution_status = 'SUCCESS'), " +
+            "COALESCE(SUM(execution_time_ms), 0), COUNT(execution_time_ms), " +
+            "COALESCE(SUM(memory_usage_kb), 0), COUNT(memory_usage_kb), " +
+            "COALESCE(SUM(score), 0), COUNT(score), MAX(submission_time), NOW() " +
+            "FROM code_submissions " +
+            "WHERE submission_time < #{to} AND execution_status IN ('SUCCESS', 'ERROR', 'TIMEOUT') " +
+            "AND (user_id, language) IN (" +
+            "SELECT DISTINCT user_id, language FROM code_submissions " +
+            "WHERE submission_time >= #{from} AND submission_time < #{to} " +
+            "AND execution_status IN ('SUCCESS', 'ERROR', 'TIMEOUT')) " +
+            "GROUP BY user_id, language " +
+            "ON CONFLICT (user_id, language) DO UPDATE SET " +
+            "total_submissions = GREATEST(s.total_submissions, EXCLUDED.total_submissions), " +
+            "success_count = GREATEST(s.success_count, EXCLUDED.success_count), " +
+            "execution_time_sum = GREATEST(s.execution_time_sum, EXCLUDED.execution_time_sum), " +
+            "execution_time_count = GREATEST(s.execution_time_count, EXCLUDED.execution_time_count), " +
+            "memory_usage_sum = GREATEST(s.memory_usage_sum, EXCLUDED.memory_usage_sum), " +
+            "memory_usage_count = GREATEST(s.memory_usage_count, EXCLUDED.memory_usage_count), " +
+            "score_sum = GREATEST(s.score_sum, EXCLUDED.score_sum), " +
+            "score_count = GREATEST(s.score_count, EXCLUDED.score_count), " +
+            "last_submission_at = GREATEST(s.last_submission_at, EXCLUDED.last_submission_at), " +
+            "updated_at = NOW() " +
+            "WHERE s.last_submission_at IS NULL OR s.last_submission_at < #{to}")
+    int reconcileUserStats(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+
+    /**
+     * 删除已结束日期的活跃用户成员，这些日期的 active_users 不会再变化
+     */
+    @Delete("DELETE FROM daily_language_users WHERE activity_date < #{before}")
+    int deleteDailyUsersBefore(@Param("before") LocalDate before);
+}
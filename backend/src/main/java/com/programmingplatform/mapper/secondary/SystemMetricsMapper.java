@@ -0,0 +1,27 @@
+package com.programmingplatform.mapper.secondary;
+
+import org.apache.ibatis.annotations.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 系统性能指标数据访问层接口
+ */
+@Mapper
+public interface SystemMetricsMapper {
+
+    /**
+     * 将时间范围内的明细按小时降采样写入 system_performance_metrics_hourly
+     * 已存在的小时桶不会重复写入，任务可安全重跑
+     */
+    @Insert("INSERT INTO system_performance_metrics_hourly (bucket, metric_name, metric_unit, service_name, " +
+            "instance_id, tags, avg_value, min_value, max_value, sample_count) " +
+            "SELECT date_trunc('hour', timestamp AT TIME ZONE 'UTC') AT TIME ZONE 'UTC', metric_name, " +
+            "MAX(metric_unit), COALESCE(service_name, ''), COALESCE(instance_id, ''), COALESCE(tags, '{}'), " +
+            "AVG(metric_value), MIN(metric_value), MAX(metric_value), COUNT(*) " +
+            "FROM system_performance_metrics " +
+            "WHERE timestamp >= #{from} AND timestamp < #{to} " +
+            "GROUP BY 1, metric_name, COALESCE(service_name, ''), COALESCE(instance_id, ''), COALESCE(tags, '{}') " +
+            "ON CONFLICT DO NOTHING")
+    int downsampleHourly(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+}
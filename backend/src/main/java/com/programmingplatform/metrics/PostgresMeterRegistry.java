@@ -0,0 +1,253 @@
+package com.programmingplatform.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.programmingplatform.config.MetricsExportProperties;
+import com.programmingplatform.ingest.PgBinaryCopyEncoder;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.step.StepMeterRegistry;
+import io.micrometer.core.instrument.step.StepRegistryConfig;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 写入 PostgreSQL system_performance_metrics 的 Micrometer 注册表
+ * 指标在内存中按步长聚合，每个步长结束时将全部指标编码为一次二进制 COPY 批量写入
+ * 计数类指标只写入步长内的增量，没有活动的计数器和计时器不产生行
+ */
+public class PostgresMeterRegistry extends StepMeterRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresMeterRegistry.class);
+
+    private static final String COPY_SQL = "COPY system_performance_metrics (metric_name, metric_value, metric_unit, "
+            + "service_name, instance_id, timestamp, tags) FROM STDIN (FORMAT BINARY)";
+
+    private static final int COLUMN_COUNT = 7;
+
+    private static final int MAX_NAME_LENGTH = 100;
+
+    private static final int MAX_UNIT_LENGTH = 20;
+
+    private final DataSource dataSource;
+
+    private final ObjectMapper objectMapper;
+
+    private final MetricsExportProperties properties;
+
+    private final String instanceId;
+
+    public PostgresMeterRegistry(MetricsExportProperties properties, DataSource dataSource,
+                                 ObjectMapper objectMapper, String instanceId, Clock clock) {
+        super(stepConfig(properties), clock);
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.instanceId = instanceId;
+        if (!properties.getIncludePrefixes().isEmpty()) {
+            config().meterFilter(MeterFilter.denyUnless(id ->
+                    properties.getIncludePrefixes().stream().anyMatch(id.getName()::startsWith)));
+        }
+    }
+
+    @Override
+    protected void publish() {
+        Instant timestamp = Instant.ofEpochMilli(clock.wallTime());
+        Batch batch = new Batch(timestamp);
+        for (Meter meter : getMeters()) {
+            meter.use(
+                    gauge -> batch.add(gauge.getId(), "", gauge.value()),
+                    counter -> addCount(batch, counter.getId(), counter.count()),
+                    timer -> addTimer(batch, timer),
+                    summary -> addSummary(batch, summary),
+                    longTaskTimer -> addLongTaskTimer(batch, longTaskTimer),
+                    timeGauge -> batch.add(timeGauge.getId(), "", timeGauge.value(getBaseTimeUnit())),
+                    functionCounter -> addCount(batch, functionCounter.getId(), functionCounter.count()),
+                    functionTimer -> addFunctionTimer(batch, functionTimer),
+                    other -> addMeasurements(batch, other));
+            if (batch.encoder.getRowCount() >= properties.getBatchSize()) {
+                batch.flush();
+            }
+        }
+        batch.flush();
+    }
+
+    @Override
+    protected TimeUnit getBaseTimeUnit() {
+        return TimeUnit.MILLISECONDS;
+    }
+
+    private void addCount(Batch batch, Meter.Id id, double count) {
+        if (count > 0) {
+            batch.add(id, "", count);
+        }
+    }
+
+    private void addTimer(Batch batch, Timer timer) {
+        long count = timer.count();
+        if (count == 0) {
+            return;
+        }
+        TimeUnit unit = getBaseTimeUnit();
+        batch.add(timer.getId(), ".count", count);
+        batch.add(timer.getId(), ".sum", timer.totalTime(unit));
+        batch.add(timer.getId(), ".mean", timer.mean(unit));
+        batch.add(timer.getId(), ".max", timer.max(unit));
+    }
+
+    private void addSummary(Batch batch, DistributionSummary summary) {
+        long count = summary.count();
+        if (count == 0) {
+            return;
+        }
+        batch.add(summary.getId(), ".count", count);
+        batch.add(summary.getId(), ".sum", summary.totalAmount());
+        batch.add(summary.getId(), ".mean", summary.mean());
+        batch.add(summary.getId(), ".max", summary.max());
+    }
+
+    private void addLongTaskTimer(Batch batch, LongTaskTimer timer) {
+        batch.add(timer.getId(), ".active", timer.activeTasks());
+        batch.add(timer.getId(), ".duration", timer.duration(getBaseTimeUnit()));
+    }
+
+    private void addFunctionTimer(Batch batch, FunctionTimer timer) {
+        double count = timer.count();
+        if (count <= 0) {
+            return;
+        }
+        batch.add(timer.getId(), ".count", count);
+        batch.add(timer.getId(), ".sum", timer.totalTime(getBaseTimeUnit()));
+        batch.add(timer.getId(), ".mean", timer.mean(getBaseTimeUnit()));
+    }
+
+    private void addMeasurements(Batch batch, Meter meter) {
+        for (Measurement measurement : meter.measure()) {
+            batch.add(meter.getId(), "." + measurement.getStatistic().getTagValueRepresentation(),
+                    measurement.getValue());
+        }
+    }
+
+    /**
+     * 计时器的时间类统计按基础时间单位（毫秒）输出，其余沿用指标自带单位
+     */
+    private String unitOf(Meter.Id id, String suffix) {
+        Meter.Type type = id.getType();
+        if ((type == Meter.Type.TIMER || type == Meter.Type.LONG_TASK_TIMER)
+                && !suffix.equals(".count") && !suffix.equals(".active")) {
+            return "ms";
+        }
+        return truncate(id.getBaseUnit(), MAX_UNIT_LENGTH);
+    }
+
+    private String tagsJson(Meter.Id id) {
+        if (id.getTags().isEmpty()) {
+            return null;
+        }
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (Tag tag : id.getTagsAsIterable()) {
+            tags.put(tag.getKey(), tag.getValue());
+        }
+        try {
+            return objectMapper.writeValueAsString(tags);
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
+
+    private static StepRegistryConfig stepConfig(MetricsExportProperties properties) {
+        return new StepRegistryConfig() {
+            @Override
+            public String prefix() {
+                return "app.metrics.postgres";
+            }
+
+            @Override
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public Duration step() {
+                return properties.getStep();
+            }
+
+            @Override
+            public int batchSize() {
+                return properties.getBatchSize();
+            }
+        };
+    }
+
+    /**
+     * 一个步长内待写入的行
+     */
+    private class Batch {
+        private final Instant timestamp;
+        private PgBinaryCopyEncoder encoder = new PgBinaryCopyEncoder(64 * 1024);
+
+        Batch(Instant timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        void add(Meter.Id id, String suffix, double value) {
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                return;
+            }
+            encoder.startRow(COLUMN_COUNT)
+                    .writeText(truncate(id.getName() + suffix, MAX_NAME_LENGTH))
+                    .writeFloat8(value)
+                    .writeText(unitOf(id, suffix))
+                    .writeText(properties.getServiceName())
+                    .writeText(instanceId)
+                    .writeTimestampTz(timestamp)
+                    .writeJsonb(tagsJson(id));
+        }
+
+        void flush() {
+            if (encoder.getRowCount() == 0) {
+                return;
+            }
+            int rows = encoder.getRowCount();
+            byte[] payload = encoder.finish();
+            encoder = new PgBinaryCopyEncoder(64 * 1024);
+            try (Connection connection = dataSource.getConnection();
+                 InputStream in = new ByteArrayInputStream(payload)) {
+                connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, in);
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            } catch (SQLException | IOException ex) {
+                // 指标写入尽力而为，失败时丢弃本步长数据，不影响业务
+                logger.warn("系统性能指标写入失败，丢弃 {} 行: {}", rows, ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.programmingplatform.note;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文本增量（保留 / 插入 / 删除 操作序列）
+ * 位置以 UTF-16 码元计，与浏览器端字符串下标一致；操作序列只需覆盖被修改的前缀，末尾隐含保留其余文本。
+ * 存储时使用紧凑键 r / i / d
+ */
+public final class TextDelta {
+
+    private final List<Op> ops;
+
+    private final long consumedLength;
+
+    private final long lengthChange;
+
+    // 长度按 long 累加，任意 int 范围内的操作都不会溢出成负数而绕过长度校验
+    private TextDelta(List<Op> ops) {
+        this.ops = ops;
+        long consumed = 0;
+        long change = 0;
+        for (Op op : ops) {
+            consumed += (long) op.retain() + op.delete();
+            change += op.insert() == null ? -(long) op.delete() : op.insert().length();
+        }
+        this.consumedLength = consumed;
+        this.lengthChange = change;
+    }
+
+    /**
+     * 单个操作，retain、insert、delete 三者恰有一个有效
+     */
+    public record Op(int retain, String insert, int delete) {
+    }
+
+    /**
+     * 校验并规范化操作序列：合并相邻的同类操作，去掉末尾的保留操作
+     */
+    public static TextDelta of(List<Op> source) {
+        List<Op> ops = new ArrayList<>(source.size());
+        for (Op op : source) {
+            int kinds = (op.retain() > 0 ? 1 : 0) + (op.insert() != null ? 1 : 0) + (op.delete() > 0 ? 1 : 0);
+            if (kinds != 1 || op.retain() < 0 || op.delete() < 0 || (op.insert() != null && op.insert().isEmpty())) {
+                throw new IllegalArgumentException("每个操作必须且只能包含一个非空的 retain、insert 或 delete");
+            }
+            Op last = ops.isEmpty() ? null : ops.get(ops.size() - 1);
+            if (last != null && last.retain() > 0 && op.retain() > 0) {
+                ops.set(ops.size() - 1, new Op(addExact(last.retain(), op.retain()), null, 0));
+            } else if (last != null && last.insert() != null && op.insert() != null) {
+                ops.set(ops.size() - 1, new Op(0, last.insert() + op.insert(), 0));
+            } else if (last != null && last.delete() > 0 && op.delete() > 0) {
+                ops.set(ops.size() - 1, new Op(0, null, addExact(last.delete(), op.delete())));
+            } else {
+                ops.add(op);
+            }
+        }
+        while (!ops.isEmpty() && ops.get(ops.size() - 1).retain() > 0) {
+            ops.remove(ops.size() - 1);
+        }
+        return new TextDelta(List.copyOf(ops));
+    }
+
+    private static int addExact(int a, int b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("操作长度超出范围");
+        }
+    }
+
+    public static TextDelta fromDocuments(List<Document> documents) {
+        List<Op> ops = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            ops.add(new Op(document.getInteger("r", 0), document.getString("i"), document.getInteger("d", 0)));
+        }
+        return new TextDelta(ops);
+    }
+
+    public List<Document> toDocuments() {
+        List<Document> documents = new ArrayList<>(ops.size());
+        for (Op op : ops) {
+            if (op.retain() > 0) {
+                documents.add(new Document("r", op.retain()));
+            } else if (op.insert() != null) {
+                documents.add(new Document("i", op.insert()));
+            } else {
+                documents.add(new Document("d", op.delete()));
+            }
+        }
+        return documents;
+    }
+
+    /**
+     * 应用到文本
+     *
+     * @throws IllegalArgumentException 操作覆盖的范围超出文本长度
+     */
+    public String apply(String text) {
+        if (consumedLength > text.length()) {
+            throw new IllegalArgumentException("增量覆盖的长度 " + consumedLength + " 超出文本长度 " + text.length());
+        }
+        // 长度只会因插入而增加，插入文本本身在内存中，转换为 int 不会溢出
+        StringBuilder result = new StringBuilder(text.length() + (int) Math.max(lengthChange, 0));
+        int position = 0;
+        for (Op op : ops) {
+            if (op.retain() > 0) {
+                result.append(text, position, position + op.retain());
+                position += op.retain();
+            } else if (op.insert() != null) {
+                result.append(op.insert());
+            } else {
+                position += op.delete();
+            }
+        }
+        return result.append(text, position, text.length()).toString();
+    }
+
+    public boolean isEmpty() {
+        return ops.isEmpty();
+    }
+
+    /**
+     * 操作序列保留和删除的总长度，应用前文本长度不能小于该值
+     */
+    public long consumedLength() {
+        return consumedLength;
+    }
+
+    /**
+     * 应用后文本长度的变化量
+     */
+    public long lengthChange() {
+        return lengthChange;
+    }
+
+    /**
+     * 插入文本的总长度，用于估算增量日志大小
+     */
+    public int insertedLength() {
+        int inserted = 0;
+        for (Op op : ops) {
+            inserted += op.insert() == null ? 0 : op.insert().length();
+        }
+        return inserted;
+    }
+}
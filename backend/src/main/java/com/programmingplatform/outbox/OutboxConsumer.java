@@ -0,0 +1,17 @@
+package com.programmingplatform.outbox;
+
+import com.programmingplatform.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * 事务发件箱事件消费者
+ * 同一事件可能被投递多次（下游已写入但发件箱删除失败、节点在提交前退出等），实现必须幂等；
+ * consume 抛出异常时整批事件按退避时间推迟重试
+ */
+public interface OutboxConsumer {
+
+    boolean supports(String eventType);
+
+    void consume(List<OutboxEvent> events);
+}
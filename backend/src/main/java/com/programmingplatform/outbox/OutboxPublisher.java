@@ -0,0 +1,57 @@
+package com.programmingplatform.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.programmingplatform.entity.OutboxEvent;
+import com.programmingplatform.mapper.BulkWriteExecutor;
+import com.programmingplatform.mapper.primary.OutboxMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 事务发件箱写入
+ * 事件与触发它的 MySQL 写入处于同一事务，业务数据提交则事件一定存在，回滚则事件一并消失
+ */
+@Component
+public class OutboxPublisher {
+
+    private final BulkWriteExecutor bulkWriteExecutor;
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OutboxPublisher(BulkWriteExecutor bulkWriteExecutor, ObjectMapper objectMapper) {
+        this.bulkWriteExecutor = bulkWriteExecutor;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 在调用方的主库事务中追加一批同类型事件，payload 序列化为 JSON
+     * 批量写入会复用调用方事务的连接，随业务数据一起提交或回滚
+     */
+    @Transactional(transactionManager = "primaryTransactionManager", propagation = Propagation.MANDATORY)
+    public <T> void publish(String eventType, List<T> payloads, Function<T, String> aggregateId) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        List<OutboxEvent> events = new ArrayList<>(payloads.size());
+        for (T payload : payloads) {
+            events.add(new OutboxEvent(eventType, aggregateId.apply(payload), toJson(payload)));
+        }
+        bulkWriteExecutor.writePrimary(OutboxMapper.class, events, OutboxMapper::insert);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("发件箱事件序列化失败: " + ex.getMessage(), ex);
+        }
+    }
+}
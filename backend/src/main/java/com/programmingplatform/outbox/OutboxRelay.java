@@ -0,0 +1,292 @@
+package com.programmingplatform.outbox;
+
+import com.programmingplatform.entity.OutboxEvent;
+import com.programmingplatform.exception.ServiceUnavailableException;
+import com.programmingplatform.mapper.primary.OutboxMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事务发件箱中继
+ * 每轮先在短事务中以 FOR UPDATE SKIP LOCKED 领取一批到期事件并设置租约，提交后在事务外按类型交给对应的
+ * {@link OutboxConsumer}，再用第二个短事务删除成功的事件、推迟失败的事件。多个节点可同时运行，各自领取不同的行。
+ * 整批失败时逐条重试，只搁置存储正常时仍无法处理的事件；失败次数达到上限的事件同样搁置，不会无限重试。
+ * 批次领满时立即开始下一轮，积压清空后按轮询间隔等待。
+ * 节点本地缓存和检索索引需要每个节点都收到变更，不适合这种单次投递，仍由变更流和 updated_at 轮询维护
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxMapper outboxMapper;
+
+    private final List<OutboxConsumer> consumers;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter delivered;
+
+    private final Counter retried;
+
+    private final Counter parked;
+
+    private final Timer deliveryLag;
+
+    @Value("${app.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.outbox.retry-base-delay-ms:1000}")
+    private long retryBaseDelayMs;
+
+    @Value("${app.outbox.retry-max-delay-ms:300000}")
+    private long retryMaxDelayMs;
+
+    @Value("${app.outbox.max-attempts:50}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    @Autowired
+    public OutboxRelay(OutboxMapper outboxMapper,
+                       List<OutboxConsumer> consumers,
+                       @Qualifier("primaryTransactionManager") PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.outboxMapper = outboxMapper;
+        this.consumers = consumers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.delivered = Counter.builder("outbox.delivered")
+                .description("已投递并删除的发件箱事件数")
+                .register(meterRegistry);
+        this.retried = Counter.builder("outbox.retried")
+                .description("投递失败并推迟重试的发件箱事件数")
+                .register(meterRegistry);
+        this.parked = Counter.builder("outbox.parked")
+                .description("无法处理或超过最大重试次数而被搁置的发件箱事件数")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+                .description("发件箱事件从写入到投递完成的延迟")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::relayLoop, "outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void relayLoop() {
+        while (running) {
+            int claimed;
+            try {
+                claimed = relayBatch();
+            } catch (RuntimeException ex) {
+                logger.warn("发件箱中继失败: {}", ex.getMessage());
+                claimed = 0;
+            }
+            if (claimed < batchSize) {
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * 领取并投递一批事件，返回领取的事件数
+     * 领取和结算各用一个短事务，投递下游期间不持有主库连接和行锁
+     */
+    private int relayBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> {
+            List<OutboxEvent> claimed = outboxMapper.claimBatch(batchSize);
+            if (!claimed.isEmpty()) {
+                outboxMapper.lease(claimed.stream().map(OutboxEvent::getId).toList(), leaseMs);
+            }
+            return claimed;
+        });
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        Outcome outcome = deliver(events);
+        transactionTemplate.executeWithoutResult(status -> settle(outcome));
+        return events.size();
+    }
+
+    private Outcome deliver(List<OutboxEvent> events) {
+        Outcome outcome = new Outcome();
+        Map<OutboxConsumer, List<OutboxEvent>> byConsumer = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            OutboxConsumer consumer = consumerFor(event.getEventType());
+            if (consumer == null) {
+                // 滚动发布期间可能领取到只有新版本节点能处理的事件，推迟而不是丢弃
+                outcome.failed.add(new Failure(event, "没有对应的消费者", false));
+            } else {
+                byConsumer.computeIfAbsent(consumer, key -> new ArrayList<>()).add(event);
+            }
+        }
+
+        for (Map.Entry<OutboxConsumer, List<OutboxEvent>> entry : byConsumer.entrySet()) {
+            List<OutboxEvent> batch = entry.getValue();
+            try {
+                entry.getKey().consume(batch);
+                outcome.delivered.addAll(batch);
+            } catch (RuntimeException ex) {
+                logger.warn("{} 条发件箱事件投递失败: {}", batch.size(), ex.getMessage());
+                if (isRetryable(ex) || batch.size() == 1) {
+                    // 下游不可用或临时故障时逐条重试没有意义，整批推迟
+                    for (OutboxEvent event : batch) {
+                        outcome.failed.add(new Failure(event, ex.toString(), false));
+                    }
+                } else {
+                    isolate(entry.getKey(), batch, outcome);
+                }
+            }
+        }
+        return outcome;
+    }
+
+    /**
+     * 整批失败后逐条重试：其余事件能投递而单条仍以非临时错误失败时，判定该事件无法处理并搁置；
+     * 临时故障的事件照常推迟，熔断打开后停止逐条重试，剩余事件整体推迟；没有事件投递成功时全部按临时故障推迟
+     */
+    private void isolate(OutboxConsumer consumer, List<OutboxEvent> batch, Outcome outcome) {
+        List<Failure> suspects = new ArrayList<>();
+        int deliveredBefore = outcome.delivered.size();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                consumer.consume(List.of(event));
+                outcome.delivered.add(event);
+            } catch (ServiceUnavailableException ex) {
+                for (OutboxEvent remaining : batch.subList(i, batch.size())) {
+                    outcome.failed.add(new Failure(remaining, ex.toString(), false));
+                }
+                break;
+            } catch (RuntimeException ex) {
+                (isRetryable(ex) ? outcome.failed : suspects).add(new Failure(event, ex.toString(), false));
+            }
+        }
+        boolean poison = outcome.delivered.size() > deliveredBefore;
+        for (Failure failure : suspects) {
+            outcome.failed.add(poison ? new Failure(failure.event(), failure.error(), true) : failure);
+        }
+    }
+
+    /**
+     * 熔断、连接失败、超时等临时故障，重试可能成功，不能据此判定事件无法处理
+     */
+    private static boolean isRetryable(RuntimeException ex) {
+        return ex instanceof ServiceUnavailableException
+                || ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException;
+    }
+
+    /**
+     * 删除已投递的事件，失败的事件推迟重试，无法处理或超过最大次数的事件搁置
+     */
+    private void settle(Outcome outcome) {
+        if (!outcome.delivered.isEmpty()) {
+            outboxMapper.deleteByIds(outcome.delivered.stream().map(OutboxEvent::getId).toList());
+            delivered.increment(outcome.delivered.size());
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboxEvent event : outcome.delivered) {
+                if (event.getCreatedAt() != null) {
+                    deliveryLag.record(Duration.between(event.getCreatedAt(), now));
+                }
+            }
+        }
+
+        Map<String, List<Long>> toRetry = new LinkedHashMap<>();
+        Map<String, List<Long>> toPark = new LinkedHashMap<>();
+        for (Failure failure : outcome.failed) {
+            OutboxEvent event = failure.event();
+            boolean exhausted = event.getAttempts() + 1 >= maxAttempts;
+            (failure.poison() || exhausted ? toPark : toRetry)
+                    .computeIfAbsent(failure.error(), key -> new ArrayList<>()).add(event.getId());
+        }
+        for (Map.Entry<String, List<Long>> entry : toRetry.entrySet()) {
+            outboxMapper.reschedule(entry.getValue(), retryBaseDelayMs, retryMaxDelayMs, entry.getKey());
+            retried.increment(entry.getValue().size());
+        }
+        for (Map.Entry<String, List<Long>> entry : toPark.entrySet()) {
+            outboxMapper.park(entry.getValue(), entry.getKey());
+            parked.increment(entry.getValue().size());
+            logger.error("发件箱事件 {} 已搁置，不再投递: {}", entry.getValue(), entry.getKey());
+        }
+    }
+
+    private OutboxConsumer consumerFor(String eventType) {
+        for (OutboxConsumer consumer : consumers) {
+            if (consumer.supports(eventType)) {
+                return consumer;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 一轮投递的结果
+     */
+    private static class Outcome {
+        private final List<OutboxEvent> delivered = new ArrayList<>();
+        private final List<Failure> failed = new ArrayList<>();
+    }
+
+    /**
+     * 投递失败的事件，poison 表示判定为无法处理，直接搁置
+     */
+    private record Failure(OutboxEvent event, String error, boolean poison) {
+    }
+}
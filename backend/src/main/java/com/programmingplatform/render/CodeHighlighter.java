@@ -0,0 +1,178 @@
+package com.programmingplatform.render;
+
+import com.programmingplatform.analysis.SourceLanguage;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 服务端代码高亮
+ * 单遍词法扫描识别注释、字符串、数字和关键字，输出 highlight.js 同名的 CSS 类，前端沿用现有主题样式
+ * 未识别的语言只做 HTML 转义
+ */
+public final class CodeHighlighter {
+
+    private static final Map<String, Set<String>> EXTRA_KEYWORDS = Map.of(
+            "javascript", Set.of("async", "await", "break", "case", "catch", "class", "const", "continue",
+                    "default", "delete", "do", "else", "export", "extends", "false", "finally", "for", "function",
+                    "if", "import", "in", "instanceof", "let", "new", "null", "of", "return", "super", "switch",
+                    "this", "throw", "true", "try", "typeof", "undefined", "var", "void", "while", "yield"),
+            "cpp", Set.of("auto", "bool", "break", "case", "catch", "char", "class", "const", "constexpr",
+                    "continue", "default", "delete", "do", "double", "else", "enum", "false", "float", "for", "if",
+                    "include", "inline", "int", "long", "namespace", "new", "nullptr", "private", "protected",
+                    "public", "return", "short", "sizeof", "static", "struct", "switch", "template", "this", "throw",
+                    "true", "try", "typedef", "typename", "unsigned", "using", "virtual", "void", "while"),
+            "csharp", Set.of("abstract", "as", "async", "await", "base", "bool", "break", "case", "catch", "char",
+                    "class", "const", "continue", "decimal", "default", "do", "double", "else", "enum", "false",
+                    "finally", "float", "for", "foreach", "if", "in", "int", "interface", "internal", "is", "long",
+                    "namespace", "new", "null", "out", "override", "private", "protected", "public", "readonly",
+                    "ref", "return", "static", "string", "struct", "switch", "this", "throw", "true", "try", "using",
+                    "var", "virtual", "void", "while"),
+            "go", Set.of("break", "case", "chan", "const", "continue", "default", "defer", "else", "fallthrough",
+                    "false", "for", "func", "go", "goto", "if", "import", "interface", "map", "nil", "package",
+                    "range", "return", "select", "struct", "switch", "true", "type", "var"),
+            "rust", Set.of("as", "async", "await", "break", "const", "continue", "crate", "else", "enum", "false",
+                    "fn", "for", "if", "impl", "in", "let", "loop", "match", "mod", "move", "mut", "pub", "ref",
+                    "return", "self", "Self", "static", "struct", "super", "trait", "true", "type", "unsafe", "use",
+                    "where", "while"));
+
+    private CodeHighlighter() {
+    }
+
+    /**
+     * 规范化代码块的语言标记，未知语言返回 null
+     */
+    public static String normalizeLanguage(String info) {
+        if (info == null || info.isBlank()) {
+            return null;
+        }
+        String language = info.trim().split("\\s+")[0].toLowerCase(Locale.ROOT);
+        return switch (language) {
+            case "java" -> "java";
+            case "python", "python3", "py" -> "python";
+            case "javascript", "js", "node" -> "javascript";
+            case "c++", "cpp", "cc", "c" -> "cpp";
+            case "c#", "csharp", "cs" -> "csharp";
+            case "go", "golang" -> "go";
+            case "rust", "rs" -> "rust";
+            default -> null;
+        };
+    }
+
+    /**
+     * 输出高亮后的 HTML 片段，language 为 normalizeLanguage 的结果
+     */
+    public static String highlight(String code, String language) {
+        StringBuilder html = new StringBuilder(code.length() + code.length() / 2);
+        if (language == null) {
+            escape(code, 0, code.length(), html);
+            return html.toString();
+        }
+
+        boolean hashComments = "python".equals(language);
+        boolean slashComments = !hashComments;
+        int length = code.length();
+        int i = 0;
+        while (i < length) {
+            char c = code.charAt(i);
+            int end;
+            if (hashComments && c == '#' || slashComments && c == '/' && peek(code, i + 1) == '/') {
+                end = code.indexOf('\n', i);
+                span("hljs-comment", code, i, end < 0 ? length : end, html);
+                i = end < 0 ? length : end;
+            } else if (slashComments && c == '/' && peek(code, i + 1) == '*') {
+                end = code.indexOf("*/", i + 2);
+                end = end < 0 ? length : end + 2;
+                span("hljs-comment", code, i, end, html);
+                i = end;
+            } else if (c == '"' || c == '\'' || c == '`' && "javascript".equals(language)) {
+                end = stringEnd(code, i, "python".equals(language));
+                span("hljs-string", code, i, end, html);
+                i = end;
+            } else if (Character.isDigit(c)) {
+                end = i + 1;
+                while (end < length && (Character.isLetterOrDigit(code.charAt(end)) || code.charAt(end) == '.'
+                        || code.charAt(end) == '_')) {
+                    end++;
+                }
+                span("hljs-number", code, i, end, html);
+                i = end;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                end = i + 1;
+                while (end < length && Character.isJavaIdentifierPart(code.charAt(end))) {
+                    end++;
+                }
+                if (isKeyword(language, code.substring(i, end))) {
+                    span("hljs-keyword", code, i, end, html);
+                } else {
+                    escape(code, i, end, html);
+                }
+                i = end;
+            } else {
+                escape(code, i, i + 1, html);
+                i++;
+            }
+        }
+        return html.toString();
+    }
+
+    private static boolean isKeyword(String language, String word) {
+        SourceLanguage sourceLanguage = SourceLanguage.fromName(language);
+        if (sourceLanguage != null) {
+            return sourceLanguage.isKeyword(word);
+        }
+        Set<String> keywords = EXTRA_KEYWORDS.get(language);
+        return keywords != null && keywords.contains(word);
+    }
+
+    /**
+     * 字符串字面量结束位置（不含），支持反斜杠转义和 Python 三引号，未闭合的单行字符串到行尾为止
+     */
+    private static int stringEnd(String code, int start, boolean tripleQuotes) {
+        char quote = code.charAt(start);
+        if (tripleQuotes && code.startsWith(String.valueOf(quote).repeat(3), start)) {
+            int end = code.indexOf(String.valueOf(quote).repeat(3), start + 3);
+            return end < 0 ? code.length() : end + 3;
+        }
+        int i = start + 1;
+        while (i < code.length()) {
+            char c = code.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == quote) {
+                return i + 1;
+            }
+            if (c == '\n' && quote != '`') {
+                return i;
+            }
+            i++;
+        }
+        return code.length();
+    }
+
+    private static char peek(String code, int index) {
+        return index < code.length() ? code.charAt(index) : '\0';
+    }
+
+    private static void span(String cssClass, String code, int start, int end, StringBuilder html) {
+        html.append("<span class=\"").append(cssClass).append("\">");
+        escape(code, start, end, html);
+        html.append("</span>");
+    }
+
+    private static void escape(String code, int start, int end, StringBuilder html) {
+        for (int i = start; i < Math.min(end, code.length()); i++) {
+            char c = code.charAt(i);
+            switch (c) {
+                case '<' -> html.append("&lt;");
+                case '>' -> html.append("&gt;");
+                case '&' -> html.append("&amp;");
+                case '"' -> html.append("&quot;");
+                default -> html.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.programmingplatform.render;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预编译的代码模板
+ * 模板源码只在编译时扫描一次，拆分为文本段和 {{name}} 占位符段，渲染时按段顺序拼接，不再做任何匹配
+ * 占位符独占一行的缩进位置时，多行取值的后续行自动补齐同样的缩进
+ */
+public final class CompiledTemplate {
+
+    private final List<Segment> segments;
+
+    private final List<String> placeholderNames;
+
+    private final int literalLength;
+
+    private CompiledTemplate(List<Segment> segments, List<String> placeholderNames, int literalLength) {
+        this.segments = segments;
+        this.placeholderNames = placeholderNames;
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * 编译模板源码，未闭合或名称为空的 {{ 按普通文本处理
+     */
+    public static CompiledTemplate compile(String source) {
+        List<Segment> segments = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int literalLength = 0;
+        int literalStart = 0;
+        int i = 0;
+        while (i < source.length()) {
+            int open = source.indexOf("{{", i);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                break;
+            }
+            String name = source.substring(open + 2, close).trim();
+            if (name.isEmpty() || !isValidName(name)) {
+                i = open + 2;
+                continue;
+            }
+            if (open > literalStart) {
+                segments.add(new Segment(source.substring(literalStart, open), null, null));
+                literalLength += open - literalStart;
+            }
+            segments.add(new Segment(null, name, indentBefore(source, open)));
+            if (!names.contains(name)) {
+                names.add(name);
+            }
+            literalStart = close + 2;
+            i = literalStart;
+        }
+        if (literalStart < source.length()) {
+            segments.add(new Segment(source.substring(literalStart), null, null));
+            literalLength += source.length() - literalStart;
+        }
+        return new CompiledTemplate(List.copyOf(segments), Collections.unmodifiableList(names), literalLength);
+    }
+
+    /**
+     * 按段拼接到 out，values 中没有的占位符取 defaults，两者都没有时输出空串
+     */
+    public void render(Map<String, String> values, Map<String, String> defaults, StringBuilder out) {
+        for (Segment segment : segments) {
+            if (segment.literal() != null) {
+                out.append(segment.literal());
+                continue;
+            }
+            String value = values.get(segment.placeholder());
+            if (value == null) {
+                value = defaults.get(segment.placeholder());
+            }
+            if (value == null) {
+                continue;
+            }
+            if (segment.indent() == null || value.indexOf('\n') < 0) {
+                out.append(value);
+                continue;
+            }
+            int lineStart = 0;
+            int newline;
+            while ((newline = value.indexOf('\n', lineStart)) >= 0) {
+                out.append(value, lineStart, newline + 1);
+                lineStart = newline + 1;
+                if (lineStart < value.length()) {
+                    out.append(segment.indent());
+                }
+            }
+            out.append(value, lineStart, value.length());
+        }
+    }
+
+    public List<String> getPlaceholderNames() {
+        return placeholderNames;
+    }
+
+    /**
+     * 模板中文本段的总长度，用于预估输出缓冲区大小
+     */
+    public int getLiteralLength() {
+        return literalLength;
+    }
+
+    /**
+     * 占位符之前同一行只有空白时返回该空白，否则返回 null
+     */
+    private static String indentBefore(String source, int position) {
+        int lineStart = source.lastIndexOf('\n', position - 1) + 1;
+        for (int i = lineStart; i < position; i++) {
+            char c = source.charAt(i);
+            if (c != ' ' && c != '\t') {
+                return null;
+            }
+        }
+        return source.substring(lineStart, position);
+    }
+
+    private static boolean isValidName(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 模板段：literal 与 placeholder 二者之一非空
+     */
+    private record Segment(String literal, String placeholder, String indent) {
+    }
+}
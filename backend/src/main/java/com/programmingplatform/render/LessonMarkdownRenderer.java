@@ -0,0 +1,101 @@
+package com.programmingplatform.render;
+
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.node.FencedCodeBlock;
+import org.commonmark.node.IndentedCodeBlock;
+import org.commonmark.node.Node;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.NodeRenderer;
+import org.commonmark.renderer.html.HtmlNodeRendererContext;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.commonmark.renderer.html.HtmlWriter;
+import org.owasp.html.HtmlPolicyBuilder;
+import org.owasp.html.PolicyFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 课时 Markdown 渲染器
+ * CommonMark（含 GFM 表格）渲染为 HTML，代码块在服务端高亮，最后按白名单净化
+ * 渲染器和净化器均为线程安全，可在多个请求间共享
+ */
+public class LessonMarkdownRenderer {
+
+    /**
+     * 渲染规则版本，修改渲染、高亮或净化规则时递增，已存储的渲染结果会在下次访问时重新生成
+     */
+    public static final int RENDERER_VERSION = 1;
+
+    private static final Pattern CODE_CLASS = Pattern.compile(
+            "(hljs(-[a-z_]+)?|language-[a-z0-9+#_-]+)( (hljs(-[a-z_]+)?|language-[a-z0-9+#_-]+))*");
+
+    private static final PolicyFactory POLICY = new HtmlPolicyBuilder()
+            .allowElements("p", "h1", "h2", "h3", "h4", "h5", "h6", "ul", "ol", "li", "blockquote", "pre", "code",
+                    "span", "em", "strong", "del", "hr", "br", "table", "thead", "tbody", "tr", "th", "td", "a", "img")
+            .allowUrlProtocols("http", "https", "mailto")
+            .allowAttributes("href", "title").onElements("a")
+            .allowAttributes("src", "alt", "title").onElements("img")
+            .allowAttributes("class").matching(CODE_CLASS).onElements("code", "span")
+            .allowAttributes("align").matching(Pattern.compile("left|center|right")).onElements("th", "td")
+            .allowAttributes("start").matching(Pattern.compile("\\d{1,6}")).onElements("ol")
+            .requireRelNofollowOnLinks()
+            .toFactory();
+
+    private final Parser parser;
+
+    private final HtmlRenderer renderer;
+
+    public LessonMarkdownRenderer() {
+        List<org.commonmark.Extension> extensions = List.of(TablesExtension.create());
+        this.parser = Parser.builder().extensions(extensions).build();
+        this.renderer = HtmlRenderer.builder()
+                .extensions(extensions)
+                .nodeRendererFactory(HighlightedCodeBlockRenderer::new)
+                .build();
+    }
+
+    public String render(String markdown) {
+        Node document = parser.parse(markdown == null ? "" : markdown);
+        return POLICY.sanitize(renderer.render(document));
+    }
+
+    /**
+     * 代码块渲染为 highlight.js 兼容结构：pre > code.hljs.language-xxx
+     */
+    private static class HighlightedCodeBlockRenderer implements NodeRenderer {
+
+        private final HtmlWriter html;
+
+        HighlightedCodeBlockRenderer(HtmlNodeRendererContext context) {
+            this.html = context.getWriter();
+        }
+
+        @Override
+        public Set<Class<? extends Node>> getNodeTypes() {
+            return Set.of(FencedCodeBlock.class, IndentedCodeBlock.class);
+        }
+
+        @Override
+        public void render(Node node) {
+            String language = null;
+            String literal;
+            if (node instanceof FencedCodeBlock fenced) {
+                language = CodeHighlighter.normalizeLanguage(fenced.getInfo());
+                literal = fenced.getLiteral();
+            } else {
+                literal = ((IndentedCodeBlock) node).getLiteral();
+            }
+
+            html.line();
+            html.tag("pre");
+            html.tag("code", Map.of("class", language == null ? "hljs" : "hljs language-" + language));
+            html.raw(CodeHighlighter.highlight(literal, language));
+            html.tag("/code");
+            html.tag("/pre");
+            html.line();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.programmingplatform.resilience;
+
+/**
+ * 应用依赖的存储
+ * 名称同时作为熔断器、隔离舱实例名和指标标签
+ */
+public enum DataStore {
+
+    MYSQL("mysql", "MySQL 主库"),
+    POSTGRES("postgres", "PostgreSQL 分析库"),
+    MONGO("mongo", "MongoDB"),
+    REDIS("redis", "Redis");
+
+    private final String id;
+
+    private final String displayName;
+
+    DataStore(String id, String displayName) {
+        this.id = id;
+        this.displayName = displayName;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
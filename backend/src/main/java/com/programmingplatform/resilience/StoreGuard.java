@@ -0,0 +1,159 @@
+package com.programmingplatform.resilience;
+
+import com.programmingplatform.exception.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 存储访问保护
+ * 每个存储一组熔断器和隔离舱：请求路径上的调用经信号量隔离舱限制并发，熔断打开或隔离舱已满时立即返回 503；
+ * 非关键写入（最后登录时间、排行榜增量等）提交到该存储的后台线程池隔离舱异步执行，超时、失败或被拒绝时只记录降级，
+ * 不阻塞也不影响请求结果。各存储的调用耗时以直方图形式记录在 store.call.latency
+ */
+@Component
+public class StoreGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoreGuard.class);
+
+    private final Map<DataStore, Guard> guards = new EnumMap<>(DataStore.class);
+
+    public StoreGuard(CircuitBreakerRegistry circuitBreakerRegistry,
+                      BulkheadRegistry bulkheadRegistry,
+                      ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry,
+                      TimeLimiterRegistry timeLimiterRegistry,
+                      MeterRegistry meterRegistry) {
+        for (DataStore store : DataStore.values()) {
+            String name = store.getId();
+            guards.put(store, new Guard(
+                    circuitBreakerRegistry.circuitBreaker(name),
+                    bulkheadRegistry.bulkhead(name),
+                    threadPoolBulkheadRegistry.bulkhead(name + "-background"),
+                    timeLimiterRegistry.timeLimiter(name).getTimeLimiterConfig().getTimeoutDuration(),
+                    latencyTimer(meterRegistry, store, "success"),
+                    latencyTimer(meterRegistry, store, "error"),
+                    latencyTimer(meterRegistry, store, "rejected"),
+                    Counter.builder("store.degraded")
+                            .description("因存储不可用被跳过的非关键操作次数")
+                            .tag("store", name)
+                            .register(meterRegistry)));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        for (Guard guard : guards.values()) {
+            guard.background.close();
+        }
+    }
+
+    /**
+     * 在请求路径上访问存储，熔断打开或并发已满时抛出 {@link ServiceUnavailableException}
+     */
+    public <T> T call(DataStore store, Supplier<T> action) {
+        Guard guard = guards.get(store);
+        long start = System.nanoTime();
+        try {
+            T result = Bulkhead.decorateSupplier(guard.bulkhead,
+                    CircuitBreaker.decorateSupplier(guard.circuitBreaker, action)).get();
+            guard.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (BulkheadFullException | CallNotPermittedException ex) {
+            guard.rejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new ServiceUnavailableException(store.getDisplayName() + " 暂时不可用，请稍后重试");
+        } catch (RuntimeException ex) {
+            // 业务异常（资源不存在等）不计入存储故障
+            boolean ignored = guard.circuitBreaker.getCircuitBreakerConfig().getIgnoreExceptionPredicate().test(ex);
+            (ignored ? guard.success : guard.error).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    public void run(DataStore store, Runnable action) {
+        call(store, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * 异步执行非关键写入，调用方不等待结果
+     *
+     * @param operation 操作名，仅用于日志
+     */
+    public void submit(DataStore store, String operation, Runnable action) {
+        Guard guard = guards.get(store);
+        if (!guard.circuitBreaker.tryAcquirePermission()) {
+            degrade(guard, store, operation, "熔断已打开");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            guard.background.executeRunnable(action)
+                    .toCompletableFuture()
+                    .orTimeout(guard.timeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .whenComplete((ignored, failure) -> {
+                        long elapsed = System.nanoTime() - start;
+                        if (failure == null) {
+                            guard.circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+                            guard.success.record(elapsed, TimeUnit.NANOSECONDS);
+                        } else {
+                            guard.circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, failure);
+                            guard.error.record(elapsed, TimeUnit.NANOSECONDS);
+                            guard.degraded.increment();
+                            logger.warn("{} 执行 {} 失败: {}", store.getDisplayName(), operation, failure.toString());
+                        }
+                    });
+        } catch (BulkheadFullException ex) {
+            guard.circuitBreaker.releasePermission();
+            guard.rejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            degrade(guard, store, operation, "后台队列已满");
+        }
+    }
+
+    /**
+     * 存储当前是否可以接受调用；熔断打开期间后台任务应直接走降级逻辑
+     */
+    public boolean isAvailable(DataStore store) {
+        CircuitBreaker.State state = guards.get(store).circuitBreaker.getState();
+        return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    // 熔断期间每次调用都会走到这里，只记指标，日志降为 debug
+    private void degrade(Guard guard, DataStore store, String operation, String reason) {
+        guard.degraded.increment();
+        logger.debug("{} 不可用，跳过 {}: {}", store.getDisplayName(), operation, reason);
+    }
+
+    private static Timer latencyTimer(MeterRegistry meterRegistry, DataStore store, String outcome) {
+        return Timer.builder("store.call.latency")
+                .description("经熔断器访问各存储的耗时")
+                .tag("store", store.getId())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record Guard(CircuitBreaker circuitBreaker, Bulkhead bulkhead, ThreadPoolBulkhead background,
+                         Duration timeout, Timer success, Timer error, Timer rejected, Counter degraded) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.programmingplatform.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 存储探活
+ * 定期以最轻量的请求探测每个存储并记录 store.probe.latency，空闲时也能看到各存储的基线延迟；
+ * 探测经 {@link StoreGuard} 执行，故障时帮助熔断器尽早打开，恢复后由半开状态的探测关闭熔断。
+ * 每个存储独立调度，一个存储卡住不影响其他存储的探测，也不占用共享的定时任务线程
+ */
+@Component
+public class StoreLatencyProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoreLatencyProbe.class);
+
+    private final StoreGuard storeGuard;
+
+    private final MeterRegistry meterRegistry;
+
+    private final DataSource primaryDataSource;
+
+    private final DataSource secondaryDataSource;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${app.resilience.probe-interval-ms:10000}")
+    private long probeIntervalMs;
+
+    @Value("${app.resilience.probe-timeout-seconds:3}")
+    private int probeTimeoutSeconds;
+
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public StoreLatencyProbe(StoreGuard storeGuard,
+                             MeterRegistry meterRegistry,
+                             @Qualifier("primaryDataSource") DataSource primaryDataSource,
+                             @Qualifier("secondaryDataSource") DataSource secondaryDataSource,
+                             MongoTemplate mongoTemplate,
+                             StringRedisTemplate redisTemplate) {
+        this.storeGuard = storeGuard;
+        this.meterRegistry = meterRegistry;
+        this.primaryDataSource = primaryDataSource;
+        this.secondaryDataSource = secondaryDataSource;
+        this.mongoTemplate = mongoTemplate;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (probeIntervalMs <= 0) {
+            return;
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(DataStore.values().length, runnable -> {
+            Thread thread = new Thread(runnable, "store-probe-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (DataStore store : DataStore.values()) {
+            Timer timer = Timer.builder("store.probe.latency")
+                    .description("存储探活请求耗时")
+                    .tag("store", store.getId())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            scheduler.scheduleWithFixedDelay(() -> probe(store, timer), 0, probeIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void probe(DataStore store, Timer timer) {
+        long start = System.nanoTime();
+        try {
+            storeGuard.run(store, () -> ping(store));
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException ex) {
+            logger.debug("{} 探活失败: {}", store.getDisplayName(), ex.getMessage());
+        }
+    }
+
+    private void ping(DataStore store) {
+        switch (store) {
+            case MYSQL -> validate(primaryDataSource, store);
+            case POSTGRES -> validate(secondaryDataSource, store);
+            case MONGO -> mongoTemplate.executeCommand(new Document("ping", 1));
+            case REDIS -> redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+        }
+    }
+
+    private void validate(DataSource dataSource, DataStore store) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(probeTimeoutSeconds)) {
+                throw new IllegalStateException(store.getDisplayName() + " 连接校验失败");
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.programmingplatform.search;
+
+/**
+ * 待索引的检索文档
+ * ownerId 为空表示所有用户可见，否则只对该用户可见（如个人笔记、私有模板）
+ */
+public record SearchDocument(String type, String id, String title, String tags, String body,
+                             String language, Long courseId, Long lessonId, Long ownerId) {
+}
@@ -0,0 +1,8 @@
+package com.programmingplatform.search;
+
+/**
+ * 检索命中结果
+ */
+public record SearchHit(String type, String id, String title, String snippet, String language,
+                        Long courseId, Long lessonId, float score) {
+}
@@ -0,0 +1,272 @@
+package com.programmingplatform.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基于 Lucene 的进程内倒排索引
+ * 写入经 IndexWriter 缓冲，定期刷新 SearcherManager 后对查询可见；提交时可附带同步水位等元数据，
+ * 重启后据此继续增量同步
+ */
+public class SearchIndex implements Closeable {
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String TAGS = "tags";
+    private static final String BODY = "body";
+    private static final String SNIPPET = "snippet";
+    private static final String LANGUAGE = "language";
+    private static final String COURSE_ID = "courseId";
+    private static final String LESSON_ID = "lessonId";
+    private static final String VISIBILITY = "visibility";
+
+    private static final String PUBLIC = "public";
+
+    private static final int SNIPPET_LENGTH = 160;
+
+    private static final int MAX_QUERY_TERMS = 8;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private final Directory directory;
+
+    private final IndexWriter writer;
+
+    private final SearcherManager searcherManager;
+
+    public SearchIndex(Path path) throws IOException {
+        this.directory = FSDirectory.open(path);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * 写入或替换文档
+     */
+    public void upsert(SearchDocument source) {
+        Document doc = new Document();
+        doc.add(new StringField(KEY, key(source.type(), source.id()), Field.Store.NO));
+        doc.add(new StringField(TYPE, source.type(), Field.Store.YES));
+        doc.add(new StoredField(ID, source.id()));
+        doc.add(new TextField(TITLE, nullToEmpty(source.title()), Field.Store.YES));
+        doc.add(new TextField(TAGS, nullToEmpty(source.tags()), Field.Store.NO));
+        doc.add(new TextField(BODY, nullToEmpty(source.body()), Field.Store.NO));
+        doc.add(new StoredField(SNIPPET, snippet(source.body())));
+        doc.add(new StringField(VISIBILITY, visibility(source.ownerId()), Field.Store.NO));
+        if (source.language() != null) {
+            doc.add(new StringField(LANGUAGE, source.language().toLowerCase(), Field.Store.YES));
+        }
+        if (source.courseId() != null) {
+            doc.add(new StoredField(COURSE_ID, source.courseId()));
+        }
+        if (source.lessonId() != null) {
+            doc.add(new StoredField(LESSON_ID, source.lessonId()));
+        }
+        try {
+            writer.updateDocument(new Term(KEY, key(source.type(), source.id())), doc);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void delete(String type, String id) {
+        try {
+            writer.deleteDocuments(new Term(KEY, key(type, id)));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * 提交索引并持久化元数据
+     */
+    public void commit(Map<String, String> commitData) throws IOException {
+        writer.setLiveCommitData(commitData.entrySet());
+        writer.commit();
+    }
+
+    /**
+     * 读取最近一次提交的元数据，索引为空时返回空映射
+     */
+    public Map<String, String> lastCommitData() {
+        Map<String, String> data = new HashMap<>();
+        if (writer.getLiveCommitData() != null) {
+            writer.getLiveCommitData().forEach(entry -> data.put(entry.getKey(), entry.getValue()));
+        }
+        return data;
+    }
+
+    /**
+     * 使已写入的文档对查询可见
+     */
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    public int numDocs() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * 检索
+     * 每个查询词须在标题、标签或正文中命中，精确匹配得分最高，其次是前缀匹配，较长的词允许拼写误差
+     *
+     * @param text   查询文本
+     * @param types  限定的文档类型，为空表示不限
+     * @param userId 当前用户，用于附加其私有文档；为 null 时只检索公开文档
+     * @param limit  返回条数
+     */
+    public List<SearchHit> search(String text, Collection<String> types, Long userId, int limit) throws IOException {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            query.add(termQuery(term), BooleanClause.Occur.MUST);
+        }
+
+        BooleanQuery.Builder visibility = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(VISIBILITY, PUBLIC)), BooleanClause.Occur.SHOULD);
+        if (userId != null) {
+            visibility.add(new TermQuery(new Term(VISIBILITY, visibility(userId))), BooleanClause.Occur.SHOULD);
+        }
+        query.add(visibility.build(), BooleanClause.Occur.FILTER);
+
+        if (types != null && !types.isEmpty()) {
+            BooleanQuery.Builder typeFilter = new BooleanQuery.Builder();
+            for (String type : types) {
+                typeFilter.add(new TermQuery(new Term(TYPE, type)), BooleanClause.Occur.SHOULD);
+            }
+            query.add(typeFilter.build(), BooleanClause.Occur.FILTER);
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query.build(), limit);
+            List<SearchHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                Document doc = searcher.storedFields().document(scoreDoc.doc);
+                hits.add(new SearchHit(doc.get(TYPE), doc.get(ID), doc.get(TITLE), doc.get(SNIPPET),
+                        doc.get(LANGUAGE), longValue(doc, COURSE_ID), longValue(doc, LESSON_ID), scoreDoc.score));
+            }
+            return hits;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query termQuery(String term) {
+        BooleanQuery.Builder clause = new BooleanQuery.Builder();
+        addFieldQueries(clause, TITLE, term, 3f);
+        addFieldQueries(clause, TAGS, term, 2f);
+        addFieldQueries(clause, BODY, term, 1f);
+        return clause.build();
+    }
+
+    private void addFieldQueries(BooleanQuery.Builder clause, String field, String term, float boost) {
+        Term t = new Term(field, term);
+        clause.add(new BoostQuery(new TermQuery(t), boost * 2), BooleanClause.Occur.SHOULD);
+        if (term.length() >= 2) {
+            clause.add(new BoostQuery(new PrefixQuery(t), boost), BooleanClause.Occur.SHOULD);
+        }
+        // CJK 按单字切分，不做模糊匹配
+        int maxEdits = term.length() >= 7 ? 2 : term.length() >= 4 ? 1 : 0;
+        if (maxEdits > 0 && term.chars().allMatch(c -> c < 0x2E80)) {
+            clause.add(new BoostQuery(new FuzzyQuery(t, maxEdits, 1), boost * 0.5f), BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream stream = analyzer.tokenStream(BODY, text)) {
+            CharTermAttribute attribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(attribute.toString());
+            }
+            stream.end();
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private static Long longValue(Document doc, String field) {
+        IndexableField value = doc.getField(field);
+        return value == null ? null : value.numericValue().longValue();
+    }
+
+    private static String snippet(String body) {
+        if (body == null) {
+            return "";
+        }
+        String collapsed = body.replaceAll("\\s+", " ").trim();
+        return collapsed.length() <= SNIPPET_LENGTH ? collapsed : collapsed.substring(0, SNIPPET_LENGTH) + "…";
+    }
+
+    private static String visibility(Long ownerId) {
+        return ownerId == null ? PUBLIC : "user:" + ownerId;
+    }
+
+    private static String key(String type, String id) {
+        return type + ":" + id;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -2,6 +2,7 @@ package com.programmingplatform.security;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.programmingplatform.entity.User;
+import com.programmingplatform.entity.UserAuthProjection;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -62,6 +63,26 @@ public class UserPrincipal implements UserDetails {
         );
     }
 
+    /**
+     * 从认证投影创建 UserPrincipal
+     */
+    public static UserPrincipal create(UserAuthProjection user) {
+        List<GrantedAuthority> authorities = Collections.singletonList(
+            new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
+        );
+
+        return new UserPrincipal(
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.getFullName(),
+            user.getPasswordHash(),
+            authorities,
+            user.getIsActive(),
+            user.getEmailVerified()
+        );
+    }
+
     // Getters
     public Long getId() {
         return id;
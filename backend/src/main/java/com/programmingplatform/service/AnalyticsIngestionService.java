@@ -0,0 +1,444 @@
+package com.programmingplatform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.programmingplatform.dto.request.AnalyticsEventRequest;
+import com.programmingplatform.entity.analytics.LearningBehaviorEvent;
+import com.programmingplatform.ingest.MpmcRingBuffer;
+import com.programmingplatform.ingest.PgBinaryCopyEncoder;
+import com.programmingplatform.resilience.DataStore;
+import com.programmingplatform.resilience.StoreGuard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * 学习行为事件异步写入服务
+ * 请求线程只把事件放入无锁环形缓冲区，由单个消费线程按条数或时间攒批后以二进制 COPY 写入 PostgreSQL
+ * 缓冲区接近饱和时对低价值事件采样，写满时丢弃；PostgreSQL 不可用时批次落盘，恢复后按顺序重放
+ */
+@Service
+public class AnalyticsIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsIngestionService.class);
+
+    private static final String COPY_SQL = "COPY learning_behavior_analytics (user_id, session_id, course_id, lesson_id, "
+            + "action_type, action_details, timestamp, duration_seconds, device_type, browser, ip_address) "
+            + "FROM STDIN (FORMAT BINARY)";
+
+    private static final int COLUMN_COUNT = 11;
+
+    private static final String SPILL_SUFFIX = ".pgcopy";
+
+    // 饱和时允许采样丢弃的行为类型，SUBMIT / COMPLETE / SKIP 始终保留
+    private static final Set<String> SHEDDABLE_ACTIONS = Set.of("VIEW", "PAUSE", "RESUME");
+
+    private final DataSource dataSource;
+
+    private final ObjectMapper objectMapper;
+
+    private final StoreGuard storeGuard;
+
+    private final MpmcRingBuffer<LearningBehaviorEvent> buffer;
+
+    private final Counter acceptedCounter;
+
+    private final Counter sampledCounter;
+
+    private final Counter droppedCounter;
+
+    private final Counter copiedCounter;
+
+    private final Counter spilledCounter;
+
+    private final Counter copyFailureCounter;
+
+    private final Counter quarantinedCounter;
+
+    private final AtomicLong spillSequence = new AtomicLong();
+
+    @Value("${app.analytics.ingest.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.analytics.ingest.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${app.analytics.ingest.sample-watermark:0.75}")
+    private double sampleWatermark;
+
+    @Value("${app.analytics.ingest.sample-rate:0.2}")
+    private double sampleRate;
+
+    @Value("${app.analytics.ingest.spill-dir:/app/spill/analytics}")
+    private String spillDir;
+
+    @Value("${app.analytics.ingest.quarantine-dir:/app/spill/analytics-quarantine}")
+    private String quarantineDir;
+
+    @Value("${app.analytics.ingest.max-spill-bytes:1073741824}")
+    private long maxSpillBytes;
+
+    private volatile boolean running = true;
+
+    private volatile boolean spillPending = true;
+
+    private Thread consumer;
+
+    @Autowired
+    public AnalyticsIngestionService(@Qualifier("secondaryDataSource") DataSource dataSource,
+                                     ObjectMapper objectMapper,
+                                     StoreGuard storeGuard,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.analytics.ingest.buffer-capacity:65536}") int bufferCapacity) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.storeGuard = storeGuard;
+        this.buffer = new MpmcRingBuffer<>(bufferCapacity);
+        this.acceptedCounter = eventCounter(meterRegistry, "accepted");
+        this.sampledCounter = eventCounter(meterRegistry, "sampled");
+        this.droppedCounter = eventCounter(meterRegistry, "dropped");
+        this.copiedCounter = Counter.builder("analytics.ingest.copied")
+                .description("已通过 COPY 写入的事件行数")
+                .register(meterRegistry);
+        this.spilledCounter = Counter.builder("analytics.ingest.spilled")
+                .description("因数据库不可用落盘的批次数")
+                .register(meterRegistry);
+        this.copyFailureCounter = Counter.builder("analytics.ingest.copy.failures")
+                .description("COPY 写入失败次数")
+                .register(meterRegistry);
+        this.quarantinedCounter = Counter.builder("analytics.ingest.quarantined")
+                .description("因数据错误无法写入而隔离的批次数")
+                .register(meterRegistry);
+        Gauge.builder("analytics.ingest.buffer.size", buffer, MpmcRingBuffer::size)
+                .description("环形缓冲区中待写入的事件数")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        consumer = new Thread(this::consumeLoop, "analytics-ingest");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * 接收一批事件，返回实际进入缓冲区的条数
+     */
+    public int ingest(Long userId, List<AnalyticsEventRequest.Event> events, String browser, String ipAddress) {
+        long watermark = (long) (buffer.capacity() * sampleWatermark);
+        int accepted = 0;
+        for (AnalyticsEventRequest.Event event : events) {
+            if (buffer.size() >= watermark && SHEDDABLE_ACTIONS.contains(event.getActionType())
+                    && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                sampledCounter.increment();
+                continue;
+            }
+            if (buffer.offer(toEntity(userId, event, browser, ipAddress))) {
+                accepted++;
+            } else {
+                droppedCounter.increment();
+            }
+        }
+        acceptedCounter.increment(accepted);
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(consumer);
+        }
+        return accepted;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * 消费线程主循环：攒满一批或等待超过刷新间隔即写入，停机时写完缓冲区剩余事件
+     */
+    private void consumeLoop() {
+        List<LearningBehaviorEvent> batch = new ArrayList<>(batchSize);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (running || !buffer.isEmpty()) {
+            LearningBehaviorEvent event;
+            while (batch.size() < batchSize && (event = buffer.poll()) != null) {
+                batch.add(event);
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                try {
+                    if (!batch.isEmpty()) {
+                        writeBatch(batch);
+                    } else if (spillPending) {
+                        replaySpill();
+                    }
+                } catch (RuntimeException ex) {
+                    // 消费线程退出后缓冲区不再被清空，任何意外异常都只影响当前批次
+                    logger.error("分析事件消费异常", ex);
+                } finally {
+                    batch.clear();
+                }
+                deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+            } else {
+                LockSupport.parkNanos(this, remaining);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<LearningBehaviorEvent> batch) {
+        byte[] payload = null;
+        try {
+            payload = encode(batch);
+            if (!storeGuard.isAvailable(DataStore.POSTGRES)) {
+                // 熔断期间不再尝试连接，直接落盘，避免每个批次都等满连接超时
+                spill(payload, batch.size());
+                return;
+            }
+            copy(payload);
+            copiedCounter.increment(batch.size());
+            if (spillPending) {
+                replaySpill();
+            }
+        } catch (SQLException | IOException ex) {
+            copyFailureCounter.increment();
+            if (isDataError(ex)) {
+                // 数据本身无法写入，落盘重放也会一直失败，直接隔离
+                logger.error("分析事件 COPY 数据错误，{} 条事件转入隔离目录: {}", batch.size(), ex.getMessage());
+                quarantine(payload, batch.size());
+            } else {
+                logger.warn("分析事件 COPY 写入失败，{} 条事件转存本地文件: {}", batch.size(), ex.getMessage());
+                spill(payload, batch.size());
+            }
+        } catch (RuntimeException ex) {
+            copyFailureCounter.increment();
+            droppedCounter.increment(batch.size());
+            logger.error("分析事件写入异常，丢弃 {} 条事件", batch.size(), ex);
+        }
+    }
+
+    private byte[] encode(List<LearningBehaviorEvent> batch) {
+        PgBinaryCopyEncoder encoder = new PgBinaryCopyEncoder(batch.size() * 128);
+        for (LearningBehaviorEvent event : batch) {
+            encoder.startRow(COLUMN_COUNT)
+                    .writeInt8(event.getUserId())
+                    .writeText(event.getSessionId())
+                    .writeInt8(event.getCourseId())
+                    .writeInt8(event.getLessonId())
+                    .writeText(event.getActionType())
+                    .writeJsonb(event.getActionDetails())
+                    .writeTimestampTz(event.getTimestamp())
+                    .writeInt4(event.getDurationSeconds())
+                    .writeText(event.getDeviceType())
+                    .writeText(event.getBrowser())
+                    .writeInet(event.getIpAddress());
+        }
+        return encoder.finish();
+    }
+
+    private void copy(byte[] payload) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection();
+             InputStream in = new ByteArrayInputStream(payload)) {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, in);
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        }
+    }
+
+    /**
+     * 将编码后的批次落盘，先写临时文件再原子改名，避免重放读到半个文件
+     */
+    private void spill(byte[] payload, int rows) {
+        try {
+            Path dir = Files.createDirectories(Paths.get(spillDir));
+            if (spillBytes(dir) + payload.length > maxSpillBytes) {
+                droppedCounter.increment(rows);
+                logger.error("分析事件落盘目录已超过 {} 字节上限，丢弃当前批次", maxSpillBytes);
+                return;
+            }
+            writeSpillFile(dir, payload, rows);
+            spilledCounter.increment();
+            spillPending = true;
+        } catch (IOException ex) {
+            droppedCounter.increment(rows);
+            logger.error("分析事件落盘失败，丢弃当前批次", ex);
+        }
+    }
+
+    /**
+     * 将数据错误的批次写入隔离目录，保留原始 COPY 数据供人工排查，不再自动重放
+     */
+    private void quarantine(byte[] payload, int rows) {
+        try {
+            writeSpillFile(Files.createDirectories(Paths.get(quarantineDir)), payload, rows);
+            quarantinedCounter.increment();
+        } catch (IOException ex) {
+            droppedCounter.increment(rows);
+            logger.error("分析事件隔离失败，丢弃当前批次", ex);
+        }
+    }
+
+    private void writeSpillFile(Path dir, byte[] payload, int rows) throws IOException {
+        String name = String.format("analytics-%013d-%06d-%d", System.currentTimeMillis(),
+                spillSequence.incrementAndGet() % 1_000_000, rows);
+        Path temp = dir.resolve(name + ".tmp");
+        Files.write(temp, payload);
+        Files.move(temp, dir.resolve(name + SPILL_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 按文件名（即落盘时间）顺序重放落盘批次
+     * 数据错误的批次移入隔离目录后继续重放后续批次；连接等其他失败即停止，等待下次重试
+     */
+    private void replaySpill() {
+        if (!storeGuard.isAvailable(DataStore.POSTGRES)) {
+            return;
+        }
+        Path dir = Paths.get(spillDir);
+        if (!Files.isDirectory(dir)) {
+            spillPending = false;
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(dir)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(SPILL_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException ex) {
+            logger.warn("读取分析事件落盘目录失败: {}", ex.getMessage());
+            return;
+        }
+
+        for (Path file : files) {
+            try {
+                byte[] payload = Files.readAllBytes(file);
+                copy(payload);
+                Files.delete(file);
+                copiedCounter.increment(rowsOf(file));
+            } catch (SQLException | IOException ex) {
+                if (!isDataError(ex)) {
+                    logger.warn("重放落盘批次 {} 失败，稍后重试: {}", file.getFileName(), ex.getMessage());
+                    return;
+                }
+                logger.error("落盘批次 {} 存在数据错误，移入隔离目录: {}", file.getFileName(), ex.getMessage());
+                if (!moveToQuarantine(file)) {
+                    return;
+                }
+            }
+        }
+        if (!files.isEmpty()) {
+            logger.info("已重放 {} 个落盘的分析事件批次", files.size());
+        }
+        spillPending = false;
+    }
+
+    private boolean moveToQuarantine(Path file) {
+        try {
+            Path dir = Files.createDirectories(Paths.get(quarantineDir));
+            Files.move(file, dir.resolve(file.getFileName()), StandardCopyOption.ATOMIC_MOVE);
+            quarantinedCounter.increment();
+            return true;
+        } catch (IOException ex) {
+            logger.error("落盘批次 {} 移入隔离目录失败", file.getFileName(), ex);
+            return false;
+        }
+    }
+
+    /**
+     * SQLState 22 类（数据异常）和 23 类（约束冲突）说明批次内容本身无法写入，重试不会成功
+     */
+    private static boolean isDataError(Exception ex) {
+        if (!(ex instanceof SQLException sqlException)) {
+            return false;
+        }
+        String state = sqlException.getSQLState();
+        return state != null && (state.startsWith("22") || state.startsWith("23"));
+    }
+
+    private long spillBytes(Path dir) throws IOException {
+        try (Stream<Path> stream = Files.list(dir)) {
+            return stream.mapToLong(path -> path.toFile().length()).sum();
+        }
+    }
+
+    /**
+     * 落盘文件名末段记录批次行数，用于重放时的指标计数
+     */
+    private long rowsOf(Path file) {
+        String name = file.getFileName().toString();
+        String rows = name.substring(name.lastIndexOf('-') + 1, name.length() - SPILL_SUFFIX.length());
+        try {
+            return Long.parseLong(rows);
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    private LearningBehaviorEvent toEntity(Long userId, AnalyticsEventRequest.Event event,
+                                           String browser, String ipAddress) {
+        LearningBehaviorEvent entity = new LearningBehaviorEvent();
+        entity.setUserId(userId);
+        entity.setSessionId(event.getSessionId());
+        entity.setCourseId(event.getCourseId());
+        entity.setLessonId(event.getLessonId());
+        entity.setActionType(event.getActionType());
+        entity.setActionDetails(toJson(event));
+        entity.setTimestamp(event.getOccurredAt() != null ? event.getOccurredAt() : Instant.now());
+        entity.setDurationSeconds(event.getDurationSeconds());
+        entity.setDeviceType(event.getDeviceType());
+        entity.setBrowser(browser);
+        entity.setIpAddress(ipAddress);
+        return entity;
+    }
+
+    private String toJson(AnalyticsEventRequest.Event event) {
+        if (event.getActionDetails() == null || event.getActionDetails().isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.getActionDetails());
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("analytics.ingest.events")
+                .description("按处理结果统计的分析事件数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
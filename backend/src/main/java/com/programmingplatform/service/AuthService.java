@@ -7,6 +7,8 @@ import com.programmingplatform.entity.User;
 import com.programmingplatform.exception.BadRequestException;
 import com.programmingplatform.exception.ResourceNotFoundException;
 import com.programmingplatform.mapper.primary.UserMapper;
+import com.programmingplatform.resilience.DataStore;
+import com.programmingplatform.resilience.StoreGuard;
 import com.programmingplatform.security.JwtTokenProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +51,9 @@ public class AuthService {
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
+    @Autowired
+    private StoreGuard storeGuard;
+
     @Value("${app.jwt.expiration}")
     private long jwtExpirationInMs;
 
@@ -148,8 +153,10 @@ public class AuthService {
         // 将刷新令牌存储到 Redis
         storeRefreshToken(user.getId(), refreshToken);
 
-        // 更新最后登录时间
-        userMapper.updateLastLoginAt(user.getId(), LocalDateTime.now());
+        // 更新最后登录时间，非关键写入，异步执行，主库繁忙时跳过；登录事务不写用户行，不会与异步更新争锁
+        Long userId = user.getId();
+        LocalDateTime loginAt = LocalDateTime.now();
+        storeGuard.submit(DataStore.MYSQL, "更新最后登录时间", () -> userMapper.updateLastLoginAt(userId, loginAt));
 
         // 构建响应
         JwtAuthenticationResponse.UserInfo userInfo = new JwtAuthenticationResponse.UserInfo(
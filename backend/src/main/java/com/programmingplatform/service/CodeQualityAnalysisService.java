@@ -0,0 +1,238 @@
+package com.programmingplatform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.programmingplatform.analysis.CodeQualityAnalyzer;
+import com.programmingplatform.analysis.QualityReport;
+import com.programmingplatform.analysis.SourceLanguage;
+import com.programmingplatform.entity.analytics.CodeQualityAnalysis;
+import com.programmingplatform.entity.analytics.CodeSubmission;
+import com.programmingplatform.event.SubmissionCompletedEvent;
+import com.programmingplatform.mapper.secondary.CodeQualityAnalysisMapper;
+import com.programmingplatform.service.SubmissionSimilarityService.PeerMatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 代码质量异步分析服务
+ * 提交完成后在有界的低优先级线程池中分析源码，队列满时直接放弃分析，不与判题争抢资源
+ * 分析结果先进入内存队列，再定时多行批量写入 code_quality_analysis
+ */
+@Service
+public class CodeQualityAnalysisService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CodeQualityAnalysisService.class);
+
+    private final CodeQualityAnalyzer analyzer = new CodeQualityAnalyzer();
+
+    private final ConcurrentLinkedQueue<CodeQualityAnalysis> pending = new ConcurrentLinkedQueue<>();
+
+    private final CodeQualityAnalysisMapper codeQualityAnalysisMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final SubmissionSimilarityService submissionSimilarityService;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Counter analyzedCounter;
+
+    private final Counter skippedCounter;
+
+    private final Counter rejectedCounter;
+
+    private final Counter failedCounter;
+
+    @Value("${app.analysis.max-source-bytes:200000}")
+    private int maxSourceBytes;
+
+    @Value("${app.analysis.batch-size:200}")
+    private int batchSize;
+
+    @Autowired
+    public CodeQualityAnalysisService(CodeQualityAnalysisMapper codeQualityAnalysisMapper,
+                                      SubmissionSimilarityService submissionSimilarityService,
+                                      ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.analysis.workers:2}") int workers,
+                                      @Value("${app.analysis.queue-capacity:1000}") int queueCapacity) {
+        this.codeQualityAnalysisMapper = codeQualityAnalysisMapper;
+        this.objectMapper = objectMapper;
+        this.submissionSimilarityService = submissionSimilarityService;
+        this.analyzedCounter = resultCounter(meterRegistry, "analyzed");
+        this.skippedCounter = resultCounter(meterRegistry, "skipped");
+        this.rejectedCounter = resultCounter(meterRegistry, "rejected");
+        this.failedCounter = resultCounter(meterRegistry, "failed");
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "code-quality-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                (runnable, pool) -> rejectedCounter.increment());
+        Gauge.builder("analysis.quality.queue.size", executor, pool -> pool.getQueue().size())
+                .description("等待分析的提交数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 提交结果提交事务后进入分析队列
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionCompleted(SubmissionCompletedEvent event) {
+        CodeSubmission submission = event.getSubmission();
+        SourceLanguage language = SourceLanguage.fromName(submission.getLanguage());
+        String source = submission.getCodeContent();
+        if (language == null || source == null || source.isBlank()
+                || source.getBytes(StandardCharsets.UTF_8).length > maxSourceBytes) {
+            skippedCounter.increment();
+            return;
+        }
+        executor.execute(() -> analyze(submission, language, source));
+    }
+
+    /**
+     * 定时批量写入分析结果
+     */
+    @Scheduled(fixedDelayString = "${app.analysis.flush-interval-ms:5000}")
+    public void flush() {
+        while (!pending.isEmpty()) {
+            List<CodeQualityAnalysis> batch = new ArrayList<>(batchSize);
+            CodeQualityAnalysis item;
+            while (batch.size() < batchSize && (item = pending.poll()) != null) {
+                batch.add(item);
+            }
+            try {
+                codeQualityAnalysisMapper.batchInsert(batch);
+            } catch (RuntimeException ex) {
+                // 分析结果可由提交记录重新计算，写入失败时丢弃，避免数据库不可用时内存无限增长
+                failedCounter.increment(batch.size());
+                logger.error("代码质量分析结果写入失败，丢弃 {} 条", batch.size(), ex);
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+
+    private void analyze(CodeSubmission submission, SourceLanguage language, String source) {
+        try {
+            QualityReport report = analyzer.analyze(source, language);
+            PeerMatch match = matchPeers(submission, report);
+            pending.add(toEntity(submission, report, match));
+            analyzedCounter.increment();
+        } catch (RuntimeException ex) {
+            failedCounter.increment();
+            logger.warn("提交 {} 代码质量分析失败: {}", submission.getId(), ex.getMessage());
+        }
+    }
+
+    /**
+     * 取同课时最相似的其他用户提交，索引由 SubmissionSimilarityService 在提交完成时写入，不可用时不计算重复度
+     */
+    private PeerMatch matchPeers(CodeSubmission submission, QualityReport report) {
+        try {
+            int[] signature = submissionSimilarityService.signature(report.getNormalizedTokens());
+            return submissionSimilarityService.bestMatch(
+                    submission.getId(), submission.getLessonId(), submission.getUserId(), signature);
+        } catch (RuntimeException ex) {
+            logger.warn("提交 {} 相似度匹配失败: {}", submission.getId(), ex.getMessage());
+            return null;
+        }
+    }
+
+    private CodeQualityAnalysis toEntity(CodeSubmission submission, QualityReport report,
+                                         PeerMatch match) {
+        double duplication = match == null ? 0 : match.similarity() * 100;
+
+        CodeQualityAnalysis analysis = new CodeQualityAnalysis();
+        analysis.setSubmissionId(submission.getId());
+        analysis.setComplexityScore(report.getCyclomaticComplexity());
+        analysis.setMaintainabilityIndex(round(report.getMaintainabilityIndex()));
+        analysis.setLinesOfCode(report.getCodeLines());
+        analysis.setCodeDuplicationPercentage(round(duplication));
+        analysis.setSecurityIssuesCount(report.getSecurityIssues());
+        analysis.setPerformanceIssuesCount(report.getPerformanceIssues());
+        analysis.setStyleIssuesCount(report.getStyleIssues());
+        analysis.setOverallGrade(report.grade());
+        analysis.setAnalysisDetails(toDetails(report, match));
+        analysis.setCreatedAt(Instant.now());
+        return analysis;
+    }
+
+    private String toDetails(QualityReport report, PeerMatch match) {
+        Map<String, Object> lines = new LinkedHashMap<>();
+        lines.put("physical", report.getPhysicalLines());
+        lines.put("code", report.getCodeLines());
+        lines.put("comment", report.getCommentLines());
+
+        Map<String, Object> complexity = new LinkedHashMap<>();
+        complexity.put("cyclomatic", report.getCyclomaticComplexity());
+        complexity.put("decisionPoints", report.getDecisionPoints());
+        complexity.put("maxNestingDepth", report.getMaxNestingDepth());
+        complexity.put("maxLoopDepth", report.getMaxLoopDepth());
+        complexity.put("halsteadVolume", round(report.getHalsteadVolume()));
+
+        Map<String, Object> duplication = new LinkedHashMap<>();
+        duplication.put("method", "minhash-5-shingle");
+        if (match != null) {
+            duplication.put("mostSimilarSubmissionId", match.submissionId());
+            duplication.put("similarity", round(match.similarity()));
+        }
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("language", report.getLanguage().name());
+        details.put("lines", lines);
+        details.put("complexity", complexity);
+        details.put("duplication", duplication);
+        details.put("issues", report.getIssues());
+        try {
+            return objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    private static BigDecimal round(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("analysis.quality.submissions")
+                .description("按处理结果统计的代码质量分析提交数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,201 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.dto.request.CodeSubmitRequest;
+import com.programmingplatform.dto.request.SubmissionResultRequest;
+import com.programmingplatform.dto.response.SubmissionDetailResponse;
+import com.programmingplatform.dto.response.SubmissionHistoryResponse;
+import com.programmingplatform.dto.response.SubmissionSummaryResponse;
+import com.programmingplatform.entity.analytics.CodeSubmission;
+import com.programmingplatform.event.SubmissionCompletedEvent;
+import com.programmingplatform.exception.BadRequestException;
+import com.programmingplatform.exception.ConflictException;
+import com.programmingplatform.exception.ResourceNotFoundException;
+import com.programmingplatform.mapper.secondary.CodeSubmissionMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 代码提交服务
+ * 负责提交记录的创建和执行结果回写，结果写入成功后发布 SubmissionCompletedEvent，
+ * 统计汇总、质量分析、相似度索引和实时排行榜都由该事件驱动
+ * 代码、输出和错误信息写入内容寻址存储，提交记录只保存哈希
+ */
+@Service
+public class CodeSubmissionService {
+
+    @Autowired
+    private CodeSubmissionMapper codeSubmissionMapper;
+
+    @Autowired
+    private ContentBlobService contentBlobService;
+
+    @Autowired
+    private CourseAccessService courseAccessService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 学生提交代码，课时必须属于请求中的课程；返回的 id 和 submissionTime 用于之后回写结果
+     */
+    @Transactional(transactionManager = "secondaryTransactionManager")
+    public SubmissionSummaryResponse submit(Long userId, CodeSubmitRequest request) {
+        courseAccessService.requireLessonInCourse(request.getCourseId(), request.getLessonId());
+        CodeSubmission submission = create(userId, request.getCourseId(), request.getLessonId(),
+                request.getLanguage(), request.getCodeContent());
+        return toSummary(submission, new SubmissionSummaryResponse());
+    }
+
+    /**
+     * 判题服务回写执行结果，提交不存在或已有结果时返回冲突
+     */
+    @Transactional(transactionManager = "secondaryTransactionManager")
+    public void recordResult(UUID id, SubmissionResultRequest request) {
+        CodeSubmission result = new CodeSubmission();
+        result.setId(id);
+        result.setSubmissionTime(request.getSubmissionTime());
+        result.setExecutionStatus(request.getExecutionStatus());
+        result.setExecutionTimeMs(request.getExecutionTimeMs());
+        result.setMemoryUsageKb(request.getMemoryUsageKb());
+        result.setOutput(request.getOutput());
+        result.setErrorMessage(request.getErrorMessage());
+        result.setTestCasesPassed(request.getTestCasesPassed());
+        result.setTestCasesTotal(request.getTestCasesTotal());
+        result.setScore(request.getScore());
+        if (!complete(result)) {
+            throw new ConflictException("提交不存在或已有执行结果: " + id);
+        }
+    }
+
+    /**
+     * 创建待执行的提交
+     */
+    @Transactional(transactionManager = "secondaryTransactionManager")
+    public CodeSubmission create(Long userId, Long courseId, Long lessonId, String language, String codeContent) {
+        CodeSubmission submission = new CodeSubmission();
+        submission.setId(UUID.randomUUID());
+        submission.setUserId(userId);
+        submission.setCourseId(courseId);
+        submission.setLessonId(lessonId);
+        submission.setLanguage(language);
+        submission.setCodeContent(codeContent);
+        submission.setCodeHash(contentBlobService.store(codeContent, lessonId));
+        // 与数据库 timestamptz 精度一致，便于之后按 (id, submission_time) 定位
+        submission.setSubmissionTime(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        submission.setExecutionStatus("PENDING");
+        codeSubmissionMapper.insert(submission);
+        return submission;
+    }
+
+    /**
+     * 回写执行结果
+     * result 需携带 id、submissionTime 和终态；提交已完成过时忽略并返回 false
+     */
+    @Transactional(transactionManager = "secondaryTransactionManager")
+    public boolean complete(CodeSubmission result) {
+        if (!result.isFinished()) {
+            throw new BadRequestException("执行结果状态必须为 SUCCESS、ERROR 或 TIMEOUT");
+        }
+        result.setOutputHash(contentBlobService.store(result.getOutput(), result.getLessonId()));
+        result.setErrorHash(contentBlobService.store(result.getErrorMessage(), result.getLessonId()));
+        CodeSubmission completed = codeSubmissionMapper.complete(result);
+        if (completed == null) {
+            return false;
+        }
+        completed.setOutput(result.getOutput());
+        completed.setErrorMessage(result.getErrorMessage());
+        contentBlobService.hydrate(completed);
+        eventPublisher.publishEvent(new SubmissionCompletedEvent(completed));
+        return true;
+    }
+
+    /**
+     * 键集分页查询用户提交历史
+     * 游标记录上一页最后一行的 (submission_time, id)，任意深度的翻页都只做一次索引定位
+     */
+    @Transactional(transactionManager = "secondaryTransactionManager", readOnly = true)
+    public SubmissionHistoryResponse getHistory(Long userId, Long lessonId, String cursor, int limit) {
+        HistoryCursor after = cursor == null || cursor.isBlank() ? null : HistoryCursor.decode(cursor);
+
+        // 多取一行判断是否还有下一页
+        List<CodeSubmission> rows = codeSubmissionMapper.findHistory(userId, lessonId,
+                after != null ? after.submissionTime() : null, after != null ? after.id() : null, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<SubmissionSummaryResponse> items = new ArrayList<>(Math.min(rows.size(), limit));
+        for (CodeSubmission row : hasMore ? rows.subList(0, limit) : rows) {
+            items.add(toSummary(row, new SubmissionSummaryResponse()));
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            SubmissionSummaryResponse last = items.get(items.size() - 1);
+            nextCursor = new HistoryCursor(last.getSubmissionTime(), last.getId()).encode();
+        }
+        return new SubmissionHistoryResponse(items, nextCursor);
+    }
+
+    /**
+     * 查询提交详情，代码和输出从内容块存储按需读取
+     * submissionTime 取自历史列表，用于直接定位分区
+     */
+    @Transactional(transactionManager = "secondaryTransactionManager", readOnly = true)
+    public SubmissionDetailResponse getDetail(Long userId, UUID id, Instant submissionTime) {
+        CodeSubmission submission = codeSubmissionMapper.findById(id, submissionTime);
+        if (submission == null || !submission.getUserId().equals(userId)) {
+            throw new ResourceNotFoundException("提交不存在: " + id);
+        }
+        contentBlobService.hydrate(submission);
+
+        SubmissionDetailResponse detail = toSummary(submission, new SubmissionDetailResponse());
+        detail.setCodeContent(submission.getCodeContent());
+        detail.setOutput(submission.getOutput());
+        detail.setErrorMessage(submission.getErrorMessage());
+        return detail;
+    }
+
+    private <R extends SubmissionSummaryResponse> R toSummary(CodeSubmission submission, R response) {
+        response.setId(submission.getId());
+        response.setLessonId(submission.getLessonId());
+        response.setCourseId(submission.getCourseId());
+        response.setLanguage(submission.getLanguage());
+        response.setSubmissionTime(submission.getSubmissionTime());
+        response.setExecutionStatus(submission.getExecutionStatus());
+        response.setExecutionTimeMs(submission.getExecutionTimeMs());
+        response.setTestCasesPassed(submission.getTestCasesPassed());
+        response.setTestCasesTotal(submission.getTestCasesTotal());
+        response.setScore(submission.getScore());
+        return response;
+    }
+
+    /**
+     * 分页游标，编码为 Base64URL 的 "submissionTime|id"
+     */
+    private record HistoryCursor(Instant submissionTime, UUID id) {
+
+        String encode() {
+            byte[] value = (submissionTime + "|" + id).getBytes(StandardCharsets.UTF_8);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+        }
+
+        static HistoryCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException(cursor);
+                }
+                return new HistoryCursor(Instant.parse(parts[0]), UUID.fromString(parts[1]));
+            } catch (RuntimeException ex) {
+                throw new BadRequestException("无效的分页游标");
+            }
+        }
+    }
+}
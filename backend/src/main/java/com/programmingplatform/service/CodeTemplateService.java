@@ -0,0 +1,221 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.cache.LruCache;
+import com.programmingplatform.cache.MongoChangeStreamListener;
+import com.programmingplatform.dto.response.CodeTemplateResponse;
+import com.programmingplatform.dto.response.RenderedTemplateResponse;
+import com.programmingplatform.event.MongoDocumentChangedEvent;
+import com.programmingplatform.exception.BadRequestException;
+import com.programmingplatform.exception.ResourceNotFoundException;
+import com.programmingplatform.render.CompiledTemplate;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 代码模板服务
+ * 模板按 (id, updatedAt) 预编译后放入 LRU，公开模板整体常驻内存；变更流可用时随模板变更重新加载，
+ * 否则按 code-template-cache-ttl 定期重新加载
+ * 渲染复用线程本地缓冲区，单次按段拼接完成
+ */
+@Service
+public class CodeTemplateService {
+
+    private static final String COLLECTION = "code_templates";
+
+    private static final int MAX_VALUE_LENGTH = 65536;
+
+    // 线程本地缓冲区超过该容量后丢弃，避免偶发的大模板长期占用内存
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final LruCache<String, TemplateEntry> compiledTemplates;
+
+    private volatile PublicTemplates publicTemplates;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoChangeStreamListener changeStreamListener;
+
+    @Value("${app.cache.code-template-cache-ttl:7200}")
+    private long publicTemplatesTtlSeconds;
+
+    public CodeTemplateService(@Value("${app.code-template.compiled-cache-entries:1000}") int compiledCacheEntries) {
+        this.compiledTemplates = new LruCache<>(compiledCacheEntries);
+    }
+
+    /**
+     * 查询公开模板，language 为空时返回全部
+     */
+    public List<CodeTemplateResponse> getPublicTemplates(String language) {
+        List<CodeTemplateResponse> templates = publicTemplates().list();
+        if (language == null || language.isBlank()) {
+            return templates;
+        }
+        return templates.stream().filter(template -> language.equalsIgnoreCase(template.getLanguage())).toList();
+    }
+
+    public CodeTemplateResponse getPublicTemplate(String templateId) {
+        TemplateEntry entry = publicTemplates().byId().get(templateId);
+        if (entry == null) {
+            throw new ResourceNotFoundException("代码模板不存在: " + templateId);
+        }
+        return entry.metadata();
+    }
+
+    /**
+     * 渲染模板，公开模板直接使用内存中的编译结果，私有模板仅创建者可用
+     */
+    public RenderedTemplateResponse render(String templateId, Long userId, Map<String, String> values) {
+        TemplateEntry entry = publicTemplates().byId().get(templateId);
+        if (entry == null) {
+            Document template = ObjectId.isValid(templateId)
+                    ? mongoTemplate.findById(new ObjectId(templateId), Document.class, COLLECTION) : null;
+            if (template == null || !(Boolean.TRUE.equals(template.getBoolean("isPublic"))
+                    || userId.equals(template.getLong("createdBy")))) {
+                throw new ResourceNotFoundException("代码模板不存在: " + templateId);
+            }
+            entry = compiledEntry(template);
+        }
+
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            if (value.getValue() != null && value.getValue().length() > MAX_VALUE_LENGTH) {
+                throw new BadRequestException("占位符 " + value.getKey() + " 的取值过长");
+            }
+        }
+
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        try {
+            entry.template().render(values, entry.defaults(), buffer);
+            return new RenderedTemplateResponse(templateId, entry.metadata().getLanguage(), buffer.toString());
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                buffers.remove();
+            }
+        }
+    }
+
+    /**
+     * 模板变更时失效对应缓存，公开模板列表在下次访问时重新加载
+     */
+    @EventListener
+    public void onTemplateChanged(MongoDocumentChangedEvent event) {
+        if (event.isResetOf(COLLECTION)) {
+            invalidatePublicTemplates();
+            compiledTemplates.clear();
+            return;
+        }
+        if (!COLLECTION.equals(event.getCollection())) {
+            return;
+        }
+
+        String prefix = event.getDocumentId() + ":";
+        compiledTemplates.removeIf(key -> key.startsWith(prefix));
+        PublicTemplates current = publicTemplates;
+        Document template = event.getFullDocument();
+        if (current != null && (current.byId().containsKey(event.getDocumentId())
+                || (template != null && Boolean.TRUE.equals(template.getBoolean("isPublic"))))) {
+            invalidatePublicTemplates();
+        }
+    }
+
+    // 与加载互斥，保证加载期间到达的变更不会被随后写入的旧结果覆盖
+    private synchronized void invalidatePublicTemplates() {
+        publicTemplates = null;
+    }
+
+    private PublicTemplates publicTemplates() {
+        PublicTemplates current = publicTemplates;
+        long now = System.currentTimeMillis();
+        if (current != null && !expired(current, now)) {
+            return current;
+        }
+        synchronized (this) {
+            current = publicTemplates;
+            if (current == null || expired(current, now)) {
+                current = loadPublicTemplates(now);
+                publicTemplates = current;
+            }
+            return current;
+        }
+    }
+
+    private boolean expired(PublicTemplates templates, long now) {
+        return !changeStreamListener.isActive() && now - templates.loadedAt() >= publicTemplatesTtlSeconds * 1000;
+    }
+
+    private PublicTemplates loadPublicTemplates(long now) {
+        Query query = Query.query(Criteria.where("isPublic").is(true));
+        List<CodeTemplateResponse> list = new ArrayList<>();
+        Map<String, TemplateEntry> byId = new HashMap<>();
+        for (Document template : mongoTemplate.find(query, Document.class, COLLECTION)) {
+            TemplateEntry entry = compiledEntry(template);
+            list.add(entry.metadata());
+            byId.put(entry.metadata().getId(), entry);
+        }
+        return new PublicTemplates(List.copyOf(list), Map.copyOf(byId), now);
+    }
+
+    /**
+     * 取模板的编译结果，模板更新后 updatedAt 变化，会按新键重新编译
+     */
+    private TemplateEntry compiledEntry(Document template) {
+        String id = template.getObjectId("_id").toHexString();
+        Date updatedAt = template.getDate("updatedAt");
+        String key = id + ":" + (updatedAt == null ? 0 : updatedAt.getTime());
+        TemplateEntry entry = compiledTemplates.get(key);
+        if (entry == null) {
+            entry = compile(id, template);
+            compiledTemplates.put(key, entry);
+        }
+        return entry;
+    }
+
+    private TemplateEntry compile(String id, Document template) {
+        CodeTemplateResponse metadata = new CodeTemplateResponse();
+        metadata.setId(id);
+        metadata.setLanguage(template.getString("language"));
+        metadata.setTemplateType(template.getString("templateType"));
+        metadata.setName(template.getString("name"));
+        metadata.setDescription(template.getString("description"));
+        metadata.setCode(template.getString("code"));
+        metadata.setDifficulty(template.getString("difficulty"));
+        metadata.setTags(template.getList("tags", String.class, List.of()));
+
+        Map<String, String> defaults = new LinkedHashMap<>();
+        for (Document placeholder : template.getList("placeholders", Document.class, List.of())) {
+            String name = placeholder.getString("name");
+            metadata.getPlaceholders().add(new CodeTemplateResponse.PlaceholderItem(
+                    name, placeholder.getString("description"), placeholder.getString("defaultValue")));
+            if (name != null && placeholder.getString("defaultValue") != null) {
+                defaults.put(name, placeholder.getString("defaultValue"));
+            }
+        }
+        String code = template.getString("code");
+        return new TemplateEntry(metadata, CompiledTemplate.compile(code == null ? "" : code), Map.copyOf(defaults));
+    }
+
+    private record TemplateEntry(CodeTemplateResponse metadata, CompiledTemplate template,
+                                 Map<String, String> defaults) {
+    }
+
+    private record PublicTemplates(List<CodeTemplateResponse> list, Map<String, TemplateEntry> byId, long loadedAt) {
+    }
+}
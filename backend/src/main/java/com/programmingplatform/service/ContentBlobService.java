@@ -0,0 +1,334 @@
+package com.programmingplatform.service;
+
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdDictTrainer;
+import com.github.luben.zstd.ZstdException;
+import com.programmingplatform.cache.LruCache;
+import com.programmingplatform.config.PartitionProperties;
+import com.programmingplatform.entity.analytics.CodeSubmission;
+import com.programmingplatform.entity.analytics.CompressionDictionary;
+import com.programmingplatform.entity.analytics.ContentBlob;
+import com.programmingplatform.mapper.secondary.ContentBlobMapper;
+import com.programmingplatform.storage.BlobCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * 内容寻址存储服务
+ * 提交代码、输出和错误信息按 SHA-256 去重后 zstd 压缩保存，提交记录只引用哈希；
+ * 读取时按哈希解压，解压结果和字典在进程内 LRU 缓存
+ */
+@Service
+public class ContentBlobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentBlobService.class);
+
+    // 字典训练在每次调用内最多处理的课时数
+    private static final int MAX_LESSONS_PER_TRAINING = 20;
+
+    // 每批删除的过期内容块数
+    private static final int PURGE_BATCH_SIZE = 5000;
+
+    // 引用内容块的分区表
+    private static final String REFERENCING_TABLE = "code_submissions";
+
+    private final ContentBlobMapper contentBlobMapper;
+
+    private final PartitionProperties partitionProperties;
+
+    private final LruCache<String, String> contentCache;
+
+    // 当天已确认写入的哈希，同一天内重复内容不再访问数据库
+    private final LruCache<String, LocalDate> writtenHashes;
+
+    private final LruCache<Long, LessonDictionary> lessonDictionaries = new LruCache<>(1000);
+
+    private final LruCache<Integer, ZstdDictDecompress> decompressDictionaries = new LruCache<>(256);
+
+    private final Counter storedCounter;
+
+    private final Counter dedupCounter;
+
+    private final Counter rawBytesCounter;
+
+    private final Counter storedBytesCounter;
+
+    @Value("${app.blob-store.compression-level:3}")
+    private int compressionLevel;
+
+    @Value("${app.blob-store.min-compress-bytes:64}")
+    private int minCompressBytes;
+
+    @Value("${app.blob-store.retention-margin-days:7}")
+    private int retentionMarginDays;
+
+    @Value("${app.blob-store.dictionary.enabled:true}")
+    private boolean dictionaryEnabled;
+
+    @Value("${app.blob-store.dictionary.refresh-ms:600000}")
+    private long dictionaryRefreshMs;
+
+    @Value("${app.blob-store.dictionary.sample-days:14}")
+    private int dictionarySampleDays;
+
+    @Value("${app.blob-store.dictionary.min-samples:200}")
+    private int dictionaryMinSamples;
+
+    @Value("${app.blob-store.dictionary.max-samples:2000}")
+    private int dictionaryMaxSamples;
+
+    @Value("${app.blob-store.dictionary.size-bytes:16384}")
+    private int dictionarySizeBytes;
+
+    @Autowired
+    public ContentBlobService(ContentBlobMapper contentBlobMapper, PartitionProperties partitionProperties,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.blob-store.cache-entries:2000}") int cacheEntries) {
+        this.contentBlobMapper = contentBlobMapper;
+        this.partitionProperties = partitionProperties;
+        this.contentCache = new LruCache<>(cacheEntries);
+        this.writtenHashes = new LruCache<>(cacheEntries * 4);
+        this.storedCounter = Counter.builder("blob.store.writes").tag("result", "stored")
+                .description("内容块写入次数").register(meterRegistry);
+        this.dedupCounter = Counter.builder("blob.store.writes").tag("result", "deduplicated")
+                .description("内容块写入次数").register(meterRegistry);
+        this.rawBytesCounter = Counter.builder("blob.store.bytes").tag("kind", "raw").baseUnit("bytes")
+                .description("写入内容块的原文与压缩后字节数").register(meterRegistry);
+        this.storedBytesCounter = Counter.builder("blob.store.bytes").tag("kind", "stored").baseUnit("bytes")
+                .description("写入内容块的原文与压缩后字节数").register(meterRegistry);
+    }
+
+    /**
+     * 保存内容并返回其哈希，content 为 null 时返回 null
+     * 调用方处于事务中时，写入结果在事务提交后才进入去重缓存
+     */
+    public byte[] store(String content, Long lessonId) {
+        if (content == null) {
+            return null;
+        }
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        byte[] hash = BlobCodec.sha256(raw);
+        String key = BlobCodec.hex(hash);
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        if (today.equals(writtenHashes.get(key))) {
+            dedupCounter.increment();
+            return hash;
+        }
+
+        LessonDictionary dictionary = dictionaryEnabled && lessonId != null ? dictionaryFor(lessonId) : null;
+        BlobCodec.Encoded encoded = BlobCodec.encode(raw, minCompressBytes, compressionLevel,
+                dictionary != null ? dictionary.compress() : null);
+
+        ContentBlob blob = new ContentBlob();
+        blob.setHash(hash);
+        blob.setCodec(encoded.codec());
+        blob.setDictionaryId(encoded.codec() == BlobCodec.ZSTD_DICT ? dictionary.id() : null);
+        blob.setRawLength(raw.length);
+        blob.setData(encoded.data());
+        contentBlobMapper.upsert(blob);
+
+        storedCounter.increment();
+        rawBytesCounter.increment(raw.length);
+        storedBytesCounter.increment(encoded.data().length);
+        contentCache.put(key, content);
+        afterCommit(() -> writtenHashes.put(key, today));
+        return hash;
+    }
+
+    /**
+     * 按哈希读取内容，hash 为 null 时返回 null
+     */
+    public String load(byte[] hash) {
+        if (hash == null) {
+            return null;
+        }
+        String key = BlobCodec.hex(hash);
+        String content = contentCache.get(key);
+        if (content != null) {
+            return content;
+        }
+        ContentBlob blob = contentBlobMapper.findByHash(hash);
+        if (blob == null) {
+            logger.warn("内容块 {} 不存在", key);
+            return null;
+        }
+        content = decode(blob);
+        contentCache.put(key, content);
+        return content;
+    }
+
+    /**
+     * 解码随查询一并读出的内容块，blob 为 null 时返回 null
+     * 供导出等批量读取使用，结果不进入内容缓存，以免挤掉在线请求的热点内容
+     */
+    public String decode(ContentBlob blob) {
+        if (blob == null) {
+            return null;
+        }
+        ZstdDictDecompress dictionary = blob.getCodec() == BlobCodec.ZSTD_DICT
+                ? decompressDictionary(blob.getDictionaryId()) : null;
+        return BlobCodec.decode(blob.getCodec(), blob.getData(), blob.getRawLength(), dictionary);
+    }
+
+    /**
+     * 补全提交中以哈希引用的代码、输出和错误信息，已内联保存的旧数据保持不变
+     */
+    public CodeSubmission hydrate(CodeSubmission submission) {
+        if (submission.getCodeContent() == null) {
+            submission.setCodeContent(load(submission.getCodeHash()));
+        }
+        if (submission.getOutput() == null) {
+            submission.setOutput(load(submission.getOutputHash()));
+        }
+        if (submission.getErrorMessage() == null) {
+            submission.setErrorMessage(load(submission.getErrorHash()));
+        }
+        return submission;
+    }
+
+    /**
+     * 为近期提交较多的课时训练 zstd 字典
+     * 字典只影响之后写入的内容块，已有内容块继续按原编码读取
+     */
+    @Scheduled(cron = "${app.blob-store.dictionary.cron:0 30 3 * * *}")
+    public void trainDictionaries() {
+        if (!dictionaryEnabled) {
+            return;
+        }
+        LocalDate since = LocalDate.now(ZoneOffset.UTC).minusDays(dictionarySampleDays);
+        for (Long lessonId : contentBlobMapper.findLessonsWithoutDictionary(
+                since, dictionaryMinSamples, MAX_LESSONS_PER_TRAINING)) {
+            try {
+                trainDictionary(lessonId, since);
+            } catch (RuntimeException ex) {
+                logger.warn("课时 {} 压缩字典训练失败: {}", lessonId, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 回收长期未被引用的内容块
+     * 提交按分区整体过期，分区上界超过保留期才删除，最早写入的行最长存活“保留天数 + 一个分区周期”；
+     * 内容块保留天数由提交分区配置推导，再加上安全余量。提交永久保留或未启用分区维护时不回收
+     */
+    @Scheduled(cron = "${app.blob-store.purge-cron:0 45 3 * * *}")
+    public void purgeUnreferenced() {
+        int retentionDays = blobRetentionDays();
+        if (retentionDays <= 0) {
+            return;
+        }
+        LocalDate before = LocalDate.now(ZoneOffset.UTC).minusDays(retentionDays);
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = contentBlobMapper.deleteUnseenBefore(before, PURGE_BATCH_SIZE);
+            purged += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (purged > 0) {
+            logger.info("回收 {} 之前未被引用的内容块 {} 个", before, purged);
+        }
+    }
+
+    /**
+     * 内容块保留天数，0 表示不回收
+     */
+    private int blobRetentionDays() {
+        PartitionProperties.ManagedTable table = partitionProperties.findTable(REFERENCING_TABLE);
+        if (!partitionProperties.isEnabled() || table == null || table.getRetentionDays() <= 0) {
+            return 0;
+        }
+        return table.getRetentionDays() + table.getInterval().getMaxDays() + Math.max(retentionMarginDays, 1);
+    }
+
+    private void trainDictionary(Long lessonId, LocalDate since) {
+        List<ContentBlob> samples = contentBlobMapper.findCodeSamples(lessonId, since, dictionaryMaxSamples);
+        long totalBytes = samples.stream().mapToLong(ContentBlob::getRawLength).sum();
+        if (samples.size() < dictionaryMinSamples || totalBytes > Integer.MAX_VALUE) {
+            return;
+        }
+
+        ZstdDictTrainer trainer = new ZstdDictTrainer((int) totalBytes, dictionarySizeBytes);
+        for (ContentBlob sample : samples) {
+            ZstdDictDecompress dictionary = sample.getCodec() == BlobCodec.ZSTD_DICT
+                    ? decompressDictionary(sample.getDictionaryId()) : null;
+            String content = BlobCodec.decode(sample.getCodec(), sample.getData(), sample.getRawLength(), dictionary);
+            trainer.addSample(content.getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] trained;
+        try {
+            trained = trainer.trainSamples();
+        } catch (ZstdException ex) {
+            // 样本过于相似或过小时训练会失败，这类课时不使用字典
+            logger.info("课时 {} 样本不足以训练压缩字典: {}", lessonId, ex.getMessage());
+            return;
+        }
+
+        CompressionDictionary dictionary = new CompressionDictionary();
+        dictionary.setLessonId(lessonId);
+        dictionary.setDictionary(trained);
+        dictionary.setSampleCount(samples.size());
+        contentBlobMapper.insertDictionary(dictionary);
+        lessonDictionaries.remove(lessonId);
+        logger.info("课时 {} 压缩字典训练完成，样本 {} 个，字典 {} 字节", lessonId, samples.size(), trained.length);
+    }
+
+    /**
+     * 课时的压缩字典，定期重新查询以发现其他实例训练的新字典
+     */
+    private LessonDictionary dictionaryFor(Long lessonId) {
+        long now = System.currentTimeMillis();
+        LessonDictionary cached = lessonDictionaries.get(lessonId);
+        if (cached != null && now - cached.loadedAt() < dictionaryRefreshMs) {
+            return cached.compress() != null ? cached : null;
+        }
+        CompressionDictionary row = contentBlobMapper.findDictionaryByLessonId(lessonId);
+        LessonDictionary loaded = row == null
+                ? new LessonDictionary(null, null, now)
+                : new LessonDictionary(row.getId(), new ZstdDictCompress(row.getDictionary(), compressionLevel), now);
+        lessonDictionaries.put(lessonId, loaded);
+        return loaded.compress() != null ? loaded : null;
+    }
+
+    private ZstdDictDecompress decompressDictionary(Integer dictionaryId) {
+        ZstdDictDecompress dictionary = decompressDictionaries.get(dictionaryId);
+        if (dictionary == null) {
+            CompressionDictionary row = contentBlobMapper.findDictionaryById(dictionaryId);
+            if (row == null) {
+                throw new IllegalStateException("压缩字典 " + dictionaryId + " 不存在");
+            }
+            dictionary = new ZstdDictDecompress(row.getDictionary());
+            decompressDictionaries.put(dictionaryId, dictionary);
+        }
+        return dictionary;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record LessonDictionary(Integer id, ZstdDictCompress compress, long loadedAt) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.cache.LruCache;
+import com.programmingplatform.exception.BadRequestException;
+import com.programmingplatform.exception.ResourceNotFoundException;
+import com.programmingplatform.mapper.primary.CourseAccessMapper;
+import com.programmingplatform.security.UserPrincipal;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 课程访问校验服务
+ * 课时归属按 TTL 缓存在进程内，心跳、提交等高频写入不必每次查询主库；课程可见性校验直接查询，发布状态变更立即生效
+ */
+@Service
+public class CourseAccessService {
+
+    private final CourseAccessMapper courseAccessMapper;
+
+    private final LruCache<Long, CachedLesson> lessonCache;
+
+    @Value("${app.cache.lesson-ref-ttl-ms:60000}")
+    private long lessonTtlMs;
+
+    @Autowired
+    public CourseAccessService(CourseAccessMapper courseAccessMapper,
+                               @Value("${app.cache.lesson-ref-max-entries:10000}") int maxEntries) {
+        this.courseAccessMapper = courseAccessMapper;
+        this.lessonCache = new LruCache<>(maxEntries);
+    }
+
+    /**
+     * 查询课时归属，课时不存在时返回 null
+     */
+    public CourseAccessMapper.LessonRef findLesson(Long lessonId) {
+        long now = System.currentTimeMillis();
+        CachedLesson cached = lessonCache.get(lessonId);
+        if (cached != null && now - cached.loadedAt() < lessonTtlMs) {
+            return cached.lesson();
+        }
+        CourseAccessMapper.LessonRef lesson = courseAccessMapper.findLesson(lessonId);
+        lessonCache.put(lessonId, new CachedLesson(lesson, now));
+        return lesson;
+    }
+
+    /**
+     * 校验课时存在且属于指定课程
+     */
+    public CourseAccessMapper.LessonRef requireLessonInCourse(Long courseId, Long lessonId) {
+        CourseAccessMapper.LessonRef lesson = findLesson(lessonId);
+        if (lesson == null || !lesson.getCourseId().equals(courseId)) {
+            throw new BadRequestException("课时 " + lessonId + " 不属于课程 " + courseId);
+        }
+        return lesson;
+    }
+
+    /**
+     * 校验当前用户可以查看该课程内容：已发布课程对所有人可见，未发布课程仅讲师和管理员可见
+     */
+    public void requireCourseVisible(UserPrincipal user, Long courseId) {
+        CourseAccessMapper.CourseRef course = courseAccessMapper.findCourse(courseId);
+        if (course == null) {
+            throw new ResourceNotFoundException("课程不存在: " + courseId);
+        }
+        if (Boolean.TRUE.equals(course.getPublished()) || isAdmin(user)
+                || user.getId().equals(course.getInstructorId())) {
+            return;
+        }
+        // 未发布课程对其他人表现为不存在
+        throw new ResourceNotFoundException("课程不存在: " + courseId);
+    }
+
+    /**
+     * 校验当前用户可以管理该课程：管理员或课程讲师
+     */
+    public void requireCourseOwner(UserPrincipal user, Long courseId) {
+        if (isAdmin(user)) {
+            return;
+        }
+        CourseAccessMapper.CourseRef course = courseAccessMapper.findCourse(courseId);
+        if (course == null) {
+            throw new ResourceNotFoundException("课程不存在: " + courseId);
+        }
+        if (!user.getId().equals(course.getInstructorId())) {
+            throw new AccessDeniedException("只能管理自己讲授的课程");
+        }
+    }
+
+    /**
+     * 校验当前用户可以管理该课时所属的课程
+     */
+    public void requireLessonOwner(UserPrincipal user, Long lessonId) {
+        CourseAccessMapper.LessonRef lesson = findLesson(lessonId);
+        if (lesson == null) {
+            throw new ResourceNotFoundException("课时不存在: " + lessonId);
+        }
+        requireCourseOwner(user, lesson.getCourseId());
+    }
+
+    private static boolean isAdmin(UserPrincipal user) {
+        return user.getAuthorities().stream().anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    private record CachedLesson(CourseAccessMapper.LessonRef lesson, long loadedAt) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.cache.LruCache;
+import com.programmingplatform.dto.response.CourseOutlineResponse;
+import com.programmingplatform.entity.UserProgress;
+import com.programmingplatform.exception.ResourceNotFoundException;
+import com.programmingplatform.mapper.primary.CourseOutlineMapper;
+import com.programmingplatform.mapper.primary.UserProgressMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 课程大纲服务
+ * 课程结构按课程版本号缓存在进程内，用户进度每次读取时单独查询后合并
+ */
+@Service
+public class CourseOutlineService {
+
+    @Autowired
+    private CourseOutlineMapper courseOutlineMapper;
+
+    @Autowired
+    private UserProgressMapper userProgressMapper;
+
+    private final LruCache<Long, CourseOutlineResponse> outlineCache;
+
+    public CourseOutlineService(@Value("${app.cache.course-outline-max-entries:1000}") int maxEntries) {
+        this.outlineCache = new LruCache<>(maxEntries);
+    }
+
+    /**
+     * 获取课程大纲并合并当前用户的学习进度
+     */
+    @Transactional(readOnly = true)
+    public CourseOutlineResponse getOutline(Long courseId, Long userId) {
+        String version = courseOutlineMapper.findOutlineVersion(courseId);
+        if (version == null) {
+            throw new ResourceNotFoundException("课程不存在: " + courseId);
+        }
+
+        CourseOutlineResponse structure = outlineCache.get(courseId);
+        if (structure == null || !version.equals(structure.getVersion())) {
+            structure = buildStructure(courseOutlineMapper.findOutlineRows(courseId), version);
+            outlineCache.put(courseId, structure);
+        }
+
+        Map<Long, UserProgress> progressByLesson = new HashMap<>();
+        for (UserProgress progress : userProgressMapper.findByUserAndCourse(userId, courseId)) {
+            progressByLesson.put(progress.getLessonId(), progress);
+        }
+        return mergeProgress(structure, progressByLesson);
+    }
+
+    /**
+     * 将按排序返回的扁平行组装为章节 → 课时树
+     */
+    private CourseOutlineResponse buildStructure(List<CourseOutlineMapper.OutlineRow> rows, String version) {
+        CourseOutlineResponse outline = new CourseOutlineResponse();
+        outline.setVersion(version);
+
+        CourseOutlineResponse.ChapterNode currentChapter = null;
+        int totalLessons = 0;
+        for (CourseOutlineMapper.OutlineRow row : rows) {
+            outline.setCourseId(row.getCourseId());
+            outline.setTitle(row.getCourseTitle());
+            outline.setLanguage(row.getLanguage());
+            outline.setLevel(row.getLevel());
+            if (row.getChapterId() == null) {
+                continue;
+            }
+
+            if (currentChapter == null || !currentChapter.getId().equals(row.getChapterId())) {
+                currentChapter = new CourseOutlineResponse.ChapterNode(
+                        row.getChapterId(), row.getChapterTitle(), row.getChapterSortOrder());
+                outline.getChapters().add(currentChapter);
+            }
+            if (row.getLessonId() != null) {
+                CourseOutlineResponse.LessonNode lesson = new CourseOutlineResponse.LessonNode();
+                lesson.setId(row.getLessonId());
+                lesson.setTitle(row.getLessonTitle());
+                lesson.setLessonType(row.getLessonType());
+                lesson.setDurationMinutes(row.getDurationMinutes());
+                lesson.setSortOrder(row.getLessonSortOrder());
+                lesson.setIsFree(row.getIsFree());
+                lesson.setDifficulty(row.getDifficulty());
+                currentChapter.getLessons().add(lesson);
+                totalLessons++;
+            }
+        }
+        outline.setTotalLessons(totalLessons);
+        return outline;
+    }
+
+    /**
+     * 复制缓存的课程结构并填充用户进度，缓存对象本身保持不变
+     */
+    private CourseOutlineResponse mergeProgress(CourseOutlineResponse structure, Map<Long, UserProgress> progressByLesson) {
+        CourseOutlineResponse outline = new CourseOutlineResponse();
+        outline.setCourseId(structure.getCourseId());
+        outline.setTitle(structure.getTitle());
+        outline.setLanguage(structure.getLanguage());
+        outline.setLevel(structure.getLevel());
+        outline.setVersion(structure.getVersion());
+        outline.setTotalLessons(structure.getTotalLessons());
+
+        int completedLessons = 0;
+        for (CourseOutlineResponse.ChapterNode chapter : structure.getChapters()) {
+            CourseOutlineResponse.ChapterNode chapterCopy = new CourseOutlineResponse.ChapterNode(
+                    chapter.getId(), chapter.getTitle(), chapter.getSortOrder());
+            for (CourseOutlineResponse.LessonNode lesson : chapter.getLessons()) {
+                CourseOutlineResponse.LessonNode lessonCopy = lesson.copyStructure();
+                UserProgress progress = progressByLesson.get(lesson.getId());
+                if (progress != null) {
+                    lessonCopy.setProgress(new CourseOutlineResponse.LessonProgress(
+                            progress.getIsCompleted(),
+                            progress.getTimeSpentMinutes(),
+                            progress.getLastPosition(),
+                            progress.getAttemptsCount(),
+                            progress.getBestScore()));
+                    if (Boolean.TRUE.equals(progress.getIsCompleted())) {
+                        completedLessons++;
+                    }
+                }
+                chapterCopy.getLessons().add(lessonCopy);
+            }
+            outline.getChapters().add(chapterCopy);
+        }
+        outline.setCompletedLessons(completedLessons);
+        return outline;
+    }
+}
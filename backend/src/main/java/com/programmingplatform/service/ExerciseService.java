@@ -0,0 +1,417 @@
+package com.programmingplatform.service;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.programmingplatform.cache.ChangeStreamCache;
+import com.programmingplatform.cache.LruCache;
+import com.programmingplatform.cache.MongoChangeStreamListener;
+import com.programmingplatform.dto.request.TestCaseUploadRequest;
+import com.programmingplatform.dto.response.ExerciseResponse;
+import com.programmingplatform.dto.response.TestCaseSetResponse;
+import com.programmingplatform.event.MongoDocumentChangedEvent;
+import com.programmingplatform.exception.ResourceNotFoundException;
+import com.programmingplatform.security.UserPrincipal;
+import com.programmingplatform.storage.BlobCodec;
+import com.programmingplatform.storage.TestCasePack;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 练习题服务
+ * 测试用例以二进制包形式存放在 GridFS，练习题文档只保留用例描述和包引用；
+ * 学生端读取在数据库侧过滤掉隐藏用例和参考答案（变更流可用时结果缓存在进程内），
+ * 评测端按内容哈希缓存到本地磁盘并以内存映射方式读取
+ */
+@Service
+public class ExerciseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExerciseService.class);
+
+    private static final String COLLECTION = "exercises";
+
+    private static final String FIXTURE_BUCKET = "exercise_fixtures";
+
+    private static final String FIXTURE_SUFFIX = ".tcs";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoChangeStreamListener changeStreamListener;
+
+    @Autowired
+    private CourseAccessService courseAccessService;
+
+    @Value("${app.exercise.cache-entries:1000}")
+    private int exerciseCacheEntries;
+
+    @Value("${app.fixtures.cache-dir:/app/fixtures}")
+    private String cacheDir;
+
+    @Value("${app.fixtures.mapped-sets:64}")
+    private int mappedSets;
+
+    @Value("${app.fixtures.max-disk-bytes:2147483648}")
+    private long maxDiskBytes;
+
+    @Value("${app.fixtures.inline-max-bytes:4096}")
+    private int inlineMaxBytes;
+
+    private GridFSBucket fixtureBucket;
+
+    private Path fixtureDir;
+
+    // 内容哈希 -> 已映射的测试用例包
+    private LruCache<String, TestCasePack> mappedPacks;
+
+    // 练习题 ID -> 学生端视图
+    private ChangeStreamCache<String, ExerciseResponse> exerciseCache;
+
+    @PostConstruct
+    public void init() {
+        fixtureBucket = GridFSBuckets.create(mongoTemplate.getDb(), FIXTURE_BUCKET);
+        fixtureDir = Paths.get(cacheDir);
+        mappedPacks = new LruCache<>(mappedSets);
+        exerciseCache = new ChangeStreamCache<>(exerciseCacheEntries, changeStreamListener);
+        try {
+            Files.createDirectories(fixtureDir);
+        } catch (IOException ex) {
+            logger.warn("测试用例缓存目录 {} 创建失败: {}", fixtureDir, ex.getMessage());
+        }
+    }
+
+    /**
+     * 学生端查询练习题
+     * 隐藏用例在聚合管道中过滤，参考答案和用例数据包信息不会离开数据库
+     */
+    public ExerciseResponse getExercise(String exerciseId) {
+        ExerciseResponse cached = exerciseCache.get(exerciseId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = exerciseCache.generation();
+        ExerciseResponse exercise = loadExercise(exerciseId);
+        exerciseCache.put(exerciseId, exercise, generation);
+        return exercise;
+    }
+
+    /**
+     * 练习题变更时失效学生端视图缓存
+     */
+    @EventListener
+    public void onExerciseChanged(MongoDocumentChangedEvent event) {
+        if (event.isResetOf(COLLECTION)) {
+            exerciseCache.clear();
+        } else if (COLLECTION.equals(event.getCollection())) {
+            exerciseCache.invalidate(event.getDocumentId());
+        }
+    }
+
+    /**
+     * 学生端查询课时下的全部练习题，按创建顺序返回
+     */
+    public List<ExerciseResponse> listExercisesForLesson(Long lessonId) {
+        long generation = exerciseCache.generation();
+        List<ExerciseResponse> exercises = new ArrayList<>();
+        for (Document exercise : mongoTemplate.getCollection(COLLECTION)
+                .aggregate(studentViewPipeline(new Document("lessonId", lessonId)))) {
+            ExerciseResponse response = toResponse(exercise);
+            exerciseCache.put(response.getId(), response, generation);
+            exercises.add(response);
+        }
+        return exercises;
+    }
+
+    private ExerciseResponse loadExercise(String exerciseId) {
+        Document exercise = mongoTemplate.getCollection(COLLECTION)
+                .aggregate(studentViewPipeline(new Document("_id", toObjectId(exerciseId)))).first();
+        if (exercise == null) {
+            throw new ResourceNotFoundException("练习题不存在: " + exerciseId);
+        }
+        return toResponse(exercise);
+    }
+
+    private List<Document> studentViewPipeline(Document match) {
+        Document isPublic = new Document("$ne", Arrays.asList("$$testCase.isHidden", true));
+        Document publicCases = new Document("$filter", new Document("input", "$testCases")
+                .append("as", "testCase")
+                .append("cond", isPublic));
+        Document projection = new Document("lessonId", 1)
+                .append("title", 1)
+                .append("description", 1)
+                .append("language", 1)
+                .append("difficulty", 1)
+                .append("starterCode", 1)
+                .append("hints", 1)
+                .append("timeLimit", 1)
+                .append("memoryLimit", 1)
+                .append("tags", 1)
+                .append("totalTestCases", new Document("$size",
+                        new Document("$ifNull", Arrays.asList("$testCases", List.of()))))
+                .append("testCases", publicCases);
+        return List.of(
+                new Document("$match", match),
+                new Document("$sort", new Document("_id", 1)),
+                new Document("$project", projection));
+    }
+
+    /**
+     * 替换练习题的测试用例
+     * 新用例包上传成功后再切换文档引用，旧包在切换后删除；小的公开用例同时内联在文档中供学生端展示
+     * 仅练习题所属课程的讲师和管理员可替换
+     */
+    public TestCaseSetResponse replaceTestCases(UserPrincipal user, String exerciseId, TestCaseUploadRequest request) {
+        ObjectId id = toObjectId(exerciseId);
+        Query owner = Query.query(Criteria.where("_id").is(id));
+        owner.fields().include("lessonId");
+        Document exercise = mongoTemplate.findOne(owner, Document.class, COLLECTION);
+        if (exercise == null) {
+            throw new ResourceNotFoundException("练习题不存在: " + exerciseId);
+        }
+        courseAccessService.requireLessonOwner(user, exercise.get("lessonId", Number.class).longValue());
+
+        List<TestCasePack.TestCase> cases = new ArrayList<>();
+        List<Document> descriptors = new ArrayList<>();
+        int hiddenCount = 0;
+        for (TestCaseUploadRequest.TestCaseItem item : request.getTestCases()) {
+            boolean hidden = Boolean.TRUE.equals(item.getIsHidden());
+            cases.add(new TestCasePack.TestCase(item.getInput(), item.getExpectedOutput(), hidden));
+            descriptors.add(descriptor(item.getInput(), item.getExpectedOutput(), hidden, item.getDescription()));
+            hiddenCount += hidden ? 1 : 0;
+        }
+
+        byte[] pack = TestCasePack.encode(cases);
+        String sha256 = BlobCodec.hex(BlobCodec.sha256(pack));
+        GridFSUploadOptions options = new GridFSUploadOptions()
+                .metadata(new Document("exerciseId", id).append("sha256", sha256));
+        ObjectId fileId = fixtureBucket.uploadFromStream(sha256 + FIXTURE_SUFFIX, new ByteArrayInputStream(pack), options);
+
+        Document testCaseSet = new Document("fileId", fileId)
+                .append("sha256", sha256)
+                .append("caseCount", cases.size())
+                .append("totalBytes", (long) pack.length);
+        Update update = new Update()
+                .set("testCases", descriptors)
+                .set("testCaseSet", testCaseSet)
+                .set("updatedAt", new Date());
+        Query query = Query.query(Criteria.where("_id").is(id));
+        query.fields().include("testCaseSet.fileId");
+        Document previous = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(false),
+                Document.class, COLLECTION);
+        if (previous == null) {
+            fixtureBucket.delete(fileId);
+            throw new ResourceNotFoundException("练习题不存在: " + exerciseId);
+        }
+
+        Document previousSet = previous.get("testCaseSet", Document.class);
+        if (previousSet != null && previousSet.getObjectId("fileId") != null) {
+            try {
+                fixtureBucket.delete(previousSet.getObjectId("fileId"));
+            } catch (RuntimeException ex) {
+                logger.warn("旧测试用例包 {} 删除失败: {}", previousSet.getObjectId("fileId"), ex.getMessage());
+            }
+        }
+        exerciseCache.invalidate(exerciseId);
+        return new TestCaseSetResponse(exerciseId, sha256, cases.size(), hiddenCount, (long) pack.length);
+    }
+
+    /**
+     * 评测端读取完整测试用例（含隐藏用例）
+     * 用例包按内容哈希缓存在本地磁盘并内存映射，同一用例集的重复评测不再访问 MongoDB GridFS；
+     * 尚未迁移到 GridFS 的练习题回退到文档内嵌的用例
+     */
+    public TestCasePack getTestCasesForGrading(String exerciseId) {
+        Query query = Query.query(Criteria.where("_id").is(toObjectId(exerciseId)));
+        query.fields().include("testCaseSet").include("testCases");
+        Document exercise = mongoTemplate.findOne(query, Document.class, COLLECTION);
+        if (exercise == null) {
+            throw new ResourceNotFoundException("练习题不存在: " + exerciseId);
+        }
+
+        Document testCaseSet = exercise.get("testCaseSet", Document.class);
+        if (testCaseSet == null) {
+            List<TestCasePack.TestCase> cases = new ArrayList<>();
+            for (Document testCase : exercise.getList("testCases", Document.class, List.of())) {
+                cases.add(new TestCasePack.TestCase(testCase.getString("input"), testCase.getString("expectedOutput"),
+                        Boolean.TRUE.equals(testCase.getBoolean("isHidden"))));
+            }
+            return TestCasePack.open(ByteBuffer.wrap(TestCasePack.encode(cases)));
+        }
+
+        String sha256 = testCaseSet.getString("sha256");
+        TestCasePack pack = mappedPacks.get(sha256);
+        if (pack == null) {
+            pack = mapFixture(sha256, testCaseSet.getObjectId("fileId"));
+            mappedPacks.put(sha256, pack);
+        }
+        return pack;
+    }
+
+    /**
+     * 控制本地用例缓存的磁盘占用，按最近使用时间淘汰
+     * 已映射的文件被删除后映射仍然有效，下次未命中时重新下载
+     */
+    @Scheduled(fixedDelayString = "${app.fixtures.trim-interval-ms:600000}")
+    public void trimDiskCache() {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(fixtureDir)) {
+            files = new ArrayList<>(stream.filter(path -> path.toString().endsWith(FIXTURE_SUFFIX)).toList());
+        } catch (IOException ex) {
+            return;
+        }
+
+        files.sort(Comparator.comparing(this::lastModified).reversed());
+        long retained = 0;
+        int deleted = 0;
+        for (Path file : files) {
+            try {
+                retained += Files.size(file);
+                if (retained > maxDiskBytes) {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                }
+            } catch (IOException ex) {
+                logger.warn("测试用例缓存文件 {} 清理失败: {}", file, ex.getMessage());
+            }
+        }
+        if (deleted > 0) {
+            logger.info("测试用例本地缓存淘汰 {} 个文件", deleted);
+        }
+    }
+
+    /**
+     * 从本地缓存映射用例包，缺失时从 GridFS 下载到临时文件，校验哈希后原子重命名
+     */
+    private TestCasePack mapFixture(String sha256, ObjectId fileId) {
+        Path target = fixtureDir.resolve(sha256 + FIXTURE_SUFFIX);
+        try {
+            if (Files.exists(target)) {
+                Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+            } else {
+                download(sha256, fileId, target);
+            }
+            try (FileChannel channel = FileChannel.open(target)) {
+                return TestCasePack.open(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("测试用例包加载失败: " + sha256, ex);
+        }
+    }
+
+    private void download(String sha256, ObjectId fileId, Path target) throws IOException {
+        Path temp = Files.createTempFile(fixtureDir, sha256, ".tmp");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                fixtureBucket.downloadToStream(fileId, out);
+            }
+            if (!sha256.equals(BlobCodec.hex(digest.digest()))) {
+                throw new IOException("测试用例包哈希不一致: " + fileId);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 生成文档中的用例描述，只有小的公开用例内联输入和期望输出
+     */
+    private Document descriptor(String input, String expectedOutput, boolean hidden, String description) {
+        int inputSize = utf8Length(input);
+        int expectedOutputSize = utf8Length(expectedOutput);
+        Document descriptor = new Document("isHidden", hidden)
+                .append("inputSize", inputSize)
+                .append("expectedOutputSize", expectedOutputSize);
+        if (description != null) {
+            descriptor.append("description", description);
+        }
+        if (!hidden && inputSize + expectedOutputSize <= inlineMaxBytes) {
+            descriptor.append("input", input).append("expectedOutput", expectedOutput);
+        }
+        return descriptor;
+    }
+
+    private ExerciseResponse toResponse(Document exercise) {
+        ExerciseResponse response = new ExerciseResponse();
+        response.setId(exercise.getObjectId("_id").toHexString());
+        response.setLessonId(exercise.getLong("lessonId"));
+        response.setTitle(exercise.getString("title"));
+        response.setDescription(exercise.getString("description"));
+        response.setLanguage(exercise.getString("language"));
+        response.setDifficulty(exercise.getString("difficulty"));
+        response.setStarterCode(exercise.getString("starterCode"));
+        response.setHints(exercise.getList("hints", String.class));
+        response.setTimeLimit(exercise.getInteger("timeLimit"));
+        response.setMemoryLimit(exercise.getInteger("memoryLimit"));
+        response.setTags(exercise.getList("tags", String.class));
+        response.setTotalTestCases(exercise.getInteger("totalTestCases"));
+        for (Document testCase : exercise.getList("testCases", Document.class, List.of())) {
+            ExerciseResponse.TestCaseItem item = new ExerciseResponse.TestCaseItem();
+            item.setDescription(testCase.getString("description"));
+            item.setInput(testCase.getString("input"));
+            item.setExpectedOutput(testCase.getString("expectedOutput"));
+            item.setInputSize(testCase.getInteger("inputSize", utf8Length(item.getInput())));
+            item.setExpectedOutputSize(testCase.getInteger("expectedOutputSize", utf8Length(item.getExpectedOutput())));
+            response.getTestCases().add(item);
+        }
+        return response;
+    }
+
+    private FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException ex) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static int utf8Length(String value) {
+        return value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static ObjectId toObjectId(String exerciseId) {
+        if (!ObjectId.isValid(exerciseId)) {
+            throw new ResourceNotFoundException("练习题不存在: " + exerciseId);
+        }
+        return new ObjectId(exerciseId);
+    }
+}
@@ -0,0 +1,270 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.dto.response.LeaderboardEntryResponse;
+import com.programmingplatform.dto.response.LeaderboardResponse;
+import com.programmingplatform.entity.analytics.CodeSubmission;
+import com.programmingplatform.event.SubmissionCompletedEvent;
+import com.programmingplatform.leaderboard.CompositeScore;
+import com.programmingplatform.mapper.secondary.LeaderboardMapper;
+import com.programmingplatform.resilience.DataStore;
+import com.programmingplatform.resilience.StoreGuard;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 排行榜服务
+ * 课时榜和课程榜保存在 Redis 有序集合中，提交完成后实时更新，前 N 名和个人排名查询均为 O(log n)；
+ * 提交记录只关联课时，不区分课时下的具体练习题，因此课时是最细的排行粒度
+ * 定时从 PostgreSQL 重算近期最佳提交并合并回 Redis，修复 Redis 不可用期间漏掉的更新
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private static final String LESSON_KEY_PREFIX = "leaderboard:lesson:";
+
+    private static final String COURSE_KEY_PREFIX = "leaderboard:course:";
+
+    private static final String ENTRIES_SUFFIX = ":entries";
+
+    /**
+     * 仅当新分值更高时更新课时榜，并把得分增量累加到课程榜
+     * KEYS: 课时榜, 课时榜条目详情, 课程榜
+     * ARGV: 用户 ID, 课时榜分值, 条目详情, 得分（百分之一分）, 反转的提交分钟数
+     * 分值以字符串传入和拼接，避免 Lua 数字转字符串时丢失精度
+     */
+    private static final RedisScript<Long> RECORD_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('ZSCORE', KEYS[1], ARGV[1])\n" +
+            "if current and tonumber(current) >= tonumber(ARGV[2]) then\n" +
+            "  return 0\n" +
+            "end\n" +
+            "redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])\n" +
+            "redis.call('HSET', KEYS[2], ARGV[1], ARGV[3])\n" +
+            "local previous = 0\n" +
+            "if current then\n" +
+            "  previous = math.floor(tonumber(current) / " + CompositeScore.LESSON_SCORE_UNIT + ")\n" +
+            "end\n" +
+            "local delta = tonumber(ARGV[4]) - previous\n" +
+            "if delta > 0 then\n" +
+            "  local total = 0\n" +
+            "  local course = redis.call('ZSCORE', KEYS[3], ARGV[1])\n" +
+            "  if course then\n" +
+            "    total = math.floor(tonumber(course) / " + CompositeScore.COURSE_SCORE_UNIT + ")\n" +
+            "  end\n" +
+            "  local score = (total + delta) * " + CompositeScore.COURSE_SCORE_UNIT + " + tonumber(ARGV[5])\n" +
+            "  redis.call('ZADD', KEYS[3], string.format('%.0f', score), ARGV[1])\n" +
+            "end\n" +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final LeaderboardMapper leaderboardMapper;
+
+    private final StoreGuard storeGuard;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${app.leaderboard.rebuild-days:2}")
+    private int rebuildDays;
+
+    @Value("${app.leaderboard.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    @Autowired
+    public LeaderboardService(StringRedisTemplate redisTemplate, LeaderboardMapper leaderboardMapper,
+                              StoreGuard storeGuard,
+                              @Qualifier("secondaryTransactionManager") PlatformTransactionManager transactionManager) {
+        this.redisTemplate = redisTemplate;
+        this.leaderboardMapper = leaderboardMapper;
+        this.storeGuard = storeGuard;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 提交结果提交事务后异步更新排行榜，Redis 不可用时跳过，等待定时重建修复
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionCompleted(SubmissionCompletedEvent event) {
+        CodeSubmission submission = event.getSubmission();
+        if (submission.getScore() == null) {
+            return;
+        }
+        storeGuard.submit(DataStore.REDIS, "排行榜更新",
+                () -> redisTemplate.execute(RECORD_SCRIPT, keys(submission), args(submission)));
+    }
+
+    public LeaderboardResponse getLessonLeaderboard(Long lessonId, Long userId, int limit) {
+        String key = LESSON_KEY_PREFIX + lessonId;
+        LeaderboardResponse response = new LeaderboardResponse("LESSON", lessonId);
+        List<ZSetOperations.TypedTuple<String>> top = topN(key, limit);
+        List<Object> details = top.isEmpty() ? List.of() : redisTemplate.opsForHash().multiGet(
+                key + ENTRIES_SUFFIX, top.stream().<Object>map(ZSetOperations.TypedTuple::getValue).toList());
+        for (int i = 0; i < top.size(); i++) {
+            ZSetOperations.TypedTuple<String> tuple = top.get(i);
+            response.getEntries().add(lessonEntry(i + 1, tuple.getValue(), tuple.getScore(), (String) details.get(i)));
+        }
+
+        String me = String.valueOf(userId);
+        Long myRank = redisTemplate.opsForZSet().reverseRank(key, me);
+        if (myRank != null) {
+            Double myScore = redisTemplate.opsForZSet().score(key, me);
+            String myDetail = (String) redisTemplate.opsForHash().get(key + ENTRIES_SUFFIX, me);
+            response.setMe(lessonEntry(myRank + 1, me, myScore, myDetail));
+        }
+        response.setParticipants(redisTemplate.opsForZSet().zCard(key));
+        return response;
+    }
+
+    public LeaderboardResponse getCourseLeaderboard(Long courseId, Long userId, int limit) {
+        String key = COURSE_KEY_PREFIX + courseId;
+        LeaderboardResponse response = new LeaderboardResponse("COURSE", courseId);
+        List<ZSetOperations.TypedTuple<String>> top = topN(key, limit);
+        for (int i = 0; i < top.size(); i++) {
+            response.getEntries().add(courseEntry(i + 1, top.get(i).getValue(), top.get(i).getScore()));
+        }
+
+        String me = String.valueOf(userId);
+        Long myRank = redisTemplate.opsForZSet().reverseRank(key, me);
+        if (myRank != null) {
+            response.setMe(courseEntry(myRank + 1, me, redisTemplate.opsForZSet().score(key, me)));
+        }
+        response.setParticipants(redisTemplate.opsForZSet().zCard(key));
+        return response;
+    }
+
+    @Scheduled(cron = "${app.leaderboard.rebuild-cron:0 10 4 * * *}")
+    public void scheduledRebuild() {
+        long applied = rebuild(rebuildDays);
+        logger.info("排行榜重建完成，合并最近 {} 天的 {} 条最佳提交", rebuildDays, applied);
+    }
+
+    /**
+     * 将最近若干天每个 (课时, 用户) 的最佳提交合并到排行榜，返回处理的提交数
+     * 合并沿用实时更新的脚本，只会提升分值，不会清除提交分区过期之前的历史成绩
+     */
+    public long rebuild(int days) {
+        Instant since = Instant.now().minus(Duration.ofDays(days));
+        long[] applied = {0};
+        readOnlyTransaction.executeWithoutResult(status -> {
+            List<CodeSubmission> batch = new ArrayList<>(rebuildBatchSize);
+            try (Cursor<CodeSubmission> cursor = leaderboardMapper.streamBestSubmissions(since)) {
+                for (CodeSubmission submission : cursor) {
+                    batch.add(submission);
+                    if (batch.size() >= rebuildBatchSize) {
+                        applied[0] += recordPipelined(batch);
+                        batch.clear();
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            applied[0] += recordPipelined(batch);
+        });
+        return applied[0];
+    }
+
+    /**
+     * 以流水线批量执行更新脚本，先在同一流水线中加载脚本以保证 EVALSHA 可用
+     */
+    private int recordPipelined(List<CodeSubmission> submissions) {
+        if (submissions.isEmpty()) {
+            return 0;
+        }
+        byte[] script = RECORD_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.scriptingCommands().scriptLoad(script);
+            for (CodeSubmission submission : submissions) {
+                evalRecord(connection, submission);
+            }
+            return null;
+        });
+        return submissions.size();
+    }
+
+    private void evalRecord(RedisConnection connection, CodeSubmission submission) {
+        List<String> keys = keys(submission);
+        Object[] args = args(submission);
+        byte[][] keysAndArgs = new byte[keys.size() + args.length][];
+        for (int i = 0; i < keys.size(); i++) {
+            keysAndArgs[i] = keys.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+        for (int i = 0; i < args.length; i++) {
+            keysAndArgs[keys.size() + i] = ((String) args[i]).getBytes(StandardCharsets.UTF_8);
+        }
+        connection.scriptingCommands().evalSha(RECORD_SCRIPT.getSha1(), ReturnType.INTEGER, keys.size(), keysAndArgs);
+    }
+
+    private List<ZSetOperations.TypedTuple<String>> topN(String key, int limit) {
+        Set<ZSetOperations.TypedTuple<String>> top = redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1);
+        return top == null ? List.of() : new ArrayList<>(top);
+    }
+
+    private List<String> keys(CodeSubmission submission) {
+        String lessonKey = LESSON_KEY_PREFIX + submission.getLessonId();
+        return List.of(lessonKey, lessonKey + ENTRIES_SUFFIX, COURSE_KEY_PREFIX + submission.getCourseId());
+    }
+
+    private Object[] args(CodeSubmission submission) {
+        long composite = CompositeScore.lessonScore(submission.getScore(), submission.getExecutionTimeMs(),
+                submission.getSubmissionTime());
+        String detail = submission.getId() + "|" + nullToEmpty(submission.getExecutionTimeMs()) + "|"
+                + nullToEmpty(submission.getMemoryUsageKb()) + "|" + submission.getSubmissionTime();
+        return new Object[]{
+                String.valueOf(submission.getUserId()),
+                String.valueOf(composite),
+                detail,
+                String.valueOf(CompositeScore.scoreHundredths(submission.getScore())),
+                String.valueOf(CompositeScore.invertedMinutes(submission.getSubmissionTime()))
+        };
+    }
+
+    private LeaderboardEntryResponse lessonEntry(long rank, String member, Double composite, String detail) {
+        LeaderboardEntryResponse entry = new LeaderboardEntryResponse(rank, Long.valueOf(member),
+                CompositeScore.fromHundredths(CompositeScore.lessonHundredths(composite)));
+        if (detail != null) {
+            String[] parts = detail.split("\\|", -1);
+            entry.setSubmissionId(parts[0]);
+            entry.setExecutionTimeMs(parts[1].isEmpty() ? null : Integer.valueOf(parts[1]));
+            entry.setMemoryUsageKb(parts[2].isEmpty() ? null : Integer.valueOf(parts[2]));
+            entry.setSubmissionTime(Instant.parse(parts[3]));
+        }
+        return entry;
+    }
+
+    private LeaderboardEntryResponse courseEntry(long rank, String member, Double composite) {
+        return new LeaderboardEntryResponse(rank, Long.valueOf(member),
+                CompositeScore.fromHundredths(CompositeScore.courseHundredths(composite)));
+    }
+
+    private String nullToEmpty(Integer value) {
+        return value == null ? "" : value.toString();
+    }
+}
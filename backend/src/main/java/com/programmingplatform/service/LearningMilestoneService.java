@@ -0,0 +1,61 @@
+package com.programmingplatform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.programmingplatform.entity.OutboxEvent;
+import com.programmingplatform.entity.analytics.LearningMilestone;
+import com.programmingplatform.mapper.secondary.LearningMilestoneMapper;
+import com.programmingplatform.outbox.OutboxConsumer;
+import com.programmingplatform.resilience.DataStore;
+import com.programmingplatform.resilience.StoreGuard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 学习里程碑服务
+ * 消费发件箱中的课时完成、课程完成事件并写入分析库 learning_milestones；
+ * 写入以主键去重，重复投递是安全的。分析库熔断期间立即失败，事件留在发件箱中退避重试
+ */
+@Service
+public class LearningMilestoneService implements OutboxConsumer {
+
+    private final LearningMilestoneMapper learningMilestoneMapper;
+
+    private final StoreGuard storeGuard;
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public LearningMilestoneService(LearningMilestoneMapper learningMilestoneMapper,
+                                    StoreGuard storeGuard,
+                                    ObjectMapper objectMapper) {
+        this.learningMilestoneMapper = learningMilestoneMapper;
+        this.storeGuard = storeGuard;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(String eventType) {
+        return OutboxEvent.LESSON_COMPLETED.equals(eventType) || OutboxEvent.COURSE_COMPLETED.equals(eventType);
+    }
+
+    @Override
+    public void consume(List<OutboxEvent> events) {
+        List<LearningMilestone> milestones = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            milestones.add(parse(event));
+        }
+        storeGuard.run(DataStore.POSTGRES, () -> learningMilestoneMapper.insertIgnoreExisting(milestones));
+    }
+
+    private LearningMilestone parse(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), LearningMilestone.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("发件箱事件 " + event.getId() + " 无法解析: " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.cache.ChangeStreamCache;
+import com.programmingplatform.cache.MongoChangeStreamListener;
+import com.programmingplatform.event.MongoDocumentChangedEvent;
+import com.programmingplatform.exception.BadRequestException;
+import com.programmingplatform.exception.ResourceNotFoundException;
+import com.programmingplatform.render.LessonMarkdownRenderer;
+import com.programmingplatform.storage.BlobCodec;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * 课时内容服务
+ * Markdown 课时在服务端渲染为净化后的 HTML，结果以 rendered 子文档存回 lesson_content，
+ * 按 (version, updatedAt, 渲染规则版本) 判断是否过期，客户端凭 ETag 重复访问时直接返回 304；
+ * 变更流可用时渲染结果同时缓存在进程内，课时内容变更后由变更事件失效
+ */
+@Service
+public class LessonContentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LessonContentService.class);
+
+    private static final String COLLECTION = "lesson_content";
+
+    private final LessonMarkdownRenderer renderer = new LessonMarkdownRenderer();
+
+    private final ChangeStreamCache<Long, RenderedLesson> renderedCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public LessonContentService(@Value("${app.lesson-content.cache-entries:500}") int cacheEntries,
+                                MongoChangeStreamListener changeStreamListener) {
+        this.renderedCache = new ChangeStreamCache<>(cacheEntries, changeStreamListener);
+    }
+
+    /**
+     * 查询当前有效渲染结果的 ETag，只读取版本字段，尚未渲染或已过期时返回 null
+     */
+    public String findCurrentEtag(Long lessonId) {
+        RenderedLesson cached = renderedCache.get(lessonId);
+        if (cached != null) {
+            return cached.etag();
+        }
+        Query query = byLessonId(lessonId);
+        query.fields().include("version", "updatedAt", "rendered.version", "rendered.sourceUpdatedAt",
+                "rendered.rendererVersion", "rendered.etag");
+        Document lesson = mongoTemplate.findOne(query, Document.class, COLLECTION);
+        if (lesson == null) {
+            return null;
+        }
+        Document rendered = lesson.get("rendered", Document.class);
+        return isCurrent(lesson, rendered) ? rendered.getString("etag") : null;
+    }
+
+    /**
+     * 获取渲染后的课时内容，过期时重新渲染并存回文档
+     */
+    public RenderedLesson getRendered(Long lessonId) {
+        RenderedLesson cached = renderedCache.get(lessonId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = renderedCache.generation();
+        RenderedLesson rendered = loadRendered(lessonId);
+        renderedCache.put(lessonId, rendered, generation);
+        return rendered;
+    }
+
+    /**
+     * 课时内容变更时失效渲染缓存，只写回 rendered 子文档的更新不影响渲染结果
+     */
+    @EventListener
+    public void onLessonContentChanged(MongoDocumentChangedEvent event) {
+        if (event.isResetOf(COLLECTION)) {
+            renderedCache.clear();
+            return;
+        }
+        if (!COLLECTION.equals(event.getCollection()) || event.onlyUpdates("rendered")) {
+            return;
+        }
+        Document lesson = event.getFullDocument();
+        Number lessonId = lesson == null ? null : lesson.get("lessonId", Number.class);
+        if (lessonId != null) {
+            renderedCache.invalidate(lessonId.longValue());
+        } else {
+            // 删除事件只带 _id，无法定位课时
+            renderedCache.clear();
+        }
+    }
+
+    private RenderedLesson loadRendered(Long lessonId) {
+        Query query = byLessonId(lessonId);
+        query.fields().include("contentType", "content.markdown", "version", "updatedAt", "rendered");
+        Document lesson = mongoTemplate.findOne(query, Document.class, COLLECTION);
+        if (lesson == null) {
+            throw new ResourceNotFoundException("课时内容不存在: " + lessonId);
+        }
+        if (!"markdown".equals(lesson.getString("contentType"))) {
+            throw new BadRequestException("该课时内容不是 Markdown 格式");
+        }
+
+        int version = versionOf(lesson);
+        Document rendered = lesson.get("rendered", Document.class);
+        if (isCurrent(lesson, rendered)) {
+            return new RenderedLesson(lessonId, version, rendered.getString("etag"), rendered.getString("html"));
+        }
+
+        Document content = lesson.get("content", Document.class);
+        String html = renderer.render(content == null ? null : content.getString("markdown"));
+        String etag = BlobCodec.hex(BlobCodec.sha256(html.getBytes(StandardCharsets.UTF_8))).substring(0, 32);
+        Document result = new Document("version", version)
+                .append("sourceUpdatedAt", lesson.getDate("updatedAt"))
+                .append("rendererVersion", LessonMarkdownRenderer.RENDERER_VERSION)
+                .append("etag", etag)
+                .append("html", html)
+                .append("renderedAt", new Date());
+
+        // 只在源内容未被并发修改时写回，否则留给下次访问重新渲染
+        Criteria unchanged = Criteria.where("lessonId").is(lessonId)
+                .and("updatedAt").is(lesson.getDate("updatedAt"));
+        unchanged = lesson.containsKey("version") ? unchanged.and("version").is(version)
+                : unchanged.and("version").exists(false);
+        if (mongoTemplate.updateFirst(Query.query(unchanged), Update.update("rendered", result), COLLECTION)
+                .getMatchedCount() == 0) {
+            logger.info("课时 {} 内容在渲染期间被修改，本次渲染结果不写回", lessonId);
+        }
+        return new RenderedLesson(lessonId, version, etag, html);
+    }
+
+    private boolean isCurrent(Document lesson, Document rendered) {
+        return rendered != null
+                && Objects.equals(rendered.getInteger("version"), versionOf(lesson))
+                && Objects.equals(rendered.getDate("sourceUpdatedAt"), lesson.getDate("updatedAt"))
+                && Objects.equals(rendered.getInteger("rendererVersion"), LessonMarkdownRenderer.RENDERER_VERSION);
+    }
+
+    private int versionOf(Document lesson) {
+        Integer version = lesson.getInteger("version");
+        return version == null ? 1 : version;
+    }
+
+    private Query byLessonId(Long lessonId) {
+        return Query.query(Criteria.where("lessonId").is(lessonId));
+    }
+
+    /**
+     * 渲染结果
+     */
+    public record RenderedLesson(Long lessonId, int version, String etag, String html) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.dto.response.ExerciseResponse;
+import com.programmingplatform.dto.response.LessonPageResponse;
+import com.programmingplatform.dto.response.NoteResponse;
+import com.programmingplatform.exception.BadRequestException;
+import com.programmingplatform.exception.ResourceNotFoundException;
+import com.programmingplatform.mapper.primary.CourseAccessMapper;
+import com.programmingplatform.resilience.DataStore;
+import com.programmingplatform.resilience.StoreGuard;
+import com.programmingplatform.security.UserPrincipal;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 课时页面服务
+ * 课时内容、练习题和笔记分别在独立线程池上并发查询，页面耗时取决于最慢的一次查询而不是三者之和；
+ * 线程池满时退回在调用线程上执行；启用虚拟线程时每个查询使用一个虚拟线程，并发上限由 MongoDB 连接池决定
+ */
+@Service
+public class LessonPageService {
+
+    private final LessonContentService lessonContentService;
+
+    private final ExerciseService exerciseService;
+
+    private final NoteService noteService;
+
+    private final StoreGuard storeGuard;
+
+    private final CourseAccessService courseAccessService;
+
+    private final Executor executor;
+
+    @Value("${app.lesson-page.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Autowired
+    public LessonPageService(LessonContentService lessonContentService,
+                             ExerciseService exerciseService,
+                             NoteService noteService,
+                             StoreGuard storeGuard,
+                             CourseAccessService courseAccessService,
+                             Environment environment,
+                             @Value("${app.lesson-page.workers:32}") int workers,
+                             @Value("${app.lesson-page.queue-capacity:256}") int queueCapacity) {
+        this.lessonContentService = lessonContentService;
+        this.exerciseService = exerciseService;
+        this.noteService = noteService;
+        this.storeGuard = storeGuard;
+        this.courseAccessService = courseAccessService;
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("lesson-page-");
+            virtualExecutor.setVirtualThreads(true);
+            this.executor = virtualExecutor;
+            return;
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "lesson-page-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 并发加载课时页面，任一查询失败时整体失败
+     * 课时所属课程对当前用户不可见时在发起查询前直接拒绝
+     */
+    public CompletableFuture<LessonPageResponse> loadPage(UserPrincipal user, Long lessonId) {
+        CourseAccessMapper.LessonRef lesson = courseAccessService.findLesson(lessonId);
+        if (lesson == null) {
+            throw new ResourceNotFoundException("课时不存在: " + lessonId);
+        }
+        courseAccessService.requireCourseVisible(user, lesson.getCourseId());
+
+        Long userId = user.getId();
+        CompletableFuture<LessonContentService.RenderedLesson> content =
+                CompletableFuture.supplyAsync(() -> storeGuard.call(DataStore.MONGO, () -> renderedOrNull(lessonId)), executor);
+        CompletableFuture<List<ExerciseResponse>> exercises =
+                CompletableFuture.supplyAsync(() -> storeGuard.call(DataStore.MONGO,
+                        () -> exerciseService.listExercisesForLesson(lessonId)), executor);
+        CompletableFuture<List<NoteResponse>> notes =
+                CompletableFuture.supplyAsync(() -> storeGuard.call(DataStore.MONGO,
+                        () -> noteService.listNotesForLesson(userId, lessonId)), executor);
+
+        return CompletableFuture.allOf(content, exercises, notes)
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .thenApply(ignored -> {
+                    LessonPageResponse page = new LessonPageResponse();
+                    page.setLessonId(lessonId);
+                    LessonContentService.RenderedLesson rendered = content.join();
+                    if (rendered != null) {
+                        page.setContentVersion(rendered.version());
+                        page.setContentEtag(rendered.etag());
+                        page.setHtml(rendered.html());
+                    }
+                    page.setExercises(exercises.join());
+                    page.setNotes(notes.join());
+                    return page;
+                });
+    }
+
+    // 视频等非 Markdown 课时没有渲染内容，页面其余部分照常返回
+    private LessonContentService.RenderedLesson renderedOrNull(Long lessonId) {
+        try {
+            return lessonContentService.getRendered(lessonId);
+        } catch (BadRequestException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.mapper.secondary.SystemMetricsMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 系统性能指标降采样服务
+ * 每日将最近已结束日期的分钟级明细汇总为小时桶，明细日分区到期后整体删除，小时数据保留更久
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.metrics.postgres", name = "enabled", havingValue = "true")
+public class MetricsDownsamplingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsDownsamplingService.class);
+
+    @Autowired
+    private SystemMetricsMapper systemMetricsMapper;
+
+    @Value("${app.metrics.postgres.downsample-days:2}")
+    private int downsampleDays;
+
+    @Scheduled(cron = "${app.metrics.postgres.downsample-cron:0 30 2 * * *}")
+    public void downsample() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (int i = Math.max(downsampleDays, 1); i >= 1; i--) {
+            OffsetDateTime from = today.minusDays(i).atStartOfDay().atOffset(ZoneOffset.UTC);
+            try {
+                int rows = systemMetricsMapper.downsampleHourly(from, from.plusDays(1));
+                logger.info("系统性能指标 {} 降采样完成，写入 {} 个小时桶", from.toLocalDate(), rows);
+            } catch (RuntimeException ex) {
+                logger.error("系统性能指标 {} 降采样失败", from.toLocalDate(), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.dto.request.NoteCreateRequest;
+import com.programmingplatform.dto.request.NoteDeltaRequest;
+import com.programmingplatform.dto.response.NoteResponse;
+import com.programmingplatform.dto.response.NoteSyncResponse;
+import com.programmingplatform.exception.BadRequestException;
+import com.programmingplatform.exception.ConflictException;
+import com.programmingplatform.exception.ResourceNotFoundException;
+import com.programmingplatform.note.TextDelta;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 笔记服务
+ * 自动保存以文本增量提交：增量按版本号追加到文档内的 pendingOps 日志，不重写正文；
+ * 日志累积到一定条数或体积、或笔记停止编辑一段时间后，合并进 content 并清空日志。
+ * 读取时在正文上依次应用未合并的增量
+ */
+@Service
+public class NoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteService.class);
+
+    private static final String COLLECTION = "user_notes";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.notes.max-length:1000000}")
+    private int maxLength;
+
+    @Value("${app.notes.compact-ops:50}")
+    private int compactOps;
+
+    @Value("${app.notes.compact-bytes:65536}")
+    private int compactBytes;
+
+    @Value("${app.notes.compact-idle-ms:30000}")
+    private long compactIdleMs;
+
+    @Value("${app.notes.compact-batch-size:200}")
+    private int compactBatchSize;
+
+    public NoteResponse create(Long userId, NoteCreateRequest request) {
+        if (request.getContent().length() > maxLength) {
+            throw new BadRequestException("笔记内容不能超过 " + maxLength + " 个字符");
+        }
+        Date now = new Date();
+        Document note = new Document("userId", userId)
+                .append("noteType", request.getNoteType())
+                .append("content", request.getContent())
+                .append("length", request.getContent().length())
+                .append("version", 0L)
+                .append("pendingCount", 0)
+                .append("pendingBytes", 0)
+                .append("tags", request.getTags())
+                .append("createdAt", now)
+                .append("updatedAt", now);
+        if (request.getCourseId() != null) {
+            note.append("courseId", request.getCourseId());
+        }
+        if (request.getLessonId() != null) {
+            note.append("lessonId", request.getLessonId());
+        }
+        if (request.getTitle() != null) {
+            note.append("title", request.getTitle());
+        }
+        mongoTemplate.insert(note, COLLECTION);
+        return toResponse(note, request.getContent());
+    }
+
+    /**
+     * 查询笔记，返回合并了未压缩增量的完整内容
+     */
+    public NoteResponse getNote(Long userId, String noteId) {
+        Query query = ownedBy(userId, noteId);
+        query.fields().exclude("pendingCount", "pendingBytes", "pendingSince", "compactError");
+        Document note = mongoTemplate.findOne(query, Document.class, COLLECTION);
+        if (note == null) {
+            throw new ResourceNotFoundException("笔记不存在: " + noteId);
+        }
+        return toResponse(note, materialize(note));
+    }
+
+    /**
+     * 查询用户在某个课时下的全部笔记，按创建时间排序
+     */
+    public List<NoteResponse> listNotesForLesson(Long userId, Long lessonId) {
+        Query query = Query.query(Criteria.where("userId").is(userId).and("lessonId").is(lessonId))
+                .with(Sort.by("createdAt"));
+        query.fields().exclude("pendingCount", "pendingBytes", "pendingSince", "compactError");
+        List<NoteResponse> notes = new ArrayList<>();
+        for (Document note : mongoTemplate.find(query, Document.class, COLLECTION)) {
+            notes.add(toResponse(note, materialize(note)));
+        }
+        return notes;
+    }
+
+    /**
+     * 应用一次增量
+     * 版本号和当前长度作为更新条件，单次往返完成校验和追加；基准版本落后时返回冲突，由客户端重新拉取后再提交
+     */
+    public NoteSyncResponse applyDelta(Long userId, String noteId, NoteDeltaRequest request) {
+        TextDelta delta;
+        try {
+            List<TextDelta.Op> ops = new ArrayList<>(request.getOps().size());
+            for (NoteDeltaRequest.DeltaOp op : request.getOps()) {
+                if ((op.getRetain() != null && op.getRetain() > maxLength)
+                        || (op.getDelete() != null && op.getDelete() > maxLength)) {
+                    throw new BadRequestException("retain 和 delete 不能超过笔记最大长度 " + maxLength);
+                }
+                ops.add(new TextDelta.Op(op.getRetain() == null ? 0 : op.getRetain(), op.getInsert(),
+                        op.getDelete() == null ? 0 : op.getDelete()));
+            }
+            delta = TextDelta.of(ops);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException(ex.getMessage());
+        }
+
+        if (delta.consumedLength() > maxLength) {
+            throw new BadRequestException("增量覆盖的范围超出笔记最大长度 " + maxLength);
+        }
+
+        long version = request.getBaseVersion();
+        if (delta.isEmpty()) {
+            return currentState(userId, noteId);
+        }
+
+        Document updated = appendDelta(userId, noteId, version, delta);
+        if (updated == null && version == 0 && initializeSyncFields(userId, noteId)) {
+            updated = appendDelta(userId, noteId, version, delta);
+        }
+        if (updated == null) {
+            throw rejection(userId, noteId, version, delta);
+        }
+
+        if (updated.getInteger("pendingCount", 0) >= compactOps
+                || updated.getInteger("pendingBytes", 0) >= compactBytes) {
+            compact(updated.getObjectId("_id"));
+        }
+        return new NoteSyncResponse(noteId, updated.getLong("version"), updated.getInteger("length"));
+    }
+
+    private Document appendDelta(Long userId, String noteId, long version, TextDelta delta) {
+        Criteria criteria = Criteria.where("_id").is(toObjectId(noteId))
+                .and("userId").is(userId)
+                .and("version").is(version)
+                .and("length").gte(delta.consumedLength());
+        if (delta.lengthChange() > 0) {
+            criteria = criteria.lte(maxLength - delta.lengthChange());
+        }
+        // 增量日志体积按插入文本长度加每个操作的固定开销估算
+        int entryBytes = delta.insertedLength() * 3 + delta.toDocuments().size() * 8;
+        Update update = new Update()
+                .push("pendingOps", new Document("v", version + 1).append("ops", delta.toDocuments()))
+                .inc("version", 1)
+                // consumedLength 已限制在 maxLength 内，长度变化量不会超出 int 范围
+                .inc("length", (int) delta.lengthChange())
+                .inc("pendingCount", 1)
+                .inc("pendingBytes", entryBytes)
+                .min("pendingSince", new Date())
+                .set("updatedAt", new Date());
+        Query query = Query.query(criteria);
+        query.fields().include("version", "length", "pendingCount", "pendingBytes");
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true),
+                Document.class, COLLECTION);
+    }
+
+    /**
+     * 为增量同步上线前创建的笔记补充 version 和 length 字段，返回是否有文档被初始化
+     */
+    private boolean initializeSyncFields(Long userId, String noteId) {
+        Query query = ownedBy(userId, noteId).addCriteria(Criteria.where("version").exists(false));
+        query.fields().include("content");
+        Document note = mongoTemplate.findOne(query, Document.class, COLLECTION);
+        if (note == null) {
+            return false;
+        }
+        String content = note.getString("content") == null ? "" : note.getString("content");
+        Update update = new Update()
+                .set("content", content)
+                .set("length", content.length())
+                .set("version", 0L)
+                .set("pendingCount", 0)
+                .set("pendingBytes", 0);
+        return mongoTemplate.updateFirst(query, update, COLLECTION).getModifiedCount() > 0;
+    }
+
+    /**
+     * 合并停止编辑一段时间的笔记的增量日志
+     */
+    @Scheduled(fixedDelayString = "${app.notes.compact-interval-ms:10000}")
+    public void compactIdleNotes() {
+        Query query = Query.query(Criteria.where("pendingSince").lt(new Date(System.currentTimeMillis() - compactIdleMs)))
+                .with(Sort.by("pendingSince"))
+                .limit(compactBatchSize);
+        query.fields().include("_id");
+        int compacted = 0;
+        for (Document note : mongoTemplate.find(query, Document.class, COLLECTION)) {
+            if (compact(note.getObjectId("_id"))) {
+                compacted++;
+            }
+        }
+        if (compacted > 0) {
+            logger.debug("合并了 {} 篇笔记的增量日志", compacted);
+        }
+    }
+
+    /**
+     * 将增量日志合并进正文；合并期间又有新增量写入时放弃，由下一次合并处理
+     * 单篇笔记合并失败只记录日志，不影响同一轮中的其他笔记，也不会让触发合并的同步请求失败
+     */
+    private boolean compact(ObjectId id) {
+        try {
+            return compactNote(id);
+        } catch (DataAccessException ex) {
+            logger.warn("笔记 {} 增量日志合并失败，稍后重试: {}", id, ex.getMessage());
+            return false;
+        } catch (RuntimeException ex) {
+            logger.error("笔记 {} 增量日志无法应用，保留原状并跳过合并: {}", id, ex.toString());
+            markCompactFailed(id, ex);
+            return false;
+        }
+    }
+
+    private boolean compactNote(ObjectId id) {
+        Query read = Query.query(Criteria.where("_id").is(id));
+        read.fields().include("content", "pendingOps", "version");
+        Document note = mongoTemplate.findOne(read, Document.class, COLLECTION);
+        if (note == null || note.getList("pendingOps", Document.class, List.of()).isEmpty()) {
+            return false;
+        }
+
+        String content = materialize(note);
+        Query guard = Query.query(Criteria.where("_id").is(id).and("version").is(note.getLong("version")));
+        // 刷新 updatedAt，按更新时间增量同步的检索索引才能读到合并后的正文
+        Update update = new Update()
+                .set("content", content)
+                .set("length", content.length())
+                .set("pendingCount", 0)
+                .set("pendingBytes", 0)
+                .set("updatedAt", new Date())
+                .unset("pendingOps")
+                .unset("pendingSince")
+                .unset("compactError");
+        return mongoTemplate.updateFirst(guard, update, COLLECTION).getModifiedCount() > 0;
+    }
+
+    /**
+     * 移出空闲合并队列并记录原因，之后的定时合并不再反复处理该笔记；笔记再次编辑时重新入队
+     */
+    private void markCompactFailed(ObjectId id, RuntimeException cause) {
+        try {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)),
+                    new Update().unset("pendingSince").set("compactError", cause.toString()), COLLECTION);
+        } catch (DataAccessException ex) {
+            logger.warn("笔记 {} 合并失败标记写入失败: {}", id, ex.getMessage());
+        }
+    }
+
+    private String materialize(Document note) {
+        String content = note.getString("content");
+        for (Document entry : note.getList("pendingOps", Document.class, List.of())) {
+            content = TextDelta.fromDocuments(entry.getList("ops", Document.class)).apply(content);
+        }
+        return content;
+    }
+
+    /**
+     * 条件更新未命中时判断原因：笔记不存在、版本冲突或增量与当前内容不匹配
+     */
+    private RuntimeException rejection(Long userId, String noteId, long baseVersion, TextDelta delta) {
+        NoteSyncResponse current = currentState(userId, noteId);
+        if (current.getVersion() != baseVersion) {
+            return new ConflictException("笔记已被修改，当前版本为 " + current.getVersion());
+        }
+        if (delta.consumedLength() > current.getLength()) {
+            return new BadRequestException("增量覆盖的范围超出笔记长度 " + current.getLength());
+        }
+        return new BadRequestException("笔记内容不能超过 " + maxLength + " 个字符");
+    }
+
+    private NoteSyncResponse currentState(Long userId, String noteId) {
+        Query query = ownedBy(userId, noteId);
+        query.fields().include("version", "length");
+        Document note = mongoTemplate.findOne(query, Document.class, COLLECTION);
+        if (note == null) {
+            throw new ResourceNotFoundException("笔记不存在: " + noteId);
+        }
+        return new NoteSyncResponse(noteId, versionOf(note), note.getInteger("length"));
+    }
+
+    private NoteResponse toResponse(Document note, String content) {
+        NoteResponse response = new NoteResponse();
+        response.setId(note.getObjectId("_id").toHexString());
+        response.setCourseId(longValue(note, "courseId"));
+        response.setLessonId(longValue(note, "lessonId"));
+        response.setNoteType(note.getString("noteType"));
+        response.setTitle(note.getString("title"));
+        response.setContent(content);
+        response.setTags(note.getList("tags", String.class));
+        response.setVersion(versionOf(note));
+        response.setCreatedAt(note.getDate("createdAt") == null ? null : note.getDate("createdAt").toInstant());
+        response.setUpdatedAt(note.getDate("updatedAt") == null ? null : note.getDate("updatedAt").toInstant());
+        return response;
+    }
+
+    // 增量同步上线前创建的笔记没有 version 字段，视为版本 0
+    private static long versionOf(Document note) {
+        Long version = longValue(note, "version");
+        return version == null ? 0 : version;
+    }
+
+    private static Long longValue(Document document, String field) {
+        Number value = document.get(field, Number.class);
+        return value == null ? null : value.longValue();
+    }
+
+    private static Query ownedBy(Long userId, String noteId) {
+        return Query.query(Criteria.where("_id").is(toObjectId(noteId)).and("userId").is(userId));
+    }
+
+    private static ObjectId toObjectId(String noteId) {
+        if (!ObjectId.isValid(noteId)) {
+            throw new ResourceNotFoundException("笔记不存在: " + noteId);
+        }
+        return new ObjectId(noteId);
+    }
+}
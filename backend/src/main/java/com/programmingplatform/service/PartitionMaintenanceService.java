@@ -0,0 +1,141 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.config.PartitionProperties;
+import com.programmingplatform.mapper.secondary.PartitionMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PostgreSQL 时间分区维护服务
+ * 按配置为分区表预建未来分区，并整体删除超过保留期的分区
+ * 分区命名为 表名_yYYYYmMM（月分区）或 表名_yYYYYmMMdDD（周/日分区，日期为分区起始日）
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    private static final Pattern IDENTIFIER = Pattern.compile("^[a-z_][a-z0-9_]{0,62}$");
+
+    @Autowired
+    private PartitionProperties partitionProperties;
+
+    @Autowired
+    private PartitionMapper partitionMapper;
+
+    /**
+     * 启动完成后立即执行一次，保证当前周期的分区存在
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintainPartitions();
+    }
+
+    /**
+     * 每日定时维护
+     */
+    @Scheduled(cron = "${app.partitioning.cron:0 15 2 * * *}")
+    public void maintainPartitions() {
+        if (!partitionProperties.isEnabled()) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (PartitionProperties.ManagedTable table : partitionProperties.getTables()) {
+            try {
+                maintainTable(table, today);
+            } catch (RuntimeException ex) {
+                logger.error("分区表 {} 维护失败", table.getName(), ex);
+            }
+        }
+    }
+
+    private void maintainTable(PartitionProperties.ManagedTable table, LocalDate today) {
+        String parent = requireIdentifier(table.getName());
+        Set<String> existing = new HashSet<>(partitionMapper.findPartitionNames(parent));
+
+        // 预建当前周期及之后 premake 个周期的分区
+        LocalDate start = floor(table.getInterval(), today);
+        for (int i = 0; i <= partitionProperties.getPremake(); i++) {
+            LocalDate end = next(table.getInterval(), start);
+            String partition = requireIdentifier(partitionName(parent, table.getInterval(), start));
+            if (!existing.contains(partition)) {
+                partitionMapper.createPartition(parent, partition, start.toString(), end.toString());
+                logger.info("已创建分区 {} [{}, {})", partition, start, end);
+            }
+            start = end;
+        }
+
+        // 整体删除上界早于保留期的分区
+        if (table.getRetentionDays() <= 0) {
+            return;
+        }
+        LocalDate cutoff = today.minusDays(table.getRetentionDays());
+        Pattern namePattern = Pattern.compile("^" + Pattern.quote(parent) + "_y(\\d{4})m(\\d{2})(?:d(\\d{2}))?$");
+        for (String partition : existing) {
+            Matcher matcher = namePattern.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            LocalDate upperBound = upperBound(table.getInterval(), matcher);
+            if (!upperBound.isAfter(cutoff)) {
+                partitionMapper.dropPartition(requireIdentifier(partition));
+                logger.info("已删除过期分区 {}（上界 {}，保留期 {} 天）", partition, upperBound, table.getRetentionDays());
+            }
+        }
+    }
+
+    private LocalDate upperBound(PartitionProperties.Interval interval, Matcher matcher) {
+        int year = Integer.parseInt(matcher.group(1));
+        int month = Integer.parseInt(matcher.group(2));
+        if (matcher.group(3) == null) {
+            return LocalDate.of(year, month, 1).plusMonths(1);
+        }
+        LocalDate start = LocalDate.of(year, month, Integer.parseInt(matcher.group(3)));
+        return interval == PartitionProperties.Interval.DAILY ? start.plusDays(1) : start.plusWeeks(1);
+    }
+
+    private LocalDate floor(PartitionProperties.Interval interval, LocalDate date) {
+        return switch (interval) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> date.withDayOfMonth(1);
+        };
+    }
+
+    private LocalDate next(PartitionProperties.Interval interval, LocalDate start) {
+        return switch (interval) {
+            case DAILY -> start.plusDays(1);
+            case WEEKLY -> start.plusWeeks(1);
+            case MONTHLY -> start.plusMonths(1);
+        };
+    }
+
+    private String partitionName(String parent, PartitionProperties.Interval interval, LocalDate start) {
+        if (interval == PartitionProperties.Interval.MONTHLY) {
+            return String.format("%s_y%04dm%02d", parent, start.getYear(), start.getMonthValue());
+        }
+        return String.format("%s_y%04dm%02dd%02d", parent, start.getYear(), start.getMonthValue(), start.getDayOfMonth());
+    }
+
+    private String requireIdentifier(String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("非法的分区表名: " + name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,255 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.dto.request.ProgressHeartbeatRequest;
+import com.programmingplatform.entity.OutboxEvent;
+import com.programmingplatform.entity.UserProgress;
+import com.programmingplatform.entity.analytics.LearningMilestone;
+import com.programmingplatform.mapper.primary.UserProgressMapper;
+import com.programmingplatform.outbox.OutboxPublisher;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 学习进度批量写入服务
+ * 心跳先按 (用户, 课时) 在内存中合并，再定时以多行 upsert 批量落库；
+ * 首次完成的课时和课程在同一事务中写入发件箱，由 {@link com.programmingplatform.outbox.OutboxRelay} 投递到分析库。
+ * 写入失败的记录放回缓冲区重试，连续失败达到上限后改为逐条写入，其他记录能写入而单条仍失败时丢弃该条
+ */
+@Service
+public class ProgressIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressIngestionService.class);
+
+    private final ConcurrentHashMap<ProgressKey, UserProgress> pending = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<ProgressKey, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    private final UserProgressMapper userProgressMapper;
+
+    private final CourseAccessService courseAccessService;
+
+    private final OutboxPublisher outboxPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.progress.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.progress.max-attempts:5}")
+    private int maxAttempts;
+
+    @Autowired
+    public ProgressIngestionService(UserProgressMapper userProgressMapper,
+                                    CourseAccessService courseAccessService,
+                                    OutboxPublisher outboxPublisher,
+                                    @Qualifier("primaryTransactionManager") PlatformTransactionManager transactionManager) {
+        this.userProgressMapper = userProgressMapper;
+        this.courseAccessService = courseAccessService;
+        this.outboxPublisher = outboxPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 接收一批心跳并合并到待写入缓冲区，课时不属于所报课程时整批拒绝
+     */
+    public int ingest(Long userId, List<ProgressHeartbeatRequest.Heartbeat> heartbeats) {
+        for (ProgressHeartbeatRequest.Heartbeat heartbeat : heartbeats) {
+            courseAccessService.requireLessonInCourse(heartbeat.getCourseId(), heartbeat.getLessonId());
+        }
+        for (ProgressHeartbeatRequest.Heartbeat heartbeat : heartbeats) {
+            pending.compute(new ProgressKey(userId, heartbeat.getLessonId()),
+                    (key, current) -> merge(current, userId, heartbeat));
+        }
+        return heartbeats.size();
+    }
+
+    /**
+     * 定时将合并后的进度批量写入数据库
+     */
+    @Scheduled(fixedDelayString = "${app.progress.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // 逐个移除保证与并发的 compute 互斥，不会丢失正在合并的心跳
+        List<UserProgress> drained = new ArrayList<>(pending.size());
+        List<UserProgress> suspects = new ArrayList<>();
+        for (ProgressKey key : pending.keySet()) {
+            UserProgress progress = pending.remove(key);
+            if (progress != null) {
+                (failedAttempts.getOrDefault(key, 0) >= maxAttempts ? suspects : drained).add(progress);
+            }
+        }
+
+        boolean written = false;
+        for (int from = 0; from < drained.size(); from += batchSize) {
+            List<UserProgress> batch = drained.subList(from, Math.min(from + batchSize, drained.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeBatch(batch));
+                clearAttempts(batch);
+                written = true;
+            } catch (RuntimeException ex) {
+                logger.error("学习进度批量写入失败，{} 条记录将在下次重试", batch.size(), ex);
+                requeue(batch);
+            }
+        }
+        if (!suspects.isEmpty()) {
+            isolate(suspects, written);
+        }
+    }
+
+    /**
+     * 逐条写入多次失败的记录，找出无法写入的数据
+     * 本轮有其他记录写入成功时，单条仍失败说明是数据本身的问题，丢弃该条；全部失败时按数据库故障处理，继续保留
+     */
+    private void isolate(List<UserProgress> suspects, boolean written) {
+        List<UserProgress> failed = new ArrayList<>();
+        for (UserProgress progress : suspects) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeBatch(List.of(progress)));
+                clearAttempts(List.of(progress));
+                written = true;
+            } catch (RuntimeException ex) {
+                logger.warn("学习进度单条写入失败: 用户 {} 课时 {}: {}",
+                        progress.getUserId(), progress.getLessonId(), ex.getMessage());
+                failed.add(progress);
+            }
+        }
+        if (!written) {
+            requeue(failed);
+            return;
+        }
+        for (UserProgress progress : failed) {
+            failedAttempts.remove(new ProgressKey(progress.getUserId(), progress.getLessonId()));
+            logger.error("学习进度无法写入，已丢弃: 用户 {} 课程 {} 课时 {} 时长 {} 尝试 {} 完成 {}",
+                    progress.getUserId(), progress.getCourseId(), progress.getLessonId(),
+                    progress.getTimeSpentMinutes(), progress.getAttemptsCount(), progress.getIsCompleted());
+        }
+    }
+
+    /**
+     * 应用关闭前写出剩余进度
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void writeBatch(List<UserProgress> batch) {
+        List<UserProgress> completed = batch.stream()
+                .filter(UserProgress::getIsCompleted)
+                .toList();
+        if (completed.isEmpty()) {
+            userProgressMapper.batchUpsert(batch);
+            return;
+        }
+
+        // 写入前已完成的课时和课程不再产生里程碑，客户端重复上报完成状态时不会重复发事件
+        Set<ProgressKey> lessonsBefore = new HashSet<>();
+        for (UserProgressMapper.CompletionRow row : userProgressMapper.findCompletedLessons(completed)) {
+            lessonsBefore.add(new ProgressKey(row.getUserId(), row.getTargetId()));
+        }
+        Set<CourseKey> coursesBefore = completedCourses(completed);
+
+        userProgressMapper.batchUpsert(batch);
+        userProgressMapper.refreshCourseProgress(completed);
+
+        List<LearningMilestone> lessonMilestones = new ArrayList<>();
+        for (UserProgress progress : completed) {
+            if (!lessonsBefore.contains(new ProgressKey(progress.getUserId(), progress.getLessonId()))) {
+                lessonMilestones.add(new LearningMilestone(progress.getUserId(), OutboxEvent.LESSON_COMPLETED,
+                        progress.getLessonId(), progress.getCourseId(),
+                        progress.getCompletionDate().atZone(ZoneId.systemDefault()).toInstant()));
+            }
+        }
+        List<LearningMilestone> courseMilestones = new ArrayList<>();
+        Instant now = Instant.now();
+        for (CourseKey course : completedCourses(completed)) {
+            if (!coursesBefore.contains(course)) {
+                courseMilestones.add(new LearningMilestone(course.userId(), OutboxEvent.COURSE_COMPLETED,
+                        course.courseId(), course.courseId(), now));
+            }
+        }
+        outboxPublisher.publish(OutboxEvent.LESSON_COMPLETED, lessonMilestones, m -> String.valueOf(m.getUserId()));
+        outboxPublisher.publish(OutboxEvent.COURSE_COMPLETED, courseMilestones, m -> String.valueOf(m.getUserId()));
+    }
+
+    private Set<CourseKey> completedCourses(List<UserProgress> completed) {
+        Set<CourseKey> courses = new HashSet<>();
+        for (UserProgressMapper.CompletionRow row : userProgressMapper.findCompletedCourses(completed)) {
+            courses.add(new CourseKey(row.getUserId(), row.getTargetId()));
+        }
+        return courses;
+    }
+
+    private void requeue(List<UserProgress> batch) {
+        for (UserProgress failed : batch) {
+            ProgressKey key = new ProgressKey(failed.getUserId(), failed.getLessonId());
+            failedAttempts.merge(key, 1, Integer::sum);
+            pending.merge(key, failed, (newer, older) -> combine(older, newer));
+        }
+    }
+
+    private void clearAttempts(List<UserProgress> batch) {
+        if (failedAttempts.isEmpty()) {
+            return;
+        }
+        for (UserProgress progress : batch) {
+            failedAttempts.remove(new ProgressKey(progress.getUserId(), progress.getLessonId()));
+        }
+    }
+
+    private UserProgress merge(UserProgress current, Long userId, ProgressHeartbeatRequest.Heartbeat heartbeat) {
+        UserProgress delta = new UserProgress(userId, heartbeat.getLessonId(), heartbeat.getCourseId());
+        delta.setTimeSpentMinutes(Objects.requireNonNullElse(heartbeat.getTimeSpentMinutes(), 0));
+        delta.setAttemptsCount(Objects.requireNonNullElse(heartbeat.getAttempts(), 0));
+        delta.setLastPosition(heartbeat.getLastPosition());
+        delta.setIsCompleted(Boolean.TRUE.equals(heartbeat.getCompleted()));
+        delta.setCompletionDate(delta.getIsCompleted() ? LocalDateTime.now() : null);
+        return current == null ? delta : combine(current, delta);
+    }
+
+    /**
+     * 合并两个进度增量，older 在前 newer 在后
+     */
+    private UserProgress combine(UserProgress older, UserProgress newer) {
+        older.setTimeSpentMinutes(older.getTimeSpentMinutes() + newer.getTimeSpentMinutes());
+        older.setAttemptsCount(older.getAttemptsCount() + newer.getAttemptsCount());
+        if (newer.getLastPosition() != null) {
+            older.setLastPosition(newer.getLastPosition());
+        }
+        if (newer.getIsCompleted() && !older.getIsCompleted()) {
+            older.setIsCompleted(true);
+            older.setCompletionDate(newer.getCompletionDate());
+        }
+        return older;
+    }
+
+    /**
+     * 合并缓冲区键 (用户, 课时)
+     */
+    private record ProgressKey(Long userId, Long lessonId) {
+    }
+
+    private record CourseKey(Long userId, Long courseId) {
+    }
+}
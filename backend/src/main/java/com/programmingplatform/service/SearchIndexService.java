@@ -0,0 +1,445 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.dto.response.SearchResponse;
+import com.programmingplatform.event.MongoDocumentChangedEvent;
+import com.programmingplatform.mapper.primary.SearchSourceMapper;
+import com.programmingplatform.search.SearchDocument;
+import com.programmingplatform.search.SearchHit;
+import com.programmingplatform.search.SearchIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 全文检索服务
+ * 课程、课时（含 Markdown 正文）、练习题、代码模板和个人笔记写入同一个进程内 Lucene 索引，
+ * 查询只访问本地索引；MongoDB 变更经变更流事件实时写入，另按 updatedAt 水位定期增量同步兜底
+ * （覆盖 MySQL 课程数据和变更流不可用的情况），水位随索引一起提交，重启后从水位继续。
+ * 同步在独立线程上调度，首次全量重建耗时较长，不占用共享的定时任务线程
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    public static final String TYPE_COURSE = "course";
+    public static final String TYPE_LESSON = "lesson";
+    public static final String TYPE_EXERCISE = "exercise";
+    public static final String TYPE_TEMPLATE = "template";
+    public static final String TYPE_NOTE = "note";
+
+    // 索引字段或文档构造方式变化时递增，启动时发现版本不一致会清空索引全量重建
+    private static final String SCHEMA_VERSION = "2";
+
+    private static final String COMMIT_SCHEMA_VERSION = "schemaVersion";
+    private static final String COMMIT_WATERMARK = "watermark";
+
+    private static final int LESSON_BATCH_SIZE = 500;
+
+    private static final Map<String, String> COLLECTION_TYPES = Map.of(
+            "exercises", TYPE_EXERCISE,
+            "code_templates", TYPE_TEMPLATE,
+            "user_notes", TYPE_NOTE);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private SearchSourceMapper searchSourceMapper;
+
+    @Value("${app.search.index-dir:/app/search}")
+    private String indexDir;
+
+    @Value("${app.search.sync-overlap-ms:10000}")
+    private long syncOverlapMs;
+
+    @Value("${app.search.max-results:50}")
+    private int maxResults;
+
+    @Value("${app.search.initial-delay-ms:5000}")
+    private long initialDelayMs;
+
+    @Value("${app.search.sync-interval-ms:30000}")
+    private long syncIntervalMs;
+
+    private ScheduledExecutorService syncScheduler;
+
+    private SearchIndex index;
+
+    // 上次成功同步的开始时间（毫秒），0 表示尚未同步
+    private volatile long watermark;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Path path = Paths.get(indexDir);
+        Files.createDirectories(path);
+        index = new SearchIndex(path);
+
+        Map<String, String> commitData = index.lastCommitData();
+        if (SCHEMA_VERSION.equals(commitData.get(COMMIT_SCHEMA_VERSION))) {
+            watermark = Long.parseLong(commitData.getOrDefault(COMMIT_WATERMARK, "0"));
+        } else {
+            index.deleteAll();
+            watermark = 0;
+        }
+        logger.info("检索索引已打开，文档数 {}，同步水位 {}", index.numDocs(), watermark == 0 ? "无" : new Date(watermark));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSync() {
+        syncScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncScheduler.scheduleWithFixedDelay(this::sync, initialDelayMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        if (syncScheduler != null) {
+            // 等待进行中的同步结束再关闭索引
+            syncScheduler.shutdownNow();
+            syncScheduler.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        index.close();
+    }
+
+    /**
+     * 检索
+     *
+     * @param userId 当前用户，其私有笔记和模板会一并检索
+     */
+    public SearchResponse search(String text, Collection<String> types, Long userId, int limit) {
+        long started = System.nanoTime();
+        List<SearchHit> hits;
+        try {
+            hits = index.search(text, types, userId, Math.min(Math.max(limit, 1), maxResults));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        SearchResponse response = new SearchResponse(text, (System.nanoTime() - started) / 1_000_000);
+        for (SearchHit hit : hits) {
+            response.getHits().add(new SearchResponse.HitItem(hit.type(), hit.id(), hit.title(), hit.snippet(),
+                    hit.language(), hit.courseId(), hit.lessonId(), hit.score()));
+        }
+        return response;
+    }
+
+    /**
+     * 增量同步
+     * 首次运行（或索引版本变化后）为全量重建；查询窗口向前重叠一段时间，
+     * 覆盖时钟偏差和同步期间仍未提交的事务，重复写入同一文档是幂等的
+     */
+    public synchronized void sync() {
+        long started = System.currentTimeMillis();
+        Date since = watermark == 0 ? null : new Date(watermark - syncOverlapMs);
+        int indexed = 0;
+        try {
+            indexed += syncCourses(since);
+            indexed += syncLessons(since);
+            for (String collection : COLLECTION_TYPES.keySet()) {
+                indexed += syncCollection(collection, since);
+            }
+
+            Map<String, String> commitData = new HashMap<>();
+            commitData.put(COMMIT_SCHEMA_VERSION, SCHEMA_VERSION);
+            commitData.put(COMMIT_WATERMARK, String.valueOf(started));
+            index.commit(commitData);
+            index.refresh();
+            watermark = started;
+        } catch (Exception ex) {
+            // 水位不前移，下次同步重新处理本轮窗口
+            logger.warn("检索索引同步失败: {}", ex.getMessage());
+            return;
+        }
+        if (since == null || indexed > 0) {
+            logger.info("检索索引{}同步 {} 条，耗时 {} ms", since == null ? "全量" : "增量", indexed,
+                    System.currentTimeMillis() - started);
+        }
+    }
+
+    /**
+     * 定期刷新检索视图，使同步或事件写入的文档对查询可见
+     */
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval-ms:1000}")
+    public void refresh() {
+        try {
+            index.refresh();
+        } catch (IOException ex) {
+            logger.warn("检索索引刷新失败: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 变更流事件：练习题、代码模板、笔记直接写入或删除，课时正文变更时重新索引对应课时
+     * 重置事件无需处理，漏掉的写入由下一轮水位同步补上
+     */
+    @EventListener
+    public void onMongoDocumentChanged(MongoDocumentChangedEvent event) {
+        if (MongoDocumentChangedEvent.RESET.equals(event.getOperationType())) {
+            return;
+        }
+        if ("lesson_content".equals(event.getCollection())) {
+            Document content = event.getFullDocument();
+            Number lessonId = content == null ? null : content.get("lessonId", Number.class);
+            if (lessonId != null && !event.onlyUpdates("rendered")) {
+                reindexLessons(List.of(lessonId.longValue()));
+            }
+        } else if (event.onlyUpdates("pendingOps", "pendingCount", "pendingBytes", "pendingSince",
+                "version", "length", "updatedAt")) {
+            // 笔记增量只追加到日志，正文合并后再重新索引
+            return;
+        } else if (event.isDelete()) {
+            removeMongoDocument(event.getCollection(), event.getDocumentId());
+        } else if (event.getFullDocument() != null) {
+            indexMongoDocument(event.getCollection(), event.getFullDocument());
+        }
+    }
+
+    /**
+     * 写入 MongoDB 文档的变更（练习题、代码模板、笔记）
+     */
+    public void indexMongoDocument(String collection, Document document) {
+        String type = COLLECTION_TYPES.get(collection);
+        if (TYPE_EXERCISE.equals(type)) {
+            indexExerciseBatch(List.of(document));
+        } else if (type != null) {
+            apply(type, document);
+        }
+    }
+
+    /**
+     * 移除已删除的 MongoDB 文档
+     */
+    public void removeMongoDocument(String collection, String id) {
+        String type = COLLECTION_TYPES.get(collection);
+        if (type != null) {
+            index.delete(type, id);
+        }
+    }
+
+    /**
+     * 重新索引课时（MySQL 课时信息或 MongoDB 课时正文变更后调用），已删除或未发布的课时从索引移除
+     */
+    public void reindexLessons(Collection<Long> lessonIds) {
+        List<Long> ids = new ArrayList<>(lessonIds);
+        for (int from = 0; from < ids.size(); from += LESSON_BATCH_SIZE) {
+            indexLessonBatch(ids.subList(from, Math.min(from + LESSON_BATCH_SIZE, ids.size())));
+        }
+    }
+
+    private int syncCourses(Date since) {
+        List<SearchSourceMapper.CourseRow> courses = searchSourceMapper.findCoursesUpdatedSince(
+                since == null ? new Date(0) : since);
+        for (SearchSourceMapper.CourseRow course : courses) {
+            if (Boolean.TRUE.equals(course.getPublished())) {
+                index.upsert(new SearchDocument(TYPE_COURSE, String.valueOf(course.getId()), course.getTitle(),
+                        null, course.getDescription(), course.getLanguage(), course.getId(), null, null));
+            } else {
+                index.delete(TYPE_COURSE, String.valueOf(course.getId()));
+            }
+        }
+        return courses.size();
+    }
+
+    private int syncLessons(Date since) {
+        Set<Long> lessonIds = new LinkedHashSet<>(searchSourceMapper.findLessonIdsUpdatedSince(
+                since == null ? new Date(0) : since));
+        Query query = new Query();
+        if (since != null) {
+            query.addCriteria(Criteria.where("updatedAt").gte(since));
+        }
+        query.fields().include("lessonId");
+        try (Stream<Document> changed = mongoTemplate.stream(query, Document.class, "lesson_content")) {
+            changed.map(content -> content.get("lessonId", Number.class))
+                    .filter(id -> id != null)
+                    .forEach(id -> lessonIds.add(id.longValue()));
+        }
+        reindexLessons(lessonIds);
+        if (since != null) {
+            // 课时、章节或课程的发布状态变化后，其下练习题随之进入或移出索引；全量重建时练习题单独同步
+            reindexExercises(lessonIds);
+        }
+        return lessonIds.size();
+    }
+
+    /**
+     * 重新索引指定课时下的练习题
+     */
+    private void reindexExercises(Collection<Long> lessonIds) {
+        List<Long> ids = new ArrayList<>(lessonIds);
+        for (int from = 0; from < ids.size(); from += LESSON_BATCH_SIZE) {
+            Query query = Query.query(Criteria.where("lessonId").in(ids.subList(from,
+                    Math.min(from + LESSON_BATCH_SIZE, ids.size()))));
+            includeIndexedFields(query);
+            indexExerciseBatch(mongoTemplate.find(query, Document.class, "exercises"));
+        }
+    }
+
+    /**
+     * 写入一批练习题，所属课时（含章节、课程）未发布或已删除的练习题从索引移除
+     */
+    private void indexExerciseBatch(List<Document> exercises) {
+        if (exercises.isEmpty()) {
+            return;
+        }
+        Set<Long> lessonIds = new LinkedHashSet<>();
+        for (Document exercise : exercises) {
+            Long lessonId = longValue(exercise, "lessonId");
+            if (lessonId != null) {
+                lessonIds.add(lessonId);
+            }
+        }
+        Set<Long> published = new HashSet<>();
+        if (!lessonIds.isEmpty()) {
+            for (SearchSourceMapper.LessonRow lesson : searchSourceMapper.findLessonsByIds(lessonIds)) {
+                if (Boolean.TRUE.equals(lesson.getPublished())) {
+                    published.add(lesson.getId());
+                }
+            }
+        }
+        for (Document exercise : exercises) {
+            if (published.contains(longValue(exercise, "lessonId"))) {
+                apply(TYPE_EXERCISE, exercise);
+            } else {
+                index.delete(TYPE_EXERCISE, exercise.getObjectId("_id").toHexString());
+            }
+        }
+    }
+
+    private void indexLessonBatch(List<Long> lessonIds) {
+        Map<Long, String> bodies = new HashMap<>();
+        Query query = Query.query(Criteria.where("lessonId").in(lessonIds));
+        query.fields().include("lessonId").include("content.markdown");
+        for (Document content : mongoTemplate.find(query, Document.class, "lesson_content")) {
+            Document body = content.get("content", Document.class);
+            if (body != null && body.getString("markdown") != null) {
+                bodies.put(content.get("lessonId", Number.class).longValue(), body.getString("markdown"));
+            }
+        }
+
+        Set<Long> missing = new LinkedHashSet<>(lessonIds);
+        for (SearchSourceMapper.LessonRow lesson : searchSourceMapper.findLessonsByIds(lessonIds)) {
+            missing.remove(lesson.getId());
+            if (!Boolean.TRUE.equals(lesson.getPublished())) {
+                index.delete(TYPE_LESSON, String.valueOf(lesson.getId()));
+                continue;
+            }
+            String body = bodies.getOrDefault(lesson.getId(), lesson.getDescription());
+            index.upsert(new SearchDocument(TYPE_LESSON, String.valueOf(lesson.getId()), lesson.getTitle(),
+                    lesson.getCourseTitle(), body, lesson.getLanguage(), lesson.getCourseId(), lesson.getId(), null));
+        }
+        for (Long id : missing) {
+            index.delete(TYPE_LESSON, String.valueOf(id));
+        }
+    }
+
+    private int syncCollection(String collection, Date since) {
+        Query query = new Query();
+        if (since != null) {
+            query.addCriteria(Criteria.where("updatedAt").gte(since));
+        }
+        includeIndexedFields(query);
+
+        String type = COLLECTION_TYPES.get(collection);
+        int[] count = {0};
+        List<Document> exercises = new ArrayList<>();
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+            documents.forEach(document -> {
+                if (TYPE_EXERCISE.equals(type)) {
+                    // 练习题需要按所属课时的发布状态过滤，攒批查询
+                    exercises.add(document);
+                    if (exercises.size() >= LESSON_BATCH_SIZE) {
+                        indexExerciseBatch(exercises);
+                        exercises.clear();
+                    }
+                } else {
+                    apply(type, document);
+                }
+                count[0]++;
+            });
+        }
+        indexExerciseBatch(exercises);
+        return count[0];
+    }
+
+    /**
+     * 只取索引需要的字段，练习题的测试用例和参考答案、模板代码不参与检索
+     */
+    private static void includeIndexedFields(Query query) {
+        query.fields().include("title", "name", "description", "content", "tags", "language",
+                "lessonId", "courseId", "userId", "isPublic", "createdBy");
+    }
+
+    private void apply(String type, Document document) {
+        SearchDocument searchDocument = toSearchDocument(type, document);
+        if (searchDocument != null) {
+            index.upsert(searchDocument);
+        } else {
+            index.delete(type, document.getObjectId("_id").toHexString());
+        }
+    }
+
+    /**
+     * 构造检索文档，无法确定归属的私有内容返回 null（不进入索引）
+     */
+    private SearchDocument toSearchDocument(String type, Document document) {
+        String id = document.getObjectId("_id").toHexString();
+        String tags = String.join(" ", document.getList("tags", String.class, List.of()));
+        Long lessonId = longValue(document, "lessonId");
+        Long courseId = longValue(document, "courseId");
+        boolean isPublic = Boolean.TRUE.equals(document.getBoolean("isPublic"));
+        Long createdBy = longValue(document, "createdBy");
+        Long userId = longValue(document, "userId");
+        return switch (type) {
+            case TYPE_TEMPLATE -> isPublic || createdBy != null
+                    ? new SearchDocument(type, id, document.getString("name"), tags,
+                    document.getString("description"), document.getString("language"), null, null,
+                    isPublic ? null : createdBy)
+                    : null;
+            case TYPE_NOTE -> userId != null
+                    ? new SearchDocument(type, id, document.getString("title"), tags,
+                    document.getString("content"), null, courseId, lessonId, userId)
+                    : null;
+            default -> new SearchDocument(type, id, document.getString("title"), tags,
+                    document.getString("description"), document.getString("language"), courseId, lessonId, null);
+        };
+    }
+
+    private static Long longValue(Document document, String field) {
+        Number value = document.get(field, Number.class);
+        return value == null ? null : value.longValue();
+    }
+}
@@ -0,0 +1,320 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.dto.request.SubmissionExportRequest;
+import com.programmingplatform.dto.response.ExportJobResponse;
+import com.programmingplatform.entity.analytics.CodeSubmission;
+import com.programmingplatform.entity.analytics.ExecutionResultExportRow;
+import com.programmingplatform.entity.analytics.SubmissionExportRow;
+import com.programmingplatform.exception.BadRequestException;
+import com.programmingplatform.exception.ResourceNotFoundException;
+import com.programmingplatform.export.ArrowPartitionedWriter;
+import com.programmingplatform.export.ExportColumn;
+import com.programmingplatform.mapper.secondary.SubmissionExportMapper;
+import jakarta.annotation.PreDestroy;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * 提交历史列式导出服务
+ * 逐日以游标流式读取辅助库，写出按 date=/language= 分区的 ZSTD 压缩 Arrow IPC 文件
+ * 内存占用只取决于批次大小和 Arrow 分配器上限，与导出的数据量无关
+ */
+@Service
+public class SubmissionExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionExportService.class);
+
+    private static final List<ExportColumn<SubmissionExportRow>> SUBMISSION_COLUMNS = List.of(
+            ExportColumn.uuid("id", CodeSubmission::getId),
+            ExportColumn.int64("user_id", CodeSubmission::getUserId),
+            ExportColumn.int64("course_id", CodeSubmission::getCourseId),
+            ExportColumn.int64("lesson_id", CodeSubmission::getLessonId),
+            ExportColumn.utf8("language", CodeSubmission::getLanguage),
+            ExportColumn.timestamp("submission_time", CodeSubmission::getSubmissionTime),
+            ExportColumn.utf8("execution_status", CodeSubmission::getExecutionStatus),
+            ExportColumn.int32("execution_time_ms", CodeSubmission::getExecutionTimeMs),
+            ExportColumn.int32("memory_usage_kb", CodeSubmission::getMemoryUsageKb),
+            ExportColumn.int32("test_cases_passed", CodeSubmission::getTestCasesPassed),
+            ExportColumn.int32("test_cases_total", CodeSubmission::getTestCasesTotal),
+            ExportColumn.float64("score", CodeSubmission::getScore),
+            ExportColumn.utf8("code_content", CodeSubmission::getCodeContent),
+            ExportColumn.utf8("output", CodeSubmission::getOutput),
+            ExportColumn.utf8("error_message", CodeSubmission::getErrorMessage));
+
+    private static final List<ExportColumn<ExecutionResultExportRow>> RESULT_COLUMNS = List.of(
+            ExportColumn.uuid("id", ExecutionResultExportRow::getId),
+            ExportColumn.uuid("submission_id", ExecutionResultExportRow::getSubmissionId),
+            ExportColumn.utf8("language", ExecutionResultExportRow::getLanguage),
+            ExportColumn.utf8("test_case_id", ExecutionResultExportRow::getTestCaseId),
+            ExportColumn.utf8("test_case_name", ExecutionResultExportRow::getTestCaseName),
+            ExportColumn.utf8("input_data", ExecutionResultExportRow::getInputData),
+            ExportColumn.utf8("expected_output", ExecutionResultExportRow::getExpectedOutput),
+            ExportColumn.utf8("actual_output", ExecutionResultExportRow::getActualOutput),
+            ExportColumn.int32("execution_time_ms", ExecutionResultExportRow::getExecutionTimeMs),
+            ExportColumn.int32("memory_usage_kb", ExecutionResultExportRow::getMemoryUsageKb),
+            ExportColumn.bool("is_passed", ExecutionResultExportRow::getIsPassed),
+            ExportColumn.utf8("error_message", ExecutionResultExportRow::getErrorMessage),
+            ExportColumn.timestamp("created_at", ExecutionResultExportRow::getCreatedAt));
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "submission-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final SubmissionExportMapper submissionExportMapper;
+
+    private final ContentBlobService contentBlobService;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${app.export.base-dir:/app/exports}")
+    private String baseDir;
+
+    @Value("${app.export.batch-rows:8192}")
+    private int batchRows;
+
+    @Value("${app.export.max-memory-bytes:268435456}")
+    private long maxMemoryBytes;
+
+    @Value("${app.export.max-batch-bytes:33554432}")
+    private long maxBatchBytes;
+
+    @Value("${app.export.result-lookback-days:7}")
+    private int resultLookbackDays;
+
+    @Value("${app.export.job-retention-ms:86400000}")
+    private long jobRetentionMs;
+
+    @Value("${app.export.max-days:366}")
+    private int maxDays;
+
+    @Autowired
+    public SubmissionExportService(SubmissionExportMapper submissionExportMapper,
+                                   ContentBlobService contentBlobService,
+                                   @Qualifier("secondaryTransactionManager") PlatformTransactionManager transactionManager) {
+        this.submissionExportMapper = submissionExportMapper;
+        this.contentBlobService = contentBlobService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 提交导出任务，任务在后台串行执行
+     */
+    public ExportJobResponse submit(SubmissionExportRequest request) {
+        LocalDate from = request.getFromDate();
+        LocalDate to = request.getToDate();
+        if (to.isBefore(from)) {
+            throw new BadRequestException("结束日期不能早于开始日期");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxDays) {
+            throw new BadRequestException("单次导出最多 " + maxDays + " 天");
+        }
+
+        evictFinishedJobs();
+        String jobId = UUID.randomUUID().toString();
+        ExportJob job = new ExportJob(jobId, from, to, !Boolean.FALSE.equals(request.getIncludeExecutionResults()),
+                Paths.get(baseDir, jobId));
+        jobs.put(jobId, job);
+        executor.submit(() -> run(job));
+        return job.toResponse();
+    }
+
+    public ExportJobResponse getJob(String jobId) {
+        evictFinishedJobs();
+        ExportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("导出任务不存在: " + jobId);
+        }
+        return job.toResponse();
+    }
+
+    public List<ExportJobResponse> listJobs() {
+        evictFinishedJobs();
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((ExportJob job) -> job.createdAt).reversed())
+                .map(ExportJob::toResponse)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 结束超过保留时间的任务不再保留状态，导出文件仍留在输出目录
+     */
+    private void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minusMillis(jobRetentionMs);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private void run(ExportJob job) {
+        job.status = "RUNNING";
+        try (BufferAllocator allocator = new RootAllocator(maxMemoryBytes);
+             ArrowPartitionedWriter<SubmissionExportRow> submissions = new ArrowPartitionedWriter<>(
+                     allocator, job.outputDir.resolve("code_submissions"), SUBMISSION_COLUMNS, batchRows,
+                     maxBatchBytes);
+             ArrowPartitionedWriter<ExecutionResultExportRow> results = new ArrowPartitionedWriter<>(
+                     allocator, job.outputDir.resolve("execution_results"), RESULT_COLUMNS, batchRows,
+                     maxBatchBytes)) {
+
+            for (LocalDate day = job.fromDate; !day.isAfter(job.toDate); day = day.plusDays(1)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("导出任务被中断");
+                }
+                OffsetDateTime dayStart = day.atStartOfDay().atOffset(ZoneOffset.UTC);
+                OffsetDateTime dayEnd = dayStart.plusDays(1);
+                String datePartition = "date=" + day;
+
+                job.submissionRows = exportDay(submissions, datePartition, CodeSubmission::getLanguage,
+                        this::decodeBlobs, () -> submissionExportMapper.streamSubmissions(dayStart, dayEnd));
+                if (job.includeExecutionResults) {
+                    job.executionResultRows = exportDay(results, datePartition, ExecutionResultExportRow::getLanguage,
+                            UnaryOperator.identity(), () -> submissionExportMapper.streamExecutionResults(
+                                    dayStart, dayEnd, dayStart.minusDays(resultLookbackDays)));
+                }
+                job.fileCount = submissions.getFiles().size() + results.getFiles().size();
+            }
+            job.status = "COMPLETED";
+            logger.info("导出任务 {} 完成，提交 {} 行，执行结果 {} 行，共 {} 个文件",
+                    job.id, job.submissionRows, job.executionResultRows, job.fileCount);
+        } catch (Exception ex) {
+            job.status = "FAILED";
+            job.errorMessage = ex.getMessage();
+            logger.error("导出任务 {} 失败", job.id, ex);
+        } finally {
+            job.finishedAt = Instant.now();
+        }
+    }
+
+    /**
+     * 在只读事务内消费一天的游标并写出，返回写出器累计行数
+     * resolve 在写出前补全行数据，如解压以哈希引用的提交内容
+     */
+    private <T> long exportDay(ArrowPartitionedWriter<T> writer, String datePartition,
+                               Function<T, String> language, UnaryOperator<T> resolve,
+                               CursorSupplier<T> query) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Cursor<T> cursor = query.open()) {
+                for (T row : cursor) {
+                    T resolved = resolve.apply(row);
+                    writer.write(datePartition + "/language=" + partitionValue(language.apply(resolved)), resolved);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return writer.getTotalRows();
+    }
+
+    /**
+     * 解码随提交一并读出的内容块，已内联保存的旧数据保持不变
+     */
+    private SubmissionExportRow decodeBlobs(SubmissionExportRow row) {
+        if (row.getCodeContent() == null) {
+            row.setCodeContent(contentBlobService.decode(row.getCodeBlob()));
+        }
+        if (row.getOutput() == null) {
+            row.setOutput(contentBlobService.decode(row.getOutputBlob()));
+        }
+        if (row.getErrorMessage() == null) {
+            row.setErrorMessage(contentBlobService.decode(row.getErrorBlob()));
+        }
+        // 解码后不再需要压缩数据，尽早释放
+        row.setCodeBlob(null);
+        row.setOutputBlob(null);
+        row.setErrorBlob(null);
+        return row;
+    }
+
+    /**
+     * 分区目录名只保留安全字符
+     */
+    private String partitionValue(String value) {
+        if (value == null || value.isBlank()) {
+            return "unknown";
+        }
+        return value.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_+.-]", "_");
+    }
+
+    @FunctionalInterface
+    private interface CursorSupplier<T> {
+        Cursor<T> open();
+    }
+
+    /**
+     * 导出任务运行状态
+     */
+    private static class ExportJob {
+        private final String id;
+        private final LocalDate fromDate;
+        private final LocalDate toDate;
+        private final boolean includeExecutionResults;
+        private final Path outputDir;
+        private final Instant createdAt = Instant.now();
+        private volatile String status = "QUEUED";
+        private volatile long submissionRows;
+        private volatile long executionResultRows;
+        private volatile int fileCount;
+        private volatile Instant finishedAt;
+        private volatile String errorMessage;
+
+        ExportJob(String id, LocalDate fromDate, LocalDate toDate, boolean includeExecutionResults, Path outputDir) {
+            this.id = id;
+            this.fromDate = fromDate;
+            this.toDate = toDate;
+            this.includeExecutionResults = includeExecutionResults;
+            this.outputDir = outputDir;
+        }
+
+        ExportJobResponse toResponse() {
+            ExportJobResponse response = new ExportJobResponse();
+            response.setJobId(id);
+            response.setStatus(status);
+            response.setFromDate(fromDate);
+            response.setToDate(toDate);
+            response.setOutputDir(outputDir.toString());
+            response.setSubmissionRows(submissionRows);
+            response.setExecutionResultRows(includeExecutionResults ? executionResultRows : null);
+            response.setFileCount(fileCount);
+            response.setCreatedAt(createdAt);
+            response.setFinishedAt(finishedAt);
+            response.setErrorMessage(errorMessage);
+            return response;
+        }
+    }
+}
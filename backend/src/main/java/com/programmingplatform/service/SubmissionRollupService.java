@@ -0,0 +1,297 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.entity.analytics.CodeSubmission;
+import com.programmingplatform.entity.analytics.SubmissionStatsDelta;
+import com.programmingplatform.event.SubmissionCompletedEvent;
+import com.programmingplatform.mapper.secondary.SubmissionStatsMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 提交统计增量汇总服务
+ * 提交完成后按 (用户, 语言) 和 (日期, 语言) 在内存中累加，定时批量累加到汇总表
+ * 每日压缩任务用明细重算最近已结束日期的统计，并清理不再需要的活跃用户成员；
+ * 重算前先在同一把锁内写出全部待写增量，避免已计入明细的增量在重算后再被累加一次；
+ * 连续多次写入失败的增量逐条写入，数据本身无法写入的增量被丢弃，由每日重算修正
+ */
+@Service
+public class SubmissionRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionRollupService.class);
+
+    private final ConcurrentHashMap<UserLanguageKey, SubmissionStatsDelta> userDeltas = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<DayLanguageKey, SubmissionStatsDelta> dailyDeltas = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<DayUserKey, SubmissionStatsDelta> dailyUsers = new ConcurrentHashMap<>();
+
+    // 各键连续写入失败次数，键为上面三个缓冲区的键
+    private final ConcurrentHashMap<Object, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    // 串行化增量写出与重算
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final SubmissionStatsMapper submissionStatsMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.rollup.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.rollup.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.rollup.reconcile-days:2}")
+    private int reconcileDays;
+
+    @Autowired
+    public SubmissionRollupService(SubmissionStatsMapper submissionStatsMapper,
+                                   @Qualifier("secondaryTransactionManager") PlatformTransactionManager transactionManager) {
+        this.submissionStatsMapper = submissionStatsMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 提交结果提交事务后再计入统计，回滚的结果不会被累加
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionCompleted(SubmissionCompletedEvent event) {
+        CodeSubmission submission = event.getSubmission();
+        LocalDate day = LocalDate.ofInstant(submission.getSubmissionTime(), ZoneOffset.UTC);
+        String language = submission.getLanguage();
+
+        userDeltas.compute(new UserLanguageKey(submission.getUserId(), language), (key, delta) ->
+                (delta == null ? new SubmissionStatsDelta(key.userId(), null, language) : delta).add(submission));
+        dailyDeltas.compute(new DayLanguageKey(day, language), (key, delta) ->
+                (delta == null ? new SubmissionStatsDelta(null, day, language) : delta).add(submission));
+        dailyUsers.putIfAbsent(new DayUserKey(day, language, submission.getUserId()),
+                new SubmissionStatsDelta(submission.getUserId(), day, language));
+    }
+
+    /**
+     * 定时将内存增量批量累加到汇总表
+     */
+    @Scheduled(fixedDelayString = "${app.rollup.flush-interval-ms:5000}")
+    public void flush() {
+        writeLock.lock();
+        try {
+            flushPending();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 写出当前全部增量，有增量放回缓冲区时返回 false
+     */
+    private boolean flushPending() {
+        List<SubmissionStatsDelta> users = new ArrayList<>();
+        List<SubmissionStatsDelta> days = new ArrayList<>();
+        List<SubmissionStatsDelta> members = new ArrayList<>();
+        List<SubmissionStatsDelta> suspectUsers = new ArrayList<>();
+        List<SubmissionStatsDelta> suspectDays = new ArrayList<>();
+        List<SubmissionStatsDelta> suspectMembers = new ArrayList<>();
+        drain(userDeltas, users, suspectUsers);
+        drain(dailyDeltas, days, suspectDays);
+        drain(dailyUsers, members, suspectMembers);
+
+        boolean written = false;
+        boolean complete = true;
+        if (!users.isEmpty() || !days.isEmpty() || !members.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (List<SubmissionStatsDelta> batch : partition(users)) {
+                        submissionStatsMapper.upsertUserStats(batch);
+                    }
+                    for (List<SubmissionStatsDelta> batch : partition(days)) {
+                        submissionStatsMapper.upsertDailyStats(batch);
+                    }
+                    for (List<SubmissionStatsDelta> batch : partition(members)) {
+                        submissionStatsMapper.addDailyUsers(batch);
+                    }
+                });
+                clearAttempts(users, SubmissionRollupService::userKey);
+                clearAttempts(days, SubmissionRollupService::dayKey);
+                clearAttempts(members, SubmissionRollupService::memberKey);
+                written = true;
+            } catch (RuntimeException ex) {
+                logger.error("提交统计汇总写入失败，{} 条用户增量和 {} 条日增量将在下次重试", users.size(), days.size(), ex);
+                requeue(userDeltas, users, SubmissionRollupService::userKey);
+                requeue(dailyDeltas, days, SubmissionRollupService::dayKey);
+                requeue(dailyUsers, members, SubmissionRollupService::memberKey);
+                complete = false;
+            }
+        }
+        if (!suspectUsers.isEmpty() || !suspectDays.isEmpty() || !suspectMembers.isEmpty()) {
+            complete &= isolate(suspectUsers, suspectDays, suspectMembers, written);
+        }
+        return complete;
+    }
+
+    /**
+     * 逐条写入多次失败的增量，找出无法写入的数据
+     * 本轮有其他增量写入成功时，单条仍失败说明是数据本身的问题，丢弃该条；全部失败时按数据库故障处理，放回缓冲区
+     */
+    private boolean isolate(List<SubmissionStatsDelta> users, List<SubmissionStatsDelta> days,
+                            List<SubmissionStatsDelta> members, boolean written) {
+        List<SubmissionStatsDelta> failedUsers =
+                writeEach(users, submissionStatsMapper::upsertUserStats, SubmissionRollupService::userKey);
+        List<SubmissionStatsDelta> failedDays =
+                writeEach(days, submissionStatsMapper::upsertDailyStats, SubmissionRollupService::dayKey);
+        List<SubmissionStatsDelta> failedMembers =
+                writeEach(members, submissionStatsMapper::addDailyUsers, SubmissionRollupService::memberKey);
+        written |= failedUsers.size() < users.size() || failedDays.size() < days.size()
+                || failedMembers.size() < members.size();
+        if (!written) {
+            requeue(userDeltas, failedUsers, SubmissionRollupService::userKey);
+            requeue(dailyDeltas, failedDays, SubmissionRollupService::dayKey);
+            requeue(dailyUsers, failedMembers, SubmissionRollupService::memberKey);
+            return false;
+        }
+        discard(failedUsers, SubmissionRollupService::userKey);
+        discard(failedDays, SubmissionRollupService::dayKey);
+        discard(failedMembers, SubmissionRollupService::memberKey);
+        return true;
+    }
+
+    /**
+     * 每条增量单独一个事务写入，返回写入失败的增量
+     */
+    private List<SubmissionStatsDelta> writeEach(List<SubmissionStatsDelta> deltas,
+                                                 Consumer<List<SubmissionStatsDelta>> writer,
+                                                 Function<SubmissionStatsDelta, Object> keyOf) {
+        List<SubmissionStatsDelta> failed = new ArrayList<>();
+        for (SubmissionStatsDelta delta : deltas) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> writer.accept(List.of(delta)));
+                failedAttempts.remove(keyOf.apply(delta));
+            } catch (RuntimeException ex) {
+                logger.warn("提交统计增量单条写入失败: {}: {}", keyOf.apply(delta), ex.getMessage());
+                failed.add(delta);
+            }
+        }
+        return failed;
+    }
+
+    private void discard(List<SubmissionStatsDelta> deltas, Function<SubmissionStatsDelta, Object> keyOf) {
+        for (SubmissionStatsDelta delta : deltas) {
+            failedAttempts.remove(keyOf.apply(delta));
+            logger.error("提交统计增量无法写入，已丢弃: {} 提交数 {} 成功数 {}",
+                    keyOf.apply(delta), delta.getTotalSubmissions(), delta.getSuccessCount());
+        }
+    }
+
+    /**
+     * 每日压缩：重算最近已结束日期的日统计，补齐这些日期有提交的用户统计，删除这些日期之前的活跃用户成员
+     */
+    @Scheduled(cron = "${app.rollup.compaction-cron:0 45 2 * * *}")
+    public void compact() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate from = today.minusDays(Math.max(reconcileDays, 1));
+        writeLock.lock();
+        try {
+            // 缓冲区中的增量对应的提交已在明细表中，先写出再整体重算，重算结果不会再叠加这些增量
+            if (!flushPending()) {
+                logger.warn("待写增量写出失败，跳过本次提交统计压缩");
+                return;
+            }
+            int reconciled = submissionStatsMapper.reconcileDailyStats(
+                    from.atStartOfDay().atOffset(ZoneOffset.UTC), today.atStartOfDay().atOffset(ZoneOffset.UTC));
+            int reconciledUsers = submissionStatsMapper.reconcileUserStats(
+                    from.atStartOfDay().atOffset(ZoneOffset.UTC), today.atStartOfDay().atOffset(ZoneOffset.UTC));
+            int purged = submissionStatsMapper.deleteDailyUsersBefore(today.minusDays(1));
+            logger.info("提交统计压缩完成，重算 {} 条日统计、{} 条用户统计，清理 {} 条活跃用户成员",
+                    reconciled, reconciledUsers, purged);
+        } catch (RuntimeException ex) {
+            logger.error("提交统计压缩失败", ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 应用关闭前写出剩余增量
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 逐个移除保证与并发的 compute 互斥，不会丢失正在累加的增量；多次写入失败的增量放入 suspects
+     */
+    private <K> void drain(ConcurrentHashMap<K, SubmissionStatsDelta> pending, List<SubmissionStatsDelta> drained,
+                           List<SubmissionStatsDelta> suspects) {
+        for (K key : pending.keySet()) {
+            SubmissionStatsDelta delta = pending.remove(key);
+            if (delta != null) {
+                (failedAttempts.getOrDefault(key, 0) >= maxAttempts ? suspects : drained).add(delta);
+            }
+        }
+    }
+
+    private <K> void requeue(ConcurrentHashMap<K, SubmissionStatsDelta> pending, List<SubmissionStatsDelta> deltas,
+                             Function<SubmissionStatsDelta, K> keyOf) {
+        for (SubmissionStatsDelta delta : deltas) {
+            K key = keyOf.apply(delta);
+            failedAttempts.merge(key, 1, Integer::sum);
+            pending.merge(key, delta, SubmissionStatsDelta::combine);
+        }
+    }
+
+    private void clearAttempts(List<SubmissionStatsDelta> deltas, Function<SubmissionStatsDelta, Object> keyOf) {
+        if (failedAttempts.isEmpty()) {
+            return;
+        }
+        for (SubmissionStatsDelta delta : deltas) {
+            failedAttempts.remove(keyOf.apply(delta));
+        }
+    }
+
+    private static UserLanguageKey userKey(SubmissionStatsDelta delta) {
+        return new UserLanguageKey(delta.getUserId(), delta.getLanguage());
+    }
+
+    private static DayLanguageKey dayKey(SubmissionStatsDelta delta) {
+        return new DayLanguageKey(delta.getActivityDate(), delta.getLanguage());
+    }
+
+    private static DayUserKey memberKey(SubmissionStatsDelta delta) {
+        return new DayUserKey(delta.getActivityDate(), delta.getLanguage(), delta.getUserId());
+    }
+
+    private List<List<SubmissionStatsDelta>> partition(List<SubmissionStatsDelta> items) {
+        List<List<SubmissionStatsDelta>> batches = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += batchSize) {
+            batches.add(items.subList(from, Math.min(from + batchSize, items.size())));
+        }
+        return batches;
+    }
+
+    private record UserLanguageKey(Long userId, String language) {
+    }
+
+    private record DayLanguageKey(LocalDate day, String language) {
+    }
+
+    private record DayUserKey(LocalDate day, String language, Long userId) {
+    }
+}
@@ -0,0 +1,216 @@
+package com.programmingplatform.service;
+
+import com.programmingplatform.analysis.LshBanding;
+import com.programmingplatform.analysis.MinHasher;
+import com.programmingplatform.analysis.SourceLanguage;
+import com.programmingplatform.analysis.SourceToken;
+import com.programmingplatform.analysis.SourceTokenizer;
+import com.programmingplatform.config.PartitionProperties;
+import com.programmingplatform.dto.response.SimilarSubmissionResponse;
+import com.programmingplatform.entity.analytics.CodeSubmission;
+import com.programmingplatform.entity.analytics.SubmissionSignature;
+import com.programmingplatform.event.SubmissionCompletedEvent;
+import com.programmingplatform.exception.BadRequestException;
+import com.programmingplatform.exception.ResourceNotFoundException;
+import com.programmingplatform.mapper.secondary.SubmissionSignatureMapper;
+import com.programmingplatform.security.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 近重复提交检测服务
+ * 签名按 LSH 分段写入 submission_lsh_buckets，查询时只比较桶值相同的候选提交，避免同课时全量两两比较
+ * 提交完成后即为所有语言建立索引，不依赖代码质量分析是否执行；索引随提交分区过期定时回收
+ */
+@Service
+public class SubmissionSimilarityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionSimilarityService.class);
+
+    private static final String REFERENCING_TABLE = "code_submissions";
+
+    private static final int PURGE_BATCH_SIZE = 5000;
+
+    /**
+     * 签名长度与分段方式决定已入库桶值的含义，修改后需重建索引
+     */
+    public static final int NUM_HASHES = 128;
+
+    public static final int SHINGLE_SIZE = 5;
+
+    private final MinHasher minHasher = new MinHasher(NUM_HASHES, SHINGLE_SIZE);
+
+    private final LshBanding banding = new LshBanding(32, 4);
+
+    @Autowired
+    private SubmissionSignatureMapper submissionSignatureMapper;
+
+    @Autowired
+    private CourseAccessService courseAccessService;
+
+    @Autowired
+    private PartitionProperties partitionProperties;
+
+    @Autowired
+    @Qualifier("secondaryTransactionManager")
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.similarity.max-candidates:500}")
+    private int maxCandidates;
+
+    @Value("${app.similarity.max-source-bytes:200000}")
+    private int maxSourceBytes;
+
+    @Value("${app.similarity.retention-margin-days:7}")
+    private int retentionMarginDays;
+
+    /**
+     * 提交结果提交事务后写入相似度索引
+     * 代码质量分析不支持的语言按 Java 的注释与字符串规则切分词法单元
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionCompleted(SubmissionCompletedEvent event) {
+        CodeSubmission submission = event.getSubmission();
+        String source = submission.getCodeContent();
+        if (source == null || source.isBlank() || source.getBytes(StandardCharsets.UTF_8).length > maxSourceBytes) {
+            return;
+        }
+        SourceLanguage language = SourceLanguage.fromName(submission.getLanguage());
+        try {
+            List<String> normalized = new ArrayList<>();
+            for (SourceToken token : SourceTokenizer.tokenize(source,
+                    language != null ? language : SourceLanguage.JAVA).tokens()) {
+                normalized.add(token.normalized());
+            }
+            index(submission.getId(), submission.getLessonId(), submission.getUserId(), signature(normalized));
+        } catch (RuntimeException ex) {
+            logger.warn("提交 {} 相似度索引失败: {}", submission.getId(), ex.getMessage());
+        }
+    }
+
+    /**
+     * 计算归一化词法单元的 MinHash 签名
+     */
+    public int[] signature(List<String> normalizedTokens) {
+        return minHasher.signature(normalizedTokens);
+    }
+
+    /**
+     * 把提交签名加入课时索引，签名与分桶在同一事务中写入，重复索引同一提交时忽略
+     */
+    private void index(UUID submissionId, Long lessonId, Long userId, int[] signature) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (submissionSignatureMapper.insert(
+                    new SubmissionSignature(submissionId, lessonId, userId, signature)) > 0) {
+                submissionSignatureMapper.insertBuckets(lessonId, submissionId, banding.buckets(signature));
+            }
+        });
+    }
+
+    /**
+     * 返回同课时与给定签名最相似的其他用户提交，没有候选时返回 null
+     */
+    @Transactional(transactionManager = "secondaryTransactionManager", readOnly = true)
+    public PeerMatch bestMatch(UUID submissionId, Long lessonId, Long userId, int[] signature) {
+        PeerMatch best = null;
+        for (SubmissionSignature candidate : submissionSignatureMapper.findCandidates(
+                lessonId, banding.buckets(signature), submissionId, maxCandidates)) {
+            if (candidate.getUserId().equals(userId)) {
+                continue;
+            }
+            double similarity = MinHasher.similarity(signature, candidate.getSignature());
+            if (best == null || similarity > best.similarity()) {
+                best = new PeerMatch(candidate.getSubmissionId(), similarity);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 查询与指定提交相似度不低于阈值的其他用户提交，仅提交所属课程的讲师和管理员可查询
+     * 阈值低于 LSH 分段阈值时，相似度处于两者之间的提交可能无法被召回
+     */
+    @Transactional(transactionManager = "secondaryTransactionManager", readOnly = true)
+    public List<SimilarSubmissionResponse> findSimilar(UserPrincipal user, UUID submissionId, double threshold,
+                                                       int limit) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new BadRequestException("相似度阈值必须在 (0, 1] 范围内");
+        }
+        SubmissionSignature source = submissionSignatureMapper.findBySubmissionId(submissionId);
+        if (source == null) {
+            throw new ResourceNotFoundException("提交尚未完成相似度索引: " + submissionId);
+        }
+        courseAccessService.requireLessonOwner(user, source.getLessonId());
+
+        List<SimilarSubmissionResponse> similar = new ArrayList<>();
+        for (SubmissionSignature candidate : submissionSignatureMapper.findCandidates(
+                source.getLessonId(), banding.buckets(source.getSignature()), submissionId, maxCandidates)) {
+            if (candidate.getUserId().equals(source.getUserId())) {
+                continue;
+            }
+            double similarity = MinHasher.similarity(source.getSignature(), candidate.getSignature());
+            if (similarity >= threshold) {
+                similar.add(new SimilarSubmissionResponse(candidate.getSubmissionId(), candidate.getUserId(),
+                        similarity, candidate.getCreatedAt()));
+            }
+        }
+        similar.sort(Comparator.comparing(SimilarSubmissionResponse::getSimilarity).reversed());
+        return similar.size() > limit ? new ArrayList<>(similar.subList(0, limit)) : similar;
+    }
+
+    /**
+     * 回收提交已随分区删除的签名与分桶
+     * 保留天数与内容块相同，由提交分区配置推导再加安全余量；提交永久保留或未启用分区维护时不回收
+     */
+    @Scheduled(cron = "${app.similarity.purge-cron:0 15 4 * * *}")
+    public void purgeExpired() {
+        int retentionDays = signatureRetentionDays();
+        if (retentionDays <= 0) {
+            return;
+        }
+        Instant before = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = submissionSignatureMapper.deleteCreatedBefore(before, PURGE_BATCH_SIZE);
+            purged += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (purged > 0) {
+            logger.info("回收 {} 之前建立的提交签名 {} 个", before, purged);
+        }
+    }
+
+    /**
+     * 签名保留天数，0 表示不回收
+     */
+    private int signatureRetentionDays() {
+        PartitionProperties.ManagedTable table = partitionProperties.findTable(REFERENCING_TABLE);
+        if (!partitionProperties.isEnabled() || table == null || table.getRetentionDays() <= 0) {
+            return 0;
+        }
+        return table.getRetentionDays() + table.getInterval().getMaxDays() + Math.max(retentionMarginDays, 1);
+    }
+
+    /**
+     * 最相似的其他用户提交
+     */
+    public record PeerMatch(UUID submissionId, double similarity) {
+    }
+}
@@ -1,6 +1,6 @@
 package com.programmingplatform.service;
 
-import com.programmingplatform.entity.User;
+import com.programmingplatform.entity.UserAuthProjection;
 import com.programmingplatform.mapper.primary.UserMapper;
 import com.programmingplatform.security.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,7 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Spring Security UserDetailsService 实现
- * 用于加载用户认证信息
+ * 用于加载用户认证信息，只查询认证投影列
  */
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
@@ -23,9 +23,9 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userMapper.findByUsername(username);
+        UserAuthProjection user = userMapper.findAuthByUsername(username);
         if (user == null) {
-            user = userMapper.findByEmail(username);
+            user = userMapper.findAuthByEmail(username);
         }
         
         if (user == null) {
@@ -37,7 +37,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     @Transactional(readOnly = true)
     public UserDetails loadUserById(Long id) {
-        User user = userMapper.findById(id);
+        UserAuthProjection user = userMapper.findAuthById(id);
         if (user == null) {
             throw new UsernameNotFoundException("用户不存在: " + id);
         }
@@ -0,0 +1,73 @@
+package com.programmingplatform.storage;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 内容块编解码
+ * 过短的内容压缩收益小于帧头开销，按原文保存；其余使用 zstd，有课时字典时带字典压缩
+ */
+public final class BlobCodec {
+
+    public static final short RAW = 0;
+
+    public static final short ZSTD = 1;
+
+    public static final short ZSTD_DICT = 2;
+
+    private BlobCodec() {
+    }
+
+    /**
+     * 计算原文 UTF-8 编码的 SHA-256
+     */
+    public static byte[] sha256(byte[] raw) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(raw);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("JVM 不支持 SHA-256", ex);
+        }
+    }
+
+    public static String hex(byte[] hash) {
+        return HexFormat.of().formatHex(hash);
+    }
+
+    /**
+     * 压缩结果：codec 与数据
+     */
+    public record Encoded(short codec, byte[] data) {
+    }
+
+    public static Encoded encode(byte[] raw, int minCompressBytes, int level, ZstdDictCompress dictionary) {
+        if (raw.length < minCompressBytes) {
+            return new Encoded(RAW, raw);
+        }
+        byte[] compressed = dictionary != null ? Zstd.compress(raw, dictionary) : Zstd.compress(raw, level);
+        if (compressed.length >= raw.length) {
+            return new Encoded(RAW, raw);
+        }
+        return new Encoded(dictionary != null ? ZSTD_DICT : ZSTD, compressed);
+    }
+
+    public static String decode(short codec, byte[] data, int rawLength, ZstdDictDecompress dictionary) {
+        byte[] raw = switch (codec) {
+            case RAW -> data;
+            case ZSTD -> Zstd.decompress(data, rawLength);
+            case ZSTD_DICT -> {
+                if (dictionary == null) {
+                    throw new IllegalStateException("缺少解压所需的 zstd 字典");
+                }
+                yield Zstd.decompress(data, dictionary, rawLength);
+            }
+            default -> throw new IllegalStateException("未知的内容编码: " + codec);
+        };
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,150 @@
+package com.programmingplatform.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 测试用例包二进制格式
+ * 结构为 [魔数 TCS1][用例数][索引 × n][数据区]，索引项为输入和期望输出的绝对偏移与长度以及隐藏标记，
+ * 可直接在内存映射的缓冲区上按下标随机读取，无需整体反序列化
+ */
+public final class TestCasePack {
+
+    private static final int MAGIC = 0x54435331;
+
+    private static final int HEADER_BYTES = 8;
+
+    // inputOffset, inputLength, expectedOffset, expectedLength, flags
+    private static final int INDEX_ENTRY_BYTES = 17;
+
+    private static final byte FLAG_HIDDEN = 1;
+
+    private final ByteBuffer buffer;
+
+    private final int count;
+
+    private TestCasePack(ByteBuffer buffer, int count) {
+        this.buffer = buffer;
+        this.count = count;
+    }
+
+    /**
+     * 单个测试用例
+     */
+    public record TestCase(String input, String expectedOutput, boolean hidden) {
+    }
+
+    public static byte[] encode(List<TestCase> cases) {
+        byte[][] inputs = new byte[cases.size()][];
+        byte[][] outputs = new byte[cases.size()][];
+        long dataBytes = 0;
+        for (int i = 0; i < cases.size(); i++) {
+            inputs[i] = utf8(cases.get(i).input());
+            outputs[i] = utf8(cases.get(i).expectedOutput());
+            dataBytes += inputs[i].length + outputs[i].length;
+        }
+        long total = HEADER_BYTES + (long) INDEX_ENTRY_BYTES * cases.size() + dataBytes;
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("测试用例包超过 2GB");
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) total);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(cases.size());
+            int offset = HEADER_BYTES + INDEX_ENTRY_BYTES * cases.size();
+            for (int i = 0; i < cases.size(); i++) {
+                out.writeInt(offset);
+                out.writeInt(inputs[i].length);
+                offset += inputs[i].length;
+                out.writeInt(offset);
+                out.writeInt(outputs[i].length);
+                offset += outputs[i].length;
+                out.writeByte(cases.get(i).hidden() ? FLAG_HIDDEN : 0);
+            }
+            for (int i = 0; i < cases.size(); i++) {
+                out.write(inputs[i]);
+                out.write(outputs[i]);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 在已有缓冲区（通常为内存映射）上打开用例包，校验头部与索引范围
+     */
+    public static TestCasePack open(ByteBuffer source) {
+        ByteBuffer buffer = source.duplicate().order(ByteOrder.BIG_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("不是有效的测试用例包");
+        }
+        int count = buffer.getInt(4);
+        if (count < 0 || HEADER_BYTES + (long) INDEX_ENTRY_BYTES * count > buffer.capacity()) {
+            throw new IllegalArgumentException("测试用例包索引损坏");
+        }
+        TestCasePack pack = new TestCasePack(buffer, count);
+        for (int i = 0; i < count; i++) {
+            pack.checkRange(pack.entry(i), 0);
+            pack.checkRange(pack.entry(i), 8);
+        }
+        return pack;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isHidden(int index) {
+        return (buffer.get(entry(index) + 16) & FLAG_HIDDEN) != 0;
+    }
+
+    /**
+     * 输入数据的只读切片，可直接写入被测进程的标准输入
+     */
+    public ByteBuffer inputBytes(int index) {
+        return slice(entry(index));
+    }
+
+    public ByteBuffer expectedOutputBytes(int index) {
+        return slice(entry(index) + 8);
+    }
+
+    public String input(int index) {
+        return StandardCharsets.UTF_8.decode(inputBytes(index)).toString();
+    }
+
+    public String expectedOutput(int index) {
+        return StandardCharsets.UTF_8.decode(expectedOutputBytes(index)).toString();
+    }
+
+    private int entry(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return HEADER_BYTES + index * INDEX_ENTRY_BYTES;
+    }
+
+    private ByteBuffer slice(int position) {
+        return buffer.slice(buffer.getInt(position), buffer.getInt(position + 4)).asReadOnlyBuffer();
+    }
+
+    private void checkRange(int entry, int field) {
+        long offset = buffer.getInt(entry + field);
+        long length = buffer.getInt(entry + field + 4);
+        if (offset < 0 || length < 0 || offset + length > buffer.capacity()) {
+            throw new IllegalArgumentException("测试用例包数据区越界");
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,71 @@
+package com.programmingplatform.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * LshBanding 分段桶值测试
+ */
+class LshBandingTest {
+
+    private final LshBanding banding = new LshBanding(32, 4);
+
+    @Test
+    void producesOneDeterministicBucketPerBand() {
+        int[] signature = IntStream.range(0, 128).toArray();
+
+        List<Long> buckets = banding.buckets(signature);
+
+        assertThat(buckets).hasSize(32);
+        assertThat(banding.buckets(signature.clone())).isEqualTo(buckets);
+        assertThat(buckets).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void changingOneValueOnlyChangesItsBand() {
+        int[] signature = IntStream.range(0, 128).toArray();
+        int[] changed = signature.clone();
+        changed[9] = -1;
+
+        List<Long> original = banding.buckets(signature);
+        List<Long> modified = banding.buckets(changed);
+
+        for (int band = 0; band < 32; band++) {
+            if (band == 2) {
+                assertThat(modified.get(band)).isNotEqualTo(original.get(band));
+            } else {
+                assertThat(modified.get(band)).isEqualTo(original.get(band));
+            }
+        }
+    }
+
+    @Test
+    void bucketDependsOnValueOrderWithinBand() {
+        int[] signature = IntStream.range(0, 128).toArray();
+        int[] swapped = signature.clone();
+        swapped[0] = 1;
+        swapped[1] = 0;
+
+        assertThat(banding.buckets(swapped).get(0)).isNotEqualTo(banding.buckets(signature).get(0));
+    }
+
+    @Test
+    void rejectsShortSignature() {
+        assertThatThrownBy(() -> banding.buckets(new int[127])).isInstanceOf(IllegalArgumentException.class);
+        assertThat(banding.buckets(new int[130])).hasSize(32);
+    }
+
+    @Test
+    void thresholdMatchesBandsAndRows() {
+        assertThat(banding.threshold()).isCloseTo(Math.pow(1.0 / 32, 0.25), within(1e-12));
+        assertThat(banding.threshold()).isBetween(0.42, 0.43);
+        assertThat(banding.getBands()).isEqualTo(32);
+        assertThat(banding.getRows()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,117 @@
+package com.programmingplatform.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * MpmcRingBuffer 容量、顺序与并发测试
+ */
+class MpmcRingBufferTest {
+
+    @Test
+    void capacityRoundsUpToPowerOfTwo() {
+        assertThat(new MpmcRingBuffer<>(2).capacity()).isEqualTo(2);
+        assertThat(new MpmcRingBuffer<>(3).capacity()).isEqualTo(4);
+        assertThat(new MpmcRingBuffer<>(1000).capacity()).isEqualTo(1024);
+        assertThatThrownBy(() -> new MpmcRingBuffer<>(1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MpmcRingBuffer<>((1 << 30) + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void offerFailsWhenFullAndPollReturnsNullWhenEmpty() {
+        MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(4);
+
+        assertThat(buffer.poll()).isNull();
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        assertThat(buffer.poll()).isZero();
+        assertThat(buffer.offer(4)).isTrue();
+    }
+
+    @Test
+    void preservesFifoOrderAcrossWrapAround() {
+        MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(8);
+        int next = 0;
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 5; i++) {
+                assertThat(buffer.offer(round * 5 + i)).isTrue();
+            }
+            for (int i = 0; i < 5; i++) {
+                assertThat(buffer.poll()).isEqualTo(next++);
+            }
+        }
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void concurrentProducersAndConsumersDeliverEachElementOnce() throws Exception {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 5000;
+        int total = producers * perProducer;
+        MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(64);
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                });
+            }
+            List<Future<List<Integer>>> results = new ArrayList<>();
+            for (int c = 0; c < consumers; c++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    List<Integer> taken = new ArrayList<>();
+                    while (received.get() < total) {
+                        Integer value = buffer.poll();
+                        if (value == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        taken.add(value);
+                        received.incrementAndGet();
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+
+            BitSet seen = new BitSet(total);
+            for (Future<List<Integer>> result : results) {
+                for (int value : result.get(30, TimeUnit.SECONDS)) {
+                    assertThat(seen.get(value)).as("重复取出 %d", value).isFalse();
+                    seen.set(value);
+                }
+            }
+            assertThat(seen.cardinality()).isEqualTo(total);
+            assertThat(buffer.isEmpty()).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
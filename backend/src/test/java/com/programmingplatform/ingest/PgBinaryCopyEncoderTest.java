@@ -0,0 +1,128 @@
+package com.programmingplatform.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PgBinaryCopyEncoder 二进制格式测试
+ */
+class PgBinaryCopyEncoderTest {
+
+    private static final int HEADER_BYTES = 19;
+
+    @Test
+    void emptyCopyHasHeaderAndTrailer() {
+        ByteBuffer data = ByteBuffer.wrap(new PgBinaryCopyEncoder(64).finish());
+
+        byte[] signature = new byte[11];
+        data.get(signature);
+        assertThat(signature).isEqualTo(new byte[]{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0});
+        assertThat(data.getInt()).isZero();
+        assertThat(data.getInt()).isZero();
+        assertThat(data.getShort()).isEqualTo((short) -1);
+        assertThat(data.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void encodesScalarFields() {
+        PgBinaryCopyEncoder encoder = new PgBinaryCopyEncoder(64)
+                .startRow(6)
+                .writeInt4(7)
+                .writeInt8(8L)
+                .writeFloat8(1.5)
+                .writeText("中")
+                .writeJsonb("{}")
+                .writeInt4(null);
+        ByteBuffer data = body(encoder);
+
+        assertThat(encoder.getRowCount()).isEqualTo(1);
+        assertThat(data.getShort()).isEqualTo((short) 6);
+        assertThat(data.getInt()).isEqualTo(4);
+        assertThat(data.getInt()).isEqualTo(7);
+        assertThat(data.getInt()).isEqualTo(8);
+        assertThat(data.getLong()).isEqualTo(8L);
+        assertThat(data.getInt()).isEqualTo(8);
+        assertThat(data.getDouble()).isEqualTo(1.5);
+        byte[] text = "中".getBytes(StandardCharsets.UTF_8);
+        assertThat(data.getInt()).isEqualTo(text.length);
+        byte[] actual = new byte[text.length];
+        data.get(actual);
+        assertThat(actual).isEqualTo(text);
+        assertThat(data.getInt()).isEqualTo(3);
+        assertThat(data.get()).isEqualTo((byte) 1);
+        assertThat((char) data.get()).isEqualTo('{');
+        assertThat((char) data.get()).isEqualTo('}');
+        assertThat(data.getInt()).isEqualTo(-1);
+        assertThat(data.getShort()).isEqualTo((short) -1);
+    }
+
+    @Test
+    void encodesTimestampAsMicrosSincePgEpoch() {
+        ByteBuffer data = body(new PgBinaryCopyEncoder(64)
+                .writeTimestampTz(Instant.parse("2000-01-01T00:00:01.000002Z"))
+                .writeTimestampTz(Instant.parse("1999-12-31T23:59:59Z")));
+
+        assertThat(data.getInt()).isEqualTo(8);
+        assertThat(data.getLong()).isEqualTo(1_000_002L);
+        assertThat(data.getInt()).isEqualTo(8);
+        assertThat(data.getLong()).isEqualTo(-1_000_000L);
+    }
+
+    @Test
+    void encodesIpv4AndIpv6Inet() {
+        ByteBuffer data = body(new PgBinaryCopyEncoder(64).writeInet("192.168.0.1").writeInet("2001:db8::1"));
+
+        assertThat(data.getInt()).isEqualTo(8);
+        assertThat(data.get()).isEqualTo((byte) 2);
+        assertThat(data.get()).isEqualTo((byte) 32);
+        assertThat(data.get()).isZero();
+        assertThat(data.get()).isEqualTo((byte) 4);
+        assertThat(new byte[]{data.get(), data.get(), data.get(), data.get()})
+                .isEqualTo(new byte[]{(byte) 192, (byte) 168, 0, 1});
+
+        assertThat(data.getInt()).isEqualTo(20);
+        assertThat(data.get()).isEqualTo((byte) 3);
+        assertThat(data.get()).isEqualTo((byte) 128);
+        assertThat(data.get()).isZero();
+        assertThat(data.get()).isEqualTo((byte) 16);
+        byte[] address = new byte[16];
+        data.get(address);
+        assertThat(address[0]).isEqualTo((byte) 0x20);
+        assertThat(address[1]).isEqualTo((byte) 0x01);
+        assertThat(address[15]).isEqualTo((byte) 1);
+    }
+
+    @Test
+    void ipv4MappedAddressIsWrittenAsIpv4() {
+        ByteBuffer data = body(new PgBinaryCopyEncoder(64).writeInet("::ffff:10.0.0.1"));
+
+        assertThat(data.getInt()).isEqualTo(8);
+        assertThat(data.get()).isEqualTo((byte) 2);
+    }
+
+    @Test
+    void nonLiteralInetIsWrittenAsNull() {
+        String[] invalid = {null, "", "localhost", "example.com:80", "1.2.3", "256.1.1.1", "1::2::3", "[::1]",
+                "1:2:3:4:5:6:7:8:9"};
+        PgBinaryCopyEncoder encoder = new PgBinaryCopyEncoder(64);
+        for (String address : invalid) {
+            encoder.writeInet(address);
+        }
+        ByteBuffer data = body(encoder);
+
+        for (String address : invalid) {
+            assertThat(data.getInt()).as(String.valueOf(address)).isEqualTo(-1);
+        }
+    }
+
+    private static ByteBuffer body(PgBinaryCopyEncoder encoder) {
+        ByteBuffer data = ByteBuffer.wrap(encoder.finish());
+        data.position(HEADER_BYTES);
+        return data;
+    }
+}
@@ -0,0 +1,63 @@
+package com.programmingplatform.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CompositeScore 编码与排序测试
+ */
+class CompositeScoreTest {
+
+    private static final Instant TIME = Instant.parse("2025-06-01T12:00:00Z");
+
+    @Test
+    void scoreHundredthsRoundsAndClamps() {
+        assertThat(CompositeScore.scoreHundredths(null)).isZero();
+        assertThat(CompositeScore.scoreHundredths(new BigDecimal("87.456"))).isEqualTo(8746);
+        assertThat(CompositeScore.scoreHundredths(new BigDecimal("-5"))).isZero();
+        assertThat(CompositeScore.scoreHundredths(new BigDecimal("150"))).isEqualTo(10000);
+        assertThat(CompositeScore.fromHundredths(8746)).isEqualByComparingTo("87.46");
+    }
+
+    @Test
+    void invertedMinutesPrefersEarlierAndClampsRange() {
+        assertThat(CompositeScore.invertedMinutes(TIME)).isGreaterThan(CompositeScore.invertedMinutes(TIME.plusSeconds(60)));
+        assertThat(CompositeScore.invertedMinutes(Instant.parse("2020-01-01T00:00:00Z")))
+                .isEqualTo(CompositeScore.TIME_MAX);
+        assertThat(CompositeScore.invertedMinutes(Instant.parse("2100-01-01T00:00:00Z"))).isZero();
+    }
+
+    @Test
+    void lessonScoreOrdersByScoreThenExecutionTimeThenSubmissionTime() {
+        long best = CompositeScore.lessonScore(new BigDecimal("90"), 100, TIME);
+
+        assertThat(best).isGreaterThan(CompositeScore.lessonScore(new BigDecimal("89.99"), 1, Instant.EPOCH));
+        assertThat(best).isGreaterThan(CompositeScore.lessonScore(new BigDecimal("90"), 101, TIME.minusSeconds(3600)));
+        assertThat(best).isGreaterThan(CompositeScore.lessonScore(new BigDecimal("90"), 100, TIME.plusSeconds(60)));
+        // 没有执行耗时的提交排在同分的最后
+        assertThat(CompositeScore.lessonScore(new BigDecimal("90"), 60000, TIME))
+                .isGreaterThan(CompositeScore.lessonScore(new BigDecimal("90"), null, TIME));
+    }
+
+    @Test
+    void lessonScoreFitsDoubleExactlyAndDecodes() {
+        long max = CompositeScore.lessonScore(new BigDecimal("100"), 0, Instant.EPOCH);
+
+        assertThat(max).isLessThan(1L << 53);
+        assertThat((long) (double) max).isEqualTo(max);
+        assertThat(CompositeScore.lessonHundredths((double) max)).isEqualTo(10000);
+        assertThat(CompositeScore.lessonHundredths(
+                (double) CompositeScore.lessonScore(new BigDecimal("87.46"), 70000, TIME))).isEqualTo(8746);
+    }
+
+    @Test
+    void courseScoreDecodesTotal() {
+        long composite = 123456 * CompositeScore.COURSE_SCORE_UNIT + CompositeScore.invertedMinutes(TIME);
+
+        assertThat(CompositeScore.courseHundredths((double) composite)).isEqualTo(123456);
+    }
+}
@@ -0,0 +1,106 @@
+package com.programmingplatform.note;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TextDelta 规范化与应用测试
+ */
+class TextDeltaTest {
+
+    @Test
+    void ofMergesAdjacentOpsAndDropsTrailingRetain() {
+        TextDelta delta = TextDelta.of(List.of(
+                retain(2), retain(3), insert("a"), insert("b"), delete(1), delete(2), retain(5)));
+
+        assertThat(delta.toDocuments()).containsExactly(
+                new Document("r", 5), new Document("i", "ab"), new Document("d", 3));
+        assertThat(delta.consumedLength()).isEqualTo(8);
+        assertThat(delta.lengthChange()).isEqualTo(-1);
+        assertThat(delta.insertedLength()).isEqualTo(2);
+    }
+
+    @Test
+    void ofWithOnlyRetainIsEmpty() {
+        assertThat(TextDelta.of(List.of(retain(4))).isEmpty()).isTrue();
+    }
+
+    @Test
+    void ofRejectsInvalidOps() {
+        assertThatThrownBy(() -> TextDelta.of(List.of(new TextDelta.Op(1, "x", 0))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TextDelta.of(List.of(new TextDelta.Op(0, null, 0))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TextDelta.of(List.of(insert(""))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TextDelta.of(List.of(new TextDelta.Op(-1, null, 0))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TextDelta.of(List.of(new TextDelta.Op(0, null, -1))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ofRejectsMergedLengthOverflow() {
+        assertThatThrownBy(() -> TextDelta.of(List.of(retain(Integer.MAX_VALUE), retain(1))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TextDelta.of(List.of(delete(Integer.MAX_VALUE), delete(1))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void applyEditsPrefixAndKeepsRest() {
+        TextDelta delta = TextDelta.of(List.of(retain(6), delete(5), insert("there")));
+
+        assertThat(delta.apply("hello world!")).isEqualTo("hello there!");
+    }
+
+    @Test
+    void applyInsertAtStartAndDeleteToEnd() {
+        assertThat(TextDelta.of(List.of(insert(">> "))).apply("abc")).isEqualTo(">> abc");
+        assertThat(TextDelta.of(List.of(retain(1), delete(2))).apply("abc")).isEqualTo("a");
+    }
+
+    @Test
+    void applyRejectsDeltaLongerThanText() {
+        TextDelta delta = TextDelta.of(List.of(retain(3), delete(1)));
+
+        assertThat(delta.apply("abcd")).isEqualTo("abc");
+        assertThatThrownBy(() -> delta.apply("abc")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void storedOpsWithHugeLengthsDoNotOverflowBoundsCheck() {
+        // 存储的操作不经 of() 合并，长度按 long 累加后仍能被长度校验拦下
+        TextDelta delta = TextDelta.fromDocuments(List.of(
+                new Document("r", Integer.MAX_VALUE), new Document("r", Integer.MAX_VALUE), new Document("i", "x")));
+
+        assertThat(delta.consumedLength()).isEqualTo(2L * Integer.MAX_VALUE);
+        assertThatThrownBy(() -> delta.apply("abc")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void documentsRoundTrip() {
+        TextDelta delta = TextDelta.of(List.of(retain(2), insert("xy"), delete(1)));
+
+        TextDelta restored = TextDelta.fromDocuments(delta.toDocuments());
+
+        assertThat(restored.apply("abcdef")).isEqualTo(delta.apply("abcdef")).isEqualTo("abxydef");
+    }
+
+    private static TextDelta.Op retain(int length) {
+        return new TextDelta.Op(length, null, 0);
+    }
+
+    private static TextDelta.Op insert(String text) {
+        return new TextDelta.Op(0, text, 0);
+    }
+
+    private static TextDelta.Op delete(int length) {
+        return new TextDelta.Op(0, null, length);
+    }
+}
@@ -0,0 +1,69 @@
+package com.programmingplatform.render;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CompiledTemplate 编译与渲染测试
+ */
+class CompiledTemplateTest {
+
+    @Test
+    void rendersValuesThenDefaultsThenEmpty() {
+        CompiledTemplate template = CompiledTemplate.compile("{{a}}-{{ b }}-{{c}}!");
+
+        assertThat(render(template, Map.of("a", "1"), Map.of("a", "x", "b", "2"))).isEqualTo("1-2-!");
+    }
+
+    @Test
+    void collectsPlaceholderNamesOnceInOrder() {
+        CompiledTemplate template = CompiledTemplate.compile("{{b}} {{a}} {{b}} {{c.d}}");
+
+        assertThat(template.getPlaceholderNames()).containsExactly("b", "a", "c.d");
+        assertThat(template.getLiteralLength()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidOrUnclosedPlaceholdersStayLiteral() {
+        String source = "x {{}} {{a b}} {{ok}} {{open";
+        CompiledTemplate template = CompiledTemplate.compile(source);
+
+        assertThat(template.getPlaceholderNames()).containsExactly("ok");
+        assertThat(render(template, Map.of("ok", "Y"), Map.of())).isEqualTo("x {{}} {{a b}} Y {{open");
+    }
+
+    @Test
+    void templateWithoutPlaceholdersIsCopiedVerbatim() {
+        String source = "public class Main {}\n";
+
+        assertThat(render(CompiledTemplate.compile(source), Map.of(), Map.of())).isEqualTo(source);
+        assertThat(render(CompiledTemplate.compile(""), Map.of(), Map.of())).isEmpty();
+    }
+
+    @Test
+    void multiLineValueIsIndentedWhenPlaceholderStartsLine() {
+        CompiledTemplate template = CompiledTemplate.compile("class A {\n    {{body}}\n}");
+
+        assertThat(render(template, Map.of("body", "a();\nb();"), Map.of()))
+                .isEqualTo("class A {\n    a();\n    b();\n}");
+        // 末尾换行后不补缩进
+        assertThat(render(template, Map.of("body", "a();\n"), Map.of()))
+                .isEqualTo("class A {\n    a();\n\n}");
+    }
+
+    @Test
+    void multiLineValueIsNotIndentedAfterOtherText() {
+        CompiledTemplate template = CompiledTemplate.compile("  x = {{value}}");
+
+        assertThat(render(template, Map.of("value", "1\n2"), Map.of())).isEqualTo("  x = 1\n2");
+    }
+
+    private static String render(CompiledTemplate template, Map<String, String> values, Map<String, String> defaults) {
+        StringBuilder out = new StringBuilder();
+        template.render(values, defaults, out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.programmingplatform.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TestCasePack 编码与随机读取测试
+ */
+class TestCasePackTest {
+
+    private static final List<TestCasePack.TestCase> CASES = List.of(
+            new TestCasePack.TestCase("1 2\n", "3\n", false),
+            new TestCasePack.TestCase("你好", "世界", true),
+            new TestCasePack.TestCase(null, "", false));
+
+    @Test
+    void roundTripsCasesByIndex() {
+        TestCasePack pack = TestCasePack.open(ByteBuffer.wrap(TestCasePack.encode(CASES)));
+
+        assertThat(pack.size()).isEqualTo(3);
+        assertThat(pack.input(0)).isEqualTo("1 2\n");
+        assertThat(pack.expectedOutput(0)).isEqualTo("3\n");
+        assertThat(pack.isHidden(0)).isFalse();
+        assertThat(pack.input(1)).isEqualTo("你好");
+        assertThat(pack.expectedOutput(1)).isEqualTo("世界");
+        assertThat(pack.isHidden(1)).isTrue();
+        assertThat(pack.input(2)).isEmpty();
+        assertThat(pack.expectedOutput(2)).isEmpty();
+    }
+
+    @Test
+    void emptyPackHasNoCases() {
+        assertThat(TestCasePack.open(ByteBuffer.wrap(TestCasePack.encode(List.of()))).size()).isZero();
+    }
+
+    @Test
+    void opensDirectBuffer() {
+        byte[] encoded = TestCasePack.encode(CASES);
+        ByteBuffer direct = ByteBuffer.allocateDirect(encoded.length).put(encoded).flip();
+
+        assertThat(TestCasePack.open(direct).expectedOutput(1)).isEqualTo("世界");
+    }
+
+    @Test
+    void slicesAreReadOnlyAndIndependent() {
+        TestCasePack pack = TestCasePack.open(ByteBuffer.wrap(TestCasePack.encode(CASES)));
+        ByteBuffer input = pack.inputBytes(0);
+
+        assertThat(input.remaining()).isEqualTo(4);
+        input.get();
+        assertThat(pack.inputBytes(0).remaining()).isEqualTo(4);
+        assertThatThrownBy(() -> input.put(0, (byte) 'x')).isInstanceOf(ReadOnlyBufferException.class);
+    }
+
+    @Test
+    void rejectsOutOfRangeIndex() {
+        TestCasePack pack = TestCasePack.open(ByteBuffer.wrap(TestCasePack.encode(CASES)));
+
+        assertThatThrownBy(() -> pack.input(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> pack.isHidden(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void rejectsBadMagicAndTruncatedIndex() {
+        byte[] encoded = TestCasePack.encode(CASES);
+        byte[] badMagic = encoded.clone();
+        badMagic[0] = 0;
+
+        assertThatThrownBy(() -> TestCasePack.open(ByteBuffer.wrap(badMagic)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TestCasePack.open(ByteBuffer.wrap(new byte[4])))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TestCasePack.open(ByteBuffer.wrap(encoded, 0, 20).slice()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsDataRangeOutsideBuffer() {
+        byte[] encoded = TestCasePack.encode(CASES);
+        // 第一个用例的输入长度改为超出数据区
+        ByteBuffer.wrap(encoded).putInt(8 + 4, encoded.length);
+
+        assertThatThrownBy(() -> TestCasePack.open(ByteBuffer.wrap(encoded)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
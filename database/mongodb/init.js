@@ -68,6 +68,7 @@ db.lesson_content.createIndex({ courseId: 1 });
 db.lesson_content.createIndex({ contentType: 1 });
 db.lesson_content.createIndex({ 'metadata.tags': 1 });
 db.lesson_content.createIndex({ createdAt: -1 });
+db.lesson_content.createIndex({ updatedAt: 1 });
 
 // 代码模板集合
 db.createCollection('code_templates', {
@@ -148,6 +149,7 @@ db.code_templates.createIndex({ difficulty: 1 });
 db.code_templates.createIndex({ isPublic: 1 });
 db.code_templates.createIndex({ createdBy: 1 });
 db.code_templates.createIndex({ name: 'text', description: 'text' });
+db.code_templates.createIndex({ updatedAt: 1 });
 
 // 用户笔记集合
 db.createCollection('user_notes', {
@@ -179,7 +181,31 @@ db.createCollection('user_notes', {
         },
         content: {
           bsonType: 'string',
-          description: '笔记内容'
+          description: '笔记内容（不含尚未合并的增量）'
+        },
+        version: {
+          bsonType: 'long',
+          description: '增量同步版本号'
+        },
+        length: {
+          bsonType: 'int',
+          description: '合并全部增量后的内容长度（UTF-16 码元）'
+        },
+        pendingOps: {
+          bsonType: 'array',
+          items: {
+            bsonType: 'object',
+            required: ['v', 'ops'],
+            properties: {
+              v: { bsonType: 'long' },
+              ops: { bsonType: 'array' }
+            }
+          },
+          description: '尚未合并进正文的增量日志'
+        },
+        pendingSince: {
+          bsonType: 'date',
+          description: '最早一条未合并增量的写入时间'
         },
         tags: {
           bsonType: 'array',
@@ -218,6 +244,8 @@ db.user_notes.createIndex({ userId: 1, lessonId: 1 });
 db.user_notes.createIndex({ noteType: 1 });
 db.user_notes.createIndex({ tags: 1 });
 db.user_notes.createIndex({ createdAt: -1 });
+db.user_notes.createIndex({ updatedAt: 1 });
+db.user_notes.createIndex({ pendingSince: 1 }, { sparse: true });
 db.user_notes.createIndex({ title: 'text', content: 'text' });
 
 // 练习题集合
@@ -264,10 +292,23 @@ db.createCollection('exercises', {
               input: { bsonType: 'string' },
               expectedOutput: { bsonType: 'string' },
               isHidden: { bsonType: 'bool' },
-              description: { bsonType: 'string' }
+              description: { bsonType: 'string' },
+              inputSize: { bsonType: 'int' },
+              expectedOutputSize: { bsonType: 'int' }
             }
           },
-          description: '测试用例'
+          description: '测试用例描述，使用用例包时只有小的公开用例内联输入和期望输出'
+        },
+        testCaseSet: {
+          bsonType: 'object',
+          required: ['fileId', 'sha256', 'caseCount'],
+          properties: {
+            fileId: { bsonType: 'objectId' },
+            sha256: { bsonType: 'string' },
+            caseCount: { bsonType: 'int' },
+            totalBytes: { bsonType: 'long' }
+          },
+          description: '测试用例包（exercise_fixtures GridFS 存储桶）'
         },
         hints: {
           bsonType: 'array',
@@ -305,7 +346,12 @@ db.exercises.createIndex({ lessonId: 1 });
 db.exercises.createIndex({ language: 1 });
 db.exercises.createIndex({ difficulty: 1 });
 db.exercises.createIndex({ tags: 1 });
+db.exercises.createIndex({ updatedAt: 1 });
 db.exercises.createIndex({ title: 'text', description: 'text' });
+db.exercise_fixtures.files.createIndex({ 'metadata.exerciseId': 1 });
+
+// 变更流恢复令牌（每个后端节点一条），长期未更新的节点记录自动过期
+db.change_stream_checkpoints.createIndex({ updatedAt: 1 }, { expireAfterSeconds: 604800 });
 
 // 插入示例数据
 
@@ -71,7 +71,8 @@ CREATE TABLE courses (
     INDEX idx_language (language),
     INDEX idx_level (level),
     INDEX idx_is_published (is_published),
-    INDEX idx_created_at (created_at)
+    INDEX idx_created_at (created_at),
+    INDEX idx_updated_at (updated_at)
 ) ENGINE=InnoDB;
 
 -- 课程章节表
@@ -112,7 +113,8 @@ CREATE TABLE lessons (
     INDEX idx_chapter_id (chapter_id),
     INDEX idx_course_id (course_id),
     INDEX idx_lesson_type (lesson_type),
-    INDEX idx_sort_order (sort_order)
+    INDEX idx_sort_order (sort_order),
+    INDEX idx_updated_at (updated_at)
 ) ENGINE=InnoDB;
 
 -- 用户课程注册表
@@ -159,6 +161,23 @@ CREATE TABLE user_progress (
     INDEX idx_course_id (course_id)
 ) ENGINE=InnoDB;
 
+-- 事务发件箱表，与业务数据在同一事务中写入，由后端中继批量投递到分析库等下游存储
+-- 领取时把 available_at 推迟一个租约期，投递成功后删除；失败时累加 attempts 并按退避时间推迟 available_at，
+-- 达到最大次数或被判定为无法处理的事件置为 PARKED，不再投递，排查后可改回 PENDING 重新投递
+CREATE TABLE outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id VARCHAR(64) NOT NULL,
+    payload JSON NOT NULL,
+    status ENUM('PENDING', 'PARKED') NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500) NULL,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    available_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+
+    INDEX idx_status_available_at (status, available_at, id)
+) ENGINE=InnoDB;
+
 -- 课程评价表
 CREATE TABLE course_reviews (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
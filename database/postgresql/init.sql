@@ -8,39 +8,48 @@ CREATE DATABASE programming_platform_analytics;
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 CREATE EXTENSION IF NOT EXISTS "pg_stat_statements";
 
--- 代码提交表
+-- 代码提交表（按 submission_time 月分区，分区由后端 PartitionMaintenanceService 预建和过期删除）
 CREATE TABLE code_submissions (
-    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
     user_id BIGINT NOT NULL,
     lesson_id BIGINT NOT NULL,
     course_id BIGINT NOT NULL,
     language VARCHAR(50) NOT NULL,
-    code_content TEXT NOT NULL,
-    submission_time TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    code_content TEXT, -- 旧数据内联保存，新提交只写 code_hash
+    code_hash BYTEA, -- content_blobs.hash
+    submission_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     execution_status VARCHAR(20) DEFAULT 'PENDING', -- PENDING, RUNNING, SUCCESS, ERROR, TIMEOUT
     execution_time_ms INTEGER,
     memory_usage_kb INTEGER,
     output TEXT,
     error_message TEXT,
+    output_hash BYTEA,
+    error_hash BYTEA,
     test_cases_passed INTEGER DEFAULT 0,
     test_cases_total INTEGER DEFAULT 0,
     score DECIMAL(5,2) DEFAULT 0.00,
     
+    CONSTRAINT chk_code_content CHECK (code_content IS NOT NULL OR code_hash IS NOT NULL),
+    PRIMARY KEY (id, submission_time),
     CONSTRAINT chk_execution_status CHECK (execution_status IN ('PENDING', 'RUNNING', 'SUCCESS', 'ERROR', 'TIMEOUT'))
-);
+) PARTITION BY RANGE (submission_time);
 
 -- 创建索引
-CREATE INDEX idx_code_submissions_user_id ON code_submissions(user_id);
+-- 用户提交历史：按 (submission_time, id) 键集分页，INCLUDE 摘要列以支持仅索引扫描，同时覆盖 user_id 单列查询
+CREATE INDEX idx_code_submissions_user_history ON code_submissions(user_id, submission_time DESC, id DESC)
+    INCLUDE (lesson_id, course_id, language, execution_status, execution_time_ms, test_cases_passed, test_cases_total, score);
+CREATE INDEX idx_code_submissions_user_lesson_history ON code_submissions(user_id, lesson_id, submission_time DESC, id DESC)
+    INCLUDE (course_id, language, execution_status, execution_time_ms, test_cases_passed, test_cases_total, score);
 CREATE INDEX idx_code_submissions_lesson_id ON code_submissions(lesson_id);
 CREATE INDEX idx_code_submissions_course_id ON code_submissions(course_id);
 CREATE INDEX idx_code_submissions_language ON code_submissions(language);
 CREATE INDEX idx_code_submissions_submission_time ON code_submissions(submission_time);
 CREATE INDEX idx_code_submissions_status ON code_submissions(execution_status);
 
--- 代码执行结果详情表
+-- 代码执行结果详情表（按 created_at 月分区，与提交表同周期过期）
 CREATE TABLE execution_results (
-    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
-    submission_id UUID NOT NULL REFERENCES code_submissions(id) ON DELETE CASCADE,
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    submission_id UUID NOT NULL,
     test_case_id VARCHAR(100),
     test_case_name VARCHAR(200),
     input_data TEXT,
@@ -50,8 +59,10 @@ CREATE TABLE execution_results (
     memory_usage_kb INTEGER,
     is_passed BOOLEAN DEFAULT FALSE,
     error_message TEXT,
-    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
-);
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
 
 CREATE INDEX idx_execution_results_submission_id ON execution_results(submission_id);
 CREATE INDEX idx_execution_results_test_case_id ON execution_results(test_case_id);
@@ -80,10 +91,10 @@ CREATE INDEX idx_performance_analytics_language ON performance_analytics(languag
 CREATE INDEX idx_performance_analytics_metric_type ON performance_analytics(metric_type);
 CREATE INDEX idx_performance_analytics_analysis_date ON performance_analytics(analysis_date);
 
--- 代码质量分析表
+-- 代码质量分析表（按 created_at 月分区，与提交表同周期过期）
 CREATE TABLE code_quality_analysis (
-    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
-    submission_id UUID NOT NULL REFERENCES code_submissions(id) ON DELETE CASCADE,
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    submission_id UUID NOT NULL,
     complexity_score INTEGER, -- 圈复杂度
     maintainability_index DECIMAL(5,2), -- 可维护性指数
     lines_of_code INTEGER,
@@ -93,13 +104,63 @@ CREATE TABLE code_quality_analysis (
     style_issues_count INTEGER DEFAULT 0,
     overall_grade CHAR(1), -- A, B, C, D, F
     analysis_details JSONB, -- 详细分析结果
-    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
-);
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
 
 CREATE INDEX idx_code_quality_submission_id ON code_quality_analysis(submission_id);
 CREATE INDEX idx_code_quality_overall_grade ON code_quality_analysis(overall_grade);
 CREATE INDEX idx_code_quality_complexity ON code_quality_analysis(complexity_score);
 
+-- 内容寻址存储：提交代码、输出和错误信息按 SHA-256 去重，zstd 压缩后保存
+CREATE TABLE content_blobs (
+    hash BYTEA PRIMARY KEY, -- 原文 UTF-8 的 SHA-256
+    codec SMALLINT NOT NULL, -- 0 原文, 1 zstd, 2 zstd + 字典
+    dictionary_id INTEGER, -- codec = 2 时使用的 compression_dictionaries.id
+    raw_length INTEGER NOT NULL,
+    data BYTEA NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_seen_at DATE NOT NULL DEFAULT CURRENT_DATE -- 最近一次被提交引用的日期，用于回收
+);
+
+-- 数据已经压缩，关闭 TOAST 的 pglz 二次压缩
+ALTER TABLE content_blobs ALTER COLUMN data SET STORAGE EXTERNAL;
+CREATE INDEX idx_content_blobs_last_seen ON content_blobs(last_seen_at);
+
+-- 按课时训练的 zstd 字典，同一练习的提交结构相近，小文本使用字典压缩率明显更高
+CREATE TABLE compression_dictionaries (
+    id SERIAL PRIMARY KEY,
+    lesson_id BIGINT NOT NULL UNIQUE,
+    dictionary BYTEA NOT NULL,
+    sample_count INTEGER NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 提交 MinHash 签名表（近重复提交检测）
+CREATE TABLE submission_signatures (
+    submission_id UUID PRIMARY KEY,
+    lesson_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    signature INTEGER[] NOT NULL, -- 128 个 MinHash 值
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_submission_signatures_created_at ON submission_signatures(created_at);
+
+-- 签名 LSH 分桶表：签名切为 32 段，每段 4 个值，任一段桶值相同的同课时提交为候选
+CREATE TABLE submission_lsh_buckets (
+    lesson_id BIGINT NOT NULL,
+    band SMALLINT NOT NULL,
+    bucket BIGINT NOT NULL,
+    submission_id UUID NOT NULL,
+
+    PRIMARY KEY (lesson_id, band, bucket, submission_id)
+);
+
+-- 回收过期签名时按提交删除分桶
+CREATE INDEX idx_submission_lsh_buckets_submission_id ON submission_lsh_buckets(submission_id);
+
 -- 学习行为分析表
 CREATE TABLE learning_behavior_analytics (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
@@ -125,75 +186,164 @@ CREATE INDEX idx_learning_behavior_lesson_id ON learning_behavior_analytics(less
 CREATE INDEX idx_learning_behavior_action_type ON learning_behavior_analytics(action_type);
 CREATE INDEX idx_learning_behavior_timestamp ON learning_behavior_analytics(timestamp);
 
--- 系统性能监控表
+-- 系统性能监控表（按 timestamp 日分区，后端 Micrometer 注册表按步长批量 COPY 写入，过期分区整体删除）
+-- Micrometer 输出为双精度浮点，metric_value 使用 DOUBLE PRECISION 避免字节类指标溢出
 CREATE TABLE system_performance_metrics (
-    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
     metric_name VARCHAR(100) NOT NULL,
-    metric_value DECIMAL(15,4) NOT NULL,
+    metric_value DOUBLE PRECISION NOT NULL,
     metric_unit VARCHAR(20),
     service_name VARCHAR(100), -- backend, frontend, database, redis, etc.
     instance_id VARCHAR(100),
-    timestamp TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
-    tags JSONB -- 额外的标签信息
-);
+    timestamp TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    tags JSONB, -- 额外的标签信息
+
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
 
-CREATE INDEX idx_system_performance_metric_name ON system_performance_metrics(metric_name);
+CREATE INDEX idx_system_performance_metric_name ON system_performance_metrics(metric_name, timestamp);
 CREATE INDEX idx_system_performance_service_name ON system_performance_metrics(service_name);
 CREATE INDEX idx_system_performance_timestamp ON system_performance_metrics(timestamp);
 
--- 创建分区表（按月分区）
-CREATE TABLE code_submissions_partitioned (
-    LIKE code_submissions INCLUDING ALL
-) PARTITION BY RANGE (submission_time);
+-- 系统性能监控小时降采样表（按 bucket 月分区），原始明细过期后仍可查询长期趋势
+CREATE TABLE system_performance_metrics_hourly (
+    bucket TIMESTAMP WITH TIME ZONE NOT NULL,
+    metric_name VARCHAR(100) NOT NULL,
+    metric_unit VARCHAR(20),
+    service_name VARCHAR(100) NOT NULL DEFAULT '',
+    instance_id VARCHAR(100) NOT NULL DEFAULT '',
+    tags JSONB NOT NULL DEFAULT '{}',
+    avg_value DOUBLE PRECISION NOT NULL,
+    min_value DOUBLE PRECISION NOT NULL,
+    max_value DOUBLE PRECISION NOT NULL,
+    sample_count INTEGER NOT NULL,
 
--- 创建当前月份的分区
-CREATE TABLE code_submissions_y2024m01 PARTITION OF code_submissions_partitioned
-    FOR VALUES FROM ('2024-01-01') TO ('2024-02-01');
+    PRIMARY KEY (bucket, metric_name, service_name, instance_id, tags)
+) PARTITION BY RANGE (bucket);
 
-CREATE TABLE code_submissions_y2024m02 PARTITION OF code_submissions_partitioned
-    FOR VALUES FROM ('2024-02-01') TO ('2024-03-01');
+CREATE INDEX idx_system_performance_hourly_metric_name ON system_performance_metrics_hourly(metric_name, bucket);
 
--- 创建视图用于常用查询
+-- 分区表的初始分区（当月及下月），后续分区由后端定时预建，过期分区整体删除
+-- 分区边界统一按 UTC 零点划分，与后端保持一致
+DO $$
+DECLARE
+    parent TEXT;
+    month_start DATE;
+    day_start DATE;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['code_submissions', 'execution_results', 'code_quality_analysis',
+                                  'system_performance_metrics_hourly'] LOOP
+        FOR i IN 0..1 LOOP
+            month_start := (date_trunc('month', (CURRENT_TIMESTAMP AT TIME ZONE 'UTC')::DATE) + make_interval(months => i))::DATE;
+            EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                           parent || to_char(month_start, '"_y"YYYY"m"MM'), parent,
+                           month_start || ' 00:00:00+00',
+                           (month_start + INTERVAL '1 month')::DATE || ' 00:00:00+00');
+        END LOOP;
+    END LOOP;
+
+    -- 系统性能监控表按日分区
+    FOR i IN 0..2 LOOP
+        day_start := (CURRENT_TIMESTAMP AT TIME ZONE 'UTC')::DATE + i;
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF system_performance_metrics FOR VALUES FROM (%L) TO (%L)',
+                       'system_performance_metrics' || to_char(day_start, '"_y"YYYY"m"MM"d"DD'),
+                       day_start || ' 00:00:00+00',
+                       (day_start + 1) || ' 00:00:00+00');
+    END LOOP;
+END;
+$$;
+
+-- 提交统计汇总表，由后端在提交完成时增量累加，不随提交分区过期
+-- 只保存求和与计数，平均值和成功率在视图中计算
+CREATE TABLE user_language_stats (
+    user_id BIGINT NOT NULL,
+    language VARCHAR(50) NOT NULL,
+    total_submissions BIGINT NOT NULL DEFAULT 0,
+    success_count BIGINT NOT NULL DEFAULT 0,
+    execution_time_sum BIGINT NOT NULL DEFAULT 0,
+    execution_time_count BIGINT NOT NULL DEFAULT 0,
+    memory_usage_sum BIGINT NOT NULL DEFAULT 0,
+    memory_usage_count BIGINT NOT NULL DEFAULT 0,
+    score_sum DECIMAL(14,2) NOT NULL DEFAULT 0,
+    score_count BIGINT NOT NULL DEFAULT 0,
+    last_submission_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (user_id, language)
+);
+
+-- 按 UTC 日期和语言汇总
+CREATE TABLE daily_language_stats (
+    activity_date DATE NOT NULL,
+    language VARCHAR(50) NOT NULL,
+    total_submissions BIGINT NOT NULL DEFAULT 0,
+    success_count BIGINT NOT NULL DEFAULT 0,
+    execution_time_sum BIGINT NOT NULL DEFAULT 0,
+    execution_time_count BIGINT NOT NULL DEFAULT 0,
+    active_users INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (activity_date, language)
+);
+
+-- 当日活跃用户成员表，用于 active_users 去重计数；日期结束后由后端压缩删除
+CREATE TABLE daily_language_users (
+    activity_date DATE NOT NULL,
+    language VARCHAR(50) NOT NULL,
+    user_id BIGINT NOT NULL,
+
+    PRIMARY KEY (activity_date, language, user_id)
+);
+
+-- 学习里程碑表（课时完成、课程完成），由 MySQL 事务发件箱中继写入
+-- 主键去重，中继重复投递时 ON CONFLICT DO NOTHING
+CREATE TABLE learning_milestones (
+    user_id BIGINT NOT NULL,
+    milestone_type VARCHAR(30) NOT NULL,
+    target_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    recorded_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (user_id, milestone_type, target_id)
+);
+
+CREATE INDEX idx_learning_milestones_course ON learning_milestones(course_id, milestone_type, occurred_at);
+
+-- 创建视图用于常用查询（读取汇总表，耗时与历史数据量无关）
 CREATE VIEW user_performance_summary AS
 SELECT 
     user_id,
     language,
-    COUNT(*) as total_submissions,
-    AVG(execution_time_ms) as avg_execution_time,
-    AVG(memory_usage_kb) as avg_memory_usage,
-    AVG(score) as avg_score,
-    SUM(CASE WHEN execution_status = 'SUCCESS' THEN 1 ELSE 0 END)::DECIMAL / COUNT(*) * 100 as success_rate
-FROM code_submissions
-GROUP BY user_id, language;
+    total_submissions,
+    execution_time_sum::DECIMAL / NULLIF(execution_time_count, 0) as avg_execution_time,
+    memory_usage_sum::DECIMAL / NULLIF(memory_usage_count, 0) as avg_memory_usage,
+    score_sum / NULLIF(score_count, 0) as avg_score,
+    success_count::DECIMAL / NULLIF(total_submissions, 0) * 100 as success_rate
+FROM user_language_stats;
 
 CREATE VIEW daily_activity_summary AS
 SELECT 
-    DATE(submission_time) as activity_date,
+    activity_date,
     language,
-    COUNT(*) as total_submissions,
-    COUNT(DISTINCT user_id) as active_users,
-    AVG(execution_time_ms) as avg_execution_time,
-    SUM(CASE WHEN execution_status = 'SUCCESS' THEN 1 ELSE 0 END)::DECIMAL / COUNT(*) * 100 as success_rate
-FROM code_submissions
-GROUP BY DATE(submission_time), language
+    total_submissions,
+    active_users,
+    execution_time_sum::DECIMAL / NULLIF(execution_time_count, 0) as avg_execution_time,
+    success_count::DECIMAL / NULLIF(total_submissions, 0) * 100 as success_rate
+FROM daily_language_stats
 ORDER BY activity_date DESC;
 
 -- 创建函数用于清理旧数据
+-- 代码提交及其结果、质量分析表和系统性能监控表按分区过期删除，不在此逐行清理
 CREATE OR REPLACE FUNCTION cleanup_old_data(days_to_keep INTEGER DEFAULT 90)
 RETURNS INTEGER AS $$
 DECLARE
     deleted_count INTEGER;
 BEGIN
-    DELETE FROM code_submissions 
-    WHERE submission_time < CURRENT_TIMESTAMP - INTERVAL '1 day' * days_to_keep;
-    
-    GET DIAGNOSTICS deleted_count = ROW_COUNT;
-    
     DELETE FROM learning_behavior_analytics 
     WHERE timestamp < CURRENT_TIMESTAMP - INTERVAL '1 day' * days_to_keep;
     
-    DELETE FROM system_performance_metrics 
-    WHERE timestamp < CURRENT_TIMESTAMP - INTERVAL '1 day' * days_to_keep;
+    GET DIAGNOSTICS deleted_count = ROW_COUNT;
     
     RETURN deleted_count;
 END;
@@ -209,3 +359,7 @@ COMMENT ON TABLE performance_analytics IS '性能分析数据表';
 COMMENT ON TABLE code_quality_analysis IS '代码质量分析表';
 COMMENT ON TABLE learning_behavior_analytics IS '学习行为分析表';
 COMMENT ON TABLE system_performance_metrics IS '系统性能监控表';
+COMMENT ON TABLE system_performance_metrics_hourly IS '系统性能监控小时降采样表';
+COMMENT ON TABLE user_language_stats IS '用户按语言的提交统计汇总表';
+COMMENT ON TABLE daily_language_stats IS '每日按语言的提交统计汇总表';
+COMMENT ON TABLE daily_language_users IS '每日按语言的活跃用户成员表';